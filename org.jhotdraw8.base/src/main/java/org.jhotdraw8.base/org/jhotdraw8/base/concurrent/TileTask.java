@@ -48,7 +48,7 @@ public class TileTask extends CountedCompleter<Void> {
             // Fork all except the first tile at the top left
             for (int y = tile.yfrom; y < tile.yto; y += chunkSize) {
                 for (int x = tile.xfrom; x < tile.xto; x += chunkSize) {
-                    if (y != 0 || x != 0) {
+                    if (y != tile.yfrom || x != tile.xfrom) {
                         new TileTask(this, new Tile(x, y, Math.min(x + chunkSize, tile.xto),
                                 Math.min(y + chunkSize, tile.yto)), chunkSize, tileConsumer, future).fork();
                     }
@@ -59,7 +59,7 @@ public class TileTask extends CountedCompleter<Void> {
             // Perform the first tile at the top left
             tileConsumer.accept(new Tile(tile.xfrom, tile.yfrom,
                     Math.min(tile.xto, tile.xfrom + chunkSize),
-                    Math.min(tile.yto, tile.yto + chunkSize)));
+                    Math.min(tile.yto, tile.yfrom + chunkSize)));
         }
         tryComplete();
     }
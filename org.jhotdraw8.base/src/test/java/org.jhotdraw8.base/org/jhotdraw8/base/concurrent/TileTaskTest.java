@@ -0,0 +1,30 @@
+/*
+ * @(#)TileTaskTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.base.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TileTaskTest {
+    @Test
+    public void shouldVisitEachCellExactlyOnceWithNonZeroOrigin() {
+        int x = 3, y = 5, width = 17, height = 11, chunkSize = 4;
+        AtomicIntegerArray counts = new AtomicIntegerArray(width * height);
+        TileTask.forEach(x, y, width, height, chunkSize, tile -> {
+            for (int j = tile.yfrom(); j < tile.yto(); j++) {
+                for (int i = tile.xfrom(); i < tile.xto(); i++) {
+                    counts.incrementAndGet((j - y) * width + i - x);
+                }
+            }
+        });
+        for (int i = 0; i < counts.length(); i++) {
+            assertEquals(1, counts.get(i), "cell " + i);
+        }
+    }
+}
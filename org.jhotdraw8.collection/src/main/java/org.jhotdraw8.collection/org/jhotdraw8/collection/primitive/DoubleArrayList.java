@@ -214,7 +214,7 @@ public class DoubleArrayList extends AbstractList<Double> implements DoubleList
 
     private void grow(int capacity) {
         if (items.length < capacity) {
-            items = ListHelper.grow(Math.max(1, items.length * 2), 1, items);
+            items = ListHelper.grow(Math.max(capacity, items.length * 2), 1, items);
         }
     }
 
@@ -18,4 +18,9 @@ public abstract class AbstractAttributeSelector extends SimpleSelector {
         return 10;
     }
 
+    /// Returns the name of the attribute that this selector matches on.
+    ///
+    /// @return the attribute name
+    public abstract String getAttributeName();
+
 }
@@ -55,4 +55,13 @@ public class AndCombinator extends Combinator {
         TypeSelector secondQN = second.matchesOnlyOnASpecificType();
         return firstQN != null ? firstQN : secondQN;
     }
+
+    /// Both selectors must match on the element. Therefore, the more
+    /// selective key selector of the first and the second selector is returned.
+    ///
+    /// @return the more selective of `first.getKeySelector()` and `second.getKeySelector()`
+    @Override
+    public @Nullable SimpleSelector getKeySelector() {
+        return moreSelectiveKeySelector(first.getKeySelector(), second.getKeySelector());
+    }
 }
@@ -54,4 +54,12 @@ public class ChildCombinator extends Combinator {
     public @Nullable TypeSelector matchesOnlyOnASpecificType() {
         return second.matchesOnlyOnASpecificType();
     }
+
+    /// The second selector must match on the element.
+    ///
+    /// @return `second.getKeySelector()`
+    @Override
+    public @Nullable SimpleSelector getKeySelector() {
+        return second.getKeySelector();
+    }
 }
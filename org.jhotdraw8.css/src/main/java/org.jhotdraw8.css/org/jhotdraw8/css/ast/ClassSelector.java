@@ -23,6 +23,15 @@ public class ClassSelector extends SimpleSelector {
         this.clazz = clazz;
     }
 
+    public String getClazz() {
+        return clazz;
+    }
+
+    @Override
+    public @Nullable SimpleSelector getKeySelector() {
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Class:" + clazz;
@@ -23,6 +23,14 @@ public abstract class Combinator extends Selector {
 
     }
 
+    public SimpleSelector getFirst() {
+        return first;
+    }
+
+    public Selector getSecond() {
+        return second;
+    }
+
     @Override
     public String toString() {
         return "Combinator{" + "simpleSelector=" + first + ", selector=" + second + '}';
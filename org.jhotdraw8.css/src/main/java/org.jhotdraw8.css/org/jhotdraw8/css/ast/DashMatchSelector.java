@@ -75,4 +75,9 @@ public class DashMatchSelector extends AbstractAttributeSelector {
     public int hashCode() {
         return Objects.hash(namespacePattern, attributeName, substring);
     }
+
+    @Override
+    public String getAttributeName() {
+        return attributeName;
+    }
 }
@@ -61,4 +61,12 @@ public class DescendantCombinator extends Combinator {
     public @Nullable TypeSelector matchesOnlyOnASpecificType() {
         return second.matchesOnlyOnASpecificType();
     }
+
+    /// The second selector must match on the element.
+    ///
+    /// @return `second.getKeySelector()`
+    @Override
+    public @Nullable SimpleSelector getKeySelector() {
+        return second.getKeySelector();
+    }
 }
@@ -74,4 +74,9 @@ public class EqualsMatchSelector extends AbstractAttributeSelector {
     public int hashCode() {
         return Objects.hash(namespacePattern, attributeName, attributeValue);
     }
+
+    @Override
+    public String getAttributeName() {
+        return attributeName;
+    }
 }
@@ -69,4 +69,9 @@ public class ExistsMatchSelector extends AbstractAttributeSelector {
     public int hashCode() {
         return Objects.hash(namespacePattern, attributeName);
     }
+
+    @Override
+    public String getAttributeName() {
+        return attributeName;
+    }
 }
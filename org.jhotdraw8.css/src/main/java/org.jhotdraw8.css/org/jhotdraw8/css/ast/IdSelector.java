@@ -23,6 +23,15 @@ public class IdSelector extends SimpleSelector {
         this.id = id;
     }
 
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public @Nullable SimpleSelector getKeySelector() {
+        return this;
+    }
+
     @Override
     public String toString() {
         return "Id:" + id;
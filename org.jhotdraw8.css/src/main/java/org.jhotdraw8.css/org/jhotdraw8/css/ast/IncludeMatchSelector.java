@@ -75,4 +75,9 @@ public class IncludeMatchSelector extends AbstractAttributeSelector {
     public int hashCode() {
         return Objects.hash(namespacePattern, attributeName, word);
     }
+
+    @Override
+    public String getAttributeName() {
+        return attributeName;
+    }
 }
@@ -29,6 +29,10 @@ public class NegationPseudoClassSelector extends FunctionPseudoClassSelector {
         this.selector = selector;
     }
 
+    public SimpleSelector getSelector() {
+        return selector;
+    }
+
     @Override
     public String toString() {
         return "FunctionPseudoClass:" + getFunctionIdentifier() + "(" + ")";
@@ -76,4 +76,9 @@ public class PrefixMatchSelector extends AbstractAttributeSelector {
     public int hashCode() {
         return Objects.hash(namespacePattern, attributeName, prefix);
     }
+
+    @Override
+    public String getAttributeName() {
+        return attributeName;
+    }
 }
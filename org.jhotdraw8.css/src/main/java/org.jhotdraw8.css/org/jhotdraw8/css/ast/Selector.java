@@ -77,4 +77,40 @@ public abstract class Selector extends AbstractSyntaxTree {
         return null;
     }
 
+    /// Returns a simple selector that must match on an element, so that
+    /// this selector can match on the element.
+    ///
+    /// The returned selector is an [IdSelector], a [ClassSelector] or a
+    /// [TypeSelector] that matches on any namespace. It can be used as a
+    /// key for indexing style rules.
+    ///
+    /// This implementation returns null.
+    ///
+    /// @return a key selector or null
+    public @Nullable SimpleSelector getKeySelector() {
+        return null;
+    }
+
+    /// Returns the selector that is the more selective key selector.
+    ///
+    /// An id selector is more selective than a class selector, and a class
+    /// selector is more selective than a type selector.
+    ///
+    /// @param a a key selector or null
+    /// @param b a key selector or null
+    /// @return the more selective key selector, returns `a` if both are
+    /// equally selective
+    protected static @Nullable SimpleSelector moreSelectiveKeySelector(@Nullable SimpleSelector a, @Nullable SimpleSelector b) {
+        return getKeySelectorRank(b) > getKeySelectorRank(a) ? b : a;
+    }
+
+    private static int getKeySelectorRank(@Nullable SimpleSelector s) {
+        return switch (s) {
+            case IdSelector ignored -> 3;
+            case ClassSelector ignored -> 2;
+            case TypeSelector ignored -> 1;
+            case null, default -> 0;
+        };
+    }
+
 }
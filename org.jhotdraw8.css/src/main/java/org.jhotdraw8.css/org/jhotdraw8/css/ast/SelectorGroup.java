@@ -47,6 +47,10 @@ public class SelectorGroup extends Selector {
         return buf.toString();
     }
 
+    public ReadableList<Selector> getSelectors() {
+        return selectors;
+    }
+
     @Override
     public int getSpecificity() {
         return selectors.stream().mapToInt(Selector::getSpecificity).sum();
@@ -160,4 +164,19 @@ public class SelectorGroup extends Selector {
         return typeSelector;
     }
 
+    /// This selector has a key selector, if all its selectors have the
+    /// same key selector.
+    @Override
+    public @Nullable SimpleSelector getKeySelector() {
+        SimpleSelector keySelector = null;
+        for (int i = 0, n = selectors.size(); i < n; i++) {
+            SimpleSelector s = selectors.get(i).getKeySelector();
+            if (s == null || i > 0 && !s.equals(keySelector)) {
+                return null;
+            }
+            keySelector = s;
+        }
+        return keySelector;
+    }
+
 }
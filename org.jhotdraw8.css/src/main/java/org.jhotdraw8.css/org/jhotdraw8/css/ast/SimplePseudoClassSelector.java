@@ -23,6 +23,10 @@ public class SimplePseudoClassSelector extends PseudoClassSelector {
         this.pseudoClass = pseudoClass;
     }
 
+    public String getPseudoClass() {
+        return pseudoClass;
+    }
+
     @Override
     public String toString() {
         return "PseudoClass:" + pseudoClass;
@@ -76,4 +76,9 @@ public class SubstringMatchSelector extends AbstractAttributeSelector {
     public int hashCode() {
         return Objects.hash(namespacePattern, attributeName, substring);
     }
+
+    @Override
+    public String getAttributeName() {
+        return attributeName;
+    }
 }
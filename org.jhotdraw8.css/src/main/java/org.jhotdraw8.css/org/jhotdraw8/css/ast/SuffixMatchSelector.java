@@ -76,4 +76,9 @@ public class SuffixMatchSelector extends AbstractAttributeSelector {
     public int hashCode() {
         return Objects.hash(namespacePattern, attributeName, suffix);
     }
+
+    @Override
+    public String getAttributeName() {
+        return attributeName;
+    }
 }
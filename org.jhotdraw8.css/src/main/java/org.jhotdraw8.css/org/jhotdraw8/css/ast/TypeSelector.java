@@ -97,4 +97,13 @@ public class TypeSelector extends SimpleSelector {
     public @Nullable TypeSelector matchesOnlyOnASpecificType() {
         return this;
     }
+
+    /// A type selector can only be used as a key selector, if it matches
+    /// on any namespace.
+    ///
+    /// @return this selector if the namespace pattern is [#ANY_NAMESPACE], null otherwise
+    @Override
+    public @Nullable SimpleSelector getKeySelector() {
+        return ANY_NAMESPACE.equals(namespacePattern) ? this : null;
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * @(#)CssParsedValueCache.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.converter;
+
+import org.jhotdraw8.css.parser.CssToken;
+import org.jhotdraw8.css.parser.ListCssTokenizer;
+import org.jhotdraw8.icollection.persistent.PersistentList;
+import org.jhotdraw8.icollection.readable.ReadableList;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Caches values that have been parsed by a [CssConverter] from a list of
+/// [CssToken]s.
+///
+/// When a stylesheet rule matches many elements, the same declaration is
+/// parsed over and over again into equal values. This cache returns the
+/// same parsed value for the same converter and an equal token list.
+///
+/// The cache is keyed by the identity of the converter and by the value of
+/// the token list. Only immutable token lists ([PersistentList]s) are cached.
+/// Parse errors are not cached.
+///
+/// The cache is thread-safe. When the cache exceeds its maximal size, it is
+/// cleared.
+public class CssParsedValueCache {
+    /// The default maximal number of cached values.
+    public static final int DEFAULT_MAX_SIZE = 4096;
+    /// Represents a cached null value.
+    private static final Object NULL_VALUE = new Object();
+
+    private final ConcurrentHashMap<CacheKey, Object> map = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public CssParsedValueCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public CssParsedValueCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize=" + maxSize + " is negative");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /// Parses the specified tokens with the specified converter,
+    /// or returns a cached value.
+    ///
+    /// @param converter the converter
+    /// @param tokens    the tokens
+    /// @param <T>       the value type
+    /// @return the parsed value
+    /// @throws ParseException on parse exception
+    /// @throws IOException    on io exception
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T parse(CssConverter<T> converter, ReadableList<CssToken> tokens) throws ParseException, IOException {
+        if (maxSize == 0 || !(tokens instanceof PersistentList<CssToken>)) {
+            missCount.increment();
+            return converter.parse(new ListCssTokenizer(tokens), null);
+        }
+        CacheKey key = new CacheKey(converter, tokens);
+        Object cached = map.get(key);
+        if (cached != null) {
+            hitCount.increment();
+            return cached == NULL_VALUE ? null : (T) cached;
+        }
+        missCount.increment();
+        T value = converter.parse(new ListCssTokenizer(tokens), null);
+        if (map.size() >= maxSize) {
+            map.clear();
+        }
+        map.put(key, value == null ? NULL_VALUE : value);
+        return value;
+    }
+
+    /// Returns the number of times a cached value was returned.
+    ///
+    /// @return the hit count
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /// Returns the number of times a value had to be parsed.
+    ///
+    /// @return the miss count
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /// Returns the number of cached values.
+    ///
+    /// @return the number of cached values
+    public int size() {
+        return map.size();
+    }
+
+    /// Removes all cached values, and resets the hit and miss counters.
+    public void clear() {
+        map.clear();
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    /// Key of the cache. Compares converters by identity, and tokens by value.
+    private record CacheKey(CssConverter<?> converter, ReadableList<CssToken> tokens) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CacheKey that
+                    && this.converter == that.converter
+                    && this.tokens.equals(that.tokens);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(converter) * 31 + tokens.hashCode();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * @(#)CompiledStylesheet.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.io;
+
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jhotdraw8.css.parser.CssParser;
+import org.jhotdraw8.css.parser.CssToken;
+import org.jhotdraw8.css.parser.ListCssTokenizer;
+import org.jhotdraw8.css.parser.StreamCssTokenizer;
+import org.jhotdraw8.icollection.VectorList;
+import org.jhotdraw8.icollection.persistent.PersistentList;
+import org.jhotdraw8.icollection.readable.ReadableList;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/// A compiled stylesheet holds the tokens of a stylesheet in a compact
+/// binary form, so that the stylesheet can be parsed without lexing its
+/// source text.
+///
+/// A compiled stylesheet is identified by the SHA-256 hash of the UTF-8
+/// encoded source text.
+///
+/// The binary form consists of:
+///
+///   - A magic number, a format version and the content hash.
+///   - A table with the distinct string values of the tokens.
+///   - The tokens. Each token is stored with its type, an index into the
+///     string table, its numeric value, and its source position, which is
+///     stored relative to the previous token.
+///   - A CRC-32 checksum of all preceding bytes.
+///
+/// Integer values are stored as variable-length integers.
+///
+/// The content hash only identifies the source text. A corrupt binary form
+/// is detected by the checksum, and by bounding all sizes by the number of
+/// remaining bytes.
+public final class CompiledStylesheet {
+    /// The magic number "JHCS".
+    private static final int MAGIC = 0x4a484353;
+    /// The version of the binary form.
+    private static final int VERSION = 2;
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int HASH_LENGTH = 32;
+    private static final int CHECKSUM_LENGTH = 4;
+    /// The minimal number of bytes of a token in the binary form.
+    private static final int MIN_TOKEN_LENGTH = 5;
+
+    private static final int HAS_STRING = 1;
+    private static final int HAS_LONG = 2;
+    private static final int HAS_DOUBLE = 4;
+
+    private final byte[] contentHash;
+    private final PersistentList<CssToken> tokens;
+
+    private CompiledStylesheet(byte[] contentHash, List<CssToken> tokens) {
+        this.contentHash = contentHash;
+        this.tokens = VectorList.copyOf(tokens);
+    }
+
+    /// Compiles the specified stylesheet source text.
+    ///
+    /// @param css           the source text
+    /// @param stylesheetUri the URI of the stylesheet (if known)
+    /// @return the compiled stylesheet
+    /// @throws IOException on failure
+    public static CompiledStylesheet compile(String css, @Nullable URI stylesheetUri) throws IOException {
+        StreamCssTokenizer tt = new StreamCssTokenizer(new StringReader(css), stylesheetUri);
+        return new CompiledStylesheet(hash(css.getBytes(StandardCharsets.UTF_8)), tt.toTokenList());
+    }
+
+    /// Computes the content hash of the specified UTF-8 encoded source text.
+    ///
+    /// @param content the source text
+    /// @return the content hash
+    public static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    /// Returns the content hash of the source text.
+    ///
+    /// @return the content hash
+    public byte[] getContentHash() {
+        return contentHash.clone();
+    }
+
+    /// Returns the tokens of the source text.
+    ///
+    /// @return the tokens
+    public ReadableList<CssToken> getTokens() {
+        return tokens;
+    }
+
+    /// Parses the compiled stylesheet.
+    ///
+    /// @param parser         the parser
+    /// @param stylesheetUri  the URI of the stylesheet (if known)
+    /// @param stylesheetHome base URI (if it exists)
+    /// @return the parsed stylesheet
+    /// @throws IOException on failure
+    public Stylesheet toStylesheet(CssParser parser, @Nullable URI stylesheetUri, @Nullable URI stylesheetHome) throws IOException {
+        return parser.parseStylesheet(new ListCssTokenizer(tokens, stylesheetUri), stylesheetUri, stylesheetHome);
+    }
+
+    /// Reads a compiled stylesheet in binary form.
+    ///
+    /// @param in an input stream
+    /// @return the compiled stylesheet
+    /// @throws IOException if the input stream does not contain a compiled
+    ///                     stylesheet of the supported version, or if the
+    ///                     compiled stylesheet is corrupt
+    public static CompiledStylesheet read(InputStream in) throws IOException {
+        byte[] data = in.readAllBytes();
+        int length = data.length - CHECKSUM_LENGTH;
+        DataInputStream din = new DataInputStream(new ByteArrayInputStream(data, 0, Math.max(0, length)));
+        if (din.readInt() != MAGIC) {
+            throw new IOException("Not a compiled stylesheet.");
+        }
+        int version = din.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported compiled stylesheet version: " + version + ".");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        if ((int) crc.getValue() != ByteBuffer.wrap(data, length, CHECKSUM_LENGTH).getInt()) {
+            throw new IOException("Corrupt compiled stylesheet.");
+        }
+        byte[] contentHash = new byte[HASH_LENGTH];
+        din.readFully(contentHash);
+
+        // each string is stored with at least one byte for its length
+        String[] strings = new String[readSize(din, 1)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[readSize(din, 1)];
+            din.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int size = readSize(din, MIN_TOKEN_LENGTH);
+        List<CssToken> tokens = new ArrayList<>(size);
+        int lineNumber = 0, endPos = 0;
+        try {
+            for (int i = 0; i < size; i++) {
+                int ttype = decodeZigZag(readVarInt(din));
+                int flags = din.readUnsignedByte();
+                String stringValue = (flags & HAS_STRING) != 0 ? strings[readVarInt(din)] : null;
+                Number numericValue = (flags & HAS_LONG) != 0 ? (Number) decodeZigZag(readVarLong(din))
+                        : (flags & HAS_DOUBLE) != 0 ? (Number) din.readDouble() : null;
+                lineNumber += decodeZigZag(readVarInt(din));
+                int startPos = endPos + decodeZigZag(readVarInt(din));
+                endPos = startPos + readVarInt(din);
+                tokens.add(new CssToken(ttype, stringValue, numericValue, null, lineNumber, startPos, endPos));
+            }
+        } catch (IllegalArgumentException | NullPointerException | IndexOutOfBoundsException e) {
+            throw new IOException("Malformed compiled stylesheet.", e);
+        }
+        return new CompiledStylesheet(contentHash, tokens);
+    }
+
+    /// Writes the compiled stylesheet in binary form.
+    ///
+    /// @param out an output stream
+    /// @throws IOException on failure
+    public void write(OutputStream out) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream dout = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(out, crc)));
+        dout.writeInt(MAGIC);
+        dout.writeInt(VERSION);
+        dout.write(contentHash);
+
+        Map<String, Integer> stringIndices = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (CssToken t : tokens) {
+            String s = t.getStringValue();
+            if (s != null && stringIndices.putIfAbsent(s, strings.size()) == null) {
+                strings.add(s);
+            }
+        }
+        writeVarInt(dout, strings.size());
+        for (String s : strings) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(dout, bytes.length);
+            dout.write(bytes);
+        }
+
+        writeVarInt(dout, tokens.size());
+        int lineNumber = 0, endPos = 0;
+        for (CssToken t : tokens) {
+            String s = t.getStringValue();
+            Number n = t.getNumericValue();
+            int flags = (s != null ? HAS_STRING : 0)
+                    | (n instanceof Long || n instanceof Integer ? HAS_LONG : n != null ? HAS_DOUBLE : 0);
+            writeVarInt(dout, encodeZigZag(t.getType()));
+            dout.writeByte(flags);
+            if (s != null) {
+                writeVarInt(dout, stringIndices.get(s));
+            }
+            if ((flags & HAS_LONG) != 0) {
+                writeVarLong(dout, encodeZigZag(n.longValue()));
+            } else if (n != null) {
+                dout.writeDouble(n.doubleValue());
+            }
+            writeVarInt(dout, encodeZigZag(t.getLineNumber() - lineNumber));
+            writeVarInt(dout, encodeZigZag(t.getStartPos() - endPos));
+            writeVarInt(dout, t.getEndPos() - t.getStartPos());
+            lineNumber = t.getLineNumber();
+            endPos = t.getEndPos();
+        }
+        dout.flush();
+        dout.writeInt((int) crc.getValue());
+        dout.flush();
+    }
+
+    /// Returns true if the compiled stylesheet has the specified content
+    /// hash.
+    ///
+    /// @param contentHash a content hash
+    /// @return true if the hashes are equal
+    public boolean hasContentHash(byte[] contentHash) {
+        return Arrays.equals(this.contentHash, contentHash);
+    }
+
+    private static int encodeZigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long encodeZigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int decodeZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long decodeZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xffffffffL);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7fL) != 0) {
+            out.writeByte((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /// Reads a size, and checks that the remaining bytes of the input stream
+    /// can hold that many elements.
+    ///
+    /// @param in               the input stream, must know the number of
+    ///                         remaining bytes
+    /// @param minElementLength the minimal number of bytes of an element
+    /// @return the size
+    /// @throws IOException if the size is negative or too large
+    private static int readSize(DataInputStream in, int minElementLength) throws IOException {
+        int size = readVarInt(in);
+        if (size < 0 || size > in.available() / minElementLength) {
+            throw new IOException("Malformed compiled stylesheet.");
+        }
+        return size;
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer.");
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * @(#)StylesheetCache.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.io;
+
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jhotdraw8.css.parser.CssParser;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HexFormat;
+
+/// An on-disk cache for [CompiledStylesheet]s.
+///
+/// The cache stores one file per compiled stylesheet in a directory. The
+/// name of the file is the content hash of the source text of the
+/// stylesheet. When a stylesheet is requested, the cache reads the source
+/// text, computes its hash, and parses the compiled stylesheet from the
+/// cache file. Only if there is no valid cache file, the source text is
+/// lexed and the cache file is written.
+///
+/// The cache can be shared by multiple threads and processes, because
+/// cache files are written to a temporary file first and then moved to
+/// their final name.
+public class StylesheetCache {
+    private static final String FILE_EXTENSION = ".cssb";
+    private final Path directory;
+
+    /// Creates a new instance.
+    ///
+    /// @param directory the cache directory, is created if it does not exist
+    public StylesheetCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /// Returns the cache directory.
+    ///
+    /// @return the cache directory
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /// Parses the stylesheet at the specified URI.
+    ///
+    /// @param parser         the parser
+    /// @param stylesheetUri  the URI of the stylesheet
+    /// @param stylesheetHome base URI (if it exists)
+    /// @return the parsed stylesheet
+    /// @throws IOException if the stylesheet can not be read
+    public Stylesheet parseStylesheet(CssParser parser, URI stylesheetUri, @Nullable URI stylesheetHome) throws IOException {
+        byte[] content;
+        try (InputStream in = stylesheetUri.toURL().openStream()) {
+            content = in.readAllBytes();
+        }
+        return getCompiledStylesheet(content, stylesheetUri).toStylesheet(parser, stylesheetUri, stylesheetHome);
+    }
+
+    /// Parses the specified stylesheet source text.
+    ///
+    /// @param parser         the parser
+    /// @param css            the source text
+    /// @param stylesheetUri  the URI of the stylesheet (if known)
+    /// @param stylesheetHome base URI (if it exists)
+    /// @return the parsed stylesheet
+    /// @throws IOException on failure
+    public Stylesheet parseStylesheet(CssParser parser, String css, @Nullable URI stylesheetUri, @Nullable URI stylesheetHome) throws IOException {
+        return getCompiledStylesheet(css.getBytes(StandardCharsets.UTF_8), stylesheetUri).toStylesheet(parser, stylesheetUri, stylesheetHome);
+    }
+
+    /// Gets the compiled stylesheet for the specified UTF-8 encoded source
+    /// text from the cache. Compiles the source text and stores it in the
+    /// cache if the cache does not contain it.
+    ///
+    /// A cache file that can not be read is replaced. A cache file that can
+    /// not be written is ignored.
+    ///
+    /// @param content       the source text
+    /// @param stylesheetUri the URI of the stylesheet (if known)
+    /// @return the compiled stylesheet
+    /// @throws IOException if the source text can not be compiled
+    public CompiledStylesheet getCompiledStylesheet(byte[] content, @Nullable URI stylesheetUri) throws IOException {
+        byte[] hash = CompiledStylesheet.hash(content);
+        Path file = directory.resolve(HexFormat.of().formatHex(hash) + FILE_EXTENSION);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                CompiledStylesheet compiled = CompiledStylesheet.read(in);
+                if (compiled.hasContentHash(hash)) {
+                    return compiled;
+                }
+            } catch (IOException e) {
+                // fall through and replace the cache file
+            }
+        }
+
+        CompiledStylesheet compiled = CompiledStylesheet.compile(new String(content, StandardCharsets.UTF_8), stylesheetUri);
+        try {
+            write(compiled, file);
+        } catch (IOException e) {
+            // the cache is an optimization, we can do without it
+        }
+        return compiled;
+    }
+
+    private void write(CompiledStylesheet compiled, Path file) throws IOException {
+        Files.createDirectories(directory);
+        Path tmp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                compiled.write(out);
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /// Deletes all cache files.
+    ///
+    /// @throws IOException on failure
+    public void clear() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (var files = Files.list(directory)) {
+            for (Path f : (Iterable<Path>) files::iterator) {
+                if (f.getFileName().toString().endsWith(FILE_EXTENSION)) {
+                    Files.deleteIfExists(f);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * @(#)AncestorFilter.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.manager;
+
+import org.jhotdraw8.css.model.SelectorModel;
+import org.jhotdraw8.css.value.QualifiedName;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/// A counting Bloom filter over the ids, style classes and types of the
+/// ancestors of an element.
+///
+/// The filter is moved from element to element with [#enter(Object)].
+/// If the elements are entered in preorder, then moving the filter takes
+/// amortized O(1) time, because only the ancestors that differ from the
+/// previous element are removed from or added to the filter. Otherwise,
+/// the filter is rebuilt from the ancestors of the element.
+///
+/// A descendant combinator can not match, if the filter does not contain
+/// the id, the style class or the type that its ancestor selector
+/// requires. The filter uses [SelectorModel#getId], [SelectorModel#getStyleClasses]
+/// and [SelectorModel#getType] to look up these values, like
+/// [StyleRuleIndex] does.
+///
+/// This class is not thread-safe.
+///
+/// @param <E> the element type
+final class AncestorFilter<E> {
+    private static final int SIZE = 1 << 10;
+    private static final int MASK = SIZE - 1;
+    private static final int ID_SALT = 0x1d8e4e27;
+    private static final int CLASS_SALT = 0x6b43a9b5;
+    private static final int TYPE_SALT = 0x3c6ef372;
+
+    private final SelectorModel<E> model;
+    private final short[] counters = new short[SIZE];
+    /// The ancestors of the current element, the root comes first.
+    private final List<E> path = new ArrayList<>();
+    private @Nullable E current;
+
+    AncestorFilter(SelectorModel<E> model) {
+        this.model = model;
+    }
+
+    /// Moves the filter to the ancestors of the specified element.
+    ///
+    /// @param elem an element
+    void enter(E elem) {
+        E parent = model.getParent(elem);
+        if (parent != null && parent == current) {
+            push(parent);
+        } else {
+            while (!path.isEmpty() && path.getLast() != parent) {
+                pop();
+            }
+            if (path.isEmpty() && parent != null) {
+                List<E> ancestors = new ArrayList<>();
+                for (E a = parent; a != null; a = model.getParent(a)) {
+                    ancestors.add(a);
+                }
+                for (int i = ancestors.size() - 1; i >= 0; i--) {
+                    push(ancestors.get(i));
+                }
+            }
+        }
+        current = elem;
+    }
+
+    /// Returns false if no ancestor of the current element has the
+    /// specified hash.
+    ///
+    /// @param hash a hash computed with [#idHash], [#classHash] or [#typeHash]
+    /// @return false if no ancestor has the hash, true if an ancestor may have it
+    boolean mightContain(int hash) {
+        return counters[hash & MASK] != 0 && counters[(hash >>> 16) & MASK] != 0;
+    }
+
+    static int idHash(String id) {
+        return mix(id.hashCode() ^ ID_SALT);
+    }
+
+    static int classHash(String clazz) {
+        return mix(clazz.hashCode() ^ CLASS_SALT);
+    }
+
+    static int typeHash(String type) {
+        return mix(type.hashCode() ^ TYPE_SALT);
+    }
+
+    private static int mix(int h) {
+        h *= 0x9e3779b9;
+        return h ^ (h >>> 15);
+    }
+
+    private void push(E elem) {
+        path.add(elem);
+        update(elem, 1);
+    }
+
+    private void pop() {
+        update(path.removeLast(), -1);
+    }
+
+    private void update(E elem, int delta) {
+        String id = model.getId(elem);
+        if (id != null) {
+            add(idHash(id), delta);
+        }
+        for (String clazz : model.getStyleClasses(elem)) {
+            add(classHash(clazz), delta);
+        }
+        QualifiedName type = model.getType(elem);
+        if (type != null) {
+            add(typeHash(type.name()), delta);
+        }
+    }
+
+    private void add(int hash, int delta) {
+        counters[hash & MASK] += (short) delta;
+        counters[(hash >>> 16) & MASK] += (short) delta;
+    }
+}
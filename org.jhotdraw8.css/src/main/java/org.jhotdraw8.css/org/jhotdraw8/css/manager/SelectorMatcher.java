@@ -0,0 +1,259 @@
+/*
+ * @(#)SelectorMatcher.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.manager;
+
+import org.jhotdraw8.css.ast.AdjacentSiblingCombinator;
+import org.jhotdraw8.css.ast.AndCombinator;
+import org.jhotdraw8.css.ast.ChildCombinator;
+import org.jhotdraw8.css.ast.ClassSelector;
+import org.jhotdraw8.css.ast.DescendantCombinator;
+import org.jhotdraw8.css.ast.GeneralSiblingCombinator;
+import org.jhotdraw8.css.ast.IdSelector;
+import org.jhotdraw8.css.ast.SelectNothingSelector;
+import org.jhotdraw8.css.ast.Selector;
+import org.jhotdraw8.css.ast.SelectorGroup;
+import org.jhotdraw8.css.ast.SimplePseudoClassSelector;
+import org.jhotdraw8.css.ast.SimpleSelector;
+import org.jhotdraw8.css.ast.TypeSelector;
+import org.jhotdraw8.css.ast.UniversalSelector;
+import org.jhotdraw8.css.model.SelectorModel;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/// A selector that has been compiled into a tree of matchers.
+///
+/// A matcher does the same as [Selector#matches], but it does not
+/// dispatch over the syntax tree, chains of [AndCombinator]s are
+/// flattened into one array, and a [DescendantCombinator] consults an
+/// [AncestorFilter] before it walks up the ancestors of an element.
+///
+/// Like [Selector#match], a matcher returns the element on which its
+/// leftmost selector matched, or null.
+sealed interface SelectorMatcher {
+
+    /// Matches the selector on the specified element.
+    ///
+    /// @param model  the selector model
+    /// @param elem   the element, may be null if the element is the parent
+    ///               or the sibling of another element
+    /// @param filter the ancestor filter of the element, or null
+    /// @param <E>    the element type
+    /// @return the matching element or null
+    <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter);
+
+    /// Compiles the specified selector.
+    ///
+    /// @param selector a selector
+    /// @return the matcher
+    static SelectorMatcher compile(Selector selector) {
+        return switch (selector) {
+            case TypeSelector s -> new TypeMatcher(s.getNamespacePattern(), s.getType());
+            case ClassSelector s -> new ClassMatcher(s.getClazz());
+            case IdSelector s -> new IdMatcher(s.getId());
+            case SimplePseudoClassSelector s -> new PseudoClassMatcher(s.getPseudoClass());
+            case UniversalSelector ignored -> new UniversalMatcher();
+            case SelectNothingSelector ignored -> new NothingMatcher();
+            case AndCombinator s -> {
+                List<SelectorMatcher> all = new ArrayList<>();
+                Selector next = s;
+                while (next instanceof AndCombinator and) {
+                    all.add(compile(and.getFirst()));
+                    next = and.getSecond();
+                }
+                all.add(compile(next));
+                yield new AllMatcher(all.toArray(new SelectorMatcher[0]));
+            }
+            case ChildCombinator s -> new ChildMatcher(compile(s.getFirst()), compile(s.getSecond()));
+            case DescendantCombinator s -> {
+                Integer hash = filterHash(s.getFirst());
+                yield new DescendantMatcher(compile(s.getFirst()), compile(s.getSecond()),
+                        hash != null, hash == null ? 0 : hash);
+            }
+            case AdjacentSiblingCombinator s ->
+                    new AdjacentSiblingMatcher(compile(s.getFirst()), compile(s.getSecond()));
+            case GeneralSiblingCombinator s ->
+                    new GeneralSiblingMatcher(compile(s.getFirst()), compile(s.getSecond()));
+            case SimpleSelector s -> new InterpretedMatcher(s);
+            default -> throw new IllegalArgumentException("Unsupported selector: " + selector);
+        };
+    }
+
+    /// Returns the hash with which [AncestorFilter] can test, whether an
+    /// ancestor may match the specified selector.
+    ///
+    /// A type selector with a namespace pattern has no hash, because
+    /// a selector model may match a namespace on another name than the one
+    /// that [SelectorModel#getType] returns. For example, the `java`
+    /// namespace of a figure matches on the class name of the figure.
+    private static @Nullable Integer filterHash(SimpleSelector s) {
+        return switch (s) {
+            case IdSelector id -> AncestorFilter.idHash(id.getId());
+            case ClassSelector clazz -> AncestorFilter.classHash(clazz.getClazz());
+            case TypeSelector type when type.getNamespacePattern() == null
+                    || TypeSelector.ANY_NAMESPACE.equals(type.getNamespacePattern()) ->
+                    AncestorFilter.typeHash(type.getType());
+            default -> null;
+        };
+    }
+
+    record TypeMatcher(@Nullable String namespacePattern, String type) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            return elem != null && model.hasType(elem, namespacePattern, type) ? elem : null;
+        }
+    }
+
+    record ClassMatcher(String clazz) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            return elem != null && model.hasStyleClass(elem, clazz) ? elem : null;
+        }
+    }
+
+    record IdMatcher(String id) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            return elem != null && model.hasId(elem, id) ? elem : null;
+        }
+    }
+
+    record PseudoClassMatcher(String pseudoClass) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            return elem != null && model.hasPseudoClass(elem, pseudoClass) ? elem : null;
+        }
+    }
+
+    record UniversalMatcher() implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            return elem;
+        }
+    }
+
+    record NothingMatcher() implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            return null;
+        }
+    }
+
+    /// Matches a simple selector that has no dedicated matcher, for example
+    /// an attribute selector, by interpreting it.
+    record InterpretedMatcher(SimpleSelector selector) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            return elem != null && selector.matches(model, elem) ? elem : null;
+        }
+    }
+
+    /// Matches a chain of [AndCombinator]s. All selectors must match on the
+    /// same element.
+    record AllMatcher(SelectorMatcher[] matchers) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            for (SelectorMatcher m : matchers) {
+                if (m.match(model, elem, filter) == null) {
+                    return null;
+                }
+            }
+            return elem;
+        }
+    }
+
+    record ChildMatcher(SelectorMatcher first, SelectorMatcher second) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            E result = second.match(model, elem, filter);
+            return result == null ? null : first.match(model, model.getParent(result), null);
+        }
+    }
+
+    /// Matches a [DescendantCombinator].
+    ///
+    /// @param first    the matcher for the ancestor
+    /// @param second   the matcher for the element
+    /// @param filtered whether an ancestor must have `hash` in the ancestor filter
+    /// @param hash     the hash of the id, class or type of the ancestor selector
+    record DescendantMatcher(SelectorMatcher first, SelectorMatcher second,
+                             boolean filtered, int hash) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            if (filtered && filter != null && !filter.mightContain(hash)) {
+                return null;
+            }
+            E result = second.match(model, elem, filter);
+            if (result != null) {
+                for (E parent = model.getParent(elem); parent != null; parent = model.getParent(parent)) {
+                    if (first.match(model, parent, null) != null) {
+                        return result;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    record AdjacentSiblingMatcher(SelectorMatcher first, SelectorMatcher second) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            E result = second.match(model, elem, filter);
+            return result == null ? null : first.match(model, model.getPreviousSibling(result), null);
+        }
+    }
+
+    record GeneralSiblingMatcher(SelectorMatcher first, SelectorMatcher second) implements SelectorMatcher {
+        @Override
+        public <E> @Nullable E match(SelectorModel<E> model, @Nullable E elem, @Nullable AncestorFilter<E> filter) {
+            E result = second.match(model, elem, filter);
+            if (result != null) {
+                for (E sibling = model.getPreviousSibling(elem); sibling != null; sibling = model.getPreviousSibling(sibling)) {
+                    if (first.match(model, sibling, null) != null) {
+                        return result;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /// A compiled [SelectorGroup].
+    ///
+    /// @param matchers      the matchers of the selectors of the group
+    /// @param specificities the specificities of the selectors of the group
+    record GroupMatcher(SelectorMatcher[] matchers, int[] specificities) {
+        static GroupMatcher compile(SelectorGroup group) {
+            int n = group.getSelectors().size();
+            SelectorMatcher[] matchers = new SelectorMatcher[n];
+            int[] specificities = new int[n];
+            for (int i = 0; i < n; i++) {
+                Selector s = group.getSelectors().get(i);
+                matchers[i] = SelectorMatcher.compile(s);
+                specificities[i] = s.getSpecificity();
+            }
+            return new GroupMatcher(matchers, specificities);
+        }
+
+        /// Returns the specificity of the selector that
+        /// [SelectorGroup#matchSelector] returns, or -1 if no selector matches.
+        ///
+        /// @param model  the selector model
+        /// @param elem   the element
+        /// @param filter the ancestor filter of the element, or null
+        /// @param <E>    the element type
+        /// @return the highest specificity of all matching selectors, or -1
+        <E> int matchSpecificity(SelectorModel<E> model, E elem, @Nullable AncestorFilter<E> filter) {
+            int maxSpecificity = -1;
+            for (int i = 0; i < matchers.length; i++) {
+                if (specificities[i] > maxSpecificity && matchers[i].match(model, elem, filter) != null) {
+                    maxSpecificity = specificities[i];
+                }
+            }
+            return maxSpecificity;
+        }
+    }
+}
@@ -8,14 +8,12 @@ import javafx.css.StyleOrigin;
 import org.jhotdraw8.base.converter.SimpleUriResolver;
 import org.jhotdraw8.base.converter.UriResolver;
 import org.jhotdraw8.base.function.Consumer3;
-import org.jhotdraw8.collection.pair.OrderedPair;
-import org.jhotdraw8.collection.pair.SimpleOrderedPair;
 import org.jhotdraw8.css.ast.Declaration;
-import org.jhotdraw8.css.ast.Selector;
 import org.jhotdraw8.css.ast.StyleRule;
 import org.jhotdraw8.css.ast.Stylesheet;
-import org.jhotdraw8.css.ast.TypeSelector;
 import org.jhotdraw8.css.function.CssFunction;
+import org.jhotdraw8.css.io.CompiledStylesheet;
+import org.jhotdraw8.css.io.StylesheetCache;
 import org.jhotdraw8.css.model.SelectorModel;
 import org.jhotdraw8.css.parser.CssParser;
 import org.jhotdraw8.css.parser.CssToken;
@@ -26,6 +24,7 @@ import org.jhotdraw8.icollection.readable.ReadableList;
 import org.jspecify.annotations.Nullable;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -36,8 +35,8 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.SequencedMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
@@ -47,13 +46,20 @@ import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
 /// SimpleStylesheetsManager.
 ///
 /// @param <E> the element type that can be styled by this style manager
 public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
+    /// The number of elements that [#applyStylesheetsTo(Iterable)] styles
+    /// in one parallel task.
+    private static final int APPLY_CHUNK_SIZE = 64;
+    /// The stylesheet cache that is used by new instances.
+    private static volatile @Nullable StylesheetCache defaultStylesheetCache;
     private @Nullable String defaultNamespace;
+    private @Nullable StylesheetCache stylesheetCache = defaultStylesheetCache;
 
     private Supplier<CssParser> parserFactory = CssParser::new;
     private UriResolver uriResolver = new SimpleUriResolver();
@@ -71,6 +77,8 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
     private @Nullable Map<String, PersistentList<CssToken>> cachedAuthorCustomProperties;
     private @Nullable Map<String, PersistentList<CssToken>> cachedInlineCustomProperties;
     private @Nullable Map<String, PersistentList<CssToken>> cachedUserAgentCustomProperties;
+    private volatile @Nullable StyleInvalidationIndex cachedInvalidationIndex;
+    private volatile @Nullable StyleSharingCache<E, CascadedDeclarations> cachedStyleSharingCache;
 
     private Consumer3<Level, String, Throwable> logger = (l, s, t) -> {
     };
@@ -104,6 +112,7 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
 
     public void setSelectorModel(SelectorModel<E> newValue) {
         selectorModel = newValue;
+        cachedStyleSharingCache = null;
     }
 
     @Override
@@ -140,11 +149,29 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
         getMap(origin).put(str, new StylesheetEntry(origin, str, null, documentHome, logger));
     }
 
+    @Override
+    public void addCompiledStylesheet(StyleOrigin origin, URI compiledStylesheetUri, @Nullable URI documentHome) {
+        URI absolutizedUri = uriResolver.absolutize(documentHome, compiledStylesheetUri);
+        invalidate();
+        getMap(origin).put(absolutizedUri, new StylesheetEntry(origin, absolutizedUri, () -> {
+            CompiledStylesheet compiled;
+            try (InputStream in = absolutizedUri.toURL().openStream()) {
+                compiled = CompiledStylesheet.read(in);
+            }
+            CssParser p = parserFactory.get();
+            Stylesheet s = compiled.toStylesheet(p, absolutizedUri, uriResolver.getParent(absolutizedUri));
+            logParseResult(absolutizedUri.toString(), s, p);
+            return s;
+        }, logger));
+    }
+
     private void invalidate() {
         cachedAuthorCustomProperties = null;
         cachedInlineCustomProperties = null;
         cachedUserAgentCustomProperties = null;
-        candidateRules.clear();
+        ruleIndices.clear();
+        cachedInvalidationIndex = null;
+        cachedStyleSharingCache = null;
     }
 
     @Override
@@ -156,6 +183,7 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
             invalidate();
         } else {
             getMap(origin).clear();
+            invalidate();
         }
     }
 
@@ -232,79 +260,97 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
         // Compute custom properties
         Map<String, PersistentList<CssToken>> customProperties = computeCustomProperties();
         final CssFunctionProcessor<E> functionProcessor = functions.isEmpty() ? null : createCssFunctionProcessor(selectorModel, customProperties);
+        final StyleSharingCache<E, CascadedDeclarations> styleSharingCache = getStyleSharingCache();
+
+        // Each chunk of elements is styled with its own ancestor filter.
+        // If the elements are in preorder, then the filter is only rebuilt
+        // at the start of a chunk.
+        List<E> list = StreamSupport.stream(iterable.spliterator(), false).toList();
+        int chunkCount = (list.size() + APPLY_CHUNK_SIZE - 1) / APPLY_CHUNK_SIZE;
+        IntStream.range(0, chunkCount).parallel().forEach(chunk -> {
+            AncestorFilter<E> filter = new AncestorFilter<>(selectorModel);
+            for (int i = chunk * APPLY_CHUNK_SIZE, end = Math.min(list.size(), i + APPLY_CHUNK_SIZE); i < end; i++) {
+                E elem = list.get(i);
+                filter.enter(elem);
+                applyStylesheetsTo(elem, filter, selectorModel, customProperties, functionProcessor, styleSharingCache);
+            }
+        });
+    }
 
-        StreamSupport.stream(iterable.spliterator(), false).toList()
-                .stream()
-                .parallel()
-                .forEach(elem -> {
-                    // Clear stylesheet values
-                    selectorModel.reset(elem);
-
-                    // The stylesheet is a user-agent stylesheet
-                    for (ApplicableDeclaration entry : collectApplicableDeclarations(elem, getUserAgentStylesheets())) {
-                        try {
-                            Declaration d = entry.declaration();
-                            doSetAttribute(entry.stylesheet(), selectorModel, elem, StyleOrigin.USER_AGENT, d.getNamespace(), d.getPropertyName(), d.getTerms(), customProperties, functionProcessor);
-                        } catch (ParseException e) {
-                            logger.accept(Level.FINE, "user-agent stylesheet=" + entry.stylesheet.getUri() + " line=" + entry.declaration.getLineNumber(), e);
-                        }
-                    }
+    private void applyStylesheetsTo(E elem, AncestorFilter<E> filter, SelectorModel<E> selectorModel,
+                                    Map<String, PersistentList<CssToken>> customProperties,
+                                    @Nullable CssFunctionProcessor<E> functionProcessor,
+                                    StyleSharingCache<E, CascadedDeclarations> styleSharingCache) {
+        // Clear stylesheet values
+        selectorModel.reset(elem);
 
-                    // The value of a property was set by the user through a call to a set method with StyleOrigin.USER
-                    // ... nothing to do!
+        // Elements with the same selector-relevant state share the applicable declarations
+        CascadedDeclarations cascaded = styleSharingCache.get(selectorModel, elem, e -> collectCascadedDeclarations(e, filter));
 
-                    // The stylesheet is an external file
-                    for (ApplicableDeclaration entry : collectApplicableDeclarations(elem, getAuthorStylesheets())) {
-                        try {
-                            Declaration d = entry.declaration();
-                            doSetAttribute(entry.stylesheet(), selectorModel, elem, StyleOrigin.AUTHOR, d.getNamespace(), d.getPropertyName(), d.getTerms(), customProperties, functionProcessor);
-                        } catch (ParseException e) {
-                            logger.accept(Level.FINE, "external stylesheet=" + entry.stylesheet.getUri() + " line=" + entry.declaration.getLineNumber(), e);
-                        }
-                    }
+        // The stylesheet is a user-agent stylesheet
+        for (ApplicableDeclaration entry : cascaded.userAgent()) {
+            try {
+                Declaration d = entry.declaration();
+                doSetAttribute(entry.stylesheet(), selectorModel, elem, StyleOrigin.USER_AGENT, d.getNamespace(), d.getPropertyName(), d.getTerms(), customProperties, functionProcessor);
+            } catch (ParseException e) {
+                logger.accept(Level.FINE, "user-agent stylesheet=" + entry.stylesheet.getUri() + " line=" + entry.declaration.getLineNumber(), e);
+            }
+        }
 
-                    // The stylesheet is an internal file
-                    for (ApplicableDeclaration entry : collectApplicableDeclarations(elem, getInlineStylesheets())) {
-                        try {
-                            Declaration d = entry.declaration();
-                            doSetAttribute(entry.stylesheet(), selectorModel, elem, StyleOrigin.INLINE, d.getNamespace(), d.getPropertyName(), d.getTerms(), customProperties, functionProcessor);
-                        } catch (ParseException e) {
-                            logger.accept(Level.FINE, "internal stylesheet=" + entry.stylesheet.getUri() + " line=" + entry.declaration.getLineNumber(), e);
-                        }
-                    }
+        // The value of a property was set by the user through a call to a set method with StyleOrigin.USER
+        // ... nothing to do!
 
-                    // 'inline style attributes' can override all other values
-                    CssParser parser = parserFactory.get();
-                    if (selectorModel.hasAttribute(elem, null, "style")) {
-                        Map<QualifiedName, PersistentList<CssToken>> inlineDeclarations = new HashMap<>();
-                        String styleValue = selectorModel.getAttributeAsString(elem, null, "style");
-                        if (styleValue != null) {
-                            try {
-                                for (Declaration d : parser.parseDeclarationList(styleValue)) {
-                                    // Declarations without terms are ignored
-                                    if (d.getTerms().isEmpty()) {
-                                        continue;
-                                    }
-
-                                    inlineDeclarations.put(new QualifiedName(d.getNamespace(), d.getPropertyName()), d.getTerms());
-                                }
-                            } catch (IOException ex) {
-                                logger.accept(Level.WARNING, "invalid inline style attribute on element. style=" + styleValue, null);
-                                Logger.getLogger(getClass().getName()).log(Level.WARNING, "Unexpected Exception " + ex.getMessage(), ex);
-
-                            }
-                        }
-                        Map<String, PersistentList<CssToken>> inlineStyleAttrCustomProperties = Collections.emptyMap();
-                        for (Map.Entry<QualifiedName, PersistentList<CssToken>> entry : inlineDeclarations.entrySet()) {
-                            try {
-                                doSetAttribute(null, selectorModel, elem, StyleOrigin.INLINE, entry.getKey().namespace(), entry.getKey().name(), entry.getValue(), inlineStyleAttrCustomProperties, functionProcessor);
-                            } catch (ParseException e) {
-                                logger.accept(Level.WARNING, "error applying inline style attribute. style=" + styleValue, e);
-                            }
+        // The stylesheet is an external file
+        for (ApplicableDeclaration entry : cascaded.author()) {
+            try {
+                Declaration d = entry.declaration();
+                doSetAttribute(entry.stylesheet(), selectorModel, elem, StyleOrigin.AUTHOR, d.getNamespace(), d.getPropertyName(), d.getTerms(), customProperties, functionProcessor);
+            } catch (ParseException e) {
+                logger.accept(Level.FINE, "external stylesheet=" + entry.stylesheet.getUri() + " line=" + entry.declaration.getLineNumber(), e);
+            }
+        }
+
+        // The stylesheet is an internal file
+        for (ApplicableDeclaration entry : cascaded.inline()) {
+            try {
+                Declaration d = entry.declaration();
+                doSetAttribute(entry.stylesheet(), selectorModel, elem, StyleOrigin.INLINE, d.getNamespace(), d.getPropertyName(), d.getTerms(), customProperties, functionProcessor);
+            } catch (ParseException e) {
+                logger.accept(Level.FINE, "internal stylesheet=" + entry.stylesheet.getUri() + " line=" + entry.declaration.getLineNumber(), e);
+            }
+        }
+
+        // 'inline style attributes' can override all other values
+        CssParser parser = parserFactory.get();
+        if (selectorModel.hasAttribute(elem, null, "style")) {
+            Map<QualifiedName, PersistentList<CssToken>> inlineDeclarations = new HashMap<>();
+            String styleValue = selectorModel.getAttributeAsString(elem, null, "style");
+            if (styleValue != null) {
+                try {
+                    for (Declaration d : parser.parseDeclarationList(styleValue)) {
+                        // Declarations without terms are ignored
+                        if (d.getTerms().isEmpty()) {
+                            continue;
                         }
-                        inlineDeclarations.clear();
+
+                        inlineDeclarations.put(new QualifiedName(d.getNamespace(), d.getPropertyName()), d.getTerms());
                     }
-                });
+                } catch (IOException ex) {
+                    logger.accept(Level.WARNING, "invalid inline style attribute on element. style=" + styleValue, null);
+                    Logger.getLogger(getClass().getName()).log(Level.WARNING, "Unexpected Exception " + ex.getMessage(), ex);
+
+                }
+            }
+            Map<String, PersistentList<CssToken>> inlineStyleAttrCustomProperties = Collections.emptyMap();
+            for (Map.Entry<QualifiedName, PersistentList<CssToken>> entry : inlineDeclarations.entrySet()) {
+                try {
+                    doSetAttribute(null, selectorModel, elem, StyleOrigin.INLINE, entry.getKey().namespace(), entry.getKey().name(), entry.getValue(), inlineStyleAttrCustomProperties, functionProcessor);
+                } catch (ParseException e) {
+                    logger.accept(Level.WARNING, "error applying inline style attribute. style=" + styleValue, e);
+                }
+            }
+            inlineDeclarations.clear();
+        }
     }
 
     private Map<String, PersistentList<CssToken>> computeCustomProperties() {
@@ -343,7 +389,7 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
     /// @param stylesheets the stylesheets
     /// @return list of applicable declarations
     private List<ApplicableDeclaration> collectApplicableDeclarations(
-            E elem,
+            E elem, @Nullable AncestorFilter<E> filter,
             Collection<StylesheetEntry> stylesheets) {
         List<ApplicableDeclaration> applicableDeclarations = new ArrayList<>();
         for (StylesheetEntry e : stylesheets) {
@@ -351,7 +397,7 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
             if (s == null) {
                 continue;
             }
-            collectApplicableDeclarations(elem, s, applicableDeclarations);
+            collectApplicableDeclarations(elem, filter, s, applicableDeclarations);
         }
 
         applicableDeclarations.sort(Comparator.comparingInt(ApplicableDeclaration::specificity));
@@ -362,47 +408,46 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
                                          Declaration declaration) {
     }
 
-    private final ConcurrentHashMap<OrderedPair<Stylesheet, QualifiedName>, List<StyleRule>>
-            candidateRules = new ConcurrentHashMap<>();
-
-    private Iterable<StyleRule> getCandidateStyleRules(Stylesheet s, E elem) {
-        QualifiedName qualifiedTypeName = getSelectorModel().getType(elem);
-        String typeName = qualifiedTypeName.name();
-        OrderedPair<Stylesheet, QualifiedName> key = new SimpleOrderedPair<>(s, qualifiedTypeName);
-        return candidateRules.computeIfAbsent(key, k -> {
-            List<StyleRule> candidates = new ArrayList<>();
-            for (StyleRule styleRule : s.getStyleRules()) {
-                TypeSelector typeSelector = styleRule.getSelectorGroup().matchesOnlyOnASpecificType();
-                String candidateTypeName = typeSelector == null || !Objects.equals(typeSelector.getNamespacePattern(), TypeSelector.ANY_NAMESPACE)
-                        ? null
-                        : typeSelector.getType();
-                if (candidateTypeName == null || candidateTypeName.equals(typeName)) {
-                    candidates.add(styleRule);
-                }
-            }
-            return candidates;
-        });
+    /// The applicable declarations of an element, grouped by style origin.
+    private record CascadedDeclarations(List<ApplicableDeclaration> userAgent,
+                                        List<ApplicableDeclaration> author,
+                                        List<ApplicableDeclaration> inline) {
+    }
+
+    private CascadedDeclarations collectCascadedDeclarations(E elem, AncestorFilter<E> filter) {
+        return new CascadedDeclarations(
+                collectApplicableDeclarations(elem, filter, getUserAgentStylesheets()),
+                collectApplicableDeclarations(elem, filter, getAuthorStylesheets()),
+                collectApplicableDeclarations(elem, filter, getInlineStylesheets()));
+    }
 
+    /// Returns the style sharing cache for the current stylesheets.
+    private StyleSharingCache<E, CascadedDeclarations> getStyleSharingCache() {
+        StyleSharingCache<E, CascadedDeclarations> cache = cachedStyleSharingCache;
+        if (cache == null) {
+            cache = new StyleSharingCache<>(getInvalidationIndex());
+            cachedStyleSharingCache = cache;
+        }
+        return cache;
     }
 
+    /// Style rule indices of the stylesheets.
+    private final ConcurrentHashMap<Stylesheet, StyleRuleIndex> ruleIndices = new ConcurrentHashMap<>();
+
     private List<ApplicableDeclaration> collectApplicableDeclarations(
-            E elem, Stylesheet s,
+            E elem, @Nullable AncestorFilter<E> filter, Stylesheet s,
             List<ApplicableDeclaration> applicableDeclarations) {
-        SelectorModel<E> selectorModel = getSelectorModel();
-        for (StyleRule r : getCandidateStyleRules(s, elem)) {
-            Selector selector;
-            if (null != (selector = r.getSelectorGroup().matchSelector(selectorModel, elem))) {
-                for (Declaration d : r.getDeclarations()) {
-                    // Declarations without terms are ignored
-                    if (d.getTerms().isEmpty()) {
-                        continue;
-                    }
+        ruleIndices.computeIfAbsent(s, StyleRuleIndex::new)
+                .forEachMatchingRule(getSelectorModel(), elem, filter, (r, specificity) -> {
+                    for (Declaration d : r.getDeclarations()) {
+                        // Declarations without terms are ignored
+                        if (d.getTerms().isEmpty()) {
+                            continue;
+                        }
 
-                    applicableDeclarations.add(new ApplicableDeclaration(selector.getSpecificity(),
-                            s, d));
-                }
-            }
-        }
+                        applicableDeclarations.add(new ApplicableDeclaration(specificity, s, d));
+                    }
+                });
         return applicableDeclarations;
     }
 
@@ -412,7 +457,7 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
         final Map<String, PersistentList<CssToken>> customProperties = collectCustomProperties(s);
 
         CssFunctionProcessor<E> processor = createCssFunctionProcessor(selectorModel, customProperties);
-        final List<ApplicableDeclaration> applicableDeclarations = collectApplicableDeclarations(elem, s,
+        final List<ApplicableDeclaration> applicableDeclarations = collectApplicableDeclarations(elem, null, s,
                 new ArrayList<>());
         if (applicableDeclarations.isEmpty()) {
             return false;
@@ -514,6 +559,14 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
         }
     }
 
+    private void logParseResult(String source, Stylesheet s, CssParser p) {
+        logger.accept(Level.FINE, "Parsed " + source + "\n#rules: " + s.getStyleRules().size() + ", #errors: " + p.getParseExceptions().size(), null);
+        List<ParseException> parseExceptions = p.getParseExceptions();
+        if (!parseExceptions.isEmpty()) {
+            logger.accept(Level.FINE, "Parsed " + source + "\nExceptions:\n  " + parseExceptions.stream().map(ParseException::getMessage).collect(Collectors.joining("\n  ")), null);
+        }
+    }
+
     protected class StylesheetEntry implements StylesheetInfo {
 
         private final @Nullable URI uri;
@@ -529,18 +582,32 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
             this.future = new FutureTask<>(() -> {
                 CssParser p = new CssParser();
                 final URI stylesheetHome = uriResolver.getParent(stylesheetUri);
-                Stylesheet s = p.parseStylesheet(stylesheetUri, stylesheetHome);
-                logger.accept(Level.FINE, "Parsed " + stylesheetUri + "\n#rules: " + s.getStyleRules().size() + ", #errors: " + p.getParseExceptions().size(), null);
-                List<ParseException> parseExceptions = p.getParseExceptions();
-                if (!parseExceptions.isEmpty()) {
-                    logger.accept(Level.FINE, "Parsed " + stylesheetUri + "\nExceptions:\n  " + parseExceptions.stream().map(ParseException::getMessage).collect(Collectors.joining("\n  ")), null);
-                }
+                StylesheetCache cache = stylesheetCache;
+                Stylesheet s = cache == null
+                        ? p.parseStylesheet(stylesheetUri, stylesheetHome)
+                        : cache.parseStylesheet(p, stylesheetUri, stylesheetHome);
+                logParseResult(stylesheetUri.toString(), s, p);
                 return s;
             });
             this.logger = logger;
             executor.execute(future);
         }
 
+        /// Creates an entry for a stylesheet that is loaded by the
+        /// specified loader in the background.
+        ///
+        /// @param origin        the style origin
+        /// @param stylesheetUri the stylesheet uri
+        /// @param loader        the loader
+        /// @param logger        the logger
+        public StylesheetEntry(StyleOrigin origin, URI stylesheetUri, Callable<Stylesheet> loader, Consumer3<Level, String, Throwable> logger) {
+            this.origin = origin;
+            this.uri = stylesheetUri;
+            this.logger = logger;
+            this.future = new FutureTask<>(loader);
+            executor.execute(future);
+        }
+
         public StylesheetEntry(StyleOrigin origin, Stylesheet stylesheet, Consumer3<Level, String, Throwable> logger) {
             this.logger = logger;
             this.uri = null;
@@ -554,7 +621,10 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
             this.origin = origin;
             this.future = new FutureTask<>(() -> {
                 CssParser p = parserFactory.get();
-                Stylesheet s = p.parseStylesheet(str, stylesheetUri, documentHome);
+                StylesheetCache cache = stylesheetCache;
+                Stylesheet s = cache == null
+                        ? p.parseStylesheet(str, stylesheetUri, documentHome)
+                        : cache.parseStylesheet(p, str, stylesheetUri, documentHome);
                 logger.accept(Level.FINE, "Parsed " + str + "\nRules: " + s.getStyleRules(), null);
                 List<ParseException> parseExceptions = p.getParseExceptions();
                 if (!parseExceptions.isEmpty()) {
@@ -604,6 +674,16 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
         return list;
     }
 
+    @Override
+    public StyleInvalidationIndex getInvalidationIndex() {
+        StyleInvalidationIndex index = cachedInvalidationIndex;
+        if (index == null) {
+            index = StylesheetsManager.super.getInvalidationIndex();
+            cachedInvalidationIndex = index;
+        }
+        return index;
+    }
+
     @Override
     public boolean hasStylesheets() {
         return !userAgentList.isEmpty()
@@ -627,6 +707,43 @@ public class SimpleStylesheetsManager<E> implements StylesheetsManager<E> {
         this.uriResolver = uriResolver;
     }
 
+    /// Returns the stylesheet cache.
+    ///
+    /// @return the stylesheet cache, null if stylesheets are not cached
+    public @Nullable StylesheetCache getStylesheetCache() {
+        return stylesheetCache;
+    }
+
+    /// Sets the stylesheet cache that is used for stylesheets that are
+    /// added after this call.
+    ///
+    /// @param stylesheetCache the stylesheet cache, null if stylesheets
+    ///                        shall not be cached
+    public void setStylesheetCache(@Nullable StylesheetCache stylesheetCache) {
+        this.stylesheetCache = stylesheetCache;
+    }
+
+    /// Returns the stylesheet cache that is used by new instances.
+    ///
+    /// @return the default stylesheet cache, null if stylesheets are not
+    /// cached
+    public static @Nullable StylesheetCache getDefaultStylesheetCache() {
+        return defaultStylesheetCache;
+    }
+
+    /// Sets the stylesheet cache that is used by new instances.
+    ///
+    /// An application typically sets the default stylesheet cache on
+    /// startup, so that user agent and author stylesheets are not lexed
+    /// again when the application is restarted, or when a document is
+    /// opened.
+    ///
+    /// @param stylesheetCache the default stylesheet cache, null if
+    ///                        stylesheets shall not be cached
+    public static void setDefaultStylesheetCache(@Nullable StylesheetCache stylesheetCache) {
+        defaultStylesheetCache = stylesheetCache;
+    }
+
     public @Nullable String getDefaultNamespace() {
         return defaultNamespace;
     }
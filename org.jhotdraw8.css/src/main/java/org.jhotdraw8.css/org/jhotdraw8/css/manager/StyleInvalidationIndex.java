@@ -0,0 +1,343 @@
+/*
+ * @(#)StyleInvalidationIndex.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.manager;
+
+import org.jhotdraw8.css.ast.AbstractAttributeSelector;
+import org.jhotdraw8.css.ast.AdjacentSiblingCombinator;
+import org.jhotdraw8.css.ast.AndCombinator;
+import org.jhotdraw8.css.ast.ChildCombinator;
+import org.jhotdraw8.css.ast.ClassSelector;
+import org.jhotdraw8.css.ast.Combinator;
+import org.jhotdraw8.css.ast.DescendantCombinator;
+import org.jhotdraw8.css.ast.FunctionPseudoClassSelector;
+import org.jhotdraw8.css.ast.GeneralSiblingCombinator;
+import org.jhotdraw8.css.ast.IdSelector;
+import org.jhotdraw8.css.ast.NegationPseudoClassSelector;
+import org.jhotdraw8.css.ast.Selector;
+import org.jhotdraw8.css.ast.SelectorGroup;
+import org.jhotdraw8.css.ast.SimplePseudoClassSelector;
+import org.jhotdraw8.css.ast.StyleRule;
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/// Records on which style classes, ids, attributes and pseudo-classes
+/// the selectors of a set of stylesheets depend, and computes which elements
+/// must be restyled when one of them changes on an element.
+///
+/// For each dependency, the index stores a set of restyle flags. The flags
+/// depend on where the dependency occurs in a selector, relative to the
+/// element that is matched by the selector:
+///
+///   - on the element itself: [#RESTYLE_SELF]
+///   - on an ancestor (descendant and child combinators):
+///     [#RESTYLE_DESCENDANTS]
+///   - on a preceding sibling (`+` and `~` combinators):
+///     [#RESTYLE_FOLLOWING_SIBLINGS]
+///   - on a preceding sibling of an ancestor, or an ancestor of a preceding
+///     sibling: [#RESTYLE_DESCENDANTS], [#RESTYLE_FOLLOWING_SIBLINGS] and
+///     [#RESTYLE_FOLLOWING_SIBLING_DESCENDANTS]
+///
+/// The steps from the subject of a selector to the element that is matched
+/// by a part of the selector follow the match methods of the combinators.
+/// Several steps of the same kind are merged into one.
+///
+/// An instance of this class is immutable. It must be recreated when
+/// the stylesheets change.
+public final class StyleInvalidationIndex {
+    /// The element itself must be restyled.
+    public static final int RESTYLE_SELF = 1;
+    /// All descendants of the element must be restyled.
+    public static final int RESTYLE_DESCENDANTS = 2;
+    /// All following siblings of the element must be restyled.
+    public static final int RESTYLE_FOLLOWING_SIBLINGS = 4;
+    /// All descendants of the following siblings of the element must be restyled.
+    public static final int RESTYLE_FOLLOWING_SIBLING_DESCENDANTS = 8;
+
+    private static final int ANCESTOR_STEP = 1;
+    private static final int SIBLING_STEP = 2;
+
+    private final Map<String, Integer> styleClasses = new HashMap<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Map<String, Integer> attributes = new HashMap<>();
+    private final Map<String, Integer> pseudoClasses = new HashMap<>();
+    /// Restyle flags for the siblings of an element that is added or removed.
+    private int structureFlags;
+    /// Union of the restyle flags of all simple selectors, including
+    /// type selectors and universal selectors.
+    private int allFlags;
+
+    /// Creates a new instance for the specified stylesheets.
+    ///
+    /// @param stylesheets the stylesheets
+    public StyleInvalidationIndex(Iterable<Stylesheet> stylesheets) {
+        for (Stylesheet stylesheet : stylesheets) {
+            for (StyleRule rule : stylesheet.getStyleRules()) {
+                collectDependencies(rule.getSelectorGroup(), 0);
+            }
+        }
+    }
+
+    /// Collects the dependencies of a selector.
+    ///
+    /// @param selector a selector
+    /// @param steps    the steps from the subject of the selector to the
+    ///                 element on which the selector is matched
+    /// @return the steps from the subject of the selector to the element
+    ///                 that is returned by the match method of the selector
+    private int collectDependencies(Selector selector, int steps) {
+        return switch (selector) {
+            case SelectorGroup g -> {
+                for (Selector s : g.getSelectors()) {
+                    collectDependencies(s, steps);
+                }
+                yield steps;
+            }
+            case AndCombinator c -> {
+                collectDependencies(c.getSecond(), steps);
+                yield collectDependencies(c.getFirst(), steps);
+            }
+            // descendant and general sibling combinators match the first selector
+            // relative to the element, and return the match of the second selector
+            case DescendantCombinator c -> {
+                int result = collectDependencies(c.getSecond(), steps);
+                collectDependencies(c.getFirst(), steps | ANCESTOR_STEP);
+                yield result;
+            }
+            case GeneralSiblingCombinator c -> {
+                int result = collectDependencies(c.getSecond(), steps);
+                collectSiblingDependencies(c.getFirst(), steps | SIBLING_STEP);
+                yield result;
+            }
+            // child and adjacent sibling combinators match the first selector
+            // relative to the match of the second selector, and return the match
+            // of the first selector
+            case ChildCombinator c ->
+                    collectDependencies(c.getFirst(), collectDependencies(c.getSecond(), steps) | ANCESTOR_STEP);
+            case AdjacentSiblingCombinator c ->
+                    collectSiblingDependencies(c.getFirst(), collectDependencies(c.getSecond(), steps) | SIBLING_STEP);
+            case Combinator c -> {
+                // unknown combinator: assume the worst
+                collectDependencies(c.getSecond(), steps);
+                yield collectSiblingDependencies(c.getFirst(), steps | ANCESTOR_STEP | SIBLING_STEP);
+            }
+            case ClassSelector s -> merge(styleClasses, s.getClazz(), steps);
+            case IdSelector s -> merge(ids, s.getId(), steps);
+            case AbstractAttributeSelector s -> merge(attributes, s.getAttributeName(), steps);
+            case SimplePseudoClassSelector s -> merge(pseudoClasses, s.getPseudoClass(), steps);
+            case NegationPseudoClassSelector s -> {
+                collectDependencies(s.getSelector(), steps);
+                yield steps;
+            }
+            case FunctionPseudoClassSelector s -> merge(pseudoClasses, s.getFunctionIdentifier(), steps);
+            // type selectors and universal selectors do not depend on mutable state
+            default -> {
+                allFlags |= toRestyleFlags(steps);
+                yield steps;
+            }
+        };
+    }
+
+    private int collectSiblingDependencies(Selector first, int steps) {
+        structureFlags |= toRestyleFlags(steps);
+        return collectDependencies(first, steps);
+    }
+
+    private int merge(Map<String, Integer> map, String name, int steps) {
+        int flags = toRestyleFlags(steps);
+        map.merge(name, flags, (a, b) -> a | b);
+        allFlags |= flags;
+        return steps;
+    }
+
+    private static int toRestyleFlags(int steps) {
+        return switch (steps) {
+            case 0 -> RESTYLE_SELF;
+            case ANCESTOR_STEP -> RESTYLE_DESCENDANTS;
+            case SIBLING_STEP -> RESTYLE_FOLLOWING_SIBLINGS;
+            default -> RESTYLE_DESCENDANTS | RESTYLE_FOLLOWING_SIBLINGS | RESTYLE_FOLLOWING_SIBLING_DESCENDANTS;
+        };
+    }
+
+    /// Returns the restyle flags for an element on which the specified
+    /// style class has been added or removed.
+    ///
+    /// @param styleClass a style class
+    /// @return the restyle flags, 0 if no selector depends on the style class
+    public int getStyleClassFlags(String styleClass) {
+        return styleClasses.getOrDefault(styleClass, 0);
+    }
+
+    /// Returns the restyle flags for an element on which the specified
+    /// id has been added or removed.
+    ///
+    /// @param id an id
+    /// @return the restyle flags, 0 if no selector depends on the id
+    public int getIdFlags(String id) {
+        return ids.getOrDefault(id, 0);
+    }
+
+    /// Returns the restyle flags for an element on which the specified
+    /// attribute has changed.
+    ///
+    /// @param attributeName an attribute name
+    /// @return the restyle flags, 0 if no selector depends on the attribute
+    public int getAttributeFlags(String attributeName) {
+        return attributes.getOrDefault(attributeName, 0);
+    }
+
+    /// Returns the restyle flags for an element on which the specified
+    /// pseudo-class has been added or removed.
+    ///
+    /// @param pseudoClass a pseudo-class
+    /// @return the restyle flags, 0 if no selector depends on the pseudo-class
+    public int getPseudoClassFlags(String pseudoClass) {
+        return pseudoClasses.getOrDefault(pseudoClass, 0);
+    }
+
+    /// Returns the restyle flags for an element that has been added to
+    /// or removed from its parent. The flags only cover the siblings of
+    /// the element.
+    ///
+    /// @return the restyle flags, 0 if no selector depends on siblings
+    public int getStructureFlags() {
+        return structureFlags;
+    }
+
+    /// Returns the union of the restyle flags of all simple selectors,
+    /// including type selectors and universal selectors.
+    ///
+    /// If this value does not contain [#RESTYLE_DESCENDANTS], then no selector
+    /// depends on the ancestors of an element. If this value does not contain
+    /// [#RESTYLE_FOLLOWING_SIBLINGS], then no selector depends on the
+    /// preceding siblings of an element.
+    ///
+    /// @return the union of all restyle flags
+    public int getAllFlags() {
+        return allFlags;
+    }
+
+    /// Returns the names of all pseudo-classes on which a selector depends.
+    ///
+    /// @return an unmodifiable set of pseudo-class names
+    public Set<String> getPseudoClasses() {
+        return Collections.unmodifiableSet(pseudoClasses.keySet());
+    }
+
+    /// Returns the names of all attributes on which a selector depends.
+    ///
+    /// @return an unmodifiable set of attribute names
+    public Set<String> getAttributes() {
+        return Collections.unmodifiableSet(attributes.keySet());
+    }
+
+    /// Returns the restyle flags for an element on which the style classes
+    /// have changed.
+    ///
+    /// @param oldClasses the old style classes
+    /// @param newClasses the new style classes
+    /// @return the restyle flags
+    public int getStyleClassesChangedFlags(Collection<String> oldClasses, Collection<String> newClasses) {
+        int flags = 0;
+        for (String c : oldClasses) {
+            if (!newClasses.contains(c)) {
+                flags |= getStyleClassFlags(c);
+            }
+        }
+        for (String c : newClasses) {
+            if (!oldClasses.contains(c)) {
+                flags |= getStyleClassFlags(c);
+            }
+        }
+        return flags;
+    }
+
+    /// Returns the restyle flags for an element on which the pseudo-classes
+    /// have changed.
+    ///
+    /// @param oldPseudoClasses the old pseudo-classes
+    /// @param newPseudoClasses the new pseudo-classes
+    /// @return the restyle flags
+    public int getPseudoClassesChangedFlags(Collection<String> oldPseudoClasses, Collection<String> newPseudoClasses) {
+        int flags = 0;
+        for (String c : oldPseudoClasses) {
+            if (!newPseudoClasses.contains(c)) {
+                flags |= getPseudoClassFlags(c);
+            }
+        }
+        for (String c : newPseudoClasses) {
+            if (!oldPseudoClasses.contains(c)) {
+                flags |= getPseudoClassFlags(c);
+            }
+        }
+        return flags;
+    }
+
+    /// Returns the restyle flags for an element on which the id has changed.
+    ///
+    /// @param oldId the old id
+    /// @param newId the new id
+    /// @return the restyle flags
+    public int getIdChangedFlags(@Nullable String oldId, @Nullable String newId) {
+        if (Objects.equals(oldId, newId)) {
+            return 0;
+        }
+        return (oldId == null ? 0 : getIdFlags(oldId)) | (newId == null ? 0 : getIdFlags(newId));
+    }
+
+    /// Collects the elements that must be restyled according to the
+    /// specified restyle flags.
+    ///
+    /// @param element          the element that has changed
+    /// @param flags            the restyle flags
+    /// @param parentFunction   returns the parent of an element
+    /// @param childrenFunction returns the children of an element
+    /// @param consumer         the consumer for the elements that must be restyled
+    /// @param <E>              the element type
+    public static <E> void collectElementsToRestyle(E element, int flags,
+                                                    Function<? super E, ? extends @Nullable E> parentFunction,
+                                                    Function<? super E, ? extends List<? extends E>> childrenFunction,
+                                                    Consumer<? super E> consumer) {
+        if ((flags & RESTYLE_SELF) != 0) {
+            consumer.accept(element);
+        }
+        if ((flags & RESTYLE_DESCENDANTS) != 0) {
+            collectDescendants(element, childrenFunction, consumer);
+        }
+        if ((flags & (RESTYLE_FOLLOWING_SIBLINGS | RESTYLE_FOLLOWING_SIBLING_DESCENDANTS)) != 0) {
+            E parent = parentFunction.apply(element);
+            if (parent != null) {
+                List<? extends E> siblings = childrenFunction.apply(parent);
+                for (int i = siblings.indexOf(element) + 1, n = siblings.size(); i > 0 && i < n; i++) {
+                    E sibling = siblings.get(i);
+                    if ((flags & RESTYLE_FOLLOWING_SIBLINGS) != 0) {
+                        consumer.accept(sibling);
+                    }
+                    if ((flags & RESTYLE_FOLLOWING_SIBLING_DESCENDANTS) != 0) {
+                        collectDescendants(sibling, childrenFunction, consumer);
+                    }
+                }
+            }
+        }
+    }
+
+    private static <E> void collectDescendants(E element,
+                                               Function<? super E, ? extends List<? extends E>> childrenFunction,
+                                               Consumer<? super E> consumer) {
+        for (E child : childrenFunction.apply(element)) {
+            consumer.accept(child);
+            collectDescendants(child, childrenFunction, consumer);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * @(#)StyleRuleIndex.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.manager;
+
+import org.jhotdraw8.collection.primitive.IntArrayList;
+import org.jhotdraw8.css.ast.ClassSelector;
+import org.jhotdraw8.css.ast.IdSelector;
+import org.jhotdraw8.css.ast.Selector;
+import org.jhotdraw8.css.ast.SimpleSelector;
+import org.jhotdraw8.css.ast.StyleRule;
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jhotdraw8.css.ast.TypeSelector;
+import org.jhotdraw8.css.model.SelectorModel;
+import org.jhotdraw8.css.value.QualifiedName;
+import org.jhotdraw8.icollection.readable.ReadableList;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/// Indexes the style rules of a stylesheet by the key selectors of their
+/// selectors.
+///
+/// Each selector of a rule is put into one bucket: by id, by class, by type,
+/// or into the universal bucket if the selector has no key selector
+/// (see [Selector#getKeySelector()]). An element only needs to be matched
+/// against the rules in the universal bucket and in the buckets of its id,
+/// its style classes and its type.
+///
+/// The candidate rules are returned in the same order as in the stylesheet.
+///
+/// The selector groups of the rules are compiled into [SelectorMatcher]s
+/// when the index is created.
+class StyleRuleIndex {
+    private final ReadableList<StyleRule> rules;
+    private final SelectorMatcher.GroupMatcher[] matchers;
+    private final Map<String, int[]> byId;
+    private final Map<String, int[]> byClass;
+    private final Map<String, int[]> byType;
+    private final int[] universal;
+
+    StyleRuleIndex(Stylesheet stylesheet) {
+        this.rules = stylesheet.getStyleRules();
+        Map<String, IntArrayList> ids = new HashMap<>();
+        Map<String, IntArrayList> classes = new HashMap<>();
+        Map<String, IntArrayList> types = new HashMap<>();
+        IntArrayList any = new IntArrayList();
+        this.matchers = new SelectorMatcher.GroupMatcher[rules.size()];
+        for (int i = 0, n = rules.size(); i < n; i++) {
+            matchers[i] = SelectorMatcher.GroupMatcher.compile(rules.get(i).getSelectorGroup());
+            for (Selector selector : rules.get(i).getSelectorGroup().getSelectors()) {
+                SimpleSelector key = selector.getKeySelector();
+                IntArrayList bucket = switch (key) {
+                    case IdSelector s -> ids.computeIfAbsent(s.getId(), k -> new IntArrayList());
+                    case ClassSelector s -> classes.computeIfAbsent(s.getClazz(), k -> new IntArrayList());
+                    case TypeSelector s -> types.computeIfAbsent(s.getType(), k -> new IntArrayList());
+                    case null, default -> any;
+                };
+                if (bucket.isEmpty() || bucket.getLastAsInt() != i) {
+                    bucket.addAsInt(i);
+                }
+            }
+        }
+        this.byId = toArrays(ids);
+        this.byClass = toArrays(classes);
+        this.byType = toArrays(types);
+        this.universal = any.toIntArray();
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, IntArrayList> map) {
+        Map<String, int[]> result = HashMap.newHashMap(map.size());
+        for (Map.Entry<String, IntArrayList> e : map.entrySet()) {
+            result.put(e.getKey(), e.getValue().toIntArray());
+        }
+        return result;
+    }
+
+    /// Returns the rules that could match the specified element.
+    ///
+    /// @param model the selector model
+    /// @param elem  the element
+    /// @param <E>   the element type
+    /// @return the candidate rules in stylesheet order
+    <E> List<StyleRule> getCandidateRules(SelectorModel<E> model, E elem) {
+        IntArrayList indices = getCandidateIndices(model, elem);
+        List<StyleRule> candidates = new ArrayList<>(indices.size());
+        for (int i = 0, n = indices.size(); i < n; i++) {
+            candidates.add(rules.get(indices.getAsInt(i)));
+        }
+        return candidates;
+    }
+
+    /// Invokes the consumer for each rule that matches the specified
+    /// element, in stylesheet order.
+    ///
+    /// The consumer receives the rule and the specificity of the selector
+    /// that [org.jhotdraw8.css.ast.SelectorGroup#matchSelector] returns.
+    ///
+    /// @param model    the selector model
+    /// @param elem     the element
+    /// @param filter   the ancestor filter of the element, or null
+    /// @param consumer the consumer
+    /// @param <E>      the element type
+    <E> void forEachMatchingRule(SelectorModel<E> model, E elem, @Nullable AncestorFilter<E> filter,
+                                 ObjIntConsumer<StyleRule> consumer) {
+        IntArrayList indices = getCandidateIndices(model, elem);
+        for (int i = 0, n = indices.size(); i < n; i++) {
+            int index = indices.getAsInt(i);
+            int specificity = matchers[index].matchSpecificity(model, elem, filter);
+            if (specificity >= 0) {
+                consumer.accept(rules.get(index), specificity);
+            }
+        }
+    }
+
+    /// Returns the indices of the candidate rules in ascending order
+    /// without duplicates.
+    private <E> IntArrayList getCandidateIndices(SelectorModel<E> model, E elem) {
+        IntArrayList indices = new IntArrayList(universal.length + 8);
+        add(indices, universal);
+        if (!byType.isEmpty()) {
+            QualifiedName type = model.getType(elem);
+            if (type != null) {
+                add(indices, byType.get(type.name()));
+            }
+        }
+        if (!byId.isEmpty()) {
+            String id = model.getId(elem);
+            if (id != null) {
+                add(indices, byId.get(id));
+            }
+        }
+        if (!byClass.isEmpty()) {
+            for (String clazz : model.getStyleClasses(elem)) {
+                add(indices, byClass.get(clazz));
+            }
+        }
+
+        // A rule with several selectors can be in more than one bucket
+        indices.sort();
+        int size = 0;
+        for (int i = 0, n = indices.size(); i < n; i++) {
+            int index = indices.getAsInt(i);
+            if (size == 0 || indices.getAsInt(size - 1) != index) {
+                indices.setAsInt(size++, index);
+            }
+        }
+        indices.setSize(size);
+        return indices;
+    }
+
+    private static void add(IntArrayList indices, int @Nullable [] bucket) {
+        if (bucket != null) {
+            for (int i : bucket) {
+                indices.addAsInt(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * @(#)StyleSharingCache.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.manager;
+
+import org.jhotdraw8.css.model.SelectorModel;
+import org.jhotdraw8.css.value.QualifiedName;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/// Shares the result of the style computation between elements that can not
+/// be told apart by the selectors of the stylesheets.
+///
+/// The cache is keyed by a fingerprint of the state of an element that the
+/// selectors can observe through the [SelectorModel]:
+///
+///   - the Java class and the type of the element,
+///   - the id, if a selector depends on it,
+///   - the style classes on which a selector depends,
+///   - the pseudo-classes on which a selector depends,
+///   - the fingerprint of the parent, if a selector depends on ancestors.
+///
+/// Elements are not shared, if a selector depends on attributes or on
+/// preceding siblings. The information on which the selectors depend
+/// is taken from a [StyleInvalidationIndex].
+///
+/// The cache is thread-safe. When the cache exceeds its maximal size, it is
+/// cleared. The cache must be recreated when the stylesheets change.
+///
+/// @param <E> the element type
+/// @param <V> the value type
+class StyleSharingCache<E, V> {
+    /// The default maximal number of cached values.
+    static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final StyleInvalidationIndex index;
+    private final boolean enabled;
+    private final boolean dependsOnAncestors;
+    private final List<String> pseudoClasses;
+    private final int maxSize;
+    private final ConcurrentHashMap<StyleKey, V> map = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    StyleSharingCache(StyleInvalidationIndex index) {
+        this(index, DEFAULT_MAX_SIZE);
+    }
+
+    StyleSharingCache(StyleInvalidationIndex index, int maxSize) {
+        this.index = index;
+        this.maxSize = maxSize;
+        this.enabled = maxSize > 0
+                && index.getAttributes().isEmpty()
+                && (index.getAllFlags() & StyleInvalidationIndex.RESTYLE_FOLLOWING_SIBLINGS) == 0;
+        this.dependsOnAncestors = (index.getAllFlags() & StyleInvalidationIndex.RESTYLE_DESCENDANTS) != 0;
+        this.pseudoClasses = List.copyOf(new TreeSet<>(index.getPseudoClasses()));
+    }
+
+    /// Returns the shared value for the specified element, or computes
+    /// a new value.
+    ///
+    /// @param model   the selector model
+    /// @param elem    the element
+    /// @param compute computes the value for an element
+    /// @return the value
+    V get(SelectorModel<E> model, E elem, Function<E, V> compute) {
+        if (!enabled) {
+            missCount.increment();
+            return compute.apply(elem);
+        }
+        StyleKey key = createKey(model, elem);
+        V value = map.get(key);
+        if (value != null) {
+            hitCount.increment();
+            return value;
+        }
+        missCount.increment();
+        value = compute.apply(elem);
+        if (map.size() >= maxSize) {
+            map.clear();
+        }
+        map.put(key, value);
+        return value;
+    }
+
+    private StyleKey createKey(SelectorModel<E> model, E elem) {
+        String id = model.getId(elem);
+        if (id != null && index.getIdFlags(id) == 0) {
+            id = null;
+        }
+        List<String> styleClasses = new ArrayList<>();
+        for (String clazz : model.getStyleClasses(elem)) {
+            if (index.getStyleClassFlags(clazz) != 0) {
+                styleClasses.add(clazz);
+            }
+        }
+        styleClasses.sort(null);
+        long pseudoClassBits = 0L;
+        List<String> morePseudoClasses = null;
+        for (int i = 0, n = pseudoClasses.size(); i < n; i++) {
+            String pseudoClass = pseudoClasses.get(i);
+            if (model.hasPseudoClass(elem, pseudoClass)) {
+                if (i < Long.SIZE) {
+                    pseudoClassBits |= 1L << i;
+                } else {
+                    if (morePseudoClasses == null) {
+                        morePseudoClasses = new ArrayList<>();
+                    }
+                    morePseudoClasses.add(pseudoClass);
+                }
+            }
+        }
+        E parent = dependsOnAncestors ? model.getParent(elem) : null;
+        return new StyleKey(elem.getClass(), model.getType(elem), id, styleClasses,
+                pseudoClassBits, morePseudoClasses,
+                parent == null ? null : createKey(model, parent));
+    }
+
+    /// Returns whether elements can share values with the current stylesheets.
+    ///
+    /// @return true if sharing is enabled
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /// Returns the number of times a shared value was returned.
+    ///
+    /// @return the hit count
+    long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /// Returns the number of times a value had to be computed.
+    ///
+    /// @return the miss count
+    long getMissCount() {
+        return missCount.sum();
+    }
+
+    /// The fingerprint of an element.
+    private record StyleKey(Class<?> elementClass, @Nullable QualifiedName type, @Nullable String id,
+                            List<String> styleClasses, long pseudoClassBits,
+                            @Nullable List<String> morePseudoClasses, @Nullable StyleKey parent) {
+    }
+}
@@ -50,6 +50,17 @@ public interface StylesheetsManager<E> {
     /// @param stylesheet the stylesheet given as a literal string
     void addStylesheet(StyleOrigin origin, String stylesheet, @Nullable URI documentHome);
 
+    /// Adds a pre-compiled stylesheet with the specified origin.
+    ///
+    /// A pre-compiled stylesheet is a file that has been written with
+    /// [org.jhotdraw8.css.io.CompiledStylesheet#write]. It is parsed
+    /// without lexing the source text of the stylesheet.
+    ///
+    /// @param origin                the style origin
+    /// @param compiledStylesheetUri the url of the pre-compiled stylesheet
+    /// @param documentHome          the document Home url
+    void addCompiledStylesheet(StyleOrigin origin, URI compiledStylesheetUri, @Nullable URI documentHome);
+
     default void applyStylesheetsTo(Iterable<E> iterable) {
         StreamSupport.stream(iterable.spliterator(), false).toList()
                 .stream()
@@ -165,4 +176,22 @@ public interface StylesheetsManager<E> {
     default boolean hasStylesheets() {
         return !getStylesheets().isEmpty();
     }
+
+    /// Returns an index that tells which elements must be restyled when
+    /// the style classes, ids, attributes or pseudo-classes of an element
+    /// change.
+    ///
+    /// The default implementation creates a new index on each call.
+    ///
+    /// @return the invalidation index for the current stylesheets
+    default StyleInvalidationIndex getInvalidationIndex() {
+        List<Stylesheet> stylesheets = new ArrayList<>();
+        for (StylesheetInfo info : getStylesheets()) {
+            Stylesheet s = info.getStylesheet();
+            if (s != null) {
+                stylesheets.add(s);
+            }
+        }
+        return new StyleInvalidationIndex(stylesheets);
+    }
 }
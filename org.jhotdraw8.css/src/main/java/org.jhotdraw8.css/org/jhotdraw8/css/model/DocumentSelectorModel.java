@@ -79,7 +79,9 @@ public class DocumentSelectorModel extends AbstractSelectorModel<Element> {
 
     @Override
     public @Nullable QualifiedName getType(Element elem) {
-        return new QualifiedName(elem.getNamespaceURI(), elem.getNodeName());
+        // hasType matches on the local name, and not on the prefixed node name
+        String localName = elem.getLocalName();
+        return new QualifiedName(elem.getNamespaceURI(), localName == null ? elem.getNodeName() : localName);
     }
 
     @Override
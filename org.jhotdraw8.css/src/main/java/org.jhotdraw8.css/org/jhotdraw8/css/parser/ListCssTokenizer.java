@@ -10,6 +10,7 @@ import org.jhotdraw8.icollection.persistent.PersistentList;
 import org.jhotdraw8.icollection.readable.ReadableList;
 import org.jspecify.annotations.Nullable;
 
+import java.net.URI;
 import java.util.List;
 
 import static org.jhotdraw8.css.parser.CssTokenType.TT_BAD_COMMENT;
@@ -23,6 +24,7 @@ public class ListCssTokenizer implements CssTokenizer {
     private int index = 0;
     private boolean pushBack = true;
     private @Nullable CssToken current;
+    private final @Nullable URI uri;
     private static final CssToken EOF = new CssToken(CssTokenType.TT_EOF);
 
     public ListCssTokenizer(List<CssToken> in) {
@@ -30,7 +32,16 @@ public class ListCssTokenizer implements CssTokenizer {
     }
 
     public ListCssTokenizer(ReadableList<CssToken> in) {
+        this(in, null);
+    }
+
+    /// Creates a new instance.
+    ///
+    /// @param in  the tokens
+    /// @param uri the URI of the source of the tokens, used in source locators
+    public ListCssTokenizer(ReadableList<CssToken> in, @Nullable URI uri) {
         this.in = VectorList.copyOf(in);
+        this.uri = uri;
         current = in.isEmpty() ? EOF : in.get(0);
     }
 
@@ -56,7 +67,7 @@ public class ListCssTokenizer implements CssTokenizer {
 
     @Override
     public @Nullable SourceLocator getSourceLocator() {
-        return new SourceLocator(getStartPosition(), getLineNumber(), null);
+        return new SourceLocator(getStartPosition(), getLineNumber(), uri);
     }
 
     @Override
@@ -0,0 +1,170 @@
+/*
+ * @(#)CompiledStylesheetTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.io;
+
+import javafx.css.StyleOrigin;
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jhotdraw8.css.manager.SimpleStylesheetsManager;
+import org.jhotdraw8.css.model.DocumentSelectorModel;
+import org.jhotdraw8.css.parser.CssParser;
+import org.jhotdraw8.css.parser.CssToken;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Element;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CompiledStylesheetTest {
+    private static final String CSS = """
+            @namespace svg "http://www.w3.org/2000/svg";
+            /* a comment */
+            svg|rect, .a > #b + c ~ d[e|="f"] { fill: rgb(10%, 20, 30.5); stroke: url("x.svg#y"); }
+            :not(.x):first-child g [h^='i'][j$=k][l*=m][n~=o] { width: -12.25e1px; content: "\\263a"; }
+            @media print { p { color: red } }
+            * { --custom: 1 2 3; margin: 1px 2em 3% 4 }
+            """;
+
+    @Test
+    public void shouldRoundTripTheTokens() throws IOException {
+        CompiledStylesheet compiled = CompiledStylesheet.compile(CSS, null);
+        CompiledStylesheet read = CompiledStylesheet.read(new ByteArrayInputStream(toBytes(compiled)));
+
+        assertArrayEquals(compiled.getContentHash(), read.getContentHash());
+        assertEquals(compiled.getTokens().size(), read.getTokens().size());
+        for (int i = 0; i < compiled.getTokens().size(); i++) {
+            CssToken expected = compiled.getTokens().get(i);
+            CssToken actual = read.getTokens().get(i);
+            assertEquals(expected, actual);
+            assertEquals(expected.getStartPos(), actual.getStartPos());
+            assertEquals(expected.getEndPos(), actual.getEndPos());
+            assertEquals(expected.getLineNumber(), actual.getLineNumber());
+        }
+    }
+
+    @Test
+    public void shouldParseTheSameStylesheetAsTheSourceText() throws IOException {
+        URI uri = URI.create("file:/styles/test.css");
+        Stylesheet expected = new CssParser().parseStylesheet(CSS, uri, null);
+        CompiledStylesheet compiled = CompiledStylesheet.read(new ByteArrayInputStream(toBytes(CompiledStylesheet.compile(CSS, uri))));
+        Stylesheet actual = compiled.toStylesheet(new CssParser(), uri, null);
+        assertEquals(expected.toString(), actual.toString());
+        assertEquals(expected.getStyleRules().size(), actual.getStyleRules().size());
+        assertEquals(expected.getStyleRules().get(1).getSourceLocator(), actual.getStyleRules().get(1).getSourceLocator());
+    }
+
+    @Test
+    public void shouldRejectMalformedInput() throws IOException {
+        assertThrows(IOException.class, () -> CompiledStylesheet.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4})));
+        byte[] bytes = toBytes(CompiledStylesheet.compile(CSS, null));
+        byte[] truncated = new byte[bytes.length / 2];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        assertThrows(IOException.class, () -> CompiledStylesheet.read(new ByteArrayInputStream(truncated)));
+    }
+
+    @Test
+    public void shouldRejectCorruptLengthFields() throws IOException {
+        byte[] bytes = toBytes(CompiledStylesheet.compile(CSS, null));
+        // the size of the string table follows the magic number, the
+        // version and the content hash
+        int offset = 4 + 4 + 32;
+        int end = offset;
+        while ((bytes[end] & 0x80) != 0) {
+            end++;
+        }
+        for (byte[] size : List.of(
+                new byte[]{(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x07},// Integer.MAX_VALUE
+                new byte[]{(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x0f}// -1
+        )) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            out.write(bytes, 0, offset);
+            out.write(size);
+            out.write(bytes, end + 1, bytes.length - 4 - end - 1);
+            CRC32 crc = new CRC32();
+            crc.update(out.toByteArray());
+            new DataOutputStream(out).writeInt((int) crc.getValue());
+            byte[] corrupt = out.toByteArray();
+            assertThrows(IOException.class, () -> CompiledStylesheet.read(new ByteArrayInputStream(corrupt)));
+        }
+    }
+
+    @Test
+    public void shouldRejectCorruptPayload() throws IOException {
+        byte[] bytes = toBytes(CompiledStylesheet.compile(CSS, null));
+        for (int i = 4 + 4; i < bytes.length; i += 7) {
+            byte[] corrupt = bytes.clone();
+            corrupt[i] ^= 0x10;
+            assertThrows(IOException.class, () -> CompiledStylesheet.read(new ByteArrayInputStream(corrupt)));
+        }
+    }
+
+    @Test
+    public void shouldCompileOnMissAndReadOnHit(@TempDir Path dir) throws IOException {
+        StylesheetCache cache = new StylesheetCache(dir.resolve("cache"));
+        byte[] content = CSS.getBytes(StandardCharsets.UTF_8);
+        CompiledStylesheet miss = cache.getCompiledStylesheet(content, null);
+        List<Path> files = list(cache.getDirectory());
+        assertEquals(1, files.size());
+
+        CompiledStylesheet hit = cache.getCompiledStylesheet(content, null);
+        assertEquals(miss.getTokens().size(), hit.getTokens().size());
+
+        // a corrupt cache file is replaced
+        byte[] bytes = Files.readAllBytes(files.getFirst());
+        for (byte[] corrupt : List.of(new byte[]{0}, Arrays.copyOf(bytes, bytes.length - 1))) {
+            Files.write(files.getFirst(), corrupt);
+            assertEquals(miss.getTokens().size(), cache.getCompiledStylesheet(content, null).getTokens().size());
+            try (var in = Files.newInputStream(files.getFirst())) {
+                assertEquals(miss.getTokens().size(), CompiledStylesheet.read(in).getTokens().size());
+            }
+        }
+
+        // other content gets its own cache file
+        cache.getCompiledStylesheet("a { b: c }".getBytes(StandardCharsets.UTF_8), null);
+        assertEquals(2, list(cache.getDirectory()).size());
+        cache.clear();
+        assertEquals(0, list(cache.getDirectory()).size());
+    }
+
+    @Test
+    public void shouldAddCompiledStylesheetToManager(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("test.cssb");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            CompiledStylesheet.compile(CSS, null).write(out);
+        }
+        SimpleStylesheetsManager<Element> manager = new SimpleStylesheetsManager<>(new DocumentSelectorModel());
+        manager.addCompiledStylesheet(StyleOrigin.AUTHOR, file.toUri(), null);
+        Stylesheet stylesheet = manager.getStylesheets().getFirst().getStylesheet();
+        assertNotNull(stylesheet);
+        assertEquals(new CssParser().parseStylesheet(CSS, file.toUri(), dir.toUri()).toString(), stylesheet.toString());
+    }
+
+    private static byte[] toBytes(CompiledStylesheet compiled) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        compiled.write(out);
+        return out.toByteArray();
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * @(#)SelectorMatcherTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.manager;
+
+import org.jhotdraw8.css.ast.Selector;
+import org.jhotdraw8.css.ast.StyleRule;
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jhotdraw8.css.model.DocumentSelectorModel;
+import org.jhotdraw8.css.parser.CssParser;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SelectorMatcherTest {
+    private static final String CSS = """
+            * { a: 1 }
+            rect { a: 2 }
+            g > .y { a: 3 }
+            rect.x#r3 { a: 4 }
+            g .x.y { a: 5 }
+            #root rect { a: 6 }
+            .deep circle { a: 7 }
+            svg g > g text { a: 8 }
+            rect + rect { a: 9 }
+            rect ~ g { a: 10 }
+            :not(.x) { a: 11 }
+            [id^="r"] { a: 12 }
+            #nothere rect, .nothere circle { a: 13 }
+            .deep > *, g g g { a: 14 }
+            """;
+    private static final String XML = """
+            <g id="root">
+              <rect id="r1" class="x"/>
+              <rect id="r2" class="y"/>
+              <rect id="r3" class="x y"/>
+              <g class="deep"><text class="y"/><circle/>
+                <g><g><text/><circle class="x y"/></g></g>
+              </g>
+            </g>
+            """;
+
+    private static List<Element> parseElements() throws Exception {
+        return parseElements(XML);
+    }
+
+    private static List<Element> parseElements(String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document doc = factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        NodeList nodes = doc.getElementsByTagName("*");
+        List<Element> elements = new ArrayList<>();
+        for (int i = 0, n = nodes.getLength(); i < n; i++) {
+            elements.add((Element) nodes.item(i));
+        }
+        return elements;
+    }
+
+    @Test
+    public void shouldMatchLikeTheSelectorsInPreorder() throws Exception {
+        assertMatchesLikeSelectors(parseElements());
+    }
+
+    @Test
+    public void shouldMatchLikeTheSelectorsInAnyOrder() throws Exception {
+        List<Element> elements = parseElements();
+        Collections.reverse(elements);
+        assertMatchesLikeSelectors(elements);
+        Collections.shuffle(elements, new Random(7));
+        assertMatchesLikeSelectors(elements);
+    }
+
+    private static void assertMatchesLikeSelectors(List<Element> elements) throws Exception {
+        Stylesheet stylesheet = new CssParser().parseStylesheet(CSS, null, null);
+        DocumentSelectorModel model = new DocumentSelectorModel();
+        AncestorFilter<Element> filter = new AncestorFilter<>(model);
+        for (Element elem : elements) {
+            filter.enter(elem);
+            for (StyleRule r : stylesheet.getStyleRules()) {
+                SelectorMatcher.GroupMatcher groupMatcher = SelectorMatcher.GroupMatcher.compile(r.getSelectorGroup());
+                Selector expected = r.getSelectorGroup().matchSelector(model, elem);
+                assertEquals(expected == null ? -1 : expected.getSpecificity(),
+                        groupMatcher.matchSpecificity(model, elem, filter),
+                        r.getSelectorGroup() + " on " + elem.getTagName() + "#" + elem.getAttribute("id"));
+                for (Selector s : r.getSelectorGroup().getSelectors()) {
+                    assertEquals(s.matches(model, elem),
+                            SelectorMatcher.compile(s).match(model, elem, filter) != null,
+                            s + " on " + elem.getTagName() + "#" + elem.getAttribute("id"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldMatchNamespacedAncestors() throws Exception {
+        String css = """
+                @namespace svg "http://www.w3.org/2000/svg";
+                @namespace java "java";
+                svg|g rect { a: 1 }
+                g rect { a: 2 }
+                java|Group rect { a: 3 }
+                java|Group > svg|rect { a: 4 }
+                """;
+        String xml = """
+                <svg:svg xmlns:svg="http://www.w3.org/2000/svg">
+                  <svg:g java="Group"><svg:rect/></svg:g>
+                </svg:svg>
+                """;
+        // Like FigureSelectorModel, this model matches the java namespace
+        // on another name than the one that getType returns.
+        DocumentSelectorModel model = new DocumentSelectorModel() {
+            @Override
+            public boolean hasType(Element elem, @Nullable String namespacePattern, String type) {
+                return "java".equals(namespacePattern)
+                        ? type.equals(elem.getAttribute("java"))
+                        : super.hasType(elem, namespacePattern, type);
+            }
+        };
+        Stylesheet stylesheet = new CssParser().parseStylesheet(css, null, null);
+        AncestorFilter<Element> filter = new AncestorFilter<>(model);
+        Element rect = parseElements(xml).getLast();
+        filter.enter(rect);
+        for (StyleRule r : stylesheet.getStyleRules()) {
+            for (Selector s : r.getSelectorGroup().getSelectors()) {
+                assertTrue(s.matches(model, rect), s.toString());
+                assertNotNull(SelectorMatcher.compile(s).match(model, rect, filter), s.toString());
+            }
+            assertTrue(SelectorMatcher.GroupMatcher.compile(r.getSelectorGroup()).matchSpecificity(model, rect, filter) >= 0,
+                    r.getSelectorGroup().toString());
+        }
+    }
+
+    @Test
+    public void shouldRejectDescendantsOfMissingAncestors() throws Exception {
+        List<Element> elements = parseElements();
+        DocumentSelectorModel model = new DocumentSelectorModel();
+        AncestorFilter<Element> filter = new AncestorFilter<>(model);
+        Element innerCircle = elements.get(elements.size() - 1);
+        filter.enter(innerCircle);
+        assertTrue(filter.mightContain(AncestorFilter.idHash("root")));
+        assertTrue(filter.mightContain(AncestorFilter.classHash("deep")));
+        assertTrue(filter.mightContain(AncestorFilter.typeHash("g")));
+        assertFalse(filter.mightContain(AncestorFilter.typeHash("circle")));
+        assertFalse(filter.mightContain(AncestorFilter.classHash("x")));
+
+        Element firstRect = elements.get(1);
+        filter.enter(firstRect);
+        assertTrue(filter.mightContain(AncestorFilter.idHash("root")));
+        assertFalse(filter.mightContain(AncestorFilter.classHash("deep")));
+    }
+}
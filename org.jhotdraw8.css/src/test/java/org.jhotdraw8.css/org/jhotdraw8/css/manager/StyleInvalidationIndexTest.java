@@ -0,0 +1,103 @@
+/*
+ * @(#)StyleInvalidationIndexTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.manager;
+
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jhotdraw8.css.parser.CssParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.jhotdraw8.css.manager.StyleInvalidationIndex.RESTYLE_DESCENDANTS;
+import static org.jhotdraw8.css.manager.StyleInvalidationIndex.RESTYLE_FOLLOWING_SIBLINGS;
+import static org.jhotdraw8.css.manager.StyleInvalidationIndex.RESTYLE_FOLLOWING_SIBLING_DESCENDANTS;
+import static org.jhotdraw8.css.manager.StyleInvalidationIndex.RESTYLE_SELF;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StyleInvalidationIndexTest {
+    private static StyleInvalidationIndex createIndex(String css) throws Exception {
+        Stylesheet stylesheet = new CssParser().parseStylesheet(css, null, null);
+        return new StyleInvalidationIndex(List.of(stylesheet));
+    }
+
+    @Test
+    public void shouldComputeFlagsFromPositionInSelector() throws Exception {
+        StyleInvalidationIndex index = createIndex("""
+                .self { a: 1 }
+                .anc .x { a: 2 }
+                .parent > .x { a: 3 }
+                .prev + .x { a: 4 }
+                .anyprev ~ .x { a: 5 }
+                .both + g > .x { a: 6 }
+                .sib + g .x { a: 6 }
+                #id { a: 7 }
+                [fill] { a: 8 }
+                g:hover .x { a: 9 }
+                :not(.neg) { a: 10 }
+                rect.and { a: 11 }
+                """);
+        assertEquals(RESTYLE_SELF, index.getStyleClassFlags("x"));
+        assertEquals(RESTYLE_SELF, index.getStyleClassFlags("self"));
+        assertEquals(RESTYLE_DESCENDANTS, index.getStyleClassFlags("anc"));
+        assertEquals(RESTYLE_DESCENDANTS, index.getStyleClassFlags("parent"));
+        assertEquals(RESTYLE_FOLLOWING_SIBLINGS, index.getStyleClassFlags("prev"));
+        assertEquals(RESTYLE_FOLLOWING_SIBLINGS, index.getStyleClassFlags("anyprev"));
+        assertEquals(RESTYLE_DESCENDANTS | RESTYLE_FOLLOWING_SIBLINGS | RESTYLE_FOLLOWING_SIBLING_DESCENDANTS,
+                index.getStyleClassFlags("both"));
+        assertEquals(RESTYLE_FOLLOWING_SIBLINGS, index.getStyleClassFlags("sib"));
+        assertEquals(RESTYLE_SELF, index.getIdFlags("id"));
+        assertEquals(RESTYLE_SELF, index.getAttributeFlags("fill"));
+        assertEquals(RESTYLE_DESCENDANTS, index.getPseudoClassFlags("hover"));
+        assertEquals(RESTYLE_SELF, index.getStyleClassFlags("neg"));
+        assertEquals(RESTYLE_SELF, index.getStyleClassFlags("and"));
+        assertEquals(0, index.getStyleClassFlags("unknown"));
+        assertEquals(0, index.getAttributeFlags("stroke"));
+        assertEquals(RESTYLE_DESCENDANTS | RESTYLE_FOLLOWING_SIBLINGS | RESTYLE_FOLLOWING_SIBLING_DESCENDANTS,
+                index.getStructureFlags());
+    }
+
+    @Test
+    public void shouldComputeFlagsForChangedClassesAndIds() throws Exception {
+        StyleInvalidationIndex index = createIndex("""
+                .a { a: 1 }
+                .b .x { a: 2 }
+                #c + .x { a: 3 }
+                """);
+        assertEquals(RESTYLE_SELF, index.getStyleClassesChangedFlags(Set.of("a", "b"), Set.of("b")));
+        assertEquals(RESTYLE_DESCENDANTS, index.getStyleClassesChangedFlags(Set.of("a"), Set.of("a", "b")));
+        assertEquals(0, index.getStyleClassesChangedFlags(Set.of("a", "b"), Set.of("b", "a")));
+        assertEquals(RESTYLE_FOLLOWING_SIBLINGS, index.getIdChangedFlags(null, "c"));
+        assertEquals(0, index.getIdChangedFlags("c", "c"));
+        assertEquals(0, index.getIdChangedFlags("d", "e"));
+        assertEquals(0, createIndex(".a { a: 1 }").getStructureFlags());
+    }
+
+    @Test
+    public void shouldCollectElementsToRestyle() {
+        // root -> (a -> (a1), b -> (b1), c)
+        Map<String, List<String>> children = Map.of(
+                "root", List.of("a", "b", "c"),
+                "a", List.of("a1"),
+                "b", List.of("b1"),
+                "a1", List.of(), "b1", List.of(), "c", List.of());
+        Map<String, String> parents = Map.of("a", "root", "b", "root", "c", "root", "a1", "a", "b1", "b");
+
+        assertEquals(List.of("a"), collect("a", RESTYLE_SELF, parents, children));
+        assertEquals(List.of("a", "a1"), collect("a", RESTYLE_SELF | RESTYLE_DESCENDANTS, parents, children));
+        assertEquals(List.of("b", "c"), collect("a", RESTYLE_FOLLOWING_SIBLINGS, parents, children));
+        assertEquals(List.of("b1"), collect("a", RESTYLE_FOLLOWING_SIBLING_DESCENDANTS, parents, children));
+        assertEquals(List.of(), collect("c", RESTYLE_FOLLOWING_SIBLINGS, parents, children));
+        assertEquals(List.of(), collect("root", RESTYLE_FOLLOWING_SIBLINGS, parents, children));
+    }
+
+    private static List<String> collect(String elem, int flags, Map<String, String> parents, Map<String, List<String>> children) {
+        List<String> result = new ArrayList<>();
+        StyleInvalidationIndex.collectElementsToRestyle(elem, flags, parents::get, children::get, result::add);
+        return result;
+    }
+}
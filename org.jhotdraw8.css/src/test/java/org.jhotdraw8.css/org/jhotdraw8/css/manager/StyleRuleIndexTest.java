@@ -0,0 +1,78 @@
+/*
+ * @(#)StyleRuleIndexTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.manager;
+
+import org.jhotdraw8.css.ast.StyleRule;
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jhotdraw8.css.model.DocumentSelectorModel;
+import org.jhotdraw8.css.parser.CssParser;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StyleRuleIndexTest {
+    @Test
+    public void shouldReturnAllMatchingRulesInStylesheetOrder() throws Exception {
+        Stylesheet stylesheet = new CssParser().parseStylesheet("""
+                        * { a: 1 }
+                        rect { a: 2 }
+                        .x { a: 3 }
+                        #r1 { a: 4 }
+                        g > .y { a: 5 }
+                        rect.x { a: 6 }
+                        .y, #r2 { a: 7 }
+                        circle { a: 8 }
+                        :first-child { a: 9 }
+                        rect.x#r3 { a: 10 }
+                        g .x.y { a: 11 }
+                        """,
+                null, null);
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document doc = factory.newDocumentBuilder().parse(new InputSource(new StringReader("""
+                <g id="root">
+                  <rect id="r1" class="x"/>
+                  <rect id="r2" class="y"/>
+                  <rect id="r3" class="x y"/>
+                  <g><text class="y"/><circle/></g>
+                </g>
+                """)));
+        DocumentSelectorModel model = new DocumentSelectorModel();
+        StyleRuleIndex index = new StyleRuleIndex(stylesheet);
+
+        NodeList elements = doc.getElementsByTagName("*");
+        int totalCandidates = 0;
+        for (int i = 0, n = elements.getLength(); i < n; i++) {
+            Element elem = (Element) elements.item(i);
+            List<StyleRule> expected = new ArrayList<>();
+            for (StyleRule r : stylesheet.getStyleRules()) {
+                if (r.getSelectorGroup().matches(model, elem)) {
+                    expected.add(r);
+                }
+            }
+            List<StyleRule> candidates = index.getCandidateRules(model, elem);
+            List<StyleRule> actual = new ArrayList<>(candidates);
+            actual.removeIf(r -> !r.getSelectorGroup().matches(model, elem));
+            assertEquals(expected, actual, elem.getTagName() + "#" + elem.getAttribute("id"));
+
+            List<StyleRule> ordered = new ArrayList<>(candidates);
+            ordered.sort((a, b) -> stylesheet.getStyleRules().indexOf(a) - stylesheet.getStyleRules().indexOf(b));
+            assertEquals(ordered, candidates);
+            totalCandidates += candidates.size();
+        }
+        assertTrue(totalCandidates < elements.getLength() * stylesheet.getStyleRules().size(),
+                "index should prune rules");
+    }
+}
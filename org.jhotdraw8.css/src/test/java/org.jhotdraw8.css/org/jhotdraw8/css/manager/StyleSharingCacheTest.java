@@ -0,0 +1,100 @@
+/*
+ * @(#)StyleSharingCacheTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.css.manager;
+
+import org.jhotdraw8.css.ast.StyleRule;
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jhotdraw8.css.model.DocumentSelectorModel;
+import org.jhotdraw8.css.parser.CssParser;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StyleSharingCacheTest {
+    private static final String DOCUMENT = """
+            <g id="root">
+              <rect id="r1" class="x"/>
+              <rect id="r2" class="x"/>
+              <rect id="r3" class="x y"/>
+              <rect id="r4" class="x other"/>
+              <rect id="r5" class="x"/>
+              <g class="y"><rect class="x"/><rect class="x"/><circle/></g>
+              <g><rect class="x"/><rect class="x"/><circle/></g>
+            </g>
+            """;
+
+    private static List<StyleRule> matchingRules(Stylesheet stylesheet, DocumentSelectorModel model, Element elem) {
+        List<StyleRule> matching = new ArrayList<>();
+        for (StyleRule r : stylesheet.getStyleRules()) {
+            if (r.getSelectorGroup().matches(model, elem)) {
+                matching.add(r);
+            }
+        }
+        return matching;
+    }
+
+    /// Looks up all elements of the document through the cache, and checks
+    /// that every shared value is equal to the value that would have been
+    /// computed for the element.
+    private static StyleSharingCache<Element, List<StyleRule>> check(String css) throws Exception {
+        Stylesheet stylesheet = new CssParser().parseStylesheet(css, null, null);
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document doc = factory.newDocumentBuilder().parse(new InputSource(new StringReader(DOCUMENT)));
+        DocumentSelectorModel model = new DocumentSelectorModel();
+        StyleSharingCache<Element, List<StyleRule>> cache = new StyleSharingCache<>(new StyleInvalidationIndex(List.of(stylesheet)));
+
+        NodeList elements = doc.getElementsByTagName("*");
+        for (int i = 0, n = elements.getLength(); i < n; i++) {
+            Element elem = (Element) elements.item(i);
+            List<StyleRule> actual = cache.get(model, elem, e -> matchingRules(stylesheet, model, e));
+            assertEquals(matchingRules(stylesheet, model, elem), actual, "element " + i);
+        }
+        return cache;
+    }
+
+    @Test
+    public void shouldShareValuesBetweenEquivalentElements() throws Exception {
+        StyleSharingCache<Element, List<StyleRule>> cache = check("""
+                rect { a: 1 }
+                .x { a: 2 }
+                .y .x { a: 3 }
+                g > .x { a: 4 }
+                #r2 { a: 5 }
+                :first-child { a: 6 }
+                """);
+        assertTrue(cache.isEnabled());
+        assertTrue(cache.getHitCount() > 0);
+    }
+
+    @Test
+    public void shouldNotShareValuesWithSiblingSelectors() throws Exception {
+        StyleSharingCache<Element, List<StyleRule>> cache = check("""
+                .x + .x { a: 1 }
+                """);
+        assertFalse(cache.isEnabled());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void shouldNotShareValuesWithAttributeSelectors() throws Exception {
+        StyleSharingCache<Element, List<StyleRule>> cache = check("""
+                [id="r1"] { a: 1 }
+                """);
+        assertFalse(cache.isEnabled());
+        assertEquals(0, cache.getHitCount());
+    }
+}
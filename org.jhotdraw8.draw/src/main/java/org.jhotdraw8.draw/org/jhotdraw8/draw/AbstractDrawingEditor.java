@@ -21,6 +21,7 @@ import org.jhotdraw8.css.value.CssColor;
 import org.jhotdraw8.draw.handle.HandleType;
 import org.jhotdraw8.draw.tool.Tool;
 import org.jhotdraw8.draw.tool.ToolEvent;
+import org.jhotdraw8.draw.undo.DrawingModelUndoAdapter;
 import org.jhotdraw8.fxbase.beans.NonNullObjectProperty;
 import org.jhotdraw8.fxbase.undo.FXUndoManager;
 
@@ -31,6 +32,8 @@ public abstract class AbstractDrawingEditor implements DrawingEditor {
     private final ObjectProperty<String> helpText = new SimpleObjectProperty<>(this, HELP_TEXT_PROPERTY);
     @SuppressWarnings("this-escape")
     private final NonNullObjectProperty<FXUndoManager> undoManager = new NonNullObjectProperty<>(this, UNDO_MANAGER_PROPERTY, new FXUndoManager());
+    @SuppressWarnings("this-escape")
+    private final ObjectProperty<@Nullable DrawingModelUndoAdapter> undoAdapter = new SimpleObjectProperty<>(this, UNDO_ADAPTER_PROPERTY);
     private final DoubleProperty handleSize = new SimpleDoubleProperty(
             this, HANDLE_SIZE_PROPERTY, 5.0) {
         @Override
@@ -218,4 +221,9 @@ public abstract class AbstractDrawingEditor implements DrawingEditor {
     public NonNullObjectProperty<FXUndoManager> undoManagerProperty() {
         return undoManager;
     }
+
+    @Override
+    public ObjectProperty<@Nullable DrawingModelUndoAdapter> undoAdapterProperty() {
+        return undoAdapter;
+    }
 }
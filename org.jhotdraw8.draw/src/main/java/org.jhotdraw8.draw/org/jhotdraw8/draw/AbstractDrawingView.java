@@ -88,14 +88,30 @@ public abstract class AbstractDrawingView extends AbstractPropertyBean implement
     public void cut() {
         copy();
         final List<Figure> selectedFigures = new ArrayList<>(getSelectedFigures());
-        DrawingModel m = getModel();
-        for (Figure f : selectedFigures) {
-            if (f.isDeletable()) {
-                for (Figure d : f.preorderIterable()) {
-                    m.disconnect(d);
+        deleteFigures(getModel(), selectedFigures);
+    }
+
+    /// Deletes the specified figures from the model in one bulk edit.
+    ///
+    /// Figures that are not deletable are skipped. The deleted figures and
+    /// their descendants are disconnected from the figures that they
+    /// depend on.
+    ///
+    /// @param model   the drawing model
+    /// @param figures the figures to be deleted
+    protected static void deleteFigures(DrawingModel model, Iterable<Figure> figures) {
+        model.beginBulkEdit();
+        try {
+            for (Figure f : figures) {
+                if (f.isDeletable()) {
+                    for (Figure d : f.preorderIterable()) {
+                        model.disconnect(d);
+                    }
+                    model.removeFromParent(f);
                 }
-                m.removeFromParent(f);
             }
+        } finally {
+            model.commitBulkEdit();
         }
     }
 
@@ -144,8 +160,10 @@ public abstract class AbstractDrawingView extends AbstractPropertyBean implement
         Clipboard cb = Clipboard.getSystemClipboard();
         ClipboardInputFormat in = getClipboardInputFormat();
         if (in != null) {
+            DrawingModel m = getModel();
+            m.beginBulkEdit();
             try {
-                Set<Figure> pastedFigures = in.read(cb, getModel(), getDrawing(), parent);
+                Set<Figure> pastedFigures = in.read(cb, m, getDrawing(), parent);
                 getSelectedFigures().clear();
                 if (pastedFigures != null) {
                     getSelectedFigures().addAll(pastedFigures);
@@ -153,6 +171,8 @@ public abstract class AbstractDrawingView extends AbstractPropertyBean implement
             } catch (IOException ex) {
                 Logger.getLogger(getClass().getName()).log(Level.WARNING, "Unexpected Exception " + ex.getMessage(), ex);
 
+            } finally {
+                m.commitBulkEdit();
             }
         }
     }
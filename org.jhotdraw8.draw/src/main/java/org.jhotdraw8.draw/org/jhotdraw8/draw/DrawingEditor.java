@@ -11,6 +11,7 @@ import javafx.collections.ObservableSet;
 import org.jhotdraw8.css.value.CssColor;
 import org.jhotdraw8.draw.handle.HandleType;
 import org.jhotdraw8.draw.tool.Tool;
+import org.jhotdraw8.draw.undo.DrawingModelUndoAdapter;
 import org.jhotdraw8.fxbase.beans.NonNullObjectProperty;
 import org.jhotdraw8.fxbase.undo.FXUndoManager;
 import org.jspecify.annotations.Nullable;
@@ -48,6 +49,8 @@ public interface DrawingEditor {
     String DEFAULT_TOOL_PROPERTY = "defaultTool";
     /// The name of the undoManager property.
     String UNDO_MANAGER_PROPERTY = "undoManager";
+    /// The name of the undoAdapter property.
+    String UNDO_ADAPTER_PROPERTY = "undoAdapter";
 
     // ---
     // properties
@@ -284,4 +287,23 @@ public interface DrawingEditor {
     default FXUndoManager getUndoManager() {
         return undoManagerProperty().get();
     }
+
+    /// The undo adapter that records the changes of the drawing models.
+    ///
+    /// The tools enclose each mouse gesture in
+    /// [DrawingModelUndoAdapter#beginGesture()] and
+    /// [DrawingModelUndoAdapter#endGesture()], so that all property changes
+    /// of a gesture are recorded in one edit.
+    ///
+    /// @return the undo adapter, null if the changes are not recorded by
+    /// a [DrawingModelUndoAdapter]
+    ObjectProperty<@Nullable DrawingModelUndoAdapter> undoAdapterProperty();
+
+    default void setUndoAdapter(@Nullable DrawingModelUndoAdapter newValue) {
+        undoAdapterProperty().set(newValue);
+    }
+
+    default @Nullable DrawingModelUndoAdapter getUndoAdapter() {
+        return undoAdapterProperty().get();
+    }
 }
@@ -7,6 +7,7 @@ package org.jhotdraw8.draw;
 
 import javafx.application.Platform;
 import javafx.beans.Observable;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
@@ -135,14 +136,7 @@ public class SimpleDrawingView extends AbstractDrawingView {
                         .forEach(cascade::addFirst);
             }
         }
-        for (Figure f : cascade) {
-            if (f.isDeletable()) {
-                for (Figure d : f.preorderIterable()) {
-                    model.disconnect(d);
-                }
-                model.removeFromParent(f);
-            }
-        }
+        deleteFigures(model, cascade);
     }
 
     @Override
@@ -199,6 +193,20 @@ public class SimpleDrawingView extends AbstractDrawingView {
         return drawingRenderer.getNode(f);
     }
 
+    @Override
+    public List<Figure> getChildrenIntersecting(Figure parent, Bounds boundsInWorld) {
+        return drawingRenderer.getChildrenIntersecting(parent, boundsInWorld);
+    }
+
+    /// Whether the drawing view only creates nodes for figures that are
+    /// inside the visible area.
+    ///
+    /// @return the culling property
+    /// @see InteractiveDrawingRenderer#cullingProperty()
+    public BooleanProperty cullingProperty() {
+        return drawingRenderer.cullingProperty();
+    }
+
     @Override
     public Transform getViewToWorld() {
         return zoomableScrollPane.getViewToContent();
@@ -235,6 +243,7 @@ public class SimpleDrawingView extends AbstractDrawingView {
         drawingRenderer.setDrawingView(this);
         handleRenderer.modelProperty().bind(this.modelProperty());
         handleRenderer.setSelectedFigures(getSelectedFigures());
+        handleRenderer.clipBoundsProperty().bind(zoomableScrollPane.visibleContentRectProperty());
         handleRenderer.editorProperty().bind(this.editorProperty());
         handleRenderer.setDrawingView(this);
         zoomFactorProperty().addListener(this::onZoomFactorChanged);
@@ -363,6 +372,8 @@ public class SimpleDrawingView extends AbstractDrawingView {
         switch (event.getEventType()) {
             case NODE_ADDED_TO_PARENT:
             case NODE_REMOVED_FROM_PARENT:
+            case NODES_ADDED_TO_PARENT:
+            case NODES_REMOVED_FROM_PARENT:
             case NODE_ADDED_TO_TREE:
                 break;
             case NODE_REMOVED_FROM_TREE:
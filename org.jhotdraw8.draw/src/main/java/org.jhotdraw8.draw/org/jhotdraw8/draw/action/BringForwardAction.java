@@ -40,15 +40,20 @@ public class BringForwardAction extends AbstractDrawingViewAction {
 
     public void moveUp(DrawingView view, Collection<Figure> figures) {
         DrawingModel model = view.getModel();
-        for (Figure child : figures) {
-            Figure parent = child.getParent();
-            if (parent != null && parent.isEditable() && parent.isDecomposable()) {
-                int size = parent.getChildren().size();
-                int index = parent.getChildren().indexOf(child);
-                if (index < size - 1) {
-                    model.insertChildAt(child, parent, index + 1);
+        model.beginBulkEdit();
+        try {
+            for (Figure child : figures) {
+                Figure parent = child.getParent();
+                if (parent != null && parent.isEditable() && parent.isDecomposable()) {
+                    int size = parent.getChildren().size();
+                    int index = parent.getChildren().indexOf(child);
+                    if (index < size - 1) {
+                        model.insertChildAt(child, parent, index + 1);
+                    }
                 }
             }
+        } finally {
+            model.commitBulkEdit();
         }
     }
 }
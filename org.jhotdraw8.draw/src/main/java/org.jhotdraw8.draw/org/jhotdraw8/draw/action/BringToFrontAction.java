@@ -40,11 +40,16 @@ public class BringToFrontAction extends AbstractDrawingViewAction {
 
     public void bringToFront(DrawingView view, Collection<Figure> figures) {
         DrawingModel model = view.getModel();
-        for (Figure child : figures) {
-            Figure parent = child.getParent();
-            if (parent != null && parent.isEditable() && parent.isDecomposable()) {
-                model.insertChildAt(child, parent, parent.getChildren().size() - 1);
+        model.beginBulkEdit();
+        try {
+            for (Figure child : figures) {
+                Figure parent = child.getParent();
+                if (parent != null && parent.isEditable() && parent.isDecomposable()) {
+                    model.insertChildAt(child, parent, parent.getChildren().size() - 1);
+                }
             }
+        } finally {
+            model.commitBulkEdit();
         }
     }
 }
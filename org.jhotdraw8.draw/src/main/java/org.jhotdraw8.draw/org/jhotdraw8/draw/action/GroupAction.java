@@ -18,7 +18,9 @@ import org.jhotdraw8.draw.model.DrawingModel;
 import org.jspecify.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /// GroupAction.
@@ -95,15 +97,21 @@ public class GroupAction extends AbstractDrawingViewAction {
         Figure parent = first.getParent();
         DrawingModel model = view.getModel();
         Figure group = groupFactory.get();
-        model.addChildTo(group, parent);
+        Set<Figure> selected = new HashSet<>(figures);
+        model.beginBulkEdit();
+        try {
+            model.addChildTo(group, parent);
 
-        // Note: we iterate here over all figures because we must addChild
-        //       the selected figures from back to front to the group
-        for (Figure child : Iterators.toList(drawing.breadthFirstIterable())) {
-            if (!figures.contains(child)) {
-                continue;
+            // Note: we iterate here over all figures because we must addChild
+            //       the selected figures from back to front to the group
+            for (Figure child : Iterators.toList(drawing.breadthFirstIterable())) {
+                if (!selected.contains(child)) {
+                    continue;
+                }
+                model.addChildTo(child, group);
             }
-            model.addChildTo(child, group);
+        } finally {
+            model.commitBulkEdit();
         }
 
         view.getSelectedFigures().clear();
@@ -40,14 +40,19 @@ public class SendBackwardAction extends AbstractDrawingViewAction {
 
     public void moveDown(DrawingView view, Collection<Figure> figures) {
         DrawingModel model = view.getModel();
-        for (Figure child : figures) {
-            Figure parent = child.getParent();
-            if (parent != null && parent.isEditable() && parent.isDecomposable()) {
-                int index = parent.getChildren().indexOf(child);
-                if (index > 0) {
-                    model.insertChildAt(child, parent, index - 1);
+        model.beginBulkEdit();
+        try {
+            for (Figure child : figures) {
+                Figure parent = child.getParent();
+                if (parent != null && parent.isEditable() && parent.isDecomposable()) {
+                    int index = parent.getChildren().indexOf(child);
+                    if (index > 0) {
+                        model.insertChildAt(child, parent, index - 1);
+                    }
                 }
             }
+        } finally {
+            model.commitBulkEdit();
         }
     }
 }
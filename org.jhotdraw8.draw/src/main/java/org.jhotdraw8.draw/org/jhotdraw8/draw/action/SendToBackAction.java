@@ -38,12 +38,17 @@ public class SendToBackAction extends AbstractDrawingViewAction {
 
     public void sendToBack(DrawingView view, Collection<Figure> figures) {
         DrawingModel model = view.getModel();
-        for (Figure child : figures) {
-            Figure parent = child.getParent();
-            if (parent != null && parent.isEditable() && parent.isDecomposable()) {
-                assert parent.isAllowsChildren();
-                model.insertChildAt(child, parent, 0);
+        model.beginBulkEdit();
+        try {
+            for (Figure child : figures) {
+                Figure parent = child.getParent();
+                if (parent != null && parent.isEditable() && parent.isDecomposable()) {
+                    assert parent.isAllowsChildren();
+                    model.insertChildAt(child, parent, 0);
+                }
             }
+        } finally {
+            model.commitBulkEdit();
         }
     }
 }
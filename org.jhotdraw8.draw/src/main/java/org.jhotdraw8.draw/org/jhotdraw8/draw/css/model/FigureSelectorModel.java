@@ -8,12 +8,12 @@ import javafx.css.StyleOrigin;
 import org.jhotdraw8.base.converter.Converter;
 import org.jhotdraw8.css.ast.TypeSelector;
 import org.jhotdraw8.css.converter.CssConverter;
+import org.jhotdraw8.css.converter.CssParsedValueCache;
 import org.jhotdraw8.css.converter.StringCssConverter;
 import org.jhotdraw8.css.model.AbstractSelectorModel;
 import org.jhotdraw8.css.parser.CssToken;
 import org.jhotdraw8.css.parser.CssTokenType;
 import org.jhotdraw8.css.parser.CssTokenizer;
-import org.jhotdraw8.css.parser.ListCssTokenizer;
 import org.jhotdraw8.css.parser.StreamCssTokenizer;
 import org.jhotdraw8.css.value.QualifiedName;
 import org.jhotdraw8.draw.figure.Figure;
@@ -51,10 +51,22 @@ public class FigureSelectorModel extends AbstractSelectorModel<Figure> {
     /// Maps an attribute name to a key.
     private final Map<Class<?>, Map<QualifiedName, WritableStyleableMapAccessor<?>>> nameToKeyMap = new ConcurrentHashMap<>();
     private final Map<Class<?>, Map<QualifiedName, ReadableStyleableMapAccessor<?>>> nameToReadableKeyMap = new ConcurrentHashMap<>();
+    /// Caches the values that are parsed in [#setAttribute].
+    private final CssParsedValueCache parsedValueCache = new CssParsedValueCache();
 
     public FigureSelectorModel() {
     }
 
+    /// Returns the cache for parsed attribute values.
+    ///
+    /// The hit and miss counts of the cache show how often a value
+    /// could be reused when stylesheets were applied.
+    ///
+    /// @return the cache
+    public CssParsedValueCache getParsedValueCache() {
+        return parsedValueCache;
+    }
+
     @Override
     public boolean attributeValueContains(Figure element, @Nullable String namespacePattern, String attributeName, String substring) {
         String stringValue = getReadOnlyAttributeValueAsString(element, namespacePattern, attributeName);
@@ -482,7 +494,7 @@ public class FigureSelectorModel extends AbstractSelectorModel<Figure> {
                     Converter<Object> converter = k.getCssConverter();
                     try {
                         if (converter instanceof CssConverter) {
-                            convertedValue = ((CssConverter<Object>) converter).parse(new ListCssTokenizer(value), null);
+                            convertedValue = parsedValueCache.parse((CssConverter<Object>) converter, value);
                         } else {
                             convertedValue = converter.fromString(value.stream().map(CssToken::fromToken).collect(Collectors.joining()));
                         }
@@ -5,11 +5,13 @@
 package org.jhotdraw8.draw.figure;
 
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
 import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.scene.transform.Transform;
 import org.jhotdraw8.css.value.CssRectangle2D;
 import org.jhotdraw8.fxbase.tree.ChildList;
+import org.jhotdraw8.fxbase.tree.IndexedChildList;
 import org.jhotdraw8.fxcollection.typesafekey.Key;
 import org.jhotdraw8.geom.FXTransforms;
 import org.jspecify.annotations.Nullable;
@@ -18,10 +20,25 @@ import static java.lang.Math.max;
 import static java.lang.Math.min;
 
 /// This base class can be used to implement figures which support child figures.
+///
+/// By default, the children are stored in a [ChildList]. Figures that can
+/// have very many children, like layers, can store their children in an
+/// [IndexedChildList] instead, which needs more memory per child, but
+/// inserts, removes and finds children in `O(log n)` time.
 public abstract class AbstractCompositeFigure extends AbstractFigure {
-    private final ChildList<Figure> children = new ChildList<>(this);
+    private final ObservableListBase<Figure> children;
 
     public AbstractCompositeFigure() {
+        this(false);
+    }
+
+    /// Creates a new instance.
+    ///
+    /// @param indexedChildren whether the children are stored in an
+    ///                        [IndexedChildList] instead of a [ChildList]
+    @SuppressWarnings("this-escape")
+    protected AbstractCompositeFigure(boolean indexedChildren) {
+        children = indexedChildren ? new IndexedChildList<>(this) : new ChildList<>(this);
     }
 
     @Override
@@ -100,19 +117,33 @@ public abstract class AbstractCompositeFigure extends AbstractFigure {
     public void firePropertyChangeEvent(FigurePropertyChangeEvent event) {
         final Figure source = event.getSource();
         if (source.getParent() == this) {
-            children.fireItemUpdated(children.indexOf(source));
+            fireChildUpdated(children.indexOf(source));
         }
         super.firePropertyChangeEvent(event);
     }
 
     @Override
     public <T> void firePropertyChangeEvent(@Nullable Figure source, Key<T> key, T oldValue, T newValue, boolean wasAdded, boolean wasRemoved) {
-        if (children.hasChangeListeners()) {
+        if (hasChildChangeListeners()) {
             final int index = children.indexOf(source);
             if (index >= 0) {
-                children.fireItemUpdated(index);
+                fireChildUpdated(index);
             }
         }
         super.firePropertyChangeEvent(source, key, oldValue, newValue, wasAdded, wasRemoved);
     }
+
+    private void fireChildUpdated(int index) {
+        if (children instanceof IndexedChildList<Figure> indexed) {
+            indexed.fireItemUpdated(index);
+        } else {
+            ((ChildList<Figure>) children).fireItemUpdated(index);
+        }
+    }
+
+    private boolean hasChildChangeListeners() {
+        return children instanceof IndexedChildList<Figure> indexed
+                ? indexed.hasChangeListeners()
+                : ((ChildList<Figure>) children).hasChangeListeners();
+    }
 }
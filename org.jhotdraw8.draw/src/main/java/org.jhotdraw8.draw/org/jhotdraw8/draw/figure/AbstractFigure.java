@@ -13,6 +13,7 @@ import org.jhotdraw8.css.value.CssDefaultableValue;
 import org.jhotdraw8.css.value.CssDefaulting;
 import org.jhotdraw8.draw.render.RenderContext;
 import org.jhotdraw8.fxbase.styleable.AbstractStyleablePropertyBean;
+import org.jhotdraw8.fxbase.styleable.IndexedKeyMap;
 import org.jhotdraw8.fxcollection.typesafekey.Key;
 import org.jhotdraw8.fxcollection.typesafekey.MapAccessor;
 import org.jhotdraw8.fxcollection.typesafekey.NonNullMapAccessor;
@@ -22,8 +23,10 @@ import org.jhotdraw8.icollection.persistent.PersistentSet;
 import org.jhotdraw8.icollection.readable.ReadableSet;
 import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -49,16 +52,14 @@ public abstract class AbstractFigure extends AbstractStyleablePropertyBean
     @Override
     protected Map<Key<?>, Integer> createKeyMap() {
         return keyMaps.computeIfAbsent(getClass(), k -> {
-            int index = 0;
-
             PersistentSet<MapAccessor<?>> accessors = Figure.getDeclaredAndInheritedMapAccessors(getClass());
-            Map<Key<?>, Integer> m = new IdentityHashMap<>(accessors.size());
+            List<Key<?>> keys = new ArrayList<>(accessors.size());
             for (MapAccessor<?> accessor : accessors) {
-                if (accessor instanceof Key<?>) {
-                    m.put((Key<?>) accessor, index++);
+                if (accessor instanceof Key<?> key) {
+                    keys.add(key);
                 }
             }
-            return m;
+            return new IndexedKeyMap(keys);
         });
     }
 
@@ -42,6 +42,8 @@ public class LayerFigure extends AbstractCompositeFigure
     private static final int MIN_NODES_FOR_CLIPPING = 100;
 
     public LayerFigure() {
+        // layers can have very many children
+        super(true);
     }
 
     @Override
@@ -73,10 +75,7 @@ public class LayerFigure extends AbstractCompositeFigure
         final Bounds clipBounds = ctx.get(RenderContext.CLIP_BOUNDS);
         if (renderingIntent == RenderingIntent.EDITOR
                 && clipBounds != null && getChildren().size() > MIN_NODES_FOR_CLIPPING) {
-            childNodes = getChildren().stream()
-                    .parallel()
-                    .filter(child -> child.getVisualBoundsInWorld().intersects(clipBounds))
-                    .toList().stream()
+            childNodes = ctx.getChildrenIntersecting(this, clipBounds).stream()
                     .map(ctx::getNode)// cannot be done in parallel
                     .collect(Collectors.toList());
 
@@ -102,6 +102,8 @@ public class LayersInspector extends AbstractDrawingInspector {
                 break;
             case NODE_ADDED_TO_PARENT:
             case NODE_REMOVED_FROM_PARENT:
+            case NODES_ADDED_TO_PARENT:
+            case NODES_REMOVED_FROM_PARENT:
                 if (event.getParent() == root) {
                     fire = true;
                 }
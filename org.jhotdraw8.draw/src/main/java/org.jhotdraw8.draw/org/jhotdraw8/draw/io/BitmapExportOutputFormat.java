@@ -30,6 +30,7 @@ import org.jhotdraw8.draw.render.RenderContext;
 import org.jhotdraw8.draw.render.RenderingIntent;
 import org.jhotdraw8.fxbase.concurrent.WorkState;
 import org.jhotdraw8.fxcollection.typesafekey.Key;
+import org.jhotdraw8.fxcollection.typesafekey.SimpleNonNullKey;
 import org.jhotdraw8.geom.FXTransforms;
 import org.jspecify.annotations.Nullable;
 
@@ -48,11 +49,13 @@ import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
+import java.awt.image.RenderedImage;
 import java.awt.image.SampleModel;
 import java.awt.image.SinglePixelPackedSampleModel;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.IntBuffer;
 import java.nio.file.Files;
@@ -75,6 +78,15 @@ public class BitmapExportOutputFormat extends AbstractExportOutputFormat impleme
     public static final String PNG_MIME_TYPE = "image/png";
     public static final String PNG_EXTENSION = "png";
     public static final String JPEG_EXTENSION = "jpg";
+    /// The size of the tiles for tiled rendering in pixels.
+    ///
+    /// If the value is greater than zero, then images are rendered in tiles
+    /// of this size, and are written band by band. This reduces the peak
+    /// memory usage for large images. Tiling is only effective for image
+    /// writers that write the image row by row, like the PNG image writer.
+    ///
+    /// Default value: `0` (no tiling).
+    public static final SimpleNonNullKey<Integer> EXPORT_TILE_SIZE_KEY = new SimpleNonNullKey<>("exportTileSize", Integer.class, 0);
     private final String mimetype;
     private final String extension;
 
@@ -87,15 +99,20 @@ public class BitmapExportOutputFormat extends AbstractExportOutputFormat impleme
         this.extension = extension;
     }
 
-    private WritableImage doRenderImage(Figure slice, Node node, Bounds bounds, double dpi) {
+    private static SnapshotParameters createSnapshotParameters(Figure slice, double scale) {
         SnapshotParameters parameters = new SnapshotParameters();
-        double scale = dpi / RenderContext.DPI.getDefaultValueNonNull();
         parameters.setTransform(FXTransforms.concat(Transform.scale(scale, scale), slice.getWorldToLocal()));
         Drawing drawing = (slice instanceof Drawing) ? (Drawing) slice : slice.getDrawing();
         final CssColor color = drawing != null ? drawing.get(Drawing.BACKGROUND) : NamedCssColor.WHITE;
         if (color != null) {
             parameters.setFill(color.getColor());
         }
+        return parameters;
+    }
+
+    private WritableImage doRenderImage(Figure slice, Node node, Bounds bounds, double dpi) {
+        double scale = dpi / RenderContext.DPI.getDefaultValueNonNull();
+        SnapshotParameters parameters = createSnapshotParameters(slice, scale);
         double x = bounds.getMinX() * scale;
         double y = bounds.getMinY() * scale;
         double width = bounds.getWidth() * scale;
@@ -121,10 +138,37 @@ public class BitmapExportOutputFormat extends AbstractExportOutputFormat impleme
         RenderContext.RENDERING_INTENT.put(hints, RenderingIntent.EXPORT);
         RenderContext.DPI.put(hints, dpi);
         Node node = toNode(drawing, selection, hints);
+        return renderImageOnApplicationThread(drawing, dpi, node, getBounds(selection));
+    }
+
+    private static Bounds getBounds(Collection<Figure> selection) {
         Bounds selectionBounds = Figure.visualBounds(selection);
-        Bounds bounds = selectionBounds == null ? new BoundingBox(0, 0, 640, 480) : selectionBounds;
+        return selectionBounds == null ? new BoundingBox(0, 0, 640, 480) : selectionBounds;
+    }
 
-        return renderImageOnApplicationThread(drawing, dpi, node, bounds);
+    /// Creates an image that renders the node in tiles.
+    ///
+    /// @param figure the figure that provides the world-to-local transform and the background
+    /// @param dpi    the resolution of the image
+    /// @param node   the node
+    /// @param bounds the bounds of the image in the local coordinates of the figure
+    /// @return the tiled image
+    private RenderedImage createTiledImage(Figure figure, double dpi, Node node, Bounds bounds) {
+        double scale = dpi / RenderContext.DPI.getDefaultValueNonNull();
+        return new TiledSnapshotImage(node, createSnapshotParameters(figure, scale),
+                bounds.getMinX() * scale, bounds.getMinY() * scale,
+                Math.max(1, (int) Math.ceil(bounds.getWidth() * scale)),
+                Math.max(1, (int) Math.ceil(bounds.getHeight() * scale)),
+                getTileSize(),
+                JPEG_MIME_TYPE.equals(mimetype) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private int getTileSize() {
+        return EXPORT_TILE_SIZE_KEY.getNonNull(getOptions());
+    }
+
+    private boolean isTiled() {
+        return getTileSize() > 0;
     }
 
     private WritableImage renderImageOnApplicationThread(Figure figure, double dpi, Node node, Bounds bounds) throws IOException {
@@ -187,9 +231,19 @@ public class BitmapExportOutputFormat extends AbstractExportOutputFormat impleme
 
     @Override
     public void write(OutputStream out, @Nullable URI documentHome, Drawing drawing, WorkState<Void> workState) throws IOException {
-        WritableImage writableImage = renderImage(drawing, Collections.singleton(drawing), EXPORT_DRAWING_DPI_KEY.getNonNull(getOptions()));
+        double dpi = EXPORT_DRAWING_DPI_KEY.getNonNull(getOptions());
+        if (isTiled()) {
+            Map<Key<?>, Object> hints = new HashMap<>();
+            RenderContext.RENDERING_INTENT.put(hints, RenderingIntent.EXPORT);
+            RenderContext.DPI.put(hints, dpi);
+            Collection<Figure> selection = Collections.singleton(drawing);
+            Node node = toNode(drawing, selection, hints);
+            writeImage(out, createTiledImage(drawing, dpi, node, getBounds(selection)), dpi);
+            return;
+        }
+        WritableImage writableImage = renderImage(drawing, Collections.singleton(drawing), dpi);
         //ImageIO.write(SwingFXUtils.fromFXImage(image, null), "png", out);
-        writeImage(out, writableImage, EXPORT_DRAWING_DPI_KEY.getNonNull(getOptions()));
+        writeImage(out, writableImage, dpi);
 
     }
 
@@ -226,7 +280,10 @@ public class BitmapExportOutputFormat extends AbstractExportOutputFormat impleme
         if (image == null) {
             throw new IOException("Could not convert the JavaFX image to AWT.");
         }
+        writeImage(out, (RenderedImage) image, dpi);
+    }
 
+    private void writeImage(OutputStream out, RenderedImage image, double dpi) throws IOException {
         for (Iterator<ImageWriter> iw = ImageIO.getImageWritersByMIMEType(mimetype); iw.hasNext(); ) {
             ImageWriter writer = iw.next();
             ImageWriteParam writeParam = writer.getDefaultWriteParam();
@@ -238,8 +295,8 @@ public class BitmapExportOutputFormat extends AbstractExportOutputFormat impleme
 
             setDPI(metadata, dpi);
 
-            if (writeParam instanceof JPEGImageWriteParam jpegWriteParam) {
-                image = removeAlphaChannel(image);
+            if (writeParam instanceof JPEGImageWriteParam && image instanceof BufferedImage bufferedImage) {
+                image = removeAlphaChannel(bufferedImage);
                 //FIXME this does not work
                 //setChromaSamplingFactor(metadata, chromaSamplingFactor);
             }
@@ -247,6 +304,8 @@ public class BitmapExportOutputFormat extends AbstractExportOutputFormat impleme
             try (ImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
                 writer.setOutput(output);
                 writer.write(metadata, new IIOImage(image, null, metadata), writeParam);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
             }
             break;
         }
@@ -259,17 +318,23 @@ public class BitmapExportOutputFormat extends AbstractExportOutputFormat impleme
         final Bounds pageBounds = page.getPageBounds(internalPageNumber);
         double factor = paperWidth / pageBounds.getWidth();
         final double dpi = EXPORT_PAGES_DPI_KEY.getNonNull(getOptions());
-        WritableImage image = renderImageOnApplicationThread(page, dpi * factor, node, pageBounds);
         try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
-            writeImage(out, image, dpi);
+            if (isTiled()) {
+                writeImage(out, createTiledImage(page, dpi * factor, node, pageBounds), dpi);
+            } else {
+                writeImage(out, renderImageOnApplicationThread(page, dpi * factor, node, pageBounds), dpi);
+            }
         }
     }
 
     @Override
     protected boolean writeSlice(Path file, Slice slice, Node node, double dpi) throws IOException {
-        WritableImage image = renderImageOnApplicationThread(slice, dpi, node, slice.getLayoutBounds());
         try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
-            writeImage(out, image, dpi);
+            if (isTiled()) {
+                writeImage(out, createTiledImage(slice, dpi, node, slice.getLayoutBounds()), dpi);
+            } else {
+                writeImage(out, renderImageOnApplicationThread(slice, dpi, node, slice.getLayoutBounds()), dpi);
+            }
         }
         return false;
     }
@@ -23,7 +23,6 @@ import org.jhotdraw8.icollection.persistent.PersistentList;
 import org.jhotdraw8.xml.XmlUtil;
 import org.jspecify.annotations.Nullable;
 
-import javax.xml.stream.Location;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
@@ -35,27 +34,45 @@ import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.SequencedSet;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /// Simple XML Reader for [Drawing]s.
+///
+/// The reader streams through the XML file with a [XMLStreamReader].
+/// Attribute values are not converted while streaming. Instead, they are
+/// collected in [AttributeBatch]es, which are converted by fork-join tasks,
+/// while the reader continues streaming.
+/// Attribute values that need an id resolver are converted after the
+/// whole file has been read.
 public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInputFormat {
     private static final Pattern hrefPattern = Pattern.compile("\\s+href=\"([^\"]*?)\"");
+    /// Number of attributes that are collected, before they are handed
+    /// over to a fork-join task.
+    private static final int PARALLEL_BATCH_SIZE = 4096;
+    /// Number of attributes that a fork-join task converts without
+    /// splitting itself.
+    private static final int CONVERSION_CHUNK_SIZE = 256;
     private final IdFactory idFactory;
     private @Nullable String namespaceURI;
     private FigureFactory figureFactory;
     private final String idAttribute = "id";
     private @Nullable Supplier<Layer> layerFactory;
     private final boolean invokeAddedToDrawing;
+    /// Caches the attribute keys by figure class and attribute name.
+    private final Map<Class<? extends Figure>, Map<String, AttributeKey>> attributeKeys = new HashMap<>();
 
     public SimpleXmlReader(FigureFactory figureFactory, IdFactory idFactory, @Nullable String namespaceURI) {
         this(figureFactory, idFactory, namespaceURI, true);
@@ -122,10 +139,11 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
     private Deque<Figure> doRead(AutoCloseable in) throws IOException {
 
         Deque<Figure> stack = new ArrayDeque<>();
-        List<Runnable> secondPass = new ArrayList<>();
-        List<Runnable> parallelPass = new ArrayList<>();
-        List<FutureTask<Void>> futures = new ArrayList<>();
+        AttributeBatch secondPass = new AttributeBatch(PARALLEL_BATCH_SIZE);
+        AttributeBatch parallelPass = new AttributeBatch(PARALLEL_BATCH_SIZE);
+        List<ForkJoinTask<Void>> futures = new ArrayList<>();
         List<Consumer<Figure>> processingInstructions = new ArrayList<>();
+        attributeKeys.clear();
         try {
             XMLStreamReader xmlStreamReader = XmlUtil.streamReader(
                     (in instanceof InputStream inputStream) ? new StreamSource(inputStream)
@@ -134,30 +152,28 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
                 readNode(xmlStreamReader, xmlStreamReader.next(), stack, processingInstructions,
                         secondPass, parallelPass, futures);
             }
+            if (stack.size() != 1) {
+                throw new IOException("The file does not contain a root element in namespace=\"" + namespaceURI + "\".");
+            }
 
+            for (Consumer<Figure> processingInstruction : processingInstructions) {
+                processingInstruction.accept(stack.getFirst());
+            }
+            forkParallelPass(futures, parallelPass);
+            // The second pass must not run concurrently with the parallel pass,
+            // because both may set properties on the same figure.
+            for (ForkJoinTask<Void> future : futures) {
+                future.join();
+            }
+            futures.clear();
+            forkParallelPass(futures, secondPass);
+            for (ForkJoinTask<Void> future : futures) {
+                future.join();
+            }
         } catch (XMLStreamException e) {
             throw new IOException(e);
-        }
-        if (stack.size() != 1) {
-            throw new IOException("The file does not contain a root element in namespace=\"" + namespaceURI + "\".");
-        }
-
-        for (Consumer<Figure> processingInstruction : processingInstructions) {
-            processingInstruction.accept(stack.getFirst());
-        }
-        forkParallelPass(futures, parallelPass);
-        try {
-            secondPass.parallelStream().forEach(Runnable::run);
         } catch (UncheckedIOException e) {
-            throw e.getCause();
-        }
-        try {
-            // If there is not enough parallelism, this future may never return!
-            for (FutureTask<Void> future : futures) {
-                future.get();
-            }
-        } catch (InterruptedException | ExecutionException e) {
-            throw new IOException(e);
+            throw new IOException(e.getMessage(), e.getCause());
         }
         return stack;
     }
@@ -227,7 +243,9 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
 
     }
 
-    private void readAttributes(XMLStreamReader r, Figure figure, List<Runnable> secondPass, List<Runnable> parallelPass) throws IOException {
+    private void readAttributes(XMLStreamReader r, Figure figure, AttributeBatch secondPass, AttributeBatch parallelPass) throws IOException {
+        Map<String, AttributeKey> keys = attributeKeys.computeIfAbsent(figure.getClass(), k -> new HashMap<>());
+        int line = -1, column = -1;
         for (int i = 0, n = r.getAttributeCount(); i < n; i++) {
             String ns = r.getAttributeNamespace(i);
             if (namespaceURI != null && ns != null && !namespaceURI.equals(ns)) {
@@ -235,28 +253,27 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
             }
             String attributeLocalName = r.getAttributeLocalName(i);
             String attributeValue = r.getAttributeValue(i);
-            Location location = r.getLocation();
+            if (line == -1) {
+                line = r.getLocation().getLineNumber();
+                column = r.getLocation().getColumnNumber();
+            }
             if (idAttribute.equals(attributeLocalName)) {
                 idFactory.putIdToObject(attributeValue, figure);
                 setId(figure, attributeValue);
             } else {
-                @SuppressWarnings("unchecked")
-                MapAccessor<Object> key =
-                        (MapAccessor<Object>) figureFactory.getKeyByAttributeName(figure, attributeLocalName);
-                if (key == null) {
-                    throw new IOException("Unsupported attribute \"" + attributeLocalName + "\" at line " + location.getLineNumber() + ", col " + location.getColumnNumber());
-                }
-                List<Runnable> pass = figureFactory.needsIdResolver(key) ? secondPass : parallelPass;
-                pass.add(() -> {
-                    try {
-                        figure.set(key, figureFactory.stringToValue(key, attributeValue));
-                    } catch (IOException e) {
-                        throw new UncheckedIOException(
-                                "Error reading attribute" + attributeLocalName + "\" at line " + location.getLineNumber() + ", col " + location.getColumnNumber(),
-                                e);
+                AttributeKey attributeKey = keys.get(attributeLocalName);
+                if (attributeKey == null) {
+                    @SuppressWarnings("unchecked")
+                    MapAccessor<Object> key =
+                            (MapAccessor<Object>) figureFactory.getKeyByAttributeName(figure, attributeLocalName);
+                    if (key == null) {
+                        throw new IOException("Unsupported attribute \"" + attributeLocalName + "\" at line " + line + ", col " + column);
                     }
-                });
-
+                    attributeKey = new AttributeKey(key, figureFactory.needsIdResolver(key));
+                    keys.put(attributeLocalName, attributeKey);
+                }
+                AttributeBatch pass = attributeKey.needsIdResolver() ? secondPass : parallelPass;
+                pass.add(figure, attributeKey.key(), attributeLocalName, attributeValue, line, column);
             }
         }
     }
@@ -267,8 +284,8 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
 
     private void readNode(XMLStreamReader r, int next, Deque<Figure> stack,
                           List<Consumer<Figure>> processingInstructions,
-                          List<Runnable> secondPass, List<Runnable> parallelPass,
-                          List<FutureTask<Void>> futures) throws IOException {
+                          AttributeBatch secondPass, AttributeBatch parallelPass,
+                          List<ForkJoinTask<Void>> futures) throws IOException {
         switch (next) {
             case XMLStreamReader.START_ELEMENT:
                 readStartElement(r, stack, secondPass, parallelPass);
@@ -277,7 +294,7 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
                 readEndElement(r, stack);
                 break;
             case XMLStreamReader.PROCESSING_INSTRUCTION:
-                Consumer<Figure> processingInstruction = readProcessingInstruction(r, stack, secondPass);
+                Consumer<Figure> processingInstruction = readProcessingInstruction(r);
                 if (processingInstruction != null) {
                     processingInstructions.add(processingInstruction);
                 }
@@ -299,31 +316,27 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
                 throw new IOException("unsupported XMLStream event: " + next);
         }
 
-        if (parallelPass.size() > 1_000) {
-            ArrayList<Runnable> runParallel = new ArrayList<>(parallelPass);
-            parallelPass.clear();
-            forkParallelPass(futures, runParallel);
+        if (parallelPass.size() >= PARALLEL_BATCH_SIZE) {
+            forkParallelPass(futures, parallelPass.drain());
         }
     }
 
-    private void forkParallelPass(List<FutureTask<Void>> futures, List<Runnable> runParallel) {
-        FutureTask<Void> task = new FutureTask<>(() -> {
-            for (final Runnable runner : runParallel) {
-                runner.run();
-            }
-            return null;
-        });
+    private void forkParallelPass(List<ForkJoinTask<Void>> futures, AttributeBatch batch) {
+        if (batch.size() == 0) {
+            return;
+        }
+        ConversionTask task = new ConversionTask(batch, 0, batch.size());
         if (ForkJoinPool.getCommonPoolParallelism() < 2) {
             // When there is not enough parallelism, then the reader may saturate
             // the pool!
-            task.run();
+            task.invoke();
         } else {
             ForkJoinPool.commonPool().execute(task);
         }
         futures.add(task);
     }
 
-    private @Nullable Consumer<Figure> readProcessingInstruction(XMLStreamReader r, Deque<Figure> stack, List<Runnable> secondPass) {
+    private @Nullable Consumer<Figure> readProcessingInstruction(XMLStreamReader r) {
         if (figureFactory.getStylesheetsKey() != null) {
             String piTarget = r.getPITarget();
             String piData = r.getPIData();
@@ -348,7 +361,7 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
     }
 
     private void readStartElement(XMLStreamReader r, Deque<Figure> stack,
-                                  List<Runnable> secondPass, List<Runnable> parallelPass) throws IOException {
+                                  AttributeBatch secondPass, AttributeBatch parallelPass) throws IOException {
         if (namespaceURI != null && !namespaceURI.equals(r.getNamespaceURI())) {
             stack.push(new GroupFigure());// push a dummy figure
             return;
@@ -360,6 +373,7 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
 
     public void setFigureFactory(FigureFactory figureFactory) {
         this.figureFactory = figureFactory;
+        attributeKeys.clear();
     }
 
     protected void setId(Figure figure, String id) {
@@ -369,4 +383,126 @@ public class SimpleXmlReader extends AbstractInputFormat implements ClipboardInp
     public void setNamespaceURI(@Nullable String namespaceURI) {
         this.namespaceURI = namespaceURI;
     }
+
+    /// The key of an attribute, and whether its value needs an id resolver.
+    private record AttributeKey(MapAccessor<Object> key, boolean needsIdResolver) {
+    }
+
+    /// Holds attribute values that have not been converted yet.
+    ///
+    /// The attributes are stored in parallel arrays, so that we do not
+    /// need to allocate an object for each attribute.
+    /// The attributes of a figure are stored in consecutive entries.
+    private final class AttributeBatch {
+        private Figure[] figures;
+        private MapAccessor<Object>[] keys;
+        private String[] names;
+        private String[] values;
+        private int[] lines;
+        private int[] columns;
+        private int size;
+
+        AttributeBatch(int capacity) {
+            allocate(capacity);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void allocate(int capacity) {
+            figures = new Figure[capacity];
+            keys = (MapAccessor<Object>[]) new MapAccessor<?>[capacity];
+            names = new String[capacity];
+            values = new String[capacity];
+            lines = new int[capacity];
+            columns = new int[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(Figure figure, MapAccessor<Object> key, String name, String value, int line, int column) {
+            if (size == figures.length) {
+                int capacity = Math.max(16, size * 2);
+                figures = Arrays.copyOf(figures, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+                names = Arrays.copyOf(names, capacity);
+                values = Arrays.copyOf(values, capacity);
+                lines = Arrays.copyOf(lines, capacity);
+                columns = Arrays.copyOf(columns, capacity);
+            }
+            figures[size] = figure;
+            keys[size] = key;
+            names[size] = name;
+            values[size] = value;
+            lines[size] = line;
+            columns[size] = column;
+            size++;
+        }
+
+        /// Moves the content of this batch into a new batch, and
+        /// clears this batch.
+        ///
+        /// @return the new batch
+        AttributeBatch drain() {
+            AttributeBatch drained = new AttributeBatch(0);
+            drained.figures = figures;
+            drained.keys = keys;
+            drained.names = names;
+            drained.values = values;
+            drained.lines = lines;
+            drained.columns = columns;
+            drained.size = size;
+            allocate(figures.length);
+            size = 0;
+            return drained;
+        }
+
+        /// Returns the first index in `[from, to]` at which a new figure starts.
+        int figureBoundary(int from, int to) {
+            int i = from;
+            while (i < to && i > 0 && figures[i] == figures[i - 1]) {
+                i++;
+            }
+            return i;
+        }
+
+        void convert(int from, int to) {
+            for (int i = from; i < to; i++) {
+                try {
+                    figures[i].set(keys[i], figureFactory.stringToValue(keys[i], values[i]));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(
+                            "Error reading attribute \"" + names[i] + "\" at line " + lines[i] + ", col " + columns[i],
+                            e);
+                }
+            }
+        }
+    }
+
+    /// Converts a range of an [AttributeBatch].
+    ///
+    /// The range is only split between the attributes of different figures,
+    /// so that the properties of a figure are always set by the same thread.
+    @SuppressWarnings({"serial", "RedundantSuppression"})
+    private static final class ConversionTask extends RecursiveAction {
+        private final AttributeBatch batch;
+        private final int from;
+        private final int to;
+
+        ConversionTask(AttributeBatch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int mid = to - from > CONVERSION_CHUNK_SIZE ? batch.figureBoundary((from + to) >>> 1, to) : to;
+            if (mid >= to) {
+                batch.convert(from, to);
+            } else {
+                invokeAll(new ConversionTask(batch, from, mid), new ConversionTask(batch, mid, to));
+            }
+        }
+    }
 }
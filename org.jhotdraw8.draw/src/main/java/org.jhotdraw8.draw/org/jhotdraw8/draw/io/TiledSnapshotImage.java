@@ -0,0 +1,273 @@
+/*
+ * @(#)TiledSnapshotImage.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.io;
+
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.image.WritablePixelFormat;
+import org.jhotdraw8.base.concurrent.TileTask;
+import org.jspecify.annotations.Nullable;
+
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/// A [RenderedImage] that renders a JavaFX node in horizontal bands of
+/// square tiles.
+///
+/// The image holds only one band in memory. A band is rendered when
+/// [#getData(Rectangle)] requests a row of it. This fits image writers
+/// that request the rows in ascending order, like the PNG image writer.
+///
+/// The tiles of a band are snapshotted on the JavaFX application thread.
+/// Their pixels are then copied into the band in parallel with a [TileTask].
+///
+/// This class is not thread-safe.
+class TiledSnapshotImage implements RenderedImage {
+    private final Node node;
+    private final SnapshotParameters parameters;
+    private final double x;
+    private final double y;
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    private final int imageType;
+    private final BufferedImage prototype;
+    private @Nullable BufferedImage bandImage;
+    /// The raster of the current band in image coordinates.
+    private @Nullable Raster band;
+    private int bandIndex = -1;
+
+    /// Creates a new instance.
+    ///
+    /// @param node       the node
+    /// @param parameters the snapshot parameters, the viewport is set for each tile
+    /// @param x          the x-coordinate of the image in the coordinate system of the snapshot
+    /// @param y          the y-coordinate of the image in the coordinate system of the snapshot
+    /// @param width      the width of the image in pixels
+    /// @param height     the height of the image in pixels
+    /// @param tileSize   the width and height of a tile in pixels
+    /// @param imageType  the type of the image, must be
+    ///                   [BufferedImage#TYPE_INT_RGB] or
+    ///                   [BufferedImage#TYPE_INT_ARGB_PRE]
+    TiledSnapshotImage(Node node, SnapshotParameters parameters, double x, double y,
+                       int width, int height, int tileSize, int imageType) {
+        this.node = node;
+        this.parameters = parameters;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.imageType = imageType;
+        this.prototype = new BufferedImage(1, 1, imageType);
+    }
+
+    private Raster getBand(int index) {
+        if (index != bandIndex || band == null) {
+            renderBand(index);
+        }
+        return band;
+    }
+
+    private void renderBand(int index) {
+        int bandY = index * tileSize;
+        int bandHeight = Math.min(tileSize, height - bandY);
+        if (bandImage == null || bandImage.getHeight() != bandHeight) {
+            bandImage = new BufferedImage(width, bandHeight, imageType);
+        }
+        WritableImage[] snapshots = snapshotTiles(bandY, bandHeight);
+
+        int[] data = ((DataBufferInt) bandImage.getRaster().getDataBuffer()).getData();
+        // We lie for TYPE_INT_RGB, as in BitmapExportOutputFormat.getAssociatedPixelFormat().
+        WritablePixelFormat<IntBuffer> pf = PixelFormat.getIntArgbPreInstance();
+        TileTask.forEach(0, 0, width, bandHeight, tileSize, tile -> {
+            WritableImage snapshot = snapshots[tile.xfrom() / tileSize];
+            snapshot.getPixelReader().getPixels(0, 0, tile.xto() - tile.xfrom(), tile.yto() - tile.yfrom(),
+                    pf, data, tile.yfrom() * width + tile.xfrom(), width);
+        });
+
+        band = bandImage.getRaster().createChild(0, 0, width, bandHeight, 0, bandY, null);
+        bandIndex = index;
+    }
+
+    /// Snapshots all tiles of a band on the JavaFX application thread.
+    private WritableImage[] snapshotTiles(int bandY, int bandHeight) {
+        int n = (width + tileSize - 1) / tileSize;
+        WritableImage[] snapshots = new WritableImage[n];
+        Runnable r = () -> {
+            for (int i = 0; i < n; i++) {
+                int tileX = i * tileSize;
+                parameters.setViewport(new Rectangle2D(x + tileX, y + bandY,
+                        Math.min(tileSize, width - tileX), bandHeight));
+                snapshots[i] = node.snapshot(parameters, null);
+            }
+        };
+        if (Platform.isFxApplicationThread()) {
+            r.run();
+        } else {
+            try {
+                CompletableFuture.runAsync(r, Platform::runLater).get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new UncheckedIOException(new IOException("Could not render tile.", e));
+            }
+        }
+        return snapshots;
+    }
+
+    @Override
+    public @Nullable Vector<RenderedImage> getSources() {
+        return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return Image.UndefinedProperty;
+    }
+
+    @Override
+    public String @Nullable [] getPropertyNames() {
+        return null;
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+        return prototype.getColorModel();
+    }
+
+    @Override
+    public SampleModel getSampleModel() {
+        return prototype.getSampleModel().createCompatibleSampleModel(width, tileSize);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinY() {
+        return 0;
+    }
+
+    @Override
+    public int getNumXTiles() {
+        return 1;
+    }
+
+    @Override
+    public int getNumYTiles() {
+        return (height + tileSize - 1) / tileSize;
+    }
+
+    @Override
+    public int getMinTileX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinTileY() {
+        return 0;
+    }
+
+    @Override
+    public int getTileWidth() {
+        return width;
+    }
+
+    @Override
+    public int getTileHeight() {
+        return tileSize;
+    }
+
+    @Override
+    public int getTileGridXOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getTileGridYOffset() {
+        return 0;
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// The returned raster shares its data with the current band, and is
+    /// only valid until another band is requested.
+    @Override
+    public Raster getTile(int tileX, int tileY) {
+        return getBand(tileY);
+    }
+
+    /// Returns the entire image in one raster.
+    ///
+    /// This defeats the purpose of this class, but is needed by image
+    /// writers that do not request the image row by row.
+    @Override
+    public Raster getData() {
+        return copyData(null);
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// If the rectangle lies within one band, then the returned raster
+    /// shares its data with the band, and is only valid until another band
+    /// is requested.
+    @Override
+    public Raster getData(Rectangle rect) {
+        int first = rect.y / tileSize;
+        int last = (rect.y + rect.height - 1) / tileSize;
+        if (first == last) {
+            return getBand(first).createChild(rect.x, rect.y, rect.width, rect.height, rect.x, rect.y, null);
+        }
+        WritableRaster raster = Raster.createWritableRaster(
+                prototype.getSampleModel().createCompatibleSampleModel(rect.width, rect.height), rect.getLocation());
+        return copyData(raster);
+    }
+
+    @Override
+    public WritableRaster copyData(@Nullable WritableRaster raster) {
+        if (raster == null) {
+            raster = Raster.createWritableRaster(
+                    prototype.getSampleModel().createCompatibleSampleModel(width, height), null);
+        }
+        Rectangle bounds = raster.getBounds().intersection(new Rectangle(0, 0, width, height));
+        if (bounds.isEmpty()) {
+            return raster;
+        }
+        for (int i = bounds.y / tileSize, last = (bounds.y + bounds.height - 1) / tileSize; i <= last; i++) {
+            Raster b = getBand(i);
+            Rectangle r = bounds.intersection(b.getBounds());
+            raster.setRect(b.createChild(r.x, r.y, r.width, r.height, r.x, r.y, null));
+        }
+        return raster;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * @(#)BulkEditEventCollector.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.model;
+
+import org.jhotdraw8.base.event.Event;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.fxbase.tree.TreeModelEvent;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/// Collects the events that a [DrawingModel] fires during a bulk edit, and
+/// collapses them into the events that are delivered to the listeners when
+/// the bulk edit is committed.
+///
+/// The events are collapsed as follows:
+///
+///   - A sequence of NODE_ADDED_TO_PARENT events that add children to
+///     consecutive indices of the same parent is collapsed into one
+///     NODES_ADDED_TO_PARENT event.
+///   - A sequence of NODE_REMOVED_FROM_PARENT events that remove consecutive
+///     children of the same parent is collapsed into one
+///     NODES_REMOVED_FROM_PARENT event.
+///   - NODE_CHANGED and SUBTREE_NODES_CHANGED events are delivered once
+///     per figure after all other events, and only for figures that are
+///     still in the tree.
+///   - LAYOUT_CHANGED and TRANSFORM_CHANGED events are delivered once per
+///     figure.
+///
+/// NODE_ADDED_TO_TREE and NODE_REMOVED_FROM_TREE events are delivered
+/// before the collapsed event of their figure, like they are delivered
+/// before the single event.
+///
+/// This class is not thread-safe.
+final class BulkEditEventCollector {
+    private final DrawingModel model;
+    /// The collapsed events in the order of delivery.
+    private final List<Event<?>> events = new ArrayList<>();
+    /// NODE_ADDED_TO_TREE and NODE_REMOVED_FROM_TREE events that have been
+    /// fired after the last event that has been added to the pending range.
+    private final List<TreeModelEvent<Figure>> heldTreeEvents = new ArrayList<>();
+    private final Set<Figure> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Figure> subtreesChanged = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Figure> layoutChanged = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Figure> transformChanged = Collections.newSetFromMap(new IdentityHashMap<>());
+    /// The figures of the changed sets in the order of the first change.
+    private final Set<Figure> changedOrder = new LinkedHashSet<>();
+
+    /// The type of the pending range, null if there is no pending range.
+    private TreeModelEvent.@Nullable EventType rangeType;
+    private @Nullable Figure rangeParent;
+    private int rangeFrom;
+    private final ArrayDeque<Figure> rangeChildren = new ArrayDeque<>();
+
+    BulkEditEventCollector(DrawingModel model) {
+        this.model = model;
+    }
+
+    /// Adds a drawing model event.
+    ///
+    /// @param event the event
+    void add(DrawingModelEvent event) {
+        boolean isFirst = switch (event.getEventType()) {
+            case LAYOUT_CHANGED -> layoutChanged.add(event.getNode());
+            case TRANSFORM_CHANGED -> transformChanged.add(event.getNode());
+            case PROPERTY_VALUE_CHANGED -> true;
+        };
+        if (isFirst) {
+            events.add(event);
+        }
+    }
+
+    /// Adds a tree model event.
+    ///
+    /// @param event the event
+    void add(TreeModelEvent<Figure> event) {
+        switch (event.getEventType()) {
+            case NODE_ADDED_TO_TREE, NODE_REMOVED_FROM_TREE -> heldTreeEvents.add(event);
+            case NODE_CHANGED -> {
+                changed.add(event.getNode());
+                changedOrder.add(event.getNode());
+            }
+            case SUBTREE_NODES_CHANGED -> {
+                subtreesChanged.add(event.getNode());
+                changedOrder.add(event.getNode());
+            }
+            case NODE_ADDED_TO_PARENT -> {
+                int index = event.getChildIndex();
+                if (rangeType == TreeModelEvent.EventType.NODES_ADDED_TO_PARENT && rangeParent == event.getParent()
+                        && index == rangeFrom + rangeChildren.size()) {
+                    rangeChildren.addLast(event.getChild());
+                    releaseHeldTreeEvents();
+                } else {
+                    startRange(TreeModelEvent.EventType.NODES_ADDED_TO_PARENT, event.getParent(), index, event.getChild());
+                }
+            }
+            case NODE_REMOVED_FROM_PARENT -> {
+                int index = event.getChildIndex();
+                if (rangeType == TreeModelEvent.EventType.NODES_REMOVED_FROM_PARENT && rangeParent == event.getParent()
+                        && (index == rangeFrom || index == rangeFrom - 1)) {
+                    if (index == rangeFrom) {
+                        rangeChildren.addLast(event.getChild());
+                    } else {
+                        rangeChildren.addFirst(event.getChild());
+                        rangeFrom = index;
+                    }
+                    releaseHeldTreeEvents();
+                } else {
+                    startRange(TreeModelEvent.EventType.NODES_REMOVED_FROM_PARENT, event.getParent(), index, event.getChild());
+                }
+            }
+            default -> {
+                flushRange();
+                events.add(event);
+            }
+        }
+    }
+
+    /// Returns the collapsed events in the order of delivery.
+    ///
+    /// @return the events
+    List<Event<?>> drain() {
+        flushRange();
+        Figure root = model.getRoot();
+        for (Figure f : changedOrder) {
+            if (f.getRoot() == root) {
+                if (subtreesChanged.contains(f)) {
+                    events.add(TreeModelEvent.subtreeNodesInvalidated(model, f));
+                }
+                if (changed.contains(f)) {
+                    events.add(TreeModelEvent.nodeChanged(model, f));
+                }
+            }
+        }
+        return events;
+    }
+
+    private void startRange(TreeModelEvent.EventType type, Figure parent, int index, Figure child) {
+        flushRange();
+        rangeType = type;
+        rangeParent = parent;
+        rangeFrom = index;
+        rangeChildren.add(child);
+    }
+
+    /// Moves the held tree events to the collapsed events. The held events
+    /// belong to the children of the pending range, and must therefore be
+    /// delivered before the pending range.
+    private void releaseHeldTreeEvents() {
+        events.addAll(heldTreeEvents);
+        heldTreeEvents.clear();
+    }
+
+    private void flushRange() {
+        if (rangeType != null && rangeParent != null) {
+            TreeModelEvent<Figure> event;
+            if (rangeChildren.size() == 1) {
+                event = rangeType == TreeModelEvent.EventType.NODES_ADDED_TO_PARENT
+                        ? TreeModelEvent.nodeAddedToParent(model, rangeChildren.getFirst(), rangeParent, rangeFrom)
+                        : TreeModelEvent.nodeRemovedFromParent(model, rangeChildren.getFirst(), rangeParent, rangeFrom);
+            } else {
+                List<Figure> children = new ArrayList<>(rangeChildren);
+                event = rangeType == TreeModelEvent.EventType.NODES_ADDED_TO_PARENT
+                        ? TreeModelEvent.nodesAddedToParent(model, rangeParent, rangeFrom, children)
+                        : TreeModelEvent.nodesRemovedFromParent(model, rangeParent, rangeFrom, children);
+            }
+            events.add(event);
+            rangeType = null;
+            rangeParent = null;
+            rangeChildren.clear();
+        }
+        releaseHeldTreeEvents();
+    }
+}
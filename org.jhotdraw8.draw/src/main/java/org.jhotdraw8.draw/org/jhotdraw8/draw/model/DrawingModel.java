@@ -273,6 +273,28 @@ public interface DrawingModel extends Observable, TreeModel<Figure> {
     /// @param f the figure
     void updateCss(Figure f);
 
+    /// Begins a bulk edit.
+    ///
+    /// Until the matching call of [#commitBulkEdit()], the drawing model
+    /// collects the `TreeModelEvent`s and `DrawingModelEvent`s instead of
+    /// delivering them to the listeners. On commit, it collapses them, for
+    /// example the NODE_ADDED_TO_PARENT events of children that have been
+    /// added one after the other to the same parent into one
+    /// NODES_ADDED_TO_PARENT event, and delivers them.
+    ///
+    /// The listeners observe the collapsed events after all changes have
+    /// been made.
+    ///
+    /// Bulk edits can be nested.
+    @Override
+    void beginBulkEdit();
+
+    /// Commits a bulk edit and delivers the collapsed events.
+    ///
+    /// @throws IllegalStateException if no bulk edit is in progress
+    @Override
+    void commitBulkEdit();
+
     /// Fires the specified event.
     ///
     /// @param event the event
@@ -0,0 +1,327 @@
+/*
+ * @(#)LayoutDependencyGraph.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.model;
+
+import org.jhotdraw8.collection.primitive.IntArrayList;
+import org.jhotdraw8.draw.figure.ChildLayoutingFigure;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.graph.ChunkedMutableIndexedBidiGraph;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Persistent layout-dependency graph of the figures in a drawing.
+///
+/// Each figure gets an int id when it is reached for the first time.
+/// The graph has two kinds of arrows:
+///
+///   - A _parent arrow_ from a figure to its parent, if the parent is
+///     a [ChildLayoutingFigure].
+///   - An _observer arrow_ from a figure to each of its layout observers.
+///
+/// The ids and the arrows are kept between validation passes.
+/// Figures add and remove layout observers without firing events, therefore
+/// the arrows of a figure are synchronized with the figure whenever the
+/// figure is reached in a pass. Only the arrows of reached figures are
+/// used, so a pass never sees stale arrows.
+///
+/// A pass costs time proportional to the affected subgraph: the dirty
+/// figures, their [ChildLayoutingFigure] ancestors and their layout
+/// observers transitively.
+class LayoutDependencyGraph {
+    private static final int OBSERVER_ARROW = 0;
+    private static final int PARENT_ARROW = 1;
+
+    private final ChunkedMutableIndexedBidiGraph graph = new ChunkedMutableIndexedBidiGraph();
+    private final Map<Figure, Integer> ids = new IdentityHashMap<>();
+    /// Maps ids to figures. Contains null for free ids.
+    private final List<@Nullable Figure> figures = new ArrayList<>();
+    private final IntArrayList freeIds = new IntArrayList();
+
+    /// Holds the number of the pass in which a vertex was reached.
+    private int[] reachedInPass = new int[0];
+    /// Holds the index of a vertex in the list of affected vertices of the current pass.
+    private int[] affectedIndex = new int[0];
+    private int pass;
+
+    LayoutDependencyGraph() {
+    }
+
+    /// Returns the number of figures that currently have an id.
+    int size() {
+        return ids.size();
+    }
+
+    /// Removes all figures and arrows.
+    void clear() {
+        graph.clear();
+        ids.clear();
+        figures.clear();
+        freeIds.clear();
+        reachedInPass = new int[0];
+        affectedIndex = new int[0];
+        pass = 0;
+    }
+
+    /// Removes a figure from the graph, and frees its id.
+    ///
+    /// @param f a figure
+    void remove(Figure f) {
+        Integer id = ids.remove(f);
+        if (id != null) {
+            graph.removeAllNextAsInt(id);
+            graph.removeAllPrevAsInt(id);
+            figures.set(id, null);
+            freeIds.addAsInt(id);
+        }
+    }
+
+    private int getOrCreateId(Figure f) {
+        Integer id = ids.get(f);
+        if (id != null) {
+            return id;
+        }
+        int newId;
+        if (freeIds.isEmpty()) {
+            newId = figures.size();
+            figures.add(f);
+            graph.addVertexAsInt();
+            if (newId >= reachedInPass.length) {
+                int capacity = Math.max(16, newId + (newId >>> 1) + 1);
+                reachedInPass = Arrays.copyOf(reachedInPass, capacity);
+                affectedIndex = Arrays.copyOf(affectedIndex, capacity);
+            }
+        } else {
+            newId = freeIds.removeLastAsInt();
+            figures.set(newId, f);
+        }
+        reachedInPass[newId] = 0;
+        ids.put(f, newId);
+        return newId;
+    }
+
+    /// Returns the figures that are affected by the specified dirty figures
+    /// in topological order. Figures that do not depend on the layout of other
+    /// figures come first. Circular dependencies are broken up deterministically.
+    ///
+    /// @param dirties the dirty figures, including their subtrees
+    /// @return the affected figures in topological order
+    List<Figure> sortAffectedTopologically(Iterable<Figure> dirties) {
+        return sortAffectedTopologically(dirties, null);
+    }
+
+    /// Returns the figures that are affected by the specified dirty figures
+    /// in topological order, and optionally splits them up into batches.
+    ///
+    /// The figures in a batch do not depend on each other. A batch only
+    /// depends on figures in preceding batches.
+    ///
+    /// @param dirties the dirty figures, including their subtrees
+    /// @param batches if non-null, the end index of each batch is added to this
+    ///                list; no batches are added if the graph has loops
+    /// @return the affected figures in topological order
+    List<Figure> sortAffectedTopologically(Iterable<Figure> dirties, @Nullable IntArrayList batches) {
+        if (++pass == Integer.MAX_VALUE) {
+            Arrays.fill(reachedInPass, 0);
+            pass = 1;
+        }
+
+        // Collect all affected vertices with a breadth-first search.
+        // The list of affected vertices is also the search queue.
+        IntArrayList affected = new IntArrayList();
+        for (Figure f : dirties) {
+            reach(getOrCreateId(f), affected);
+        }
+        for (int i = 0; i < affected.size(); i++) {
+            int v = affected.getAsInt(i);
+            synchronizeArrows(v);
+            for (int j = 0, n = graph.getNextCount(v); j < n; j++) {
+                reach(graph.getNextAsInt(v, j), affected);
+            }
+        }
+
+        // Build the dependency arrows between the affected vertices:
+        // a child must be laid out before its parent, and the
+        // layout root of a subject must be laid out before its observers.
+        final int n = affected.size();
+        final int[] layoutRoot = new int[n];
+        Arrays.fill(layoutRoot, -1);
+        IntArrayList from = new IntArrayList(n);
+        IntArrayList to = new IntArrayList(n);
+        for (int i = 0; i < n; i++) {
+            int v = affected.getAsInt(i);
+            for (int j = 0, count = graph.getNextCount(v); j < count; j++) {
+                int u = affectedIndex[graph.getNextAsInt(v, j)];
+                if (graph.getNextArrowAsInt(v, j) == PARENT_ARROW) {
+                    from.addAsInt(i);
+                } else {
+                    from.addAsInt(getLayoutRoot(i, affected, layoutRoot));
+                }
+                to.addAsInt(u);
+            }
+        }
+
+        int[] sorted = sortTopologically(n, from, to, batches);
+        List<Figure> result = new ArrayList<>(n);
+        for (int i : sorted) {
+            result.add(figures.get(affected.getAsInt(i)));
+        }
+        return result;
+    }
+
+    private void reach(int v, IntArrayList affected) {
+        if (reachedInPass[v] != pass) {
+            reachedInPass[v] = pass;
+            affectedIndex[v] = affected.size();
+            affected.addAsInt(v);
+        }
+    }
+
+    /// Returns the affected index of the topmost [ChildLayoutingFigure] ancestor
+    /// of the specified affected vertex, or of the vertex itself.
+    private int getLayoutRoot(int i, IntArrayList affected, int[] layoutRoot) {
+        if (layoutRoot[i] < 0) {
+            int v = affected.getAsInt(i);
+            int root = i;
+            for (int j = 0, count = graph.getNextCount(v); j < count; j++) {
+                if (graph.getNextArrowAsInt(v, j) == PARENT_ARROW) {
+                    // guard against malformed trees: stop at the first repetition
+                    layoutRoot[i] = i;
+                    root = getLayoutRoot(affectedIndex[graph.getNextAsInt(v, j)], affected, layoutRoot);
+                    break;
+                }
+            }
+            layoutRoot[i] = root;
+        }
+        return layoutRoot[i];
+    }
+
+    /// Brings the outgoing arrows of the specified vertex in sync with its figure.
+    private void synchronizeArrows(int v) {
+        Figure f = figures.get(v);
+        if (f == null) {
+            return;
+        }
+        Figure parent = f.getParent();
+        int parentId = parent instanceof ChildLayoutingFigure ? getOrCreateId(parent) : -1;
+        var observers = f.getReadOnlyLayoutObservers();
+        int expectedCount = observers.size() + (parentId < 0 ? 0 : 1);
+
+        // Check whether the current arrows are up-to-date.
+        boolean upToDate = graph.getNextCount(v) == expectedCount
+                && (parentId < 0 || hasArrow(v, parentId, PARENT_ARROW));
+        if (upToDate) {
+            for (Figure obs : observers) {
+                Integer obsId = ids.get(obs);
+                if (obsId == null || !hasArrow(v, obsId, OBSERVER_ARROW)) {
+                    upToDate = false;
+                    break;
+                }
+            }
+        }
+        if (upToDate) {
+            return;
+        }
+
+        graph.removeAllNextAsInt(v);
+        if (parentId >= 0) {
+            graph.addOrUpdateArrowAsInt(v, parentId, PARENT_ARROW);
+        }
+        for (Figure obs : observers) {
+            int obsId = getOrCreateId(obs);
+            if (obsId != parentId) {
+                graph.addArrowIfAbsentAsInt(v, obsId, OBSERVER_ARROW);
+            }
+        }
+    }
+
+    private boolean hasArrow(int v, int u, int kind) {
+        int index = graph.findIndexOfNextAsInt(v, u);
+        return index >= 0 && graph.getNextArrowAsInt(v, index) == kind;
+    }
+
+    /// Sorts the vertices `0..n-1` topologically with Kahn's algorithm.
+    /// Breaks loops in the same way as
+    /// [org.jhotdraw8.graph.algo.TopologicalSortAlgo#sortTopologicallyInt].
+    ///
+    /// If `batches` is non-null, the end index of each topological level is
+    /// added to it. The list is cleared if the graph has a loop.
+    private static int[] sortTopologically(int n, IntArrayList from, IntArrayList to, @Nullable IntArrayList batches) {
+        // Build a compressed sparse row representation of the arrows
+        final int m = from.size();
+        final int[] offsets = new int[n + 1];
+        for (int k = 0; k < m; k++) {
+            offsets[from.getAsInt(k) + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        final int[] targets = new int[m];
+        final int[] fill = Arrays.copyOf(offsets, n);
+        final int[] deg = new int[n];
+        for (int k = 0; k < m; k++) {
+            int u = to.getAsInt(k);
+            targets[fill[from.getAsInt(k)]++] = u;
+            deg[u]++;
+        }
+
+        final int[] queue = new int[n];
+        int first = 0, last = 0;
+        for (int i = 0; i < n; i++) {
+            if (deg[i] == 0) {
+                queue[last++] = i;
+            }
+        }
+        final int[] result = new int[n];
+        int done = 0;
+        int loopSearch = 0;
+        int batchEnd = last;
+        boolean hasLoop = false;
+        while (done < n) {
+            for (; done < n; done++) {
+                if (first == last) {
+                    // => the graph has a loop!
+                    hasLoop = true;
+                    break;
+                }
+                if (first == batchEnd) {
+                    // => all vertices of the current topological level have been processed
+                    if (batches != null) {
+                        batches.addAsInt(done);
+                    }
+                    batchEnd = last;
+                }
+                int v = queue[first++];
+                for (int k = offsets[v], end = offsets[v + 1]; k < end; k++) {
+                    int u = targets[k];
+                    if (--deg[u] == 0) {
+                        queue[last++] = u;
+                    }
+                }
+                result[done] = v;
+            }
+            if (done < n) {
+                // Break loop in graph by removing all arrows on a node.
+                while (deg[loopSearch] <= 0) {
+                    loopSearch++;
+                }
+                deg[loopSearch] = 0;
+                queue[last++] = loopSearch;
+            }
+        }
+        if (batches != null) {
+            if (hasLoop) {
+                batches.clear();
+            } else if (n > 0) {
+                batches.addAsInt(n);
+            }
+        }
+        return result;
+    }
+}
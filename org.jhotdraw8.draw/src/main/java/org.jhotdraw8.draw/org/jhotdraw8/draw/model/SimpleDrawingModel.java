@@ -4,13 +4,19 @@
  */
 package org.jhotdraw8.draw.model;
 
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.Property;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.transform.Transform;
+import org.jhotdraw8.base.event.Event;
 import org.jhotdraw8.base.event.Listener;
+import org.jhotdraw8.collection.primitive.IntArrayList;
+import org.jhotdraw8.css.manager.StyleInvalidationIndex;
+import org.jhotdraw8.css.manager.StylesheetsManager;
 import org.jhotdraw8.css.value.CssPoint2D;
 import org.jhotdraw8.css.value.CssSize;
 import org.jhotdraw8.draw.figure.ChildLayoutingFigure;
@@ -18,26 +24,30 @@ import org.jhotdraw8.draw.figure.Drawing;
 import org.jhotdraw8.draw.figure.Figure;
 import org.jhotdraw8.draw.figure.FigurePropertyChangeEvent;
 import org.jhotdraw8.draw.figure.Layer;
+import org.jhotdraw8.draw.figure.StyleableFigure;
 import org.jhotdraw8.draw.figure.TransformableFigure;
 import org.jhotdraw8.draw.render.RenderContext;
 import org.jhotdraw8.draw.render.SimpleRenderContext;
+import org.jhotdraw8.fxbase.styleable.ReadableStyleableMapAccessor;
 import org.jhotdraw8.fxbase.tree.TreeModelEvent;
 import org.jhotdraw8.fxcollection.typesafekey.Key;
 import org.jhotdraw8.fxcollection.typesafekey.MapAccessor;
 import org.jhotdraw8.fxcollection.typesafekey.NonNullMapAccessor;
-import org.jhotdraw8.graph.SimpleMutableDirectedGraph;
-import org.jhotdraw8.graph.algo.TopologicalSortAlgo;
+import org.jhotdraw8.icollection.readable.ReadableSet;
 import org.jspecify.annotations.Nullable;
 
 import java.util.AbstractMap;
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.IdentityHashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.stream.IntStream;
 
 /// A DrawingModel for drawings which can handle [TransformableFigure]s,
 /// [ChildLayoutingFigure] and layout observing figures,
@@ -101,7 +111,14 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
 
 
     private boolean valid = true;
-    private final Set<Figure> dirties = Collections.newSetFromMap(new IdentityHashMap<>());
+    /// The dirty figures in the order in which they became dirty.
+    /// Linked collections are used throughout validation, so that the
+    /// figures are validated, and the events are fired, in a
+    /// deterministic order.
+    private final Set<Figure> dirties = new LinkedHashSet<>();
+    private final LayoutDependencyGraph layoutGraph = new LayoutDependencyGraph();
+    /// Maps figures to the restyle flags of [StyleInvalidationIndex].
+    private final Map<Figure, Integer> restyleFlags = new LinkedHashMap<>();
     private final Listener<FigurePropertyChangeEvent> propertyChangeHandler = this::onPropertyChanged;
 
     private final ObjectProperty<Drawing> root = new SimpleObjectProperty<>(this, ROOT_PROPERTY) {
@@ -153,6 +170,43 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
 
     private void removeDirty(Figure figure) {
         dirties.remove(figure);
+        restyleFlags.remove(figure);
+    }
+
+    private void markRestyle(Figure figure, int flags) {
+        restyleFlags.merge(figure, flags, (a, b) -> a | b);
+    }
+
+    /// Returns the invalidation index of the style manager of the drawing,
+    /// or null if the drawing has no style manager.
+    private @Nullable StyleInvalidationIndex getInvalidationIndex() {
+        Drawing drawing = getDrawing();
+        StylesheetsManager<Figure> styleManager = drawing == null ? null : drawing.getStyleManager();
+        return styleManager == null ? null : styleManager.getInvalidationIndex();
+    }
+
+    /// Returns the restyle flags for a figure on which a property has changed.
+    private int getRestyleFlags(Figure figure, Key<?> key, @Nullable Object oldValue, @Nullable Object newValue) {
+        StyleInvalidationIndex index = figure instanceof Drawing ? null : getInvalidationIndex();
+        if (index == null) {
+            // the stylesheets may have changed: restyle everything below the figure
+            return StyleInvalidationIndex.RESTYLE_SELF | StyleInvalidationIndex.RESTYLE_DESCENDANTS;
+        }
+        int flags = StyleInvalidationIndex.RESTYLE_SELF;
+        if (key == StyleableFigure.STYLE_CLASS) {
+            flags |= index.getStyleClassesChangedFlags(asCollection(oldValue), asCollection(newValue));
+        } else if (key == StyleableFigure.PSEUDO_CLASS) {
+            flags |= index.getPseudoClassesChangedFlags(asCollection(oldValue), asCollection(newValue));
+        } else if (key == StyleableFigure.ID) {
+            flags |= index.getIdChangedFlags((String) oldValue, (String) newValue);
+        }
+        flags |= index.getAttributeFlags(key instanceof ReadableStyleableMapAccessor<?> s ? s.getCssName() : key.getName());
+        return flags;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<String> asCollection(@Nullable Object value) {
+        return value instanceof ReadableSet<?> set ? (Collection<String>) set.asSet() : Collections.emptySet();
     }
 
     @Override
@@ -345,6 +399,39 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
 
     private final ReadOnlyBooleanWrapper validating = new ReadOnlyBooleanWrapper(this, "layoutIsInProgress");
 
+    /// Batches with fewer figures than this are validated sequentially,
+    /// even if parallel validation is enabled.
+    private static final int MIN_PARALLEL_BATCH_SIZE = 64;
+
+    /// Whether independent figures are validated in parallel.
+    ///
+    /// This property is false by default. Enable it only if all figures
+    /// in the drawing can be laid out and styled concurrently.
+    private final BooleanProperty parallelValidation = new SimpleBooleanProperty(this, "parallelValidation", false);
+
+    /// Collects the events that are fired by the figure that is being
+    /// validated by the current thread during parallel validation.
+    /// This thread local is only set while a figure is being validated.
+    private final ThreadLocal<@Nullable List<Runnable>> deferredEvents = new ThreadLocal<>();
+
+    /// The nesting depth of bulk edits.
+    private int bulkEditDepth;
+    /// Collects the events that are fired during a bulk edit.
+    /// This field is non-null while a bulk edit is in progress.
+    private @Nullable BulkEditEventCollector bulkEdit;
+
+    public boolean isParallelValidation() {
+        return parallelValidation.get();
+    }
+
+    public void setParallelValidation(boolean value) {
+        parallelValidation.set(value);
+    }
+
+    public BooleanProperty parallelValidationProperty() {
+        return parallelValidation;
+    }
+
     public boolean isValidating() {
         return validating.get();
     }
@@ -374,78 +461,146 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
                 f.layoutObserverChanged();
             }
 
-            // collect all dirty figures and their subtrees
-            final Set<Figure> subtrees = Collections.newSetFromMap(new IdentityHashMap<>(dirties.size() * 2));
+            // collect all figures that must be restyled
+            final Set<Figure> restyles = new LinkedHashSet<>(restyleFlags.size() * 2);
+            for (Map.Entry<Figure, Integer> e : restyleFlags.entrySet()) {
+                StyleInvalidationIndex.collectElementsToRestyle(e.getKey(), e.getValue(),
+                        Figure::getParent, Figure::getChildren, restyles::add);
+            }
+
+            // collect all dirty figures and their subtrees, and all restyled figures
+            final Set<Figure> subtrees = new LinkedHashSet<>((dirties.size() + restyles.size()) * 2);
             for (Figure f : dirties) {
                 if (subtrees.add(f) && !(f instanceof Layer)) {
                    f.preorderSpliterator().forEachRemaining(subtrees::add);
                 }
             }
+            subtrees.addAll(restyles);
 
-            // build a graph which includes all dirty subtrees and
-            // 1) all their ancestors that have the LayoutsChildrenFigure marker interface
+            // sort all dirty subtrees and
+            // 1) all their ancestors that have the ChildLayoutingFigure marker interface
             // 2) all their layout observers transitively
-            final Set<Figure> visited = Collections.newSetFromMap(new IdentityHashMap<>(subtrees.size() * 2));
-            SimpleMutableDirectedGraph<Figure, Figure> graphBuilder = new SimpleMutableDirectedGraph<>();
-            ArrayDeque<Figure> queue = new ArrayDeque<>(subtrees);
-            while (!queue.isEmpty()) {
-                Figure f = queue.removeFirst();
-                if (visited.add(f)) {
-                    graphBuilder.addVertex(f);
-
-                    // 1)
-                    Iterator<Figure> it = f.ancestorIterable().iterator();
-                    Figure layoutRoot = f;//initialize ancestor with f, this helps if f is the root
-                    Figure child = it.next();//ancestor iterable starts with f
-                    while (it.hasNext()) {
-                        Figure parent = it.next();
-                        if (parent instanceof ChildLayoutingFigure) {
-                            layoutRoot = parent;
-                            graphBuilder.addVertex(layoutRoot);
-                            graphBuilder.addArrow(child, layoutRoot, null);
-                        } else {
-                            break;
-                        }
-                        child = layoutRoot;
+            IntArrayList batches = isParallelValidation() ? new IntArrayList() : null;
+            List<Figure> sorted = layoutGraph.sortAffectedTopologically(subtrees, batches);
+            if (batches == null || batches.isEmpty()) {
+                for (Figure f : sorted) {
+                    if (restyles.contains(f)) {
+                        f.stylesheetChanged(ctx);
                     }
-
-                    // 2)
-                    for (Figure obs : f.getReadOnlyLayoutObservers()) {
-                        graphBuilder.addVertex(obs);
-                        graphBuilder.addArrow(layoutRoot, obs, null);
-                        if (!visited.contains(obs)) {
-                            queue.add(obs);
-                        }
-                    }
-
-
-                }
-            }
-            if (graphBuilder.getVertexCount() > 0) {
-                for (Figure f : new TopologicalSortAlgo().sortTopologically(graphBuilder)) {
-                    f.stylesheetChanged(ctx);
                     f.layoutChanged(ctx);
                     f.transformChanged();
                     fireNodeInvalidated(f);
                 }
+            } else {
+                validateInParallel(sorted, batches, restyles, ctx);
             }
 
             dirties.clear();
+            restyleFlags.clear();
             validating.set(false);
             valid = true;
         }
 
     }
 
+    /// Validates the figures batch by batch. The figures in a batch do not
+    /// depend on each other, and are therefore validated in parallel.
+    ///
+    /// Events that are fired during validation are collected per figure, and
+    /// are fired on the calling thread after all batches have been validated,
+    /// in the topological order of the figures.
+    ///
+    /// @param sorted   the figures in topological order
+    /// @param batches  the end indices of the batches
+    /// @param restyles the figures that must be restyled
+    /// @param ctx      the render context
+    private void validateInParallel(List<Figure> sorted, IntArrayList batches, Set<Figure> restyles, RenderContext ctx) {
+        @SuppressWarnings("unchecked")
+        List<Runnable>[] events = (List<Runnable>[]) new List<?>[sorted.size()];
+        int start = 0;
+        for (int end : batches) {
+            IntStream range = IntStream.range(start, end);
+            (end - start < MIN_PARALLEL_BATCH_SIZE ? range : range.parallel())
+                    .forEach(i -> {
+                        Figure f = sorted.get(i);
+                        List<Runnable> figureEvents = new ArrayList<>();
+                        deferredEvents.set(figureEvents);
+                        try {
+                            if (restyles.contains(f)) {
+                                f.stylesheetChanged(ctx);
+                            }
+                            f.layoutChanged(ctx);
+                            f.transformChanged();
+                        } finally {
+                            deferredEvents.remove();
+                        }
+                        events[i] = figureEvents;
+                    });
+            start = end;
+        }
+        for (List<Runnable> figureEvents : events) {
+            for (Runnable event : figureEvents) {
+                event.run();
+            }
+        }
+        for (Figure f : sorted) {
+            fireNodeInvalidated(f);
+        }
+    }
+
+    @Override
+    public void beginBulkEdit() {
+        if (bulkEditDepth++ == 0) {
+            bulkEdit = new BulkEditEventCollector(this);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void commitBulkEdit() {
+        if (bulkEditDepth == 0) {
+            throw new IllegalStateException("No bulk edit in progress.");
+        }
+        if (--bulkEditDepth == 0) {
+            BulkEditEventCollector collector = Objects.requireNonNull(bulkEdit, "bulkEdit");
+            bulkEdit = null;
+            for (Event<?> event : collector.drain()) {
+                if (event instanceof DrawingModelEvent e) {
+                    super.fireDrawingModelEvent(e);
+                } else {
+                    super.fireTreeModelEvent((TreeModelEvent<Figure>) event);
+                }
+            }
+        }
+    }
+
     @Override
     public void fireDrawingModelEvent(DrawingModelEvent event) {
-        super.fireDrawingModelEvent(event);
+        List<Runnable> events = deferredEvents.get();
+        if (events != null) {
+            events.add(() -> fireDrawingModelEvent(event));
+            return;
+        }
+        if (bulkEdit != null) {
+            bulkEdit.add(event);
+        } else {
+            super.fireDrawingModelEvent(event);
+        }
         onDrawingModelEvent(event);
     }
 
     @Override
     public void fireTreeModelEvent(TreeModelEvent<Figure> event) {
-        super.fireTreeModelEvent(event);
+        List<Runnable> events = deferredEvents.get();
+        if (events != null) {
+            events.add(() -> fireTreeModelEvent(event));
+            return;
+        }
+        if (bulkEdit != null) {
+            bulkEdit.add(event);
+        } else {
+            super.fireTreeModelEvent(event);
+        }
         onTreeModelEvent(event);
     }
 
@@ -459,6 +614,7 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
         switch (event.getEventType()) {
             case TRANSFORM_CHANGED, LAYOUT_CHANGED:
                 markDirty(figure);
+                markRestyle(figure, StyleInvalidationIndex.RESTYLE_SELF);
                 invalidate();
                 break;
             case PROPERTY_VALUE_CHANGED: {
@@ -467,6 +623,7 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
                 Object newValue = event.getNewValue();
                 figure.propertyChanged(key, oldValue, newValue);
                 markDirty(figure);
+                markRestyle(figure, getRestyleFlags(figure, key, oldValue, newValue));
                 invalidate();
                 break;
             }
@@ -486,8 +643,12 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
 
         switch (event.getEventType()) {
             case NODE_ADDED_TO_PARENT:
-                markDirty(figure);
-                invalidate();
+                onNodeAddedToParent(figure);
+                break;
+            case NODES_ADDED_TO_PARENT:
+                for (Figure child : event.getChildren()) {
+                    onNodeAddedToParent(child);
+                }
                 break;
             case NODE_ADDED_TO_TREE:
                 if (event.getRoot() instanceof Drawing) {
@@ -499,17 +660,26 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
                     figure.removedFromDrawing((Drawing) event.getRoot());
                 }
                 removeDirty(figure);
+                layoutGraph.remove(figure);
                 break;
-            case NODE_REMOVED_FROM_PARENT:
+            case NODE_REMOVED_FROM_PARENT, NODES_REMOVED_FROM_PARENT: {
+                // the siblings of the removed figures may have to be restyled
+                StyleInvalidationIndex index = getInvalidationIndex();
                 markDirty(event.getParent());
+                markRestyle(event.getParent(), StyleInvalidationIndex.RESTYLE_SELF
+                        | (index == null || index.getStructureFlags() != 0 ? StyleInvalidationIndex.RESTYLE_DESCENDANTS : 0));
                 invalidate();
                 break;
+            }
             case NODE_CHANGED:
                 markDirty(event.getNode());
+                markRestyle(event.getNode(), StyleInvalidationIndex.RESTYLE_SELF);
                 invalidate();
                 break;
             case ROOT_CHANGED:
                 dirties.clear();
+                restyleFlags.clear();
+                layoutGraph.clear();
                 valid = true;
                 break;
             case SUBTREE_NODES_CHANGED:
@@ -520,5 +690,11 @@ public class SimpleDrawingModel extends AbstractDrawingModel {
         }
     }
 
-
+    private void onNodeAddedToParent(Figure figure) {
+        StyleInvalidationIndex index = getInvalidationIndex();
+        markDirty(figure);
+        markRestyle(figure, StyleInvalidationIndex.RESTYLE_SELF | StyleInvalidationIndex.RESTYLE_DESCENDANTS
+                | (index == null ? 0 : index.getStructureFlags()));
+        invalidate();
+    }
 }
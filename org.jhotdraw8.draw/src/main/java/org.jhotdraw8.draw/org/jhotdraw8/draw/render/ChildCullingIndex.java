@@ -0,0 +1,105 @@
+/*
+ * @(#)ChildCullingIndex.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.draw.render;
+
+import javafx.geometry.Bounds;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.geom.DynamicSpatialIndex;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/// Spatial index over the children of a parent figure.
+///
+/// This index is used by [InteractiveDrawingRenderer] for culling the
+/// children of figures with very many children (typically layers).
+///
+/// The bounds of the children are updated lazily. The index remembers
+/// the order of the children, so that the children that intersect with
+/// a rectangle can be returned in the same order as in the child list
+/// of the parent. The order is only recomputed after children have
+/// been added or removed.
+class ChildCullingIndex {
+    private final Figure parent;
+    private final DynamicSpatialIndex<Figure> index;
+    /// Children whose bounds must be updated in the index.
+    private final Set<Figure> dirtyChildren = Collections.newSetFromMap(new IdentityHashMap<>());
+    /// Maps children to their index in the child list of the parent.
+    /// This map is null if it must be recomputed.
+    private @Nullable Map<Figure, Integer> childOrder;
+
+    ChildCullingIndex(Figure parent, double margin) {
+        this.parent = parent;
+        this.index = new DynamicSpatialIndex<>(margin);
+        dirtyChildren.addAll(parent.getChildren());
+    }
+
+    void childAdded(Figure child) {
+        dirtyChildren.add(child);
+        childOrder = null;
+    }
+
+    void childRemoved(Figure child) {
+        dirtyChildren.remove(child);
+        index.remove(child);
+        childOrder = null;
+    }
+
+    void childChanged(Figure child) {
+        dirtyChildren.add(child);
+    }
+
+    void allChildrenChanged() {
+        dirtyChildren.addAll(parent.getChildren());
+    }
+
+    /// Returns the children whose visual bounds in world coordinates
+    /// intersect with the specified bounds.
+    ///
+    /// @param boundsInWorld bounds in world coordinates
+    /// @return the children in the order of the child list
+    List<Figure> getChildrenIntersecting(Bounds boundsInWorld) {
+        validate();
+        List<Figure> found = new ArrayList<>();
+        index.forEachIntersecting(boundsInWorld.getMinX(), boundsInWorld.getMinY(),
+                boundsInWorld.getMaxX(), boundsInWorld.getMaxY(), found::add);
+        if (found.size() > 1) {
+            Map<Figure, Integer> order = getChildOrder();
+            found.sort(Comparator.comparingInt(f -> order.getOrDefault(f, Integer.MAX_VALUE)));
+        }
+        return found;
+    }
+
+    private Map<Figure, Integer> getChildOrder() {
+        if (childOrder == null) {
+            List<Figure> children = parent.getChildren();
+            Map<Figure, Integer> map = new IdentityHashMap<>(children.size() * 2);
+            for (int i = 0, n = children.size(); i < n; i++) {
+                map.put(children.get(i), i);
+            }
+            childOrder = map;
+        }
+        return childOrder;
+    }
+
+    private void validate() {
+        for (Figure child : dirtyChildren) {
+            if (child.getParent() == parent) {
+                Bounds b = child.getVisualBoundsInWorld();
+                index.put(child, b.getMinX(), b.getMinY(), b.getMaxX(), b.getMaxY());
+            } else {
+                index.remove(child);
+            }
+        }
+        dirtyChildren.clear();
+    }
+}
@@ -7,9 +7,11 @@ package org.jhotdraw8.draw.render;
 
 import javafx.application.Platform;
 import javafx.beans.Observable;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -29,25 +31,27 @@ import org.jhotdraw8.draw.DrawingEditor;
 import org.jhotdraw8.draw.DrawingView;
 import org.jhotdraw8.draw.figure.Drawing;
 import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.Layer;
 import org.jhotdraw8.draw.model.DrawingModel;
 import org.jhotdraw8.draw.model.SimpleDrawingModel;
 import org.jhotdraw8.fxbase.beans.AbstractPropertyBean;
 import org.jhotdraw8.fxbase.beans.NonNullObjectProperty;
 import org.jhotdraw8.fxbase.tree.TreeModelEvent;
+import org.jhotdraw8.geom.DynamicSpatialIndex;
 import org.jhotdraw8.geom.FXTransforms;
 import org.jspecify.annotations.Nullable;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.SequencedSet;
+import java.util.Set;
 import java.util.function.Predicate;
 
 
@@ -55,6 +59,9 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
     public static final String RENDER_CONTEXT_PROPERTY = "renderContext";
     public static final String MODEL_PROPERTY = "model";
     public static final String DRAWING_VIEW_PROPERTY = "drawingView";
+    /// Margin by which the bounds of figures are enlarged in the spatial index,
+    /// so that small changes of the bounds do not change the index structure.
+    private static final double SPATIAL_INDEX_MARGIN = 4.0;
     private final NonNullObjectProperty<WritableRenderContext> renderContext //
             = new NonNullObjectProperty<>(this, RENDER_CONTEXT_PROPERTY, new SimpleRenderContext());
     private final NonNullObjectProperty<DrawingModel> model //
@@ -75,12 +82,29 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
     private final SequencedSet<Figure> dirtyFigureNodes = new LinkedHashSet<>();
     private final DoubleProperty zoomFactor = new SimpleDoubleProperty(this, "zoomFactor", 1.0);
     private final IntegerProperty updateLimit = new SimpleIntegerProperty(this, "updateLimit", 10_000);
+    private final BooleanProperty culling = new SimpleBooleanProperty(this, "culling", false);
+    private final DoubleProperty cullingMargin = new SimpleDoubleProperty(this, "cullingMargin", 200.0);
+    /// Culling indices for parent figures that have requested their
+    /// children with [#getChildrenIntersecting].
+    /// This map is only used if [#cullingProperty()] is true.
+    private final Map<Figure, ChildCullingIndex> cullingIndices = new IdentityHashMap<>();
+    /// Set to true when the clip bounds have changed, and we have to
+    /// release the nodes of figures that have been culled.
+    private boolean releaseCulledNodes;
     private final Map<Figure, Node> figureToNodeMap = new IdentityHashMap<>();
     private final Map<Node, Figure> nodeToFigureMap = new IdentityHashMap<>();
     private final ObjectProperty<DrawingView> drawingView = new SimpleObjectProperty<>(this, DRAWING_VIEW_PROPERTY);
     private final ObjectProperty<DrawingEditor> editor = new SimpleObjectProperty<>(this, DrawingView.EDITOR_PROPERTY, null);
     private final Listener<TreeModelEvent<Figure>> treeModelListener = this::onTreeModelEvent;
     private final NodeFinder nodeFinder = new NodeFinder();
+    /// Spatial index over the bounds in world coordinates of all figures that
+    /// have an up-to-date node. The index does not contain the drawing and
+    /// its layers.
+    ///
+    /// The index is updated together with the nodes of the figures, so that
+    /// it always matches the state of the JavaFX scene graph that we
+    /// search with [NodeFinder].
+    private final DynamicSpatialIndex<Figure> spatialIndex = new DynamicSpatialIndex<>(SPATIAL_INDEX_MARGIN);
     private final Runnable pulseListener = this::onPulse;
 
     public InteractiveDrawingRenderer() {
@@ -88,6 +112,7 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         model.addListener(this::onDrawingModelChanged);
         clipBounds.addListener(this::onClipBoundsChanged);
         zoomFactorProperty().addListener(this::onClipBoundsChanged);
+        culling.addListener(this::onCullingChanged);
         drawingPane.sceneProperty().addListener(this::onSceneChanged);
     }
 
@@ -171,59 +196,96 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         Point2D pp = vt.transform(vx, vy);
         List<Map.Entry<Figure, Double>> list = new ArrayList<>();
         double tolerance = getEditor().getTolerance();
+        double toleranceInWorld = FXTransforms.deltaTransform(vt, tolerance, 0).magnitude();
+        Set<Figure> candidates = findCandidates(pp.getX() - toleranceInWorld, pp.getY() - toleranceInWorld,
+                pp.getX() + toleranceInWorld, pp.getY() + toleranceInWorld);
         final Parent parent = (Parent) figureToNodeMap.get(getDrawing());
-        for (Node child : frontToBack(parent)) {
+        for (Node child : frontToBack(parent, candidates)) {
             findFiguresRecursive(child, child.parentToLocal(pp), list, decompose,
                     predicate,
                     FXTransforms.inverseDeltaTransform(child.getLocalToParentTransform(),
-                            tolerance, 0).magnitude());
+                            tolerance, 0).magnitude(), candidates);
         }
 
         return list;
     }
 
+    /// Finds all figures that may intersect with the specified rectangle
+    /// in world coordinates, by looking them up in the spatial index.
+    ///
+    /// The returned set includes all ancestors of the found figures,
+    /// so that it can be used for pruning a search through the
+    /// scene graph.
+    ///
+    /// @param minX the minimal x coordinate of the rectangle in world coordinates
+    /// @param minY the minimal y coordinate of the rectangle in world coordinates
+    /// @param maxX the maximal x coordinate of the rectangle in world coordinates
+    /// @param maxY the maximal y coordinate of the rectangle in world coordinates
+    /// @return the candidate figures and their ancestors
+    private Set<Figure> findCandidates(double minX, double minY, double maxX, double maxY) {
+        Set<Figure> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        spatialIndex.forEachIntersecting(minX, minY, maxX, maxY, f -> {
+            // we can stop at the first ancestor that is already in the set
+            Figure a = f;
+            while (a != null && candidates.add(a)) {
+                a = a.getParent();
+            }
+        });
+        return candidates;
+    }
+
+    /// Updates the entry of the specified figure in the spatial index.
+    ///
+    /// @param f a figure
+    private void updateSpatialIndex(Figure f) {
+        if (f instanceof Drawing || f instanceof Layer) {
+            return;
+        }
+        Bounds visual = f.getVisualBoundsInWorld();
+        Bounds stroked = f.getBoundsInWorld();
+        spatialIndex.put(f,
+                Math.min(visual.getMinX(), stroked.getMinX()),
+                Math.min(visual.getMinY(), stroked.getMinY()),
+                Math.max(visual.getMaxX(), stroked.getMaxX()),
+                Math.max(visual.getMaxY(), stroked.getMaxY()));
+    }
+
     /// Gets the children of this node in front-to-back order.
     ///
-    /// @param parent a parent node
+    /// Children that represent a figure that is not a candidate are skipped.
+    /// Children that do not represent a figure are always included.
+    ///
+    /// @param parent     a parent node
+    /// @param candidates the candidate figures
     /// @return the children of the node in front-to-back-order in a new
     /// mutable array
-    private Node[] frontToBack(@Nullable Parent parent) {
+    private Node[] frontToBack(@Nullable Parent parent, Set<Figure> candidates) {
         if (parent == null) {
             return new Node[0];
         }
         ObservableList<Node> children = parent.getChildrenUnmodifiable();
-        Node[] array = new Node[children.size()];
-        for (int i = 0; i < array.length; i++) {
-            array[array.length - i - 1] = children.get(i);
+        List<Node> list = new ArrayList<>();
+        for (int i = children.size() - 1; i >= 0; i--) {
+            Node child = children.get(i);
+            Figure figure = nodeToFigureMap.get(child);
+            if (figure == null || candidates.contains(figure)) {
+                list.add(child);
+            }
         }
+        Node[] array = list.toArray(new Node[0]);
         if (array.length > 1) {
             sortByViewOrder(array);
         }
         return array;
     }
 
-    private @Nullable Boolean canSortByViewOrder = null;
-    private @Nullable Method getViewOrder = null;
-
-    @SuppressWarnings("unchecked")
     private void sortByViewOrder(Node[] array) {
-        if (canSortByViewOrder == null) {
-            try {
-                getViewOrder = Node.class.getMethod("getViewOrder");
-                canSortByViewOrder = true;
-            } catch (Throwable e) {
-                canSortByViewOrder = false;
+        for (Node node : array) {
+            if (node.getViewOrder() != 0.0) {
+                Arrays.sort(array, Comparator.comparingDouble(Node::getViewOrder));
+                return;
             }
         }
-        if (getViewOrder != null) {
-            Arrays.sort(array, Comparator.comparingDouble(n -> {
-                try {
-                    return (double) getViewOrder.invoke(n);
-                } catch (IllegalAccessException | InvocationTargetException e) {
-                    return 0.0;
-                }
-            }));
-        }
     }
 
     public List<Map.Entry<Figure, Double>> findFiguresInside(double vx, double vy, double vwidth, double vheight, boolean decompose, Predicate<Figure> predicate) {
@@ -232,11 +294,12 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         Point2D pwh = vt.deltaTransform(vwidth, vheight);
         BoundingBox r = new BoundingBox(pxy.getX(), pxy.getY(), pwh.getX(), pwh.getY());
         List<Map.Entry<Figure, Double>> list = new ArrayList<>();
+        Set<Figure> candidates = findCandidates(r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY());
 
         final Parent parent = (Parent) figureToNodeMap.get(getDrawing());
-        for (Node child : frontToBack(parent)) {
+        for (Node child : frontToBack(parent, candidates)) {
             findFiguresInsideRecursive(child, child.parentToLocal(r), list, decompose,
-                    predicate);
+                    predicate, candidates);
         }
         return list;
     }
@@ -249,8 +312,9 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
     /// @param found     the list of found figures
     /// @param decompose whether to decompose figures
     /// @param predicate a predicate for adding figures
+    /// @param candidates candidate figures from the spatial index
     /// @return true if one or more figures were found
-    private boolean findFiguresInsideRecursive(Node node, Bounds pp, List<Map.Entry<Figure, Double>> found, boolean decompose, Predicate<Figure> predicate) {
+    private boolean findFiguresInsideRecursive(Node node, Bounds pp, List<Map.Entry<Figure, Double>> found, boolean decompose, Predicate<Figure> predicate, Set<Figure> candidates) {
         // base case
         // ---------
         if (!node.isVisible()) {
@@ -274,13 +338,14 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         // --------------
         boolean foundAChildFigure = false;
         if (node instanceof Parent parent) {
-            for (Node child : frontToBack(parent)) {
+            for (Node child : frontToBack(parent, candidates)) {
                 foundAChildFigure |= findFiguresInsideRecursive(
                         child,
                         child.parentToLocal(pp),
                         found,
                         decompose,
-                        predicate
+                        predicate,
+                        candidates
                 );
             }
         }
@@ -296,15 +361,16 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         Point2D pwh = vt.deltaTransform(vwidth, vheight);
         BoundingBox r = new BoundingBox(pxy.getX(), pxy.getY(), pwh.getX(), pwh.getY());
         List<Map.Entry<Figure, Double>> list = new ArrayList<>();
+        Set<Figure> candidates = findCandidates(r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY());
         final Parent parent = (Parent) figureToNodeMap.get(getDrawing());
-        for (Node child : frontToBack(parent)) {
+        for (Node child : frontToBack(parent, candidates)) {
             findFiguresIntersectingRecursive(child, child.parentToLocal(r), list, decompose,
-                    predicate);
+                    predicate, candidates);
         }
         return list;
     }
 
-    private boolean findFiguresIntersectingRecursive(Node node, Bounds pp, List<Map.Entry<Figure, Double>> found, boolean decompose, Predicate<Figure> predicate) {
+    private boolean findFiguresIntersectingRecursive(Node node, Bounds pp, List<Map.Entry<Figure, Double>> found, boolean decompose, Predicate<Figure> predicate, Set<Figure> candidates) {
         // base case
         // ---------
         if (!node.isVisible()) {
@@ -327,13 +393,14 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         // --------------
         boolean foundAChildFigure = false;
         if (node instanceof Parent parent) {
-            for (Node child : frontToBack(parent)) {
+            for (Node child : frontToBack(parent, candidates)) {
                 foundAChildFigure |= findFiguresIntersectingRecursive(
                         child,
                         child.parentToLocal(pp),
                         found,
                         decompose,
-                        predicate
+                        predicate,
+                        candidates
                 );
             }
         }
@@ -352,10 +419,12 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
     /// @param decompose       whether figures should be decomposed
     /// @param figurePredicate only figures which satisfy this predicate are added
     /// @param radius          the radius of the circle around the point
+    /// @param candidates      candidate figures from the spatial index
     /// @return whether figures were found
     private boolean findFiguresRecursive(Node node, Point2D center,
                                          List<Map.Entry<Figure, Double>> found, boolean decompose,
-                                         Predicate<Figure> figurePredicate, double radius) {
+                                         Predicate<Figure> figurePredicate, double radius,
+                                         Set<Figure> candidates) {
         // base case
         // ---------
         if (!node.isVisible()) {
@@ -378,7 +447,7 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         // --------------
         boolean foundAChildFigure = false;
         if (node instanceof Parent parent) {
-            for (Node child : frontToBack(parent)) {
+            for (Node child : frontToBack(parent, candidates)) {
                 foundAChildFigure |= findFiguresRecursive(
                         child,
                         child.parentToLocal(center),
@@ -387,7 +456,8 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
                         figurePredicate,
                         Math.abs(
                                 FXTransforms.inverseDeltaTransform(
-                                        child.getLocalToParentTransform(), radius, radius).getX()));
+                                        child.getLocalToParentTransform(), radius, radius).getX()),
+                        candidates);
             }
         }
         if (!foundAChildFigure && isWanted) {
@@ -440,6 +510,31 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         return n;
     }
 
+    /// Returns the children of the specified figure whose visual bounds
+    /// in world coordinates intersect with the specified bounds.
+    ///
+    /// If culling is enabled, the bounds are enlarged by the
+    /// [#cullingMarginProperty()], and the children are looked up in
+    /// a spatial index. The spatial index is created on the first call
+    /// for a parent, and is then maintained incrementally.
+    ///
+    /// @param parent        the parent figure
+    /// @param boundsInWorld bounds in world coordinates
+    /// @return the children in the order of the child list of the parent
+    public List<Figure> getChildrenIntersecting(Figure parent, Bounds boundsInWorld) {
+        if (!isCulling()) {
+            return parent.getChildren().stream()
+                    .parallel()
+                    .filter(child -> child.getVisualBoundsInWorld().intersects(boundsInWorld))
+                    .toList();
+        }
+        double margin = getCullingMargin() / getZoomFactor();
+        ChildCullingIndex index = cullingIndices.computeIfAbsent(parent, p -> new ChildCullingIndex(p, margin));
+        return index.getChildrenIntersecting(new BoundingBox(
+                boundsInWorld.getMinX() - margin, boundsInWorld.getMinY() - margin,
+                boundsInWorld.getWidth() + 2 * margin, boundsInWorld.getHeight() + 2 * margin));
+    }
+
     public NonNullObjectProperty<WritableRenderContext> renderContextProperty() {
         return renderContext;
     }
@@ -474,7 +569,13 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         Drawing drawing = getDrawing();
         if (drawing != null) {
             Bounds clipBounds = getClipBounds();
-            for (Figure figure : drawing.preorderIterable()) {
+            // If culling is enabled, only figures that have a node can be
+            // visible. Figures that become visible get a node when their
+            // parent is updated.
+            Iterable<Figure> figures = isCulling()
+                    ? new ArrayList<>(figureToNodeMap.keySet())
+                    : drawing.preorderIterable();
+            for (Figure figure : figures) {
                 if (figure.getVisualBoundsInWorld().intersects(clipBounds)) {
                     dirtyFigureNodes.add(figure);
                 }
@@ -488,15 +589,23 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
 
     private void onClipBoundsChanged(Observable observable) {
         invalidateLayerNodes();
+        releaseCulledNodes = isCulling();
         repaint();
     }
 
+    private void onCullingChanged(Observable observable) {
+        cullingIndices.clear();
+        onClipBoundsChanged(observable);
+    }
+
     private void onDrawingModelChanged(Observable o, @Nullable DrawingModel oldValue, @Nullable DrawingModel newValue) {
         if (oldValue != null) {
             oldValue.removeTreeModelListener(treeModelListener);
             dirtyFigureNodes.clear();
             figureToNodeMap.clear();
             nodeToFigureMap.clear();
+            spatialIndex.clear();
+            cullingIndices.clear();
         }
         if (newValue != null) {
             newValue.addTreeModelListener(treeModelListener);
@@ -532,6 +641,8 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         ObservableList<Node> children = drawingPane.getChildren();
         nodeToFigureMap.clear();
         figureToNodeMap.clear();
+        spatialIndex.clear();
+        cullingIndices.clear();
         Node node = getNode(f);
         if (node == null) {
             children.clear();
@@ -554,6 +665,9 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
 
     private void onTreeModelEvent(TreeModelEvent<Figure> event) {
         Figure f = event.getNode();
+        if (!cullingIndices.isEmpty()) {
+            updateCullingIndices(event);
+        }
         switch (event.getEventType()) {
             case NODE_ADDED_TO_PARENT:
                 onFigureAddedToParent(f);
@@ -561,6 +675,19 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
             case NODE_REMOVED_FROM_PARENT:
                 onFigureRemovedFromParent(f);
                 break;
+            case NODES_ADDED_TO_PARENT:
+                for (Figure child : event.getChildren()) {
+                    for (Figure d : child.preorderIterable()) {
+                        invalidateFigureNode(d);
+                    }
+                }
+                repaint();
+                break;
+            case NODES_REMOVED_FROM_PARENT:
+                for (Figure child : event.getChildren()) {
+                    onFigureRemovedFromParent(child);
+                }
+                break;
             case NODE_ADDED_TO_TREE:
                 onNodeAddedToTree(f);
                 break;
@@ -582,6 +709,84 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         }
     }
 
+    private void updateCullingIndices(TreeModelEvent<Figure> event) {
+        Figure f = event.getNode();
+        switch (event.getEventType()) {
+            case NODE_ADDED_TO_PARENT -> {
+                ChildCullingIndex index = cullingIndices.get(event.getParent());
+                if (index != null) {
+                    index.childAdded(f);
+                }
+            }
+            case NODE_REMOVED_FROM_PARENT -> {
+                ChildCullingIndex index = cullingIndices.get(event.getParent());
+                if (index != null) {
+                    index.childRemoved(f);
+                }
+                cullingIndices.remove(f);
+            }
+            case NODES_ADDED_TO_PARENT -> {
+                ChildCullingIndex index = cullingIndices.get(event.getParent());
+                if (index != null) {
+                    for (Figure child : event.getChildren()) {
+                        index.childAdded(child);
+                    }
+                }
+            }
+            case NODES_REMOVED_FROM_PARENT -> {
+                ChildCullingIndex index = cullingIndices.get(event.getParent());
+                for (Figure child : event.getChildren()) {
+                    if (index != null) {
+                        index.childRemoved(child);
+                    }
+                    cullingIndices.remove(child);
+                }
+            }
+            case NODE_CHANGED -> invalidateCullingIndex(f);
+            case SUBTREE_NODES_CHANGED -> {
+                ChildCullingIndex index = cullingIndices.get(f);
+                if (index != null) {
+                    index.allChildrenChanged();
+                }
+                invalidateCullingIndex(f);
+            }
+            case ROOT_CHANGED -> cullingIndices.clear();
+            default -> {
+            }
+        }
+    }
+
+    /// Marks the entry of the specified figure, or of the ancestor of the
+    /// figure that is in a culling index, as dirty.
+    ///
+    /// @param f a figure
+    private void invalidateCullingIndex(Figure f) {
+        for (Figure child = f, parent = f.getParent(); parent != null; child = parent, parent = parent.getParent()) {
+            ChildCullingIndex index = cullingIndices.get(parent);
+            if (index != null) {
+                index.childChanged(child);
+                break;
+            }
+        }
+    }
+
+    /// Releases the nodes of all figures, whose node has been detached from
+    /// the scene graph. This happens when a parent figure has culled them.
+    private void releaseDetachedNodes() {
+        Drawing drawing = getDrawing();
+        List<Figure> detached = new ArrayList<>();
+        for (Map.Entry<Figure, Node> entry : figureToNodeMap.entrySet()) {
+            if (entry.getValue().getParent() == null && entry.getKey() != drawing) {
+                detached.add(entry.getKey());
+            }
+        }
+        for (Figure f : detached) {
+            for (Figure d : f.preorderIterable()) {
+                removeNode(d);
+            }
+        }
+    }
+
     private void paint() {
         if (dirtyFigureNodes.isEmpty()) {
             return;
@@ -601,6 +806,9 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         }
         if (!dirtyFigureNodes.isEmpty()) {
             repaint();
+        } else if (releaseCulledNodes) {
+            releaseCulledNodes = false;
+            releaseDetachedNodes();
         }
     }
 
@@ -623,6 +831,7 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
             figureToNodeMap.remove(removedFigure);
         }
         dirtyFigureNodes.remove(f);
+        spatialIndex.remove(f);
     }
 
     public void repaint() {
@@ -648,11 +857,7 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
                 if (f.getVisualBoundsInWorld().intersects(visibleRectInWorld)) {
                     copyOfDirtyFigureNodes[i] = null;
                     count++;
-                    final Node node = getNode(f);// this may add the node again to the list of dirties!
-                    if (node != null) {
-                        f.updateNode(getRenderContext(), node);
-                        dirtyFigureNodes.remove(f);
-                    }
+                    updateNode(f);
                 }
             }
 
@@ -668,16 +873,36 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
         for (int i = 0, n = copyOfDirtyFigureNodes.length; i < n && count < limit; i++) {
             final Figure f = copyOfDirtyFigureNodes[i];
             count++;
-            final Node node = getNode(f);// this may add the node again to the list of dirties!
-            if (node != null) {
-                f.updateNode(getRenderContext(), node);
-                dirtyFigureNodes.remove(f);
+            if (f != null) {
+                updateNode(f);
             }
         }
 
         return count;
     }
 
+    /// Updates the node of the specified figure.
+    ///
+    /// If culling is enabled, and the node has been detached from the
+    /// scene graph by its parent, then the nodes of the figure and of its
+    /// descendants are released instead.
+    ///
+    /// @param f a figure
+    private void updateNode(Figure f) {
+        final Node node = getNode(f);// this may add the node again to the list of dirties!
+        if (node != null) {
+            if (isCulling() && node.getParent() == null && f != getDrawing()) {
+                for (Figure d : f.preorderIterable()) {
+                    removeNode(d);
+                }
+            } else {
+                f.updateNode(getRenderContext(), node);
+                updateSpatialIndex(f);
+                dirtyFigureNodes.remove(f);
+            }
+        }
+    }
+
     public DoubleProperty zoomFactorProperty() {
         return zoomFactor;
     }
@@ -707,4 +932,48 @@ public class InteractiveDrawingRenderer extends AbstractPropertyBean {
     public void setUpdateLimit(int updateLimit) {
         this.updateLimit.set(updateLimit);
     }
+
+    /// Whether culling is enabled.
+    ///
+    /// If culling is enabled, nodes are only created, updated and attached
+    /// for figures that intersect with the clip bounds plus the
+    /// [#cullingMarginProperty()]. Nodes of figures that leave this area
+    /// are detached and released.
+    ///
+    /// Culling is performed by figures that have very many children,
+    /// like layers, see [RenderContext#getChildrenIntersecting].
+    /// With culling enabled, the children are looked up in a spatial
+    /// index instead of being tested one by one.
+    ///
+    /// @return the culling property
+    public BooleanProperty cullingProperty() {
+        return culling;
+    }
+
+    public boolean isCulling() {
+        return culling.get();
+    }
+
+    public void setCulling(boolean culling) {
+        this.culling.set(culling);
+    }
+
+    /// The margin around the clip bounds in view coordinates, that is
+    /// used when culling is enabled.
+    ///
+    /// A larger margin reduces the number of nodes that need to be created
+    /// when the user scrolls, at the expense of memory.
+    ///
+    /// @return the culling margin property
+    public DoubleProperty cullingMarginProperty() {
+        return cullingMargin;
+    }
+
+    public double getCullingMargin() {
+        return cullingMargin.get();
+    }
+
+    public void setCullingMargin(double cullingMargin) {
+        this.cullingMargin.set(cullingMargin);
+    }
 }
@@ -7,11 +7,13 @@ package org.jhotdraw8.draw.render;
 
 import javafx.animation.Transition;
 import javafx.beans.Observable;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.Property;
 import javafx.beans.property.ReadOnlySetProperty;
 import javafx.beans.property.ReadOnlySetWrapper;
 import javafx.beans.property.SetProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleSetProperty;
 import javafx.collections.FXCollections;
@@ -21,8 +23,17 @@ import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.PathElement;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.transform.Transform;
 import javafx.util.Duration;
 import org.jhotdraw8.base.event.Listener;
+import org.jhotdraw8.css.value.Paintable;
 import org.jhotdraw8.draw.DrawingEditor;
 import org.jhotdraw8.draw.DrawingView;
 import org.jhotdraw8.draw.figure.Figure;
@@ -32,12 +43,14 @@ import org.jhotdraw8.draw.model.DrawingModel;
 import org.jhotdraw8.draw.model.SimpleDrawingModel;
 import org.jhotdraw8.fxbase.beans.NonNullObjectProperty;
 import org.jhotdraw8.fxbase.tree.TreeModelEvent;
+import org.jhotdraw8.geom.FXTransforms;
 import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -46,6 +59,16 @@ import java.util.Objects;
 import java.util.SequencedMap;
 import java.util.Set;
 
+/// Renders the handles of the selected figures of a [DrawingView].
+///
+/// If the number of selected figures exceeds the
+/// [large selection threshold][#largeSelectionThresholdProperty()], the
+/// renderer switches to a large-selection mode. In this mode, the outlines
+/// of all selected figures inside the clip bounds are drawn by a single
+/// [Path], and interactive handles are only created for the selected
+/// figures inside the clip bounds, and for the selected figures near the
+/// cursor, if there are too many selected figures inside the clip bounds.
+/// This bounds the number of handles by what is visible.
 public class InteractiveHandleRenderer {
     private static final String DRAWING_VIEW = "drawingView";
     private final Group handlesPane = new Group() {
@@ -81,9 +104,42 @@ public class InteractiveHandleRenderer {
     private boolean recreateHandles;
     private boolean handlesAreValid;
 
+    /// The number of selected figures above which the renderer switches to
+    /// the large-selection mode.
+    private final IntegerProperty largeSelectionThreshold = new SimpleIntegerProperty(this, "largeSelectionThreshold", 1000);
+    /// Whether the renderer is in the large-selection mode.
+    private boolean largeSelection;
+    /// Whether the visible selection and its outlines are in sync with the
+    /// clip bounds and the figures in the large-selection mode.
+    private boolean visibleSelectionIsValid;
+    /// The figure that has the anchor handles, null if the selection
+    /// consists of less than two figures.
+    private @Nullable Figure anchorFigure;
+    /// The figure that has the lead handles, null if the selection
+    /// consists of less than two figures.
+    private @Nullable Figure leadFigure;
+    /// The selected figures inside the clip bounds in the large-selection
+    /// mode.
+    private final List<Figure> visibleSelection = new ArrayList<>();
+    /// The outlines of the figures in [#visibleSelection] in view
+    /// coordinates. Holds 4 points (8 coordinates) for each figure.
+    private double[] visibleOutlines = new double[0];
+    /// The selected figures near the cursor that have handles in the
+    /// large-selection mode.
+    private final Set<Figure> figuresNearCursor = new LinkedHashSet<>();
+    /// Draws the outlines of the visible selection in the large-selection
+    /// mode. The halo and the outline share the same path elements.
+    private final Path largeSelectionHalo = new Path();
+    private final Path largeSelectionOutline = new Path();
+
     public InteractiveHandleRenderer() {
         handlesPane.setManaged(false);
         handlesPane.setAutoSizeChildren(false);
+        for (Path path : List.of(largeSelectionHalo, largeSelectionOutline)) {
+            path.setFill(null);
+            path.setStrokeLineCap(StrokeLineCap.BUTT);
+            path.setMouseTransparent(true);
+        }
         model.addListener(this::onDrawingModelChanged);
         clipBounds.addListener(this::onClipBoundsChanged);
         selectedFigures.addListener((SetChangeListener<Figure>) change -> recreateHandles());
@@ -105,23 +161,27 @@ public class InteractiveHandleRenderer {
     ///
     /// @param handles The provided list
     protected void createHandles(Map<Figure, List<Handle>> handles) {
-        List<Figure> selection = new ArrayList<>(getSelectedFigures());
-        if (selection.size() > 1) {
-            if (getEditor().getAnchorHandleType() != null) {
-                Figure anchor = selection.getFirst();
-                List<Handle> list = handles.computeIfAbsent(anchor, k -> new ArrayList<>());
-                anchor.createHandles(getEditor().getAnchorHandleType(), list);
-            }
-            if (getEditor().getLeadHandleType() != null) {
-                Figure anchor = selection.getLast();
-                List<Handle> list = handles.computeIfAbsent(anchor, k -> new ArrayList<>());
-                anchor.createHandles(getEditor().getLeadHandleType(), list);
-            }
+        createHandles(handles, getSelectedFigures());
+    }
+
+    /// Creates selection handles for the specified selected figures and
+    /// adds them to the provided list.
+    ///
+    /// @param handles The provided list
+    /// @param figures the selected figures for which handles are created
+    protected void createHandles(Map<Figure, List<Handle>> handles, Collection<Figure> figures) {
+        if (anchorFigure != null && getEditor().getAnchorHandleType() != null && figures.contains(anchorFigure)) {
+            List<Handle> list = handles.computeIfAbsent(anchorFigure, k -> new ArrayList<>());
+            anchorFigure.createHandles(getEditor().getAnchorHandleType(), list);
+        }
+        if (leadFigure != null && getEditor().getLeadHandleType() != null && figures.contains(leadFigure)) {
+            List<Handle> list = handles.computeIfAbsent(leadFigure, k -> new ArrayList<>());
+            leadFigure.createHandles(getEditor().getLeadHandleType(), list);
         }
         HandleType handleType = getEditor().getHandleType();
         if (handleType != null) {
             ArrayList<Handle> list = new ArrayList<>();
-            for (Figure figure : selection) {
+            for (Figure figure : figures) {
                 figure.createHandles(handleType, list);
             }
             for (Handle h : list) {
@@ -147,6 +207,10 @@ public class InteractiveHandleRenderer {
             return null;
         }
         final double tolerance = getEditor().getTolerance();
+        if (largeSelection) {
+            validateHandles();
+            updateFiguresNearCursor(vx, vy, tolerance);
+        }
         ArrayList<Map.Entry<Node, Handle>> entries = new ArrayList<>(nodeToHandleMap.entrySet());
         for (int i = entries.size() - 1; i >= 0; i--) {
             Map.Entry<Node, Handle> e = entries.get(i);
@@ -173,19 +237,58 @@ public class InteractiveHandleRenderer {
     public Set<Figure> getFiguresWithCompatibleHandle(Collection<Figure> figures, Handle master) {
         validateHandles();
         Map<Figure, Figure> result = new HashMap<>();
+        if (largeSelection) {
+            // Most selected figures have no handles in the large-selection
+            // mode. We create the handles of one figure per class, to find
+            // out whether the figures of that class have a compatible handle.
+            Map<Class<?>, Boolean> compatibleByClass = new HashMap<>();
+            for (Figure f : figures) {
+                if (!selectedFigures.contains(f)) {
+                    continue;
+                }
+                List<Handle> hh = handles.get(f);
+                boolean compatible = hh != null
+                        ? containsCompatibleHandle(hh, master)
+                        : compatibleByClass.computeIfAbsent(f.getClass(), k -> hasCompatibleHandle(f, master));
+                if (compatible) {
+                    result.put(f, null);
+                }
+            }
+            return result.keySet();
+        }
         for (Map.Entry<Figure, List<Handle>> entry : handles.entrySet()) {
             if (figures.contains(entry.getKey())) {
-                for (Handle h : entry.getValue()) {
-                    if (h.isCompatible(master)) {
-                        result.put(entry.getKey(), null);
-                        break;
-                    }
+                if (containsCompatibleHandle(entry.getValue(), master)) {
+                    result.put(entry.getKey(), null);
                 }
             }
         }
         return result.keySet();
     }
 
+    private static boolean containsCompatibleHandle(List<Handle> hh, Handle master) {
+        for (Handle h : hh) {
+            if (h.isCompatible(master)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasCompatibleHandle(Figure f, Handle master) {
+        HandleType handleType = getEditor().getHandleType();
+        if (handleType == null) {
+            return false;
+        }
+        List<Handle> hh = new ArrayList<>();
+        f.createHandles(handleType, hh);
+        boolean compatible = containsCompatibleHandle(hh, master);
+        for (Handle h : hh) {
+            h.dispose();
+        }
+        return compatible;
+    }
+
     public Node getNode() {
         return handlesPane;
     }
@@ -237,12 +340,48 @@ public class InteractiveHandleRenderer {
         return model;
     }
 
+    /// The clip bounds in world coordinates.
+    ///
+    /// In the large-selection mode, handles are only created for the
+    /// selected figures inside the clip bounds.
+    ///
+    /// @return the clip bounds
+    public ObjectProperty<Bounds> clipBoundsProperty() {
+        return clipBounds;
+    }
+
+    public Bounds getClipBounds() {
+        return clipBounds.get();
+    }
+
+    public void setClipBounds(Bounds clipBounds) {
+        this.clipBounds.set(clipBounds);
+    }
+
+    /// The number of selected figures above which the renderer switches
+    /// to the large-selection mode.
+    ///
+    /// @return the large selection threshold
+    public IntegerProperty largeSelectionThresholdProperty() {
+        return largeSelectionThreshold;
+    }
+
+    public int getLargeSelectionThreshold() {
+        return largeSelectionThreshold.get();
+    }
+
+    public void setLargeSelectionThreshold(int largeSelectionThreshold) {
+        this.largeSelectionThreshold.set(largeSelectionThreshold);
+    }
+
     private void onClipBoundsChanged(Observable observable) {
+        visibleSelectionIsValid = false;
         invalidateHandles();
         repaint();
     }
 
     private void onFigureRemoved(Figure figure) {
+        visibleSelectionIsValid = false;
         invalidateHandles();
     }
 
@@ -260,9 +399,9 @@ public class InteractiveHandleRenderer {
     private void onTreeModelEvent(TreeModelEvent<Figure> event) {
         Figure f = event.getNode();
         switch (event.getEventType()) {
-            case NODE_ADDED_TO_PARENT, NODE_REMOVED_FROM_TREE, NODE_ADDED_TO_TREE:
+            case NODE_ADDED_TO_PARENT, NODES_ADDED_TO_PARENT, NODE_REMOVED_FROM_TREE, NODE_ADDED_TO_TREE:
                 break;
-            case NODE_REMOVED_FROM_PARENT:
+            case NODE_REMOVED_FROM_PARENT, NODES_REMOVED_FROM_PARENT:
                 onFigureRemoved(f);
                 break;
             case NODE_CHANGED:
@@ -283,6 +422,7 @@ public class InteractiveHandleRenderer {
     private void onNodeChanged(Figure f) {
         if (selectedFigures.contains(f)) {
             dirtyHandles.add(f);
+            visibleSelectionIsValid = false;
             revalidateHandles();
         }
     }
@@ -323,29 +463,35 @@ public class InteractiveHandleRenderer {
             handles.clear();
             handlesPane.getChildren().clear();
             dirtyHandles.clear();
-
-            createHandles(handles);
             handlesView.clear();
-            for (List<Handle> value : handles.values()) {
-                handlesView.addAll(value);
-            }
-
+            figuresNearCursor.clear();
+            visibleSelection.clear();
+            visibleOutlines = new double[0];
+            largeSelectionHalo.getElements().clear();
+            largeSelectionOutline.getElements().clear();
+
+            List<Figure> selection = new ArrayList<>(getSelectedFigures());
+            anchorFigure = selection.size() > 1 ? selection.getFirst() : null;
+            leadFigure = selection.size() > 1 ? selection.getLast() : null;
+            largeSelection = selection.size() > getLargeSelectionThreshold();
             recreateHandles = false;
 
-
-            // Bounds visibleRect = getVisibleRect();
-
-            for (Map.Entry<Figure, List<Handle>> entry : handles.entrySet()) {
-                for (Handle handle : entry.getValue()) {
-                    Node n = handle.getNode(drawingViewNonNull);
-                    if (nodeToHandleMap.put(n, handle) == null) {
-                        handlesPane.getChildren().add(n);
-                        n.applyCss();
-                    }
-                    handle.updateNode(drawingViewNonNull);
+            if (largeSelection) {
+                handlesPane.getChildren().addAll(largeSelectionHalo, largeSelectionOutline);
+                updateLargeSelection(drawingViewNonNull);
+            } else {
+                createHandles(handles);
+                for (List<Handle> value : handles.values()) {
+                    handlesView.addAll(value);
+                }
+                for (Map.Entry<Figure, List<Handle>> entry : handles.entrySet()) {
+                    addHandleNodes(entry.getValue(), drawingViewNonNull);
                 }
             }
         } else {
+            if (largeSelection && !visibleSelectionIsValid) {
+                updateLargeSelection(drawingViewNonNull);
+            }
             Figure[] copyOfDirtyHandles = dirtyHandles.toArray(new Figure[0]);
             dirtyHandles.clear();
             for (Figure f : copyOfDirtyHandles) {
@@ -363,6 +509,169 @@ public class InteractiveHandleRenderer {
         }
     }
 
+    private void addHandleNodes(List<Handle> hh, DrawingView drawingViewNonNull) {
+        for (Handle handle : hh) {
+            Node n = handle.getNode(drawingViewNonNull);
+            if (nodeToHandleMap.put(n, handle) == null) {
+                handlesPane.getChildren().add(n);
+                n.applyCss();
+            }
+            handle.updateNode(drawingViewNonNull);
+        }
+    }
+
+    /// Updates the visible selection, its outlines, and the handles in the
+    /// large-selection mode.
+    ///
+    /// The cost of this method is linear in the number of selected
+    /// figures, but the number of handles that it creates is bounded by
+    /// the large selection threshold and the figures near the cursor.
+    private void updateLargeSelection(DrawingView drawingViewNonNull) {
+        visibleSelectionIsValid = true;
+        @Nullable Bounds clip = getClipBounds();
+        visibleSelection.clear();
+        for (Figure f : getSelectedFigures()) {
+            if (clip == null || f.getVisualBoundsInWorld().intersects(clip)) {
+                visibleSelection.add(f);
+            }
+        }
+        updateLargeSelectionOutlines(drawingViewNonNull);
+        materializeHandles(drawingViewNonNull);
+    }
+
+    /// Computes the outlines of the visible selection and updates the
+    /// outline path. Reuses the path elements if the number of outlines
+    /// is unchanged.
+    private void updateLargeSelectionOutlines(DrawingView drawingViewNonNull) {
+        int n = visibleSelection.size();
+        double[] points = visibleOutlines.length == n * 8 ? visibleOutlines : new double[n * 8];
+        Transform worldToView = FXTransforms.concat(Transform.translate(0.5, 0.5), drawingViewNonNull.getWorldToView());
+        for (int i = 0; i < n; i++) {
+            Figure f = visibleSelection.get(i);
+            Transform t = FXTransforms.concat(worldToView, f.getLocalToWorld());
+            Bounds b = f.getLayoutBounds();
+            int j = i * 8;
+            points[j] = b.getMinX();
+            points[j + 1] = b.getMinY();
+            points[j + 2] = b.getMaxX();
+            points[j + 3] = b.getMinY();
+            points[j + 4] = b.getMaxX();
+            points[j + 5] = b.getMaxY();
+            points[j + 6] = b.getMinX();
+            points[j + 7] = b.getMaxY();
+            FXTransforms.transform2DPoints(t, points, j, points, j, 4);
+        }
+        visibleOutlines = points;
+
+        List<PathElement> elements = largeSelectionHalo.getElements();
+        if (elements.size() == n * 5) {
+            for (int i = 0; i < n; i++) {
+                int j = i * 8, k = i * 5;
+                MoveTo moveTo = (MoveTo) elements.get(k);
+                moveTo.setX(points[j]);
+                moveTo.setY(points[j + 1]);
+                for (int p = 1; p < 4; p++) {
+                    LineTo lineTo = (LineTo) elements.get(k + p);
+                    lineTo.setX(points[j + p * 2]);
+                    lineTo.setY(points[j + p * 2 + 1]);
+                }
+            }
+        } else {
+            List<PathElement> newElements = new ArrayList<>(n * 5);
+            for (int i = 0; i < n; i++) {
+                int j = i * 8;
+                newElements.add(new MoveTo(points[j], points[j + 1]));
+                newElements.add(new LineTo(points[j + 2], points[j + 3]));
+                newElements.add(new LineTo(points[j + 4], points[j + 5]));
+                newElements.add(new LineTo(points[j + 6], points[j + 7]));
+                newElements.add(new ClosePath());
+            }
+            largeSelectionHalo.getElements().setAll(newElements);
+            largeSelectionOutline.getElements().setAll(newElements);
+        }
+
+        DrawingEditor editor = getEditor();
+        double strokeWidth = editor.getHandleStrokeWidth();
+        largeSelectionHalo.setStroke(Color.WHITE);
+        largeSelectionHalo.setStrokeWidth(strokeWidth + 2);
+        largeSelectionOutline.setStroke(Paintable.getPaint(editor.getHandleColor()));
+        largeSelectionOutline.setStrokeWidth(strokeWidth);
+    }
+
+    /// Creates the handles of the figures that must have handles in the
+    /// large-selection mode, and disposes the handles of all other figures.
+    private void materializeHandles(DrawingView drawingViewNonNull) {
+        Set<Figure> wanted = new LinkedHashSet<>();
+        if (anchorFigure != null) {
+            wanted.add(anchorFigure);
+        }
+        if (leadFigure != null) {
+            wanted.add(leadFigure);
+        }
+        if (visibleSelection.size() <= getLargeSelectionThreshold()) {
+            wanted.addAll(visibleSelection);
+        }
+        wanted.addAll(figuresNearCursor);
+
+        Set<Node> removedNodes = new HashSet<>();
+        for (Iterator<Map.Entry<Figure, List<Handle>>> i = handles.entrySet().iterator(); i.hasNext(); ) {
+            Map.Entry<Figure, List<Handle>> entry = i.next();
+            if (!wanted.contains(entry.getKey())) {
+                for (Handle h : entry.getValue()) {
+                    Node n = h.getNode(drawingViewNonNull);
+                    nodeToHandleMap.remove(n);
+                    removedNodes.add(n);
+                    handlesView.remove(h);
+                    h.dispose();
+                }
+                dirtyHandles.remove(entry.getKey());
+                i.remove();
+            }
+        }
+        if (!removedNodes.isEmpty()) {
+            handlesPane.getChildren().removeAll(removedNodes);
+        }
+
+        Set<Figure> missing = new LinkedHashSet<>();
+        for (Figure f : wanted) {
+            if (!handles.containsKey(f)) {
+                missing.add(f);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Figure, List<Handle>> created = new LinkedHashMap<>();
+            createHandles(created, missing);
+            for (Map.Entry<Figure, List<Handle>> entry : created.entrySet()) {
+                handles.put(entry.getKey(), entry.getValue());
+                handlesView.addAll(entry.getValue());
+                addHandleNodes(entry.getValue(), drawingViewNonNull);
+            }
+        }
+    }
+
+    /// Determines the visible selected figures near the cursor, and
+    /// creates their handles in the large-selection mode.
+    private void updateFiguresNearCursor(double vx, double vy, double tolerance) {
+        Set<Figure> near = new LinkedHashSet<>();
+        double[] points = visibleOutlines;
+        for (int i = 0, n = Math.min(visibleSelection.size(), points.length / 8); i < n; i++) {
+            int j = i * 8;
+            double minX = Math.min(Math.min(points[j], points[j + 2]), Math.min(points[j + 4], points[j + 6]));
+            double maxX = Math.max(Math.max(points[j], points[j + 2]), Math.max(points[j + 4], points[j + 6]));
+            double minY = Math.min(Math.min(points[j + 1], points[j + 3]), Math.min(points[j + 5], points[j + 7]));
+            double maxY = Math.max(Math.max(points[j + 1], points[j + 3]), Math.max(points[j + 5], points[j + 7]));
+            if (minX - tolerance <= vx && vx <= maxX + tolerance
+                    && minY - tolerance <= vy && vy <= maxY + tolerance) {
+                near.add(visibleSelection.get(i));
+            }
+        }
+        if (!near.equals(figuresNearCursor)) {
+            figuresNearCursor.clear();
+            figuresNearCursor.addAll(near);
+            materializeHandles(getDrawingViewNonNull());
+        }
+    }
+
     /// Validates the handles.
     private void validateHandles() {
         // Validate handles only, if they are invalid/*, and if
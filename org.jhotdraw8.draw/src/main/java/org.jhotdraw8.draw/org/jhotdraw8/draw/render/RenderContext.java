@@ -20,6 +20,7 @@ import org.jhotdraw8.fxcollection.typesafekey.SimpleNullableKey;
 import org.jspecify.annotations.Nullable;
 
 import java.time.Instant;
+import java.util.List;
 
 /// RenderContext.
 public interface RenderContext extends BasicRenderContext {
@@ -55,4 +56,22 @@ public interface RenderContext extends BasicRenderContext {
     /// @return The JavaFX node associated to the figure
     @Nullable Node getNode(Figure f);
 
+    /// Returns the children of the specified figure whose visual bounds
+    /// in world coordinates intersect with the specified bounds.
+    ///
+    /// Figures with very many children use this method for culling
+    /// children that are outside the [#CLIP_BOUNDS].
+    /// A render context may return additional children, for example
+    /// children that are slightly outside the specified bounds.
+    ///
+    /// @param parent        the parent figure
+    /// @param boundsInWorld bounds in world coordinates
+    /// @return the children in the order of the child list of the parent
+    default List<Figure> getChildrenIntersecting(Figure parent, Bounds boundsInWorld) {
+        return parent.getChildren().stream()
+                .parallel()
+                .filter(child -> child.getVisualBoundsInWorld().intersects(boundsInWorld))
+                .toList();
+    }
+
 }
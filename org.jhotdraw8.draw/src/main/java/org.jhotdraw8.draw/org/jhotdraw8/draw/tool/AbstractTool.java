@@ -25,6 +25,7 @@ import org.jhotdraw8.application.resources.Resources;
 import org.jhotdraw8.base.event.Listener;
 import org.jhotdraw8.draw.DrawingEditor;
 import org.jhotdraw8.draw.DrawingView;
+import org.jhotdraw8.draw.undo.DrawingModelUndoAdapter;
 import org.jhotdraw8.fxbase.undo.UndoableEditHelper;
 import org.jhotdraw8.fxcollection.typesafekey.Key;
 import org.jspecify.annotations.Nullable;
@@ -153,8 +154,13 @@ public abstract class AbstractTool extends AbstractDisableable implements Tool {
                     } else if (type == MouseEvent.MOUSE_ENTERED) {
                         onMouseEntered(event, dv);
                     } else if (type == MouseEvent.MOUSE_RELEASED) {
-                        onMouseReleased(event, dv);
+                        try {
+                            onMouseReleased(event, dv);
+                        } finally {
+                            endGesture(dv);
+                        }
                     } else if (type == MouseEvent.MOUSE_PRESSED) {
+                        beginGesture(dv);
                         onMousePressed(event, dv);
                     } else if (type == MouseEvent.MOUSE_CLICKED) {
                         onMouseClicked(event, dv);
@@ -314,6 +320,30 @@ public abstract class AbstractTool extends AbstractDisableable implements Tool {
     protected void onMousePressed(MouseEvent event, DrawingView view) {
     }
 
+    /// Begins a gesture on the undo adapter of the editor, so that all
+    /// property changes until the mouse is released are recorded in one
+    /// edit.
+    ///
+    /// @param view the drawing view
+    private void beginGesture(DrawingView view) {
+        DrawingEditor editor = view.getEditor();
+        DrawingModelUndoAdapter undoAdapter = editor == null ? null : editor.getUndoAdapter();
+        if (undoAdapter != null) {
+            undoAdapter.beginGesture();
+        }
+    }
+
+    /// Ends the gesture that was begun with [#beginGesture].
+    ///
+    /// @param view the drawing view
+    private void endGesture(DrawingView view) {
+        DrawingEditor editor = view.getEditor();
+        DrawingModelUndoAdapter undoAdapter = editor == null ? null : editor.getUndoAdapter();
+        if (undoAdapter != null) {
+            undoAdapter.endGesture();
+        }
+    }
+
     protected void onMouseClicked(MouseEvent event, DrawingView view) {
     }
 
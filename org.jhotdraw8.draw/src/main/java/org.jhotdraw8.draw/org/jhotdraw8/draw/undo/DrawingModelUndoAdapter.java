@@ -5,12 +5,16 @@
 
 package org.jhotdraw8.draw.undo;
 
+import javafx.application.Platform;
 import org.jhotdraw8.base.event.Listener;
 import org.jhotdraw8.draw.figure.Figure;
 import org.jhotdraw8.draw.model.DrawingModel;
 import org.jhotdraw8.draw.model.DrawingModelEvent;
 import org.jhotdraw8.fxbase.tree.TreeModelUndoAdapter;
+import org.jhotdraw8.fxbase.undo.CoalescingUndoableEdit;
 import org.jhotdraw8.fxcollection.typesafekey.Key;
+import org.jhotdraw8.icollection.ChampMap;
+import org.jhotdraw8.icollection.MutableChampMap;
 import org.jspecify.annotations.Nullable;
 
 import javax.swing.event.UndoableEditEvent;
@@ -19,22 +23,35 @@ import javax.swing.undo.CannotRedoException;
 import javax.swing.undo.CannotUndoException;
 import javax.swing.undo.UndoableEdit;
 import java.text.MessageFormat;
+import java.util.Map;
 
 /// Emits [UndoableEditEvent]s.
+///
+/// Property changes are recorded in [PropertyDeltaEdit]s. A delta edit
+/// is fired on the first property change, and then absorbs all following
+/// property changes, until it is closed. A delta edit is closed when
+/// another edit is fired, when the undo manager closes it, or at the end
+/// of the current event on the JavaFX application thread.
+///
+/// A gesture, such as dragging a handle, spans many events. The changes of
+/// a gesture are coalesced into one edit if the gesture is enclosed in
+/// [#beginGesture()] and [#endGesture()]. Edits of different gestures, and
+/// edits that are made outside a gesture, are never coalesced.
 public class DrawingModelUndoAdapter extends TreeModelUndoAdapter<Figure> {
+    private @Nullable PropertyDeltaEdit openEdit;
+    /// The id of the current gesture, or 0 if no gesture is in progress.
+    private long gesture;
+    /// The id of the most recent gesture.
+    private long lastGesture;
 
     private final Listener<DrawingModelEvent> drawingModelListener = event -> {
         if (event.getSource().isValidating()) {
             return;
         }
-        UndoableEdit edit = switch (event.getEventType()) {
-            case PROPERTY_VALUE_CHANGED ->
-                    new PropertyChangedEdit<>(event.getSource(), event.getNode(), event.getKey(), event.getOldValue(), event.getNewValue(),
-                            event.wasAdded(), event.wasRemoved());
-            case LAYOUT_CHANGED, TRANSFORM_CHANGED -> null;
-        };
-        if (edit != null) {
-            fireUndoableEdit(event.getSource(), edit);
+        switch (event.getEventType()) {
+            case PROPERTY_VALUE_CHANGED -> propertyChanged(event);
+            case LAYOUT_CHANGED, TRANSFORM_CHANGED -> {
+            }
         }
     };
 
@@ -57,73 +74,230 @@ public class DrawingModelUndoAdapter extends TreeModelUndoAdapter<Figure> {
         model.removeDrawingModelListener(drawingModelListener);
     }
 
+    private void propertyChanged(DrawingModelEvent event) {
+        PropertyDeltaEdit edit = openEdit;
+        if (edit != null && edit.isOpen() && edit.model == event.getSource()) {
+            edit.addChange(event.getNode(), event.getKey(), event.getOldValue(), event.getNewValue(),
+                    event.wasAdded(), event.wasRemoved());
+            return;
+        }
+        edit = new PropertyDeltaEdit(event.getSource(), gesture);
+        edit.addChange(event.getNode(), event.getKey(), event.getOldValue(), event.getNewValue(),
+                event.wasAdded(), event.wasRemoved());
+        fireUndoableEdit(event.getSource(), edit);
+        if (edit.isOpen()) {
+            openEdit = edit;
+            if (gesture == 0 && Platform.isFxApplicationThread()) {
+                Platform.runLater(edit::close);
+            }
+        }
+    }
 
-    class PropertyChangedEdit<E> extends AbstractUndoableEdit {
-        private final DrawingModel model;
-        private final Figure figure;
-        private final Key<Object> key;
-        private final @Nullable Object oldValue;
-        private @Nullable Object newValue;
-        /// True if the change is the result of an add operation.
-        private final boolean wasAdded;
-        /// True if the change is the result of a remove operation.
-        private final boolean wasRemoved;
+    /// Closes the currently open property delta edit, so that the next
+    /// property change starts a new edit.
+    public void closeEdit() {
+        if (openEdit != null) {
+            openEdit.close();
+            openEdit = null;
+        }
+    }
+
+    /// Begins a gesture. All property changes until [#endGesture()] are
+    /// coalesced into one edit. Ends the current gesture if one is in
+    /// progress.
+    public void beginGesture() {
+        endGesture();
+        gesture = ++lastGesture;
+    }
+
+    /// Ends the current gesture, and closes its edit. Does nothing if no
+    /// gesture is in progress.
+    public void endGesture() {
+        if (gesture != 0) {
+            gesture = 0;
+            closeEdit();
+        }
+    }
 
+    @Override
+    protected void fireUndoableEdit(Object source, UndoableEdit edit) {
+        if (edit != openEdit) {
+            closeEdit();
+        }
+        super.fireUndoableEdit(source, edit);
+    }
+
+    /// Identifies a property of a figure.
+    private record Target(Figure figure, Key<Object> key) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Target that && this.figure == that.figure && this.key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(figure) * 31 + key.hashCode();
+        }
+    }
+
+    /// The change of a property over the lifetime of an edit.
+    ///
+    /// @param oldValue  the value before the first change
+    /// @param newValue  the value after the last change
+    /// @param oldAbsent true if the property was absent before the first change
+    /// @param newAbsent true if the property is absent after the last change
+    private record Delta(@Nullable Object oldValue, @Nullable Object newValue, boolean oldAbsent,
+                         boolean newAbsent) {
+    }
 
-        public PropertyChangedEdit(DrawingModel model, Figure figure, Key<Object> key, @Nullable Object oldValue, @Nullable Object newValue, boolean wasAdded, boolean wasRemoved) {
+    /// Records the changes of many properties of many figures.
+    ///
+    /// The changes are stored in a [ChampMap], so that coalescing a change
+    /// costs O(1) amortized time, and undo and redo cost O(changed properties).
+    /// While the edit absorbs changes, they are put into a [MutableChampMap].
+    ///
+    /// An edit can absorb a following edit ([#addEdit]) if both edits belong
+    /// to the same gesture, and the first change of the following edit is on
+    /// a property that this edit has changed. Then all changes of the
+    /// following edit are forwarded to this edit. This coalesces all changes
+    /// of a drag gesture into one edit.
+    class PropertyDeltaEdit extends AbstractUndoableEdit implements CoalescingUndoableEdit {
+        /// Estimated memory usage of an entry in the map.
+        private static final long ENTRY_MEMORY_USAGE = 128;
+        private final DrawingModel model;
+        private ChampMap<Target, Delta> changes = ChampMap.of();
+        /// Holds the changes while this edit absorbs changes.
+        private @Nullable MutableChampMap<Target, Delta> pending;
+        /// If non-null, all changes are forwarded to this edit.
+        private @Nullable PropertyDeltaEdit absorbedBy;
+        private boolean open = true;
+        /// The key of the first change, used for the presentation name.
+        private @Nullable Key<Object> firstKey;
+        /// The id of the gesture in which this edit was made, or 0.
+        private final long gesture;
+
+        PropertyDeltaEdit(DrawingModel model, long gesture) {
             this.model = model;
-            this.figure = figure;
-            this.key = key;
-            this.oldValue = oldValue;
-            this.newValue = newValue;
-            this.wasAdded = wasAdded;
-            this.wasRemoved = wasRemoved;
+            this.gesture = gesture;
+        }
+
+        void addChange(Figure figure, Key<Object> key, @Nullable Object oldValue, @Nullable Object newValue,
+                       boolean wasAdded, boolean wasRemoved) {
+            if (absorbedBy != null) {
+                absorbedBy.addChange(figure, key, oldValue, newValue, wasAdded, wasRemoved);
+                return;
+            }
+            if (firstKey == null) {
+                firstKey = key;
+            }
+            putDelta(new Target(figure, key), new Delta(oldValue, newValue,
+                    wasAdded && !wasRemoved, wasRemoved && !wasAdded));
+        }
+
+        private void putDelta(Target target, Delta delta) {
+            if (pending == null) {
+                pending = changes.toMutable();
+            }
+            Delta existing = pending.get(target);
+            pending.put(target, existing == null ? delta
+                    : new Delta(existing.oldValue(), delta.newValue(), existing.oldAbsent(), delta.newAbsent()));
+        }
+
+        private ChampMap<Target, Delta> freeze() {
+            if (pending != null) {
+                changes = pending.toPersistent();
+                pending = null;
+            }
+            return changes;
+        }
+
+        /// Returns the number of changed properties.
+        int size() {
+            return pending != null ? pending.size() : changes.size();
         }
 
         @Override
-        public String getPresentationName() {
-            return MessageFormat.format(getResourceBundle().getString("edit.changePropertyValue"), key.getName());
+        public boolean isOpen() {
+            return open;
         }
 
         @Override
-        public void redo() throws CannotRedoException {
-            super.redo();
-            if (wasRemoved && !wasAdded) {
-                model.remove(figure, key);
-            } else {
-                model.set(figure, key, newValue);
+        public void close() {
+            if (open) {
+                open = false;
+                freeze();
+                if (absorbedBy != null) {
+                    absorbedBy.freeze();
+                    absorbedBy = null;
+                }
             }
         }
 
+        @Override
+        public long getEstimatedMemoryUsage() {
+            return ENTRY_MEMORY_USAGE * (1 + size());
+        }
+
+        @Override
+        public String getPresentationName() {
+            return MessageFormat.format(getResourceBundle().getString("edit.changePropertyValue"),
+                    firstKey == null ? "" : firstKey.getName());
+        }
+
         @Override
         public boolean addEdit(UndoableEdit anEdit) {
-            if (anEdit instanceof PropertyChangedEdit<?> that
-                    && this.figure.equals(that.figure)
-                    && this.key.equals(that.key)
-                    && !this.wasAdded && !this.wasRemoved
-                    && !that.wasAdded && !that.wasRemoved) {
-                this.newValue = that.newValue;
-                return true;
+            if (anEdit instanceof PropertyDeltaEdit that
+                    && that != this
+                    && that.model == this.model
+                    && that.gesture == this.gesture
+                    && this.gesture != 0
+                    && that.absorbedBy == null
+                    && that.size() == 1
+                    && canUndo()) {
+                Map.Entry<Target, Delta> first = that.freeze().iterator().next();
+                if (freeze().containsKey(first.getKey())) {
+                    putDelta(first.getKey(), first.getValue());
+                    that.changes = ChampMap.of();
+                    that.absorbedBy = that.open ? this : null;
+                    that.die();
+                    return true;
+                }
             }
             return false;
         }
 
+        @Override
+        public void redo() throws CannotRedoException {
+            super.redo();
+            close();
+            for (Map.Entry<Target, Delta> e : freeze()) {
+                Delta d = e.getValue();
+                if (d.newAbsent()) {
+                    model.remove(e.getKey().figure(), e.getKey().key());
+                } else {
+                    model.set(e.getKey().figure(), e.getKey().key(), d.newValue());
+                }
+            }
+        }
+
         @Override
         public void undo() throws CannotUndoException {
             super.undo();
-            if (wasAdded && !wasRemoved) {
-                model.remove(figure, key);
-            } else {
-                model.set(figure, key, oldValue);
+            close();
+            for (Map.Entry<Target, Delta> e : freeze()) {
+                Delta d = e.getValue();
+                if (d.oldAbsent()) {
+                    model.remove(e.getKey().figure(), e.getKey().key());
+                } else {
+                    model.set(e.getKey().figure(), e.getKey().key(), d.oldValue());
+                }
             }
         }
 
         @Override
         public String toString() {
-            return "PropertyChangedEdit{" +
-                    "figure=" + figure.getId() +
-                    ", " + key.getName() +
-                    "=" + newValue +
+            return "PropertyDeltaEdit{" +
+                    "changes=" + size() +
                     '}';
         }
     }
@@ -5,12 +5,14 @@
 
 package org.jhotdraw8.draw.undo;
 
+import org.jhotdraw8.fxbase.tree.TreeModel;
 import org.jhotdraw8.fxbase.tree.TreeModelEvent;
 
 import javax.swing.undo.AbstractUndoableEdit;
 import javax.swing.undo.CannotRedoException;
 import javax.swing.undo.CannotUndoException;
 import java.io.Serial;
+import java.util.List;
 
 public class TreeModelEventUndoableEdit<T> extends AbstractUndoableEdit {
     @Serial
@@ -35,6 +37,12 @@ public class TreeModelEventUndoableEdit<T> extends AbstractUndoableEdit {
             case NODE_REMOVED_FROM_PARENT:
                 event.getSource().insertChildAt(event.getChild(), event.getParent(), event.getChildIndex());
                 break;
+            case NODES_ADDED_TO_PARENT:
+                removeChildren();
+                break;
+            case NODES_REMOVED_FROM_PARENT:
+                insertChildren();
+                break;
         }
     }
 
@@ -52,13 +60,45 @@ public class TreeModelEventUndoableEdit<T> extends AbstractUndoableEdit {
             case NODE_REMOVED_FROM_PARENT:
                 event.getSource().removeFromParent(event.getChild());
                 break;
+            case NODES_ADDED_TO_PARENT:
+                insertChildren();
+                break;
+            case NODES_REMOVED_FROM_PARENT:
+                removeChildren();
+                break;
+        }
+    }
+
+    private void insertChildren() {
+        TreeModel<T> model = event.getSource();
+        model.beginBulkEdit();
+        try {
+            List<T> children = event.getChildren();
+            for (int i = 0, n = children.size(); i < n; i++) {
+                model.insertChildAt(children.get(i), event.getParent(), event.getChildIndex() + i);
+            }
+        } finally {
+            model.commitBulkEdit();
+        }
+    }
+
+    private void removeChildren() {
+        TreeModel<T> model = event.getSource();
+        model.beginBulkEdit();
+        try {
+            for (T child : event.getChildren()) {
+                model.removeFromParent(child);
+            }
+        } finally {
+            model.commitBulkEdit();
         }
     }
 
     @Override
     public boolean isSignificant() {
         return switch (event.getEventType()) {
-            case ROOT_CHANGED, NODE_REMOVED_FROM_PARENT, NODE_ADDED_TO_PARENT -> true;
+            case ROOT_CHANGED, NODE_REMOVED_FROM_PARENT, NODE_ADDED_TO_PARENT,
+                 NODES_REMOVED_FROM_PARENT, NODES_ADDED_TO_PARENT -> true;
             case SUBTREE_NODES_CHANGED, NODE_CHANGED, NODE_REMOVED_FROM_TREE, NODE_ADDED_TO_TREE -> false;
         };
     }
@@ -5,19 +5,29 @@
 package org.jhotdraw8.draw;
 
 import javafx.beans.property.ReadOnlyProperty;
+import javafx.collections.ListChangeListener;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
 import javafx.scene.transform.Transform;
 import org.jhotdraw8.css.value.CssSize;
 import org.jhotdraw8.draw.figure.AbstractCompositeFigure;
 import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.GroupFigure;
+import org.jhotdraw8.draw.figure.LayerFigure;
 import org.jhotdraw8.draw.figure.NonTransformableFigure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
 import org.jhotdraw8.draw.render.RenderContext;
 import org.jhotdraw8.fxbase.styleable.StyleableBean;
+import org.jhotdraw8.fxbase.tree.ChildList;
+import org.jhotdraw8.fxbase.tree.IndexedChildList;
 import org.jhotdraw8.icollection.readable.ReadableSet;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -107,6 +117,34 @@ public class AbstractCompositeFigureTest {
         assertEquals(child1.getParent(), parent1);
     }
 
+    @Test
+    public void testIndexedChildrenOnlyInLayers() {
+        assertInstanceOf(ChildList.class, new GroupFigure().getChildren());
+        assertInstanceOf(IndexedChildList.class, new LayerFigure().getChildren());
+    }
+
+    @Test
+    public void testChildUpdatedWithAndWithoutIndexedChildren() {
+        for (AbstractCompositeFigure parent : List.of(new GroupFigure(), new LayerFigure())) {
+            Figure child1 = new RectangleFigure();
+            Figure child2 = new RectangleFigure();
+            parent.addChild(child1);
+            parent.addChild(child2);
+            parent.getChildren().add(0, child2);
+            assertEquals(List.of(child2, child1), parent.getChildren());
+
+            List<Integer> updated = new ArrayList<>();
+            parent.getChildren().addListener((ListChangeListener<Figure>) c -> {
+                while (c.next()) {
+                    if (c.wasUpdated()) {
+                        updated.add(c.getFrom());
+                    }
+                }
+            });
+            parent.firePropertyChangeEvent(child1, RectangleFigure.ARC_WIDTH, CssSize.ZERO, CssSize.ONE, false, false);
+            assertEquals(List.of(1), updated, parent.getClass().getSimpleName());
+        }
+    }
 
     /// Mock class.
     public static class AbstractCompositeFigureImpl extends AbstractCompositeFigure implements NonTransformableFigure {
@@ -0,0 +1,55 @@
+/*
+ * @(#)AbstractDrawingViewTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw;
+
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.LayerFigure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.jhotdraw8.draw.model.SimpleDrawingModel;
+import org.jhotdraw8.fxbase.tree.TreeModelEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AbstractDrawingViewTest {
+
+    @Test
+    public void shouldDeleteFiguresInOneBulkEdit() {
+        SimpleDrawingModel model = new SimpleDrawingModel();
+        SimpleLayeredDrawing drawing = new SimpleLayeredDrawing();
+        LayerFigure layer = new LayerFigure();
+        drawing.addChild(layer);
+        model.setRoot(drawing);
+        List<Figure> figures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Figure f = new RectangleFigure(i * 10, 0, 5, 5);
+            figures.add(f);
+            model.addChildTo(f, layer);
+        }
+
+        List<TreeModelEvent<Figure>> events = new ArrayList<>();
+        model.addTreeModelListener(events::add);
+        // deleteSelection() deletes the figures in reverse order
+        AbstractDrawingView.deleteFigures(model, figures.subList(2, 8).reversed());
+
+        assertEquals(List.of(figures.get(0), figures.get(1), figures.get(8), figures.get(9)), layer.getChildren());
+        assertEquals(0, countEvents(events, TreeModelEvent.EventType.NODE_REMOVED_FROM_PARENT));
+        assertEquals(1, countEvents(events, TreeModelEvent.EventType.NODES_REMOVED_FROM_PARENT));
+        assertEquals(6, countEvents(events, TreeModelEvent.EventType.NODE_REMOVED_FROM_TREE));
+        TreeModelEvent<Figure> removed = events.stream()
+                .filter(e -> e.getEventType() == TreeModelEvent.EventType.NODES_REMOVED_FROM_PARENT)
+                .findFirst().orElseThrow();
+        assertEquals(2, removed.getChildIndex());
+        assertEquals(figures.subList(2, 8), removed.getChildren());
+    }
+
+    private static long countEvents(List<TreeModelEvent<Figure>> events, TreeModelEvent.EventType type) {
+        return events.stream().filter(e -> e.getEventType() == type).count();
+    }
+}
@@ -19,7 +19,9 @@ import org.junit.jupiter.api.Test;
 import java.text.ParseException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /// FigureSelectorModelTest.
 public class FigureSelectorModelTest {
@@ -51,4 +53,22 @@ public class FigureSelectorModelTest {
 
     }
 
+    @Test
+    public void testEqualTokensAreParsedOnlyOnce() throws ParseException {
+        LabelFigure figure1 = new LabelFigure();
+        LabelFigure figure2 = new LabelFigure();
+        FigureSelectorModel instance = new FigureSelectorModel();
+        final NullablePaintableStyleableKey key = FillableFigure.FILL;
+
+        instance.setAttribute(figure1, StyleOrigin.AUTHOR, key.getCssNamespace(), key.getCssName(),
+                VectorList.of(new CssToken(CssTokenType.TT_HASH, "ff0000")));
+        instance.setAttribute(figure2, StyleOrigin.AUTHOR, key.getCssNamespace(), key.getCssName(),
+                VectorList.of(new CssToken(CssTokenType.TT_HASH, "ff0000")));
+
+        assertNotNull(figure1.get(key));
+        assertSame(figure1.get(key), figure2.get(key));
+        assertEquals(1, instance.getParsedValueCache().getMissCount());
+        assertEquals(1, instance.getParsedValueCache().getHitCount());
+    }
+
 }
@@ -0,0 +1,75 @@
+/*
+ * @(#)SimpleXmlReaderTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.io;
+
+import org.jhotdraw8.base.converter.IdFactory;
+import org.jhotdraw8.css.value.CssSize;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.LayerFigure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.jhotdraw8.draw.figure.RectangularFigure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.jhotdraw8.draw.figure.StyleableFigure;
+import org.jhotdraw8.fxbase.concurrent.BlackHoleWorkState;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimpleXmlReaderTest {
+    private static final String NAMESPACE_URI = "http://jhotdraw.org/test";
+    private final IdFactory idFactory = new SimpleFigureIdFactory();
+    private final FigureFactory factory = new DefaultFigureFactory(idFactory);
+
+    @Test
+    public void shouldReadAllAttributesOfALargeDrawing() throws IOException {
+        SimpleLayeredDrawing drawing = new SimpleLayeredDrawing();
+        LayerFigure layer = new LayerFigure();
+        drawing.addChild(layer);
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            RectangleFigure f = new RectangleFigure(i, 2 * i, 10, 20 + i % 7);
+            f.set(StyleableFigure.ID, "r" + i);
+            layer.addChild(f);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SimpleXmlWriter(factory, idFactory, NAMESPACE_URI, null).write(out, null, drawing, new BlackHoleWorkState<>());
+        Figure read = new SimpleXmlReader(factory, idFactory, NAMESPACE_URI)
+                .read(new ByteArrayInputStream(out.toByteArray()), null, null, new BlackHoleWorkState<>());
+
+        List<Figure> rects = read.getChildren().getFirst().getChildren();
+        assertEquals(count, rects.size());
+        for (int i = 0; i < count; i++) {
+            Figure f = rects.get(i);
+            assertEquals("r" + i, f.get(StyleableFigure.ID));
+            assertEquals(CssSize.of(i), f.get(RectangularFigure.X));
+            assertEquals(CssSize.of(2 * i), f.get(RectangularFigure.Y));
+            assertEquals(CssSize.of(20 + i % 7), f.get(RectangularFigure.HEIGHT));
+        }
+    }
+
+    @Test
+    public void shouldReportTheLocationOfAnIllegalAttributeValue() {
+        String xml = """
+                <Drawing xmlns="http://jhotdraw.org/test">
+                <Layer>
+                <Rectangle x="1" y="2"/>
+                <Rectangle x="1" y="not a number"/>
+                </Layer>
+                </Drawing>
+                """;
+        IOException e = assertThrows(IOException.class, () -> new SimpleXmlReader(factory, idFactory, NAMESPACE_URI)
+                .read(new StringReader(xml), null, null, new BlackHoleWorkState<>()));
+        assertTrue(e.getMessage().contains("\"y\" at line 4"), e.getMessage());
+    }
+}
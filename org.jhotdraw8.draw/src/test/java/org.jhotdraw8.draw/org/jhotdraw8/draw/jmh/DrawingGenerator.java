@@ -0,0 +1,119 @@
+package org.jhotdraw8.draw.jmh;
+
+import org.jhotdraw8.draw.connector.RectangleConnector;
+import org.jhotdraw8.draw.figure.Drawing;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.LayerFigure;
+import org.jhotdraw8.draw.figure.LineConnectionFigure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.jhotdraw8.draw.figure.StyleableFigure;
+import org.jhotdraw8.icollection.ChampSet;
+import org.jhotdraw8.icollection.VectorList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/// Generates synthetic drawings and stylesheets for the benchmarks.
+///
+/// The generated data only depends on the parameters and on the seed,
+/// so that all benchmarks work on the same data.
+final class DrawingGenerator {
+    /// The number of distinct style classes that are assigned to the figures.
+    static final int STYLE_CLASS_COUNT = 16;
+    /// The width and height of the generated drawing.
+    static final double DRAWING_SIZE = 4000;
+
+    private DrawingGenerator() {
+    }
+
+    /// Creates a drawing with one layer, `figureCount` rectangles and
+    /// `connectionCount` line connections between randomly chosen
+    /// rectangles.
+    ///
+    /// Each rectangle has an id and one of [#STYLE_CLASS_COUNT] style
+    /// classes. The connections are added after the rectangles.
+    ///
+    /// @param figureCount     the number of rectangles
+    /// @param connectionCount the number of connections
+    /// @param seed            the seed of the random number generator
+    /// @return a new drawing
+    static SimpleLayeredDrawing createDrawing(int figureCount, int connectionCount, long seed) {
+        Random rng = new Random(seed);
+        SimpleLayeredDrawing drawing = new SimpleLayeredDrawing(DRAWING_SIZE, DRAWING_SIZE);
+        LayerFigure layer = new LayerFigure();
+        drawing.addChild(layer);
+        List<RectangleFigure> rects = new ArrayList<>(figureCount);
+        for (int i = 0; i < figureCount; i++) {
+            RectangleFigure r = new RectangleFigure(rng.nextDouble() * (DRAWING_SIZE - 40), rng.nextDouble() * (DRAWING_SIZE - 30),
+                    10 + rng.nextInt(30), 10 + rng.nextInt(20));
+            r.set(StyleableFigure.ID, "r" + i);
+            r.set(StyleableFigure.STYLE_CLASS, ChampSet.of("c" + rng.nextInt(STYLE_CLASS_COUNT)));
+            layer.addChild(r);
+            rects.add(r);
+        }
+        for (int i = 0; i < connectionCount && figureCount > 1; i++) {
+            RectangleFigure start = rects.get(rng.nextInt(figureCount));
+            RectangleFigure end = rects.get(rng.nextInt(figureCount));
+            LineConnectionFigure c = new LineConnectionFigure();
+            c.set(StyleableFigure.ID, "c" + i);
+            c.set(LineConnectionFigure.START_CONNECTOR, new RectangleConnector());
+            c.set(LineConnectionFigure.START_TARGET, start);
+            c.set(LineConnectionFigure.END_CONNECTOR, new RectangleConnector());
+            c.set(LineConnectionFigure.END_TARGET, end);
+            layer.addChild(c);
+        }
+        return drawing;
+    }
+
+    /// Creates a stylesheet with `ruleCount` rules.
+    ///
+    /// The rules cycle through type selectors, class selectors, id
+    /// selectors, descendant combinators and attribute selectors, so that
+    /// the stylesheet resembles a hand-written stylesheet.
+    ///
+    /// @param ruleCount the number of rules
+    /// @param seed      the seed of the random number generator
+    /// @return the stylesheet
+    static String createStylesheet(int ruleCount, long seed) {
+        Random rng = new Random(seed);
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < ruleCount; i++) {
+            int cls = rng.nextInt(STYLE_CLASS_COUNT);
+            switch (i % 5) {
+                case 0 -> buf.append("Rectangle");
+                case 1 -> buf.append(".c").append(cls);
+                case 2 -> buf.append("#r").append(i);
+                case 3 -> buf.append("Layer > Rectangle.c").append(cls);
+                default -> buf.append("Drawing LineConnection[id^=\"c").append(cls).append("\"]");
+            }
+            buf.append(" {\n  fill: rgb(")
+                    .append(rng.nextInt(256)).append(',')
+                    .append(rng.nextInt(256)).append(',')
+                    .append(rng.nextInt(256)).append(");\n  stroke-width: ")
+                    .append(1 + rng.nextInt(4)).append(";\n}\n");
+        }
+        return buf.toString();
+    }
+
+    /// Adds the specified stylesheet as an inline stylesheet to the drawing
+    /// and updates the style manager of the drawing.
+    ///
+    /// @param drawing    a drawing
+    /// @param stylesheet the stylesheet
+    static void setStylesheet(Drawing drawing, String stylesheet) {
+        drawing.set(Drawing.INLINE_STYLESHEETS, VectorList.of(stylesheet));
+        drawing.updateStyleManager();
+    }
+
+    /// Returns all figures of the drawing in preorder.
+    ///
+    /// @param drawing a drawing
+    /// @return a new list
+    static List<Figure> preorder(Drawing drawing) {
+        List<Figure> list = new ArrayList<>();
+        drawing.preorderIterable().forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,97 @@
+package org.jhotdraw8.draw.jmh;
+
+import org.jhotdraw8.css.value.CssSize;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.jhotdraw8.draw.model.SimpleDrawingModel;
+import org.jhotdraw8.draw.render.SimpleRenderContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks [SimpleDrawingModel#validate] after figures have been moved.
+///
+/// Moving a rectangle invalidates its layout and the layout of all
+/// connections that are attached to it.
+///
+/// Run with `-prof gc` to see the allocation rate.
+///
+/// <pre>
+/// # JMH version: 1.37
+/// # VM version: JDK 21.0.1, OpenJDK 64-Bit Server VM, 21.0.1+12-LTS
+/// # 1 CPU, -f 1 -wi 1 -i 1 -w 1s -r 1s -prof gc
+///
+/// Benchmark                                                          (figureCount)  Mode  Cnt        Score  Units
+/// DrawingModelJmh.mValidateAfterMovingAllFigures                              1000  avgt          2489.972  us/op
+/// DrawingModelJmh.mValidateAfterMovingAllFigures:gc.alloc.rate.norm           1000  avgt        843362.812   B/op
+/// DrawingModelJmh.mValidateAfterMovingAllFigures                             10000  avgt         28533.581  us/op
+/// DrawingModelJmh.mValidateAfterMovingAllFigures:gc.alloc.rate.norm          10000  avgt       6914230.889   B/op
+/// DrawingModelJmh.mValidateAfterMovingOneFigure                               1000  avgt             6.106  us/op
+/// DrawingModelJmh.mValidateAfterMovingOneFigure:gc.alloc.rate.norm            1000  avgt          1398.576   B/op
+/// DrawingModelJmh.mValidateAfterMovingOneFigure                              10000  avgt             6.867  us/op
+/// DrawingModelJmh.mValidateAfterMovingOneFigure:gc.alloc.rate.norm           10000  avgt          1310.278   B/op
+/// </pre>
+@State(Scope.Benchmark)
+@Measurement(iterations = 4)
+@Warmup(iterations = 4)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx15g",})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class DrawingModelJmh {
+    @Param({"1000", "10000"})
+    private int figureCount;
+
+    private SimpleDrawingModel model;
+    private SimpleRenderContext ctx;
+    private final List<RectangleFigure> rects = new ArrayList<>();
+    private int step;
+
+    @Setup
+    public void setup() {
+        SimpleLayeredDrawing drawing = DrawingGenerator.createDrawing(figureCount, figureCount / 2, 7);
+        DrawingGenerator.setStylesheet(drawing, DrawingGenerator.createStylesheet(20, 7));
+        for (Figure f : drawing.preorderIterable()) {
+            if (f instanceof RectangleFigure r) {
+                rects.add(r);
+            }
+        }
+        model = new SimpleDrawingModel();
+        model.setRoot(drawing);
+        ctx = new SimpleRenderContext();
+        model.validate(ctx);
+    }
+
+    @Benchmark
+    public SimpleDrawingModel mValidateAfterMovingOneFigure() {
+        move(rects.get(step % rects.size()));
+        model.validate(ctx);
+        return model;
+    }
+
+    @Benchmark
+    public SimpleDrawingModel mValidateAfterMovingAllFigures() {
+        for (RectangleFigure r : rects) {
+            move(r);
+        }
+        model.validate(ctx);
+        return model;
+    }
+
+    private void move(RectangleFigure r) {
+        double dx = (step++ & 1) == 0 ? 1 : -1;
+        model.set(r, RectangleFigure.X, CssSize.of(r.getNonNull(RectangleFigure.X).getValue() + dx));
+    }
+}
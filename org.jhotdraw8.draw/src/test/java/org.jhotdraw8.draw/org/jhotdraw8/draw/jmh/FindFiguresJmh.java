@@ -0,0 +1,89 @@
+package org.jhotdraw8.draw.jmh;
+
+import javafx.application.Platform;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import org.jhotdraw8.draw.DrawingEditor;
+import org.jhotdraw8.draw.SimpleDrawingEditor;
+import org.jhotdraw8.draw.SimpleDrawingView;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.render.InteractiveDrawingRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks [InteractiveDrawingRenderer#findFigures] through
+/// [SimpleDrawingView#findFigures].
+///
+/// Unlike the other benchmarks in this package, this benchmark needs
+/// the JavaFX toolkit, because the renderer creates the JavaFX nodes of
+/// the figures. It does not show a window.
+///
+/// Run with `-prof gc` to see the allocation rate.
+@State(Scope.Benchmark)
+@Measurement(iterations = 4)
+@Warmup(iterations = 4)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx15g",})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class FindFiguresJmh {
+    private static final int POINT_COUNT = 1024;
+    @Param({"1000", "10000"})
+    private int figureCount;
+
+    private SimpleDrawingView view;
+    private final double[] points = new double[POINT_COUNT * 2];
+    private int index;
+
+    @Setup
+    public void setup() throws ExecutionException, InterruptedException {
+        Platform.setImplicitExit(false);
+        try {
+            Platform.startup(() -> {
+            });
+        } catch (IllegalStateException e) {
+            // JavaFX is already initialized.
+        }
+        CompletableFuture.runAsync(() -> {
+            view = new SimpleDrawingView();
+            view.cullingProperty().set(false);
+            view.setDrawing(DrawingGenerator.createDrawing(figureCount, figureCount / 2, 7));
+            DrawingEditor editor = new SimpleDrawingEditor();
+            editor.drawingViewsProperty().add(view);
+            new Scene((Parent) view.getNode(), 800, 600);
+            view.paintImmediately();
+        }, Platform::runLater).get();
+
+        Random rng = new Random(7);
+        for (int i = 0; i < points.length; i++) {
+            points[i] = rng.nextDouble() * DrawingGenerator.DRAWING_SIZE;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Platform.exit();
+    }
+
+    @Benchmark
+    public List<Map.Entry<Figure, Double>> mFindFigures() {
+        int i = (index++ & (POINT_COUNT - 1)) << 1;
+        return view.findFigures(points[i], points[i + 1], false, Figure::isSelectable);
+    }
+}
@@ -0,0 +1,82 @@
+package org.jhotdraw8.draw.jmh;
+
+import org.jhotdraw8.css.ast.Stylesheet;
+import org.jhotdraw8.css.parser.CssParser;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks parsing of a stylesheet with [CssParser], and applying
+/// a stylesheet to all figures of a drawing with
+/// [org.jhotdraw8.css.manager.SimpleStylesheetsManager].
+///
+/// Run with `-prof gc` to see the allocation rate.
+///
+/// <pre>
+/// # JMH version: 1.37
+/// # VM version: JDK 21.0.1, OpenJDK 64-Bit Server VM, 21.0.1+12-LTS
+/// # 1 CPU, -f 1 -wi 1 -i 1 -w 1s -r 1s -prof gc
+///
+/// Benchmark                                         (figureCount)  (ruleCount)  Mode  Cnt          Score  Units
+/// StylesheetsJmh.mApplyStylesheets                           1000           10  avgt         23102.182  us/op
+/// StylesheetsJmh.mApplyStylesheets:gc.alloc.rate.norm        1000           10  avgt       4361310.545   B/op
+/// StylesheetsJmh.mApplyStylesheets                           1000          100  avgt        115642.708  us/op
+/// StylesheetsJmh.mApplyStylesheets:gc.alloc.rate.norm        1000          100  avgt      27189250.667   B/op
+/// StylesheetsJmh.mApplyStylesheets                          10000           10  avgt        186094.316  us/op
+/// StylesheetsJmh.mApplyStylesheets:gc.alloc.rate.norm       10000           10  avgt      40800100.000   B/op
+/// StylesheetsJmh.mApplyStylesheets                          10000          100  avgt        788206.023  us/op
+/// StylesheetsJmh.mApplyStylesheets:gc.alloc.rate.norm       10000          100  avgt     268678868.000   B/op
+/// StylesheetsJmh.mParseStylesheet                            1000           10  avgt            68.802  us/op
+/// StylesheetsJmh.mParseStylesheet:gc.alloc.rate.norm         1000           10  avgt         27840.607   B/op
+/// StylesheetsJmh.mParseStylesheet                            1000          100  avgt           566.630  us/op
+/// StylesheetsJmh.mParseStylesheet:gc.alloc.rate.norm         1000          100  avgt        269844.917   B/op
+/// </pre>
+@State(Scope.Benchmark)
+@Measurement(iterations = 4)
+@Warmup(iterations = 4)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx15g",})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class StylesheetsJmh {
+    @Param({"1000", "10000"})
+    private int figureCount;
+    @Param({"10", "100"})
+    private int ruleCount;
+
+    private String css;
+    private SimpleLayeredDrawing drawing;
+    private List<Figure> figures;
+
+    @Setup
+    public void setup() {
+        css = DrawingGenerator.createStylesheet(ruleCount, 7);
+        drawing = DrawingGenerator.createDrawing(figureCount, figureCount / 2, 7);
+        DrawingGenerator.setStylesheet(drawing, css);
+        figures = DrawingGenerator.preorder(drawing);
+    }
+
+    @Benchmark
+    public Stylesheet mParseStylesheet() throws IOException {
+        return new CssParser().parseStylesheet(css, null, null);
+    }
+
+    @Benchmark
+    public SimpleLayeredDrawing mApplyStylesheets() {
+        drawing.getStyleManager().applyStylesheetsTo(figures);
+        return drawing;
+    }
+}
@@ -0,0 +1,87 @@
+package org.jhotdraw8.draw.jmh;
+
+import org.jhotdraw8.base.converter.IdFactory;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.jhotdraw8.draw.io.DefaultFigureFactory;
+import org.jhotdraw8.draw.io.FigureFactory;
+import org.jhotdraw8.draw.io.SimpleFigureIdFactory;
+import org.jhotdraw8.draw.io.SimpleXmlReader;
+import org.jhotdraw8.draw.io.SimpleXmlWriter;
+import org.jhotdraw8.fxbase.concurrent.BlackHoleWorkState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks [SimpleXmlReader#read] and [SimpleXmlWriter#write] with
+/// a drawing that contains rectangles and connections between them.
+///
+/// Run with `-prof gc` to see the allocation rate.
+///
+/// <pre>
+/// # JMH version: 1.37
+/// # VM version: JDK 21.0.1, OpenJDK 64-Bit Server VM, 21.0.1+12-LTS
+/// # 1 CPU, -f 1 -wi 1 -i 1 -w 1s -r 1s -prof gc
+///
+/// Benchmark                           (figureCount)  Mode  Cnt          Score  Units
+/// XmlIoJmh.mRead                               1000  avgt          53881.666  us/op
+/// XmlIoJmh.mRead:gc.alloc.rate.norm            1000  avgt        5110637.053   B/op
+/// XmlIoJmh.mRead                              10000  avgt         660233.132  us/op
+/// XmlIoJmh.mRead:gc.alloc.rate.norm           10000  avgt       50561280.000   B/op
+/// XmlIoJmh.mWrite                              1000  avgt         126030.922  us/op
+/// XmlIoJmh.mWrite:gc.alloc.rate.norm           1000  avgt       15494555.000   B/op
+/// XmlIoJmh.mWrite                             10000  avgt        1029338.860  us/op
+/// XmlIoJmh.mWrite:gc.alloc.rate.norm          10000  avgt      142120352.000   B/op
+/// </pre>
+@State(Scope.Benchmark)
+@Measurement(iterations = 4)
+@Warmup(iterations = 4)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx15g",})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class XmlIoJmh {
+    private static final String NAMESPACE_URI = "http://jhotdraw.org/jmh";
+    @Param({"1000", "10000"})
+    private int figureCount;
+
+    private final IdFactory idFactory = new SimpleFigureIdFactory();
+    private final FigureFactory factory = new DefaultFigureFactory(idFactory);
+    private SimpleLayeredDrawing drawing;
+    private byte[] xml;
+
+    @Setup
+    public void setup() throws IOException {
+        drawing = DrawingGenerator.createDrawing(figureCount, figureCount / 2, 7);
+        xml = write().toByteArray();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream mWrite() throws IOException {
+        return write();
+    }
+
+    @Benchmark
+    public Figure mRead() throws IOException {
+        return new SimpleXmlReader(factory, idFactory, NAMESPACE_URI)
+                .read(new ByteArrayInputStream(xml), null, null, new BlackHoleWorkState<>());
+    }
+
+    private ByteArrayOutputStream write() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(xml == null ? 8192 : xml.length);
+        new SimpleXmlWriter(factory, idFactory, NAMESPACE_URI, null).write(out, null, drawing, new BlackHoleWorkState<>());
+        return out;
+    }
+}
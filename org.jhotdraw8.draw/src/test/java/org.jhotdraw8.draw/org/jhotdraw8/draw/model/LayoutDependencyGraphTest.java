@@ -0,0 +1,93 @@
+/*
+ * @(#)LayoutDependencyGraphTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.model;
+
+import org.jhotdraw8.collection.primitive.IntArrayList;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LayoutDependencyGraphTest {
+
+    @Test
+    public void shouldSortObserversAfterSubjects() {
+        Figure a = new RectangleFigure(), b = new RectangleFigure(), c = new RectangleFigure();
+        a.getLayoutObservers().add(b);
+        b.getLayoutObservers().add(c);
+        LayoutDependencyGraph graph = new LayoutDependencyGraph();
+
+        assertEquals(List.of(a, b, c), graph.sortAffectedTopologically(List.of(c, a)));
+        assertEquals(List.of(b, c), graph.sortAffectedTopologically(List.of(b)));
+    }
+
+    @Test
+    public void shouldPickUpObserverChangesWithoutEvents() {
+        Figure a = new RectangleFigure(), b = new RectangleFigure(), c = new RectangleFigure();
+        a.getLayoutObservers().add(b);
+        LayoutDependencyGraph graph = new LayoutDependencyGraph();
+        assertEquals(List.of(a, b), graph.sortAffectedTopologically(List.of(a)));
+
+        a.getLayoutObservers().remove(b);
+        a.getLayoutObservers().add(c);
+        assertEquals(List.of(a, c), graph.sortAffectedTopologically(List.of(a)));
+    }
+
+    @Test
+    public void shouldSplitIntoTopologicalLevels() {
+        Figure a = new RectangleFigure(), b = new RectangleFigure(), c = new RectangleFigure(), d = new RectangleFigure();
+        a.getLayoutObservers().add(c);
+        b.getLayoutObservers().add(c);
+        c.getLayoutObservers().add(d);
+        LayoutDependencyGraph graph = new LayoutDependencyGraph();
+        IntArrayList batches = new IntArrayList();
+        List<Figure> sorted = graph.sortAffectedTopologically(List.of(a, b), batches);
+
+        assertEquals(IntArrayList.of(2, 3, 4), batches);
+        assertEquals(Set.of(a, b), Set.copyOf(sorted.subList(0, 2)));
+        assertEquals(List.of(c, d), sorted.subList(2, 4));
+    }
+
+    @Test
+    public void shouldNotSplitLoopsIntoLevels() {
+        Figure a = new RectangleFigure(), b = new RectangleFigure();
+        a.getLayoutObservers().add(b);
+        b.getLayoutObservers().add(a);
+        LayoutDependencyGraph graph = new LayoutDependencyGraph();
+        IntArrayList batches = new IntArrayList();
+        graph.sortAffectedTopologically(List.of(a), batches);
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    public void shouldBreakLoops() {
+        Figure a = new RectangleFigure(), b = new RectangleFigure();
+        a.getLayoutObservers().add(b);
+        b.getLayoutObservers().add(a);
+        LayoutDependencyGraph graph = new LayoutDependencyGraph();
+        assertEquals(Set.of(a, b), Set.copyOf(graph.sortAffectedTopologically(List.of(a))));
+    }
+
+    @Test
+    public void shouldReuseIdsOfRemovedFigures() {
+        Figure a = new RectangleFigure(), b = new RectangleFigure();
+        a.getLayoutObservers().add(b);
+        LayoutDependencyGraph graph = new LayoutDependencyGraph();
+        graph.sortAffectedTopologically(List.of(a));
+        assertEquals(2, graph.size());
+        a.getLayoutObservers().remove(b);
+        graph.remove(b);
+        assertEquals(1, graph.size());
+
+        Figure c = new RectangleFigure();
+        assertTrue(graph.sortAffectedTopologically(List.of(c)).contains(c));
+        assertEquals(List.of(a), graph.sortAffectedTopologically(List.of(a)));
+    }
+}
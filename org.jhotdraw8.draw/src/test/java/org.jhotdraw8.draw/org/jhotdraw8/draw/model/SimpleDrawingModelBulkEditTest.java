@@ -0,0 +1,134 @@
+/*
+ * @(#)SimpleDrawingModelBulkEditTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.model;
+
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.LayerFigure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.jhotdraw8.draw.undo.DrawingModelUndoAdapter;
+import org.jhotdraw8.fxbase.tree.TreeModelEvent;
+import org.jhotdraw8.fxbase.undo.FXUndoManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimpleDrawingModelBulkEditTest {
+    private final SimpleDrawingModel model = new SimpleDrawingModel();
+    private final LayerFigure layer = new LayerFigure();
+    private final List<TreeModelEvent<Figure>> events = new ArrayList<>();
+
+    public SimpleDrawingModelBulkEditTest() {
+        SimpleLayeredDrawing drawing = new SimpleLayeredDrawing();
+        drawing.addChild(layer);
+        model.setRoot(drawing);
+        model.addTreeModelListener(events::add);
+    }
+
+    private List<Figure> createFigures(int count) {
+        List<Figure> figures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            figures.add(new RectangleFigure());
+        }
+        return figures;
+    }
+
+    private List<TreeModelEvent<Figure>> eventsOfType(TreeModelEvent.EventType type) {
+        return events.stream().filter(e -> e.getEventType() == type).toList();
+    }
+
+    @Test
+    public void shouldCollapseAddedChildrenIntoOneEvent() {
+        List<Figure> figures = createFigures(1000);
+        model.beginBulkEdit();
+        for (Figure f : figures) {
+            model.addChildTo(f, layer);
+        }
+        assertTrue(events.isEmpty());
+        model.commitBulkEdit();
+
+        List<TreeModelEvent<Figure>> added = eventsOfType(TreeModelEvent.EventType.NODES_ADDED_TO_PARENT);
+        assertEquals(1, added.size());
+        assertEquals(layer, added.getFirst().getParent());
+        assertEquals(0, added.getFirst().getChildIndex());
+        assertEquals(1000, added.getFirst().getEndIndex());
+        assertEquals(figures, added.getFirst().getChildren());
+        assertEquals(0, eventsOfType(TreeModelEvent.EventType.NODE_ADDED_TO_PARENT).size());
+        assertEquals(1000, eventsOfType(TreeModelEvent.EventType.NODE_ADDED_TO_TREE).size());
+        assertEquals(1, eventsOfType(TreeModelEvent.EventType.NODE_CHANGED).size());
+        // the tree events are delivered before the collapsed event
+        assertTrue(events.lastIndexOf(eventsOfType(TreeModelEvent.EventType.NODE_ADDED_TO_TREE).getLast())
+                < events.indexOf(added.getFirst()));
+    }
+
+    @Test
+    public void shouldCollapseRemovedChildrenInAnyDirection() {
+        List<Figure> figures = createFigures(100);
+        for (Figure f : figures) {
+            model.addChildTo(f, layer);
+        }
+
+        events.clear();
+        model.beginBulkEdit();
+        for (int i = 0; i < 10; i++) {
+            model.removeFromParent(figures.get(10 + i));
+        }
+        model.commitBulkEdit();
+        List<TreeModelEvent<Figure>> removed = eventsOfType(TreeModelEvent.EventType.NODES_REMOVED_FROM_PARENT);
+        assertEquals(1, removed.size());
+        assertEquals(10, removed.getFirst().getChildIndex());
+        assertEquals(figures.subList(10, 20), removed.getFirst().getChildren());
+
+        events.clear();
+        model.beginBulkEdit();
+        for (int i = 89; i >= 0; i--) {
+            model.removeFromParent(layer, i);
+        }
+        model.commitBulkEdit();
+        removed = eventsOfType(TreeModelEvent.EventType.NODES_REMOVED_FROM_PARENT);
+        assertEquals(1, removed.size());
+        assertEquals(0, removed.getFirst().getChildIndex());
+        assertEquals(90, removed.getFirst().getChildren().size());
+        assertEquals(0, layer.getChildren().size());
+        assertEquals(0, eventsOfType(TreeModelEvent.EventType.NODE_CHANGED).stream()
+                .filter(e -> e.getNode() != layer).count());
+    }
+
+    @Test
+    public void shouldDeliverEventsWhenTheOutermostBulkEditIsCommitted() {
+        model.beginBulkEdit();
+        model.beginBulkEdit();
+        model.addChildTo(new RectangleFigure(), layer);
+        model.commitBulkEdit();
+        assertTrue(events.isEmpty());
+        model.commitBulkEdit();
+        assertEquals(1, eventsOfType(TreeModelEvent.EventType.NODE_ADDED_TO_PARENT).size());
+        assertThrows(IllegalStateException.class, model::commitBulkEdit);
+    }
+
+    @Test
+    public void shouldUndoABulkEditInOneStep() {
+        DrawingModelUndoAdapter adapter = new DrawingModelUndoAdapter(model);
+        FXUndoManager undoManager = new FXUndoManager();
+        adapter.addUndoEditListener(undoManager);
+        List<Figure> figures = createFigures(100);
+        model.beginBulkEdit();
+        for (Figure f : figures) {
+            model.addChildTo(f, layer);
+        }
+        model.commitBulkEdit();
+        assertEquals(1, undoManager.getEditCount());
+
+        undoManager.undo();
+        assertEquals(0, layer.getChildren().size());
+        undoManager.redo();
+        assertEquals(figures, layer.getChildren());
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * @(#)SimpleDrawingModelValidationTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.model;
+
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.LayerFigure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.jhotdraw8.draw.render.SimpleRenderContext;
+import org.jhotdraw8.fxbase.tree.TreeModelEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SimpleDrawingModelValidationTest {
+    private static final int COUNT = 200;
+
+    /// Creates a drawing with [#COUNT] rectangles, changes all rectangles
+    /// in reverse order, and validates the drawing.
+    ///
+    /// @param parallel whether the drawing is validated in parallel
+    /// @return the events that are fired by the validation, as the event
+    /// type followed by the index of the rectangle, or -1 for the layer
+    /// and the drawing
+    private List<String> validate(boolean parallel) {
+        SimpleDrawingModel model = new SimpleDrawingModel();
+        model.setParallelValidation(parallel);
+        SimpleLayeredDrawing drawing = new SimpleLayeredDrawing();
+        LayerFigure layer = new LayerFigure();
+        drawing.addChild(layer);
+        model.setRoot(drawing);
+        List<Figure> figures = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            Figure f = new RectangleFigure(i * 20, 0, 10, 10);
+            figures.add(f);
+            model.addChildTo(f, layer);
+        }
+        model.validate(new SimpleRenderContext());
+
+        for (int i = COUNT - 1; i >= 0; i--) {
+            model.reshapeInLocal(figures.get(i), i * 20, 10, 10, 10);
+        }
+        List<String> events = new ArrayList<>();
+        model.addTreeModelListener(e -> events.add(e.getEventType() + " " + figures.indexOf(e.getNode())));
+        model.addDrawingModelListener(e -> events.add(e.getEventType() + " " + figures.indexOf(e.getNode())));
+        model.validate(new SimpleRenderContext());
+        return events;
+    }
+
+    @Test
+    public void shouldFireEventsInDeterministicOrder() {
+        List<String> sequential = validate(false);
+        assertEquals(COUNT, sequential.stream()
+                .filter(e -> e.startsWith(TreeModelEvent.EventType.NODE_CHANGED.name()) && !e.endsWith(" -1"))
+                .count());
+        assertEquals(sequential, validate(false));
+        assertEquals(sequential, validate(true));
+        assertEquals(sequential, validate(true));
+    }
+}
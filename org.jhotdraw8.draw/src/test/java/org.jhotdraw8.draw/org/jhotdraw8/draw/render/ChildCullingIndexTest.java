@@ -0,0 +1,121 @@
+/*
+ * @(#)ChildCullingIndexTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.render;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.LayerFigure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChildCullingIndexTest {
+    /// The children are laid out in a 10 x 10 grid with 10 x 10 rectangles
+    /// that are 20 units apart. The children are in row-major order.
+    private final LayerFigure layer = new LayerFigure();
+    private final ChildCullingIndex index;
+
+    public ChildCullingIndexTest() {
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 10; x++) {
+                layer.getChildren().add(new RectangleFigure(x * 20, y * 20, 10, 10));
+            }
+        }
+        index = new ChildCullingIndex(layer, 5);
+    }
+
+    /// Returns the children that intersect with the specified bounds by
+    /// checking each child.
+    private List<Figure> expected(Bounds viewport) {
+        return layer.getChildren().stream()
+                .filter(child -> child.getVisualBoundsInWorld().intersects(viewport))
+                .toList();
+    }
+
+    private Figure childAt(int x, int y) {
+        return layer.getChildren().get(y * 10 + x);
+    }
+
+    @Test
+    public void shouldKeepOnlyChildrenInViewport() {
+        Bounds viewport = new BoundingBox(0, 0, 50, 50);
+        List<Figure> actual = index.getChildrenIntersecting(viewport);
+        assertEquals(List.of(
+                childAt(0, 0), childAt(1, 0), childAt(2, 0),
+                childAt(0, 1), childAt(1, 1), childAt(2, 1),
+                childAt(0, 2), childAt(1, 2), childAt(2, 2)), actual);
+        assertEquals(expected(viewport), actual);
+    }
+
+    @Test
+    public void shouldCullChildrenWhenViewportChanges() {
+        for (Bounds viewport : List.of(
+                new BoundingBox(0, 0, 200, 200),
+                new BoundingBox(95, 95, 30, 30),
+                new BoundingBox(13, 13, 4, 4),
+                new BoundingBox(-100, -100, 50, 50),
+                new BoundingBox(170, 0, 100, 15))) {
+            assertEquals(expected(viewport), index.getChildrenIntersecting(viewport), viewport.toString());
+        }
+        assertTrue(index.getChildrenIntersecting(new BoundingBox(13, 13, 4, 4)).isEmpty());
+    }
+
+    @Test
+    public void shouldKeepInsertedChildAfterViewportChange() {
+        Bounds viewport = new BoundingBox(0, 0, 30, 30);
+        List<Figure> before = index.getChildrenIntersecting(viewport);
+        assertEquals(List.of(childAt(0, 0), childAt(1, 0), childAt(0, 1), childAt(1, 1)), before);
+
+        Figure inside = new RectangleFigure(300, 300, 10, 10);
+        Figure outside = new RectangleFigure(500, 500, 10, 10);
+        layer.getChildren().add(0, inside);
+        layer.getChildren().add(outside);
+        index.childAdded(inside);
+        index.childAdded(outside);
+        assertEquals(expected(viewport), index.getChildrenIntersecting(viewport));
+
+        viewport = new BoundingBox(290, 290, 30, 30);
+        assertEquals(List.of(inside), index.getChildrenIntersecting(viewport));
+
+        viewport = new BoundingBox(0, 0, 30, 30);
+        assertEquals(before, index.getChildrenIntersecting(viewport));
+    }
+
+    @Test
+    public void shouldCullRemovedChildAfterViewportChange() {
+        Bounds viewport = new BoundingBox(0, 0, 30, 30);
+        Figure removed = childAt(1, 1);
+        assertTrue(index.getChildrenIntersecting(viewport).contains(removed));
+
+        layer.getChildren().remove(removed);
+        index.childRemoved(removed);
+        assertFalse(index.getChildrenIntersecting(viewport).contains(removed));
+        assertEquals(expected(viewport), index.getChildrenIntersecting(viewport));
+
+        viewport = new BoundingBox(0, 0, 200, 200);
+        assertEquals(99, index.getChildrenIntersecting(viewport).size());
+        assertEquals(expected(viewport), index.getChildrenIntersecting(viewport));
+    }
+
+    @Test
+    public void shouldMoveChangedChildBetweenViewports() {
+        Bounds left = new BoundingBox(0, 0, 30, 30);
+        Bounds right = new BoundingBox(400, 0, 30, 30);
+        Figure moved = childAt(0, 0);
+        assertTrue(index.getChildrenIntersecting(left).contains(moved));
+        assertTrue(index.getChildrenIntersecting(right).isEmpty());
+
+        moved.reshapeInLocal(410, 10, 10, 10);
+        index.childChanged(moved);
+        assertFalse(index.getChildrenIntersecting(left).contains(moved));
+        assertEquals(List.of(moved), index.getChildrenIntersecting(right));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * @(#)InteractiveHandleRendererTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.render;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableSet;
+import javafx.geometry.BoundingBox;
+import javafx.scene.Parent;
+import javafx.scene.transform.Translate;
+import org.jhotdraw8.draw.DrawingEditor;
+import org.jhotdraw8.draw.DrawingView;
+import org.jhotdraw8.draw.SimpleDrawingEditor;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.LayerFigure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.jhotdraw8.draw.handle.Handle;
+import org.jhotdraw8.draw.model.SimpleDrawingModel;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/// Tests the large-selection mode of [InteractiveHandleRenderer] without
+/// a JavaFX toolkit. The outlines of the large selection are not tested.
+public class InteractiveHandleRendererTest {
+    private final InteractiveHandleRenderer renderer = new InteractiveHandleRenderer();
+    private final ObservableSet<Figure> selection = FXCollections.observableSet(new LinkedHashSet<>());
+    /// 100 figures in a row, the first 10 figures are inside the clip bounds.
+    private final List<Figure> figures = new ArrayList<>();
+
+    public InteractiveHandleRendererTest() {
+        SimpleDrawingModel model = new SimpleDrawingModel();
+        SimpleLayeredDrawing drawing = new SimpleLayeredDrawing();
+        LayerFigure layer = new LayerFigure();
+        drawing.addChild(layer);
+        model.setRoot(drawing);
+        for (int i = 0; i < 100; i++) {
+            Figure f = new RectangleFigure(i * 20, 0, 10, 10);
+            figures.add(f);
+            model.addChildTo(f, layer);
+        }
+        DrawingEditor editor = new SimpleDrawingEditor();
+        renderer.modelProperty().setValue(model);
+        renderer.editorProperty().set(editor);
+        renderer.setDrawingView(createDrawingView(editor));
+        renderer.setSelectedFigures(selection);
+        renderer.setClipBounds(new BoundingBox(0, 0, 195, 100));
+    }
+
+    /// Creates a drawing view with an identity view transform. Abstract
+    /// methods that are not needed by the renderer return default values.
+    private static DrawingView createDrawingView(DrawingEditor editor) {
+        ObjectProperty<DrawingEditor> editorProperty = new SimpleObjectProperty<>(editor);
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            Class<?> type = method.getReturnType();
+            return switch (method.getName()) {
+                case "getWorldToView", "getViewToWorld" -> new Translate();
+                case "editorProperty" -> editorProperty;
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> type == boolean.class ? (Object) false
+                        : type == double.class ? (Object) 0.0
+                        : type == int.class ? (Object) 0
+                        : null;
+            };
+        };
+        return (DrawingView) Proxy.newProxyInstance(DrawingView.class.getClassLoader(),
+                new Class<?>[]{DrawingView.class}, handler);
+    }
+
+    /// Validates the handles, and returns the figures that have handles.
+    private Set<Figure> figuresWithHandles() {
+        ((Parent) renderer.getNode()).layout();
+        Set<Figure> owners = new LinkedHashSet<>();
+        for (Handle h : renderer.handlesProperty()) {
+            owners.add(h.getOwner());
+        }
+        return owners;
+    }
+
+    @Test
+    public void shouldCreateHandlesForAllFiguresUpToTheThreshold() {
+        renderer.setLargeSelectionThreshold(50);
+        selection.addAll(figures.subList(0, 50));
+        assertEquals(new LinkedHashSet<>(figures.subList(0, 50)), figuresWithHandles());
+    }
+
+    @Test
+    public void shouldSwitchToLargeSelectionAboveTheThreshold() {
+        renderer.setLargeSelectionThreshold(50);
+        selection.addAll(figures.subList(0, 51));
+        Set<Figure> owners = figuresWithHandles();
+        // the visible figures, and the lead figure
+        Set<Figure> expected = new LinkedHashSet<>(figures.subList(0, 10));
+        expected.add(figures.get(50));
+        assertEquals(expected, owners);
+
+        selection.remove(figures.get(50));
+        assertEquals(new LinkedHashSet<>(figures.subList(0, 50)), figuresWithHandles());
+    }
+
+    @Test
+    public void shouldBoundHandlesByTheVisibleSelection() {
+        renderer.setLargeSelectionThreshold(5);
+        selection.addAll(figures);
+        Set<Figure> owners = figuresWithHandles();
+        // more visible figures than the threshold: only the anchor and the lead
+        assertEquals(Set.of(figures.getFirst(), figures.getLast()), owners);
+
+        renderer.setClipBounds(new BoundingBox(500, 0, 55, 100));
+        owners = figuresWithHandles();
+        Set<Figure> expected = new LinkedHashSet<>(List.of(figures.getFirst(), figures.getLast()));
+        expected.addAll(figures.subList(25, 28));
+        assertEquals(expected, owners);
+    }
+
+    @Test
+    public void shouldCreateHandlesForFiguresNearTheCursor() {
+        renderer.setLargeSelectionThreshold(5);
+        selection.addAll(figures);
+        assertFalse(figuresWithHandles().contains(figures.get(3)));
+
+        Handle handle = renderer.findHandle(65, 5);
+        assertNotNull(handle);
+        assertEquals(figures.get(3), handle.getOwner());
+        Set<Figure> owners = figuresWithHandles();
+        assertTrue(owners.contains(figures.get(3)));
+        assertEquals(3, owners.size());
+    }
+}
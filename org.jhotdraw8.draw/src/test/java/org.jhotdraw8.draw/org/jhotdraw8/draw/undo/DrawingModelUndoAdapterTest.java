@@ -0,0 +1,134 @@
+/*
+ * @(#)DrawingModelUndoAdapterTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.draw.undo;
+
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.jhotdraw8.draw.figure.SimpleDrawing;
+import org.jhotdraw8.draw.figure.StyleableFigure;
+import org.jhotdraw8.draw.model.SimpleDrawingModel;
+import org.jhotdraw8.fxbase.undo.FXUndoManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DrawingModelUndoAdapterTest {
+    private final SimpleDrawingModel model = new SimpleDrawingModel();
+    private final DrawingModelUndoAdapter adapter = new DrawingModelUndoAdapter(model);
+    private final FXUndoManager undoManager = new FXUndoManager();
+    private final List<Figure> figures = new ArrayList<>();
+
+    private void createDrawing(int figureCount) {
+        SimpleDrawing drawing = new SimpleDrawing();
+        for (int i = 0; i < figureCount; i++) {
+            RectangleFigure f = new RectangleFigure();
+            drawing.addChild(f);
+            figures.add(f);
+        }
+        model.setRoot(drawing);
+        adapter.addUndoEditListener(undoManager);
+        undoManager.discardAllEdits();
+    }
+
+    @Test
+    public void shouldRecordAllChangesOfAGestureInOneEdit() {
+        createDrawing(1000);
+        for (Figure f : figures) {
+            model.set(f, StyleableFigure.ID, "a");
+        }
+        adapter.closeEdit();
+        assertEquals(1, undoManager.getEditCount());
+
+        undoManager.undo();
+        for (Figure f : figures) {
+            assertNull(f.get(StyleableFigure.ID));
+        }
+        assertFalse(undoManager.canUndo());
+        assertTrue(undoManager.canRedo());
+
+        undoManager.redo();
+        for (Figure f : figures) {
+            assertEquals("a", f.get(StyleableFigure.ID));
+        }
+    }
+
+    @Test
+    public void shouldCoalesceRepeatedChangesOfTheSameProperties() {
+        createDrawing(100);
+        adapter.beginGesture();
+        for (int step = 0; step < 10; step++) {
+            for (Figure f : figures) {
+                model.set(f, StyleableFigure.ID, "step" + step);
+            }
+            adapter.closeEdit();
+        }
+        adapter.endGesture();
+        assertEquals(1, undoManager.getEditCount());
+
+        undoManager.undo();
+        for (Figure f : figures) {
+            assertNull(f.get(StyleableFigure.ID));
+        }
+        undoManager.redo();
+        for (Figure f : figures) {
+            assertEquals("step9", f.get(StyleableFigure.ID));
+        }
+    }
+
+    @Test
+    public void shouldNotCoalesceChangesOfDifferentGestures() {
+        createDrawing(100);
+        Figure first = figures.getFirst();
+        adapter.beginGesture();
+        model.set(first, StyleableFigure.ID, "a");
+        adapter.endGesture();
+        adapter.beginGesture();
+        model.set(first, StyleableFigure.ID, "b");
+        adapter.endGesture();
+        for (Figure f : figures) {
+            model.set(f, StyleableFigure.ID, "c");
+        }
+        adapter.closeEdit();
+        model.set(first, StyleableFigure.ID, "d");
+        adapter.closeEdit();
+        assertEquals(4, undoManager.getEditCount());
+
+        undoManager.undo();
+        assertEquals("c", first.get(StyleableFigure.ID));
+        undoManager.undo();
+        assertEquals("b", first.get(StyleableFigure.ID));
+        assertNull(figures.getLast().get(StyleableFigure.ID));
+        undoManager.undo();
+        assertEquals("a", first.get(StyleableFigure.ID));
+        undoManager.undo();
+        assertNull(first.get(StyleableFigure.ID));
+    }
+
+    @Test
+    public void shouldDiscardOldestEditsWhenMemoryBudgetIsExceeded() {
+        createDrawing(100);
+        Figure first = figures.getFirst(), last = figures.getLast();
+        model.set(first, StyleableFigure.ID, "a");
+        model.set(last, StyleableFigure.ID, "b");
+        adapter.closeEdit();
+        for (Figure f : figures) {
+            model.set(f, StyleableFigure.STYLE, "fill:red");
+        }
+        adapter.closeEdit();
+        assertEquals(2, undoManager.getEditCount());
+
+        undoManager.setMemoryBudget(undoManager.getEstimatedMemoryUsage() - 1);
+        assertEquals(1, undoManager.getEditCount());
+        undoManager.undo();
+        assertFalse(undoManager.canUndo());
+        assertEquals("a", first.get(StyleableFigure.ID));
+    }
+}
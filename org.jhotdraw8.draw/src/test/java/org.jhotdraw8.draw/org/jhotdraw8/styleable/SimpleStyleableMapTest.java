@@ -5,9 +5,17 @@
 package org.jhotdraw8.styleable;
 
 import javafx.css.StyleOrigin;
+import org.jhotdraw8.fxbase.styleable.IndexedKeyMap;
 import org.jhotdraw8.fxbase.styleable.SimpleStyleableMap;
+import org.jhotdraw8.fxcollection.typesafekey.Key;
+import org.jhotdraw8.fxcollection.typesafekey.SimpleNullableKey;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -110,5 +118,56 @@ public class SimpleStyleableMapTest {
         assertEquals(0, instance.getMap(StyleOrigin.AUTHOR).entrySet().size());
     }
 
+    /// Performs the same random operations on a map in dense form and on
+    /// a map in compact form, and checks that both maps have the same content.
+    @Test
+    public void testCompactFormBehavesLikeDenseForm() {
+        List<Key<?>> keys = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(new SimpleNullableKey<>("key" + i, String.class));
+        }
+        IndexedKeyMap keyMap = new IndexedKeyMap(keys);
+        SimpleStyleableMap<Key<?>, Object> dense = new SimpleStyleableMap<>(keyMap, false);
+        SimpleStyleableMap<Key<?>, Object> compact = new SimpleStyleableMap<>(keyMap, true);
+        // a compact map with a growing key map
+        SimpleStyleableMap<Key<?>, Object> growing = new SimpleStyleableMap<>(new HashMap<>() {
+            @Override
+            public Integer get(Object key) {
+                return super.computeIfAbsent((Key<?>) key, k -> size());
+            }
+        }, true);
+        List<SimpleStyleableMap<Key<?>, Object>> maps = List.of(dense, compact, growing);
+        StyleOrigin[] origins = StyleOrigin.values();
+
+        Random rnd = new Random(0);
+        for (int step = 0; step < 10_000; step++) {
+            Key<?> key = keys.get(rnd.nextInt(keys.size()));
+            StyleOrigin origin = origins[rnd.nextInt(origins.length)];
+            int op = rnd.nextInt(100);
+            String value = op % 10 == 0 ? null : "v" + rnd.nextInt(5);
+            for (SimpleStyleableMap<Key<?>, Object> m : maps) {
+                if (op < 60) {
+                    m.put(origin, key, value);
+                } else if (op < 90) {
+                    m.removeKey(origin, key);
+                } else if (op < 95) {
+                    m.resetStyledValues();
+                } else {
+                    m.removeAll(origin);
+                }
+            }
+
+            for (SimpleStyleableMap<Key<?>, Object> m : maps) {
+                assertEquals(dense.size(), m.size());
+                assertEquals(dense.get(origin, key), m.get(origin, key));
+                assertEquals(dense.containsKey(origin, key), m.containsKey(origin, key));
+                assertEquals(dense.getStyleOrigin(key), m.getStyleOrigin(key));
+                assertEquals(dense.getStyledMap().get(key), m.getStyledMap().get(key));
+                assertEquals(dense.containsValue(origin, value), m.containsValue(origin, value));
+                assertEquals(new HashMap<>(dense), new HashMap<>(m));
+            }
+        }
+    }
+
 
 }
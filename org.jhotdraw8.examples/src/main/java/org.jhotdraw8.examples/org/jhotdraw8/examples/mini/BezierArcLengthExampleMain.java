@@ -39,7 +39,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.DoubleSummaryStatistics;
 import java.util.List;
-import java.util.function.ToDoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 
 import static java.lang.Math.round;
 import static org.jhotdraw8.geom.CubicCurves.getArcLengthIntegrand;
@@ -280,11 +280,11 @@ public class BezierArcLengthExampleMain extends Application {
                 curve.getEndX(),
                 curve.getEndY()
         };
-        ToDoubleFunction<Double> f = getArcLengthIntegrand(b, 0);
-        OrderedPair<ToDoubleFunction<Double>, Double> pair = Solvers.invPolynomialChebyshevApprox(20, Integrals::gaussLegendre7, f, 0, 1);
+        DoubleUnaryOperator f = getArcLengthIntegrand(b, 0);
+        OrderedPair<DoubleUnaryOperator, Double> pair = Solvers.invPolynomialChebyshevApprox(20, Integrals::gaussLegendre7, f, 0, 1);
         //OrderedPair<ToDoubleFunction<Double>, Double> pair = IntegralAlgorithms.invSpeedPolynomialChebyshevApprox(20, (f1, t0, t1) -> IntegralAlgorithms.rombergQuadrature(f1, t0, t1,0.1), f, 0, 1);
         //OrderedPair<ToDoubleFunction<Double>, Double> pair = IntegralAlgorithms.invPolynomialApprox3( IntegralAlgorithms::gaussLegendre7, f, 0, 1);
-        ToDoubleFunction<Double> sToT = pair.first();
+        DoubleUnaryOperator sToT = pair.first();
         double totalLength = pair.second();
 
 
@@ -465,17 +465,17 @@ public class BezierArcLengthExampleMain extends Application {
 
 
     public static double arcLengthGaussLegendre(double[] b, int offset) {
-        ToDoubleFunction<Double> f = getArcLengthIntegrand(b, offset);
+        DoubleUnaryOperator f = getArcLengthIntegrand(b, offset);
         return Integrals.gaussLegendre7(f, 0, 1);
     }
 
     public static double arcLengthRomberg(double[] b, int offset, double eps) {
-        ToDoubleFunction<Double> f = getArcLengthIntegrand(b, offset);
+        DoubleUnaryOperator f = getArcLengthIntegrand(b, offset);
         return Integrals.rombergQuadrature(f, 0, 1, eps);
     }
 
     public static double arcLengthSimpson(double[] b, int offset, double eps) {
-        ToDoubleFunction<Double> f = getArcLengthIntegrand(b, offset);
+        DoubleUnaryOperator f = getArcLengthIntegrand(b, offset);
         return Integrals.simpson(f, 0, 1, eps);
     }
 }
@@ -32,7 +32,7 @@ public abstract class AbstractStyleablePropertyBean
 
     private SimpleStyleableMap<Key<?>, Object> createStyleableMap() {
         // Explicit type arguments needed for Java 8!
-        return new SimpleStyleableMap<>(createKeyMap()) {
+        return new SimpleStyleableMap<>(createKeyMap(), true) {
             @Override
             @SuppressWarnings("unchecked")
             protected void callObservers(StyleOrigin origin, MapChangeListener.Change<Key<?>, Object> change) {
@@ -57,6 +57,9 @@ public abstract class AbstractStyleablePropertyBean
     /// This implementation creates one key map for this class, and shares
     /// it with all instances of this class.
     ///
+    /// Subclasses that know all their keys in advance, should return
+    /// an [IndexedKeyMap].
+    ///
     /// @return a new map
     protected Map<Key<?>, Integer> createKeyMap() {
         return keyMaps.computeIfAbsent(getClass(), k -> {
@@ -0,0 +1,129 @@
+/*
+ * @(#)IndexedKeyMap.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.fxbase.styleable;
+
+import org.jhotdraw8.fxcollection.typesafekey.Key;
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/// An immutable map from keys to indices in the range `[0, size()-1]`.
+///
+/// Keys are looked up by their [Key#getOrdinal()] in an array, so that a
+/// lookup does neither compute a hash code nor allocate an object.
+/// Keys without ordinal are looked up by identity.
+///
+/// A key map is typically shared by all [SimpleStyleableMap]s of the
+/// objects of the same class.
+public final class IndexedKeyMap extends AbstractMap<Key<?>, Integer> {
+    /// Maps indices to keys.
+    private final Key<?>[] keys;
+    /// Maps ordinals to indices. Holds -1 for keys that are not in this map.
+    private final int[] indexByOrdinal;
+    /// Maps keys without ordinal to indices.
+    private final Map<Key<?>, Integer> indexByIdentity = new IdentityHashMap<>();
+
+    /// Creates a new instance which assigns the indices to the keys in
+    /// the iteration sequence of the provided collection.
+    ///
+    /// @param keys the keys
+    public IndexedKeyMap(Collection<? extends Key<?>> keys) {
+        this.keys = keys.toArray(new Key<?>[0]);
+        int maxOrdinal = -1;
+        for (Key<?> key : this.keys) {
+            maxOrdinal = Math.max(maxOrdinal, key.getOrdinal());
+        }
+        indexByOrdinal = new int[maxOrdinal + 1];
+        Arrays.fill(indexByOrdinal, -1);
+        for (int i = 0; i < this.keys.length; i++) {
+            int ordinal = this.keys[i].getOrdinal();
+            if (ordinal < 0) {
+                indexByIdentity.put(this.keys[i], i);
+            } else {
+                indexByOrdinal[ordinal] = i;
+            }
+        }
+    }
+
+    /// Returns the index of the specified key.
+    ///
+    /// @param key a key
+    /// @return the index or -1 if the key is not in this map
+    public int indexOf(@Nullable Object key) {
+        if (!(key instanceof Key<?> k)) {
+            return -1;
+        }
+        int ordinal = k.getOrdinal();
+        if (ordinal < 0) {
+            Integer index = indexByIdentity.get(k);
+            return index == null ? -1 : index;
+        }
+        return ordinal < indexByOrdinal.length ? indexByOrdinal[ordinal] : -1;
+    }
+
+    /// Returns the key at the specified index.
+    ///
+    /// @param index an index
+    /// @return the key
+    public Key<?> getKey(int index) {
+        return keys[index];
+    }
+
+    @Override
+    public @Nullable Integer get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : index;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public Set<Entry<Key<?>, Integer>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Key<?>, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < keys.length;
+                    }
+
+                    @Override
+                    public Entry<Key<?>, Integer> next() {
+                        if (index >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<Key<?>, Integer> entry = new SimpleImmutableEntry<>(keys[index], index);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+}
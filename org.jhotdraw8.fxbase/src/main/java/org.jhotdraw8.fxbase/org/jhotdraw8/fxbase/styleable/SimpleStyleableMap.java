@@ -30,6 +30,13 @@ import static java.lang.Integer.max;
 ///
 /// This map stores one distinct value for each StyleOrigin.
 ///
+/// The values can be stored in dense or in compact form.
+/// In dense form, the array has a slot for each key and style origin.
+/// In compact form, the map has a bitmap for each style origin with a bit
+/// for each key that has a value, and the array only holds the values that
+/// are present, ordered by style origin and key index. The compact form
+/// needs much less memory, if only a few of the keys have a value.
+///
 /// @param <K> key type
 /// @param <V> value type
 public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements StyleableMap<K, V> {
@@ -41,17 +48,28 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
 
     private static final Object NULL_VALUE = new Object();
     private static final Object NO_VALUE = null;
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final long[] NO_BITS = new long[0];
     private static final int numOrigins = 4;
-    private static final int numOriginsMask = 3;
     private @Nullable CopyOnWriteArrayList<MapChangeListener<? super K, ? super V>> changeListenerList;
 
     private @Nullable CopyOnWriteArrayList<InvalidationListener> invalidationListenerList;
     private final Map<K, Integer> keyMap;
+    /// The key map, if it is an [IndexedKeyMap].
+    private final @Nullable IndexedKeyMap indexedKeyMap;
     private final StyleOrigin origin;
     private final int originOrdinal;
     private final int[] sizes;
 
     private Object[] values;
+    /// True if the values are stored in compact form.
+    private final boolean compact;
+    /// In compact form: the bitmaps of the style origins.
+    /// The bitmap of a style origin consists of [#words] consecutive
+    /// words, with one bit per key index.
+    private long[] bitmaps;
+    /// In compact form: the number of words per bitmap.
+    private int words;
     private final SimpleStyleableMap<K, V> originalMap;
     static final int AUTO_ORIGIN = -StyleOrigin.INLINE.ordinal();
 
@@ -81,8 +99,30 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
     /// @param keyMap a map which maps from keys to indices. The indices must be
     ///               in the range `[0,keyMap.size()-1]`.
     public SimpleStyleableMap(Map<K, Integer> keyMap) {
+        this(keyMap, false);
+    }
+
+    /// Creates a new instance which uses the provided key map, and which
+    /// stores its values in dense or in compact form.
+    ///
+    /// If the key map is an [IndexedKeyMap], then keys are looked up
+    /// by their ordinal.
+    ///
+    /// @param keyMap  a map which maps from keys to indices. The indices must be
+    ///                in the range `[0,keyMap.size()-1]`.
+    /// @param compact whether the values are stored in compact form
+    public SimpleStyleableMap(Map<K, Integer> keyMap, boolean compact) {
         this.keyMap = keyMap;
-        this.values = new Object[keyMap.size() * numOrigins];
+        this.indexedKeyMap = keyMap instanceof IndexedKeyMap m ? m : null;
+        this.compact = compact;
+        if (compact) {
+            this.words = max(1, (keyMap.size() + 63) >>> 6);
+            this.bitmaps = new long[numOrigins * words];
+            this.values = NO_VALUES;
+        } else {
+            this.bitmaps = NO_BITS;
+            this.values = new Object[keyMap.size() * numOrigins];
+        }
         this.origin = StyleOrigin.USER;
         this.originOrdinal = origin.ordinal();
         this.sizes = new int[numOrigins];
@@ -134,18 +174,13 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
 
     @Override
     public <T extends K> boolean containsKey(@Nullable StyleOrigin origin, T key) {
-        Integer index = keyMap.get(key);
+        int index = indexOf(key);
 
         if (origin == null) {
             return getStyleOrigin(key) != null;
         }
 
-        if (index != null
-                && index * numOrigins + origin.ordinal() < values.length) {
-            Object rawValue = values[index * numOrigins + origin.ordinal()];
-            return rawValue != NO_VALUE;
-        }
-        return false;
+        return index >= 0 && readRawValue(origin.ordinal(), index) != NO_VALUE;
     }
 
     @Override
@@ -157,6 +192,15 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         if (value == null) {
             value = NULL_VALUE;
         }
+        if (compact) {
+            int ordinal = origin.ordinal();
+            for (int i = rank(ordinal, 0), n = i + bitCount(ordinal); i < n; i++) {
+                if (Objects.equals(values[i], value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
         for (int i = origin.ordinal(), n = values.length; i < n; i += numOrigins) {
             if (Objects.equals(values[i], value)) {
                 return true;
@@ -165,12 +209,36 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         return false;
     }
 
+    /// Returns the index of the specified key.
+    ///
+    /// @param key a key
+    /// @return the index, or -1 if the key is not in the key map
+    private int indexOf(Object key) {
+        if (indexedKeyMap != null) {
+            return indexedKeyMap.indexOf(key);
+        }
+        Integer index = keyMap.get(key);
+        return index == null ? -1 : index;
+    }
+
     private int ensureCapacity(K key) {
-        Integer indexNullable = keyMap.get(key);
-        if (indexNullable == null) {
+        int index = indexOf(key);
+        if (index < 0) {
             throw new UnsupportedOperationException("Could not retrieve key " + key + " from keyMap: " + keyMap);
         }
-        int index = indexNullable;
+        if (compact) {
+            int minWords = (index >>> 6) + 1;
+            if (words < minWords) {
+                int newWords = max(words * 2, minWords);
+                long[] newBitmaps = new long[numOrigins * newWords];
+                for (int i = 0; i < numOrigins; i++) {
+                    System.arraycopy(bitmaps, i * words, newBitmaps, i * newWords, words);
+                }
+                bitmaps = newBitmaps;
+                words = newWords;
+            }
+            return index;
+        }
         int minCapacity = (1 + index) * numOrigins;
         if (values.length < minCapacity) {
             int newCapacity = nextPowerOfTwoUp(1 + index) * numOrigins;
@@ -180,6 +248,114 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         return index;
     }
 
+    /// In compact form: returns the position of the value of the specified
+    /// style origin and key index in the values array.
+    ///
+    /// This is the number of values that are stored for lower style
+    /// origins, plus the number of values that are stored for lower key
+    /// indices of the same style origin.
+    private int rank(int ordinal, int index) {
+        int word = ordinal * words + (index >>> 6);
+        int rank = 0;
+        for (int i = 0; i < word; i++) {
+            rank += Long.bitCount(bitmaps[i]);
+        }
+        return rank + Long.bitCount(bitmaps[word] & ((1L << index) - 1));
+    }
+
+    /// In compact form: returns the number of values of the specified
+    /// style origin.
+    private int bitCount(int ordinal) {
+        int count = 0;
+        for (int i = ordinal * words, n = i + words; i < n; i++) {
+            count += Long.bitCount(bitmaps[i]);
+        }
+        return count;
+    }
+
+    /// In compact form: returns the number of values of all style origins.
+    private int bitCount() {
+        int count = 0;
+        for (long word : bitmaps) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /// Reads a raw value.
+    ///
+    /// @param ordinal the ordinal of the StyleOrigin
+    /// @param index   the index of the key
+    /// @return the raw value
+    private @Nullable Object readRawValue(int ordinal, int index) {
+        if (compact) {
+            int word = index >>> 6;
+            return word < words && (bitmaps[ordinal * words + word] & (1L << index)) != 0
+                    ? values[rank(ordinal, index)] : NO_VALUE;
+        }
+        int arrayIndex = index * numOrigins + ordinal;
+        return arrayIndex < values.length ? values[arrayIndex] : NO_VALUE;
+    }
+
+    /// Writes a raw value. The caller must ensure that the map has enough
+    /// capacity for the key index.
+    ///
+    /// @param ordinal     the ordinal of the StyleOrigin
+    /// @param index       the index of the key
+    /// @param newRawValue the new raw value, NO_VALUE removes the value
+    /// @return the old raw value
+    private @Nullable Object writeRawValue(int ordinal, int index, @Nullable Object newRawValue) {
+        if (!compact) {
+            int arrayIndex = index * numOrigins + ordinal;
+            Object oldRawValue = values[arrayIndex];
+            values[arrayIndex] = newRawValue;
+            return oldRawValue;
+        }
+        int word = ordinal * words + (index >>> 6);
+        long bit = 1L << index;
+        int rank = rank(ordinal, index);
+        if ((bitmaps[word] & bit) != 0) {
+            Object oldRawValue = values[rank];
+            if (newRawValue == NO_VALUE) {
+                int count = bitCount();
+                System.arraycopy(values, rank + 1, values, rank, count - rank - 1);
+                values[count - 1] = NO_VALUE;
+                bitmaps[word] &= ~bit;
+            } else {
+                values[rank] = newRawValue;
+            }
+            return oldRawValue;
+        }
+        if (newRawValue != NO_VALUE) {
+            int count = bitCount();
+            if (count == values.length) {
+                values = Arrays.copyOf(values, max(4, count * 2));
+            }
+            System.arraycopy(values, rank, values, rank + 1, count - rank);
+            values[rank] = newRawValue;
+            bitmaps[word] |= bit;
+        }
+        return NO_VALUE;
+    }
+
+    /// Removes all values of the specified style origin without
+    /// firing change events.
+    private void clearOrigin(int ordinal) {
+        if (compact) {
+            int start = rank(ordinal, 0);
+            int removed = bitCount(ordinal);
+            int count = bitCount();
+            System.arraycopy(values, start + removed, values, start, count - start - removed);
+            Arrays.fill(values, count - removed, count, NO_VALUE);
+            Arrays.fill(bitmaps, ordinal * words, (ordinal + 1) * words, 0L);
+        } else {
+            for (int i = ordinal, n = values.length; i < n; i += numOrigins) {
+                values[i] = NO_VALUE;
+            }
+        }
+        sizes[ordinal] = 0;
+    }
+
     /// Returns the next power of two that is equal or greater than the specified
     /// value.
     ///
@@ -192,8 +368,7 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
     }
 
     private int indexIfPresent(K key) {
-        Integer index = keyMap.get(key);
-        return index == null ? -1 : index;
+        return indexOf(key);
     }
 
     @Override
@@ -222,8 +397,8 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
 
     @SuppressWarnings("unchecked")
     protected @Nullable V getOrDefault(int originOrdinal, Object key, @Nullable V defaultValue) {
-        Integer index = keyMap.get(key);
-        return index == null ? defaultValue : getValue(originOrdinal, index, (K) key, defaultValue);
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : getValue(originOrdinal, index, (K) key, defaultValue);
     }
 
     @Override
@@ -234,15 +409,12 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
     @Override
     @SuppressWarnings("unchecked")
     public @Nullable StyleOrigin getStyleOrigin(K key) {
-        Integer indexNullable = keyMap.get(key);
-        if (indexNullable == null) {
+        int index = indexOf(key);
+        if (index < 0) {
             return null;
         }
-        int index = indexNullable;
         for (int i = numOrigins - 1; i >= 0; i--) {
-            final int arrayIndex = index * numOrigins + i;
-            Object value = arrayIndex < values.length ? values[arrayIndex] : null;
-            if (value != null) {
+            if (readRawValue(i, index) != NO_VALUE) {
                 return StyleOrigin.values()[i];
             }
         }
@@ -281,23 +453,16 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
     /// that the null value is stored, all other values are stored values.
     @SuppressWarnings("unchecked")
     private @Nullable Object getRawValue(int ordinal, int index) {
-        Object value;
         if (ordinal < 0) {
-            value = null;
-            if (index * numOrigins < values.length) {
-                for (int i = -ordinal; i >= 0; i--) {
-                    final int valueIndex = index * numOrigins + i;
-                    value = values[valueIndex];
-                    if (value != NO_VALUE) {
-                        break;
-                    }
+            for (int i = -ordinal; i >= 0; i--) {
+                Object value = readRawValue(i, index);
+                if (value != NO_VALUE) {
+                    return value;
                 }
             }
-        } else {
-            final int arrayIndex = index * numOrigins + ordinal;
-            value = arrayIndex < values.length ? values[arrayIndex] : NO_VALUE;
+            return NO_VALUE;
         }
-        return value;
+        return readRawValue(ordinal, index);
     }
 
 
@@ -348,30 +513,40 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
             // We have to fire change events, so we need the keys.
             int ordinal = origin.ordinal();
             for (Entry<K, Integer> e : keyMap.entrySet()) {
-                Integer index = e.getValue();
-                if (index < values.length) {
-                    removeValue(ordinal, index, e.getKey());
-                }
+                removeValue(ordinal, e.getValue(), e.getKey());
             }
         } else {
             // We do not fire change events
-            int ordinal = origin.ordinal();
-            for (int i = 0, n = values.length; i < n; i++) {
-                if ((i & numOriginsMask) == ordinal) {
-                    values[i] = NO_VALUE;
-                }
-            }
+            clearOrigin(origin.ordinal());
         }
     }
 
     @Override
     public void resetStyledValues() {
         // Performance: this method is called very often.
-        for (int i = 0, n = values.length; i < n; i += 4) {
-            values[i] = NO_VALUE;
-            values[i + 2] = NO_VALUE;
-            values[i + 3] = NO_VALUE;
+        if (compact) {
+            // Move the USER values to the front of the array.
+            int user = StyleOrigin.USER.ordinal();
+            int start = rank(user, 0);
+            int userCount = bitCount(user);
+            int count = bitCount();
+            System.arraycopy(values, start, values, 0, userCount);
+            Arrays.fill(values, userCount, count, NO_VALUE);
+            for (int i = 0; i < numOrigins; i++) {
+                if (i != user) {
+                    Arrays.fill(bitmaps, i * words, (i + 1) * words, 0L);
+                }
+            }
+        } else {
+            for (int i = 0, n = values.length; i < n; i += 4) {
+                values[i] = NO_VALUE;
+                values[i + 2] = NO_VALUE;
+                values[i + 3] = NO_VALUE;
+            }
         }
+        sizes[StyleOrigin.USER_AGENT.ordinal()] = 0;
+        sizes[StyleOrigin.AUTHOR.ordinal()] = 0;
+        sizes[StyleOrigin.INLINE.ordinal()] = 0;
     }
 
     @Override
@@ -393,13 +568,11 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         if (ordinal < 0) {
             throw new UnsupportedOperationException("can not remove styled value");
         }
-        final int arrayIndex = index * numOrigins + ordinal;
-
-        Object oldRawValue = arrayIndex < values.length ? values[arrayIndex] : NO_VALUE;
+        Object oldRawValue = readRawValue(ordinal, index);
         if (oldRawValue == NO_VALUE) {
             return null;
         } else {
-            values[index * numOrigins + ordinal] = null;
+            writeRawValue(ordinal, index, NO_VALUE);
             sizes[ordinal]--;
             V oldValue = rawValueToValue(oldRawValue);
             if (origin == StyleOrigin.USER) {
@@ -425,8 +598,7 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         if (ordinal < 0) {
             throw new UnsupportedOperationException("can not set styled value");
         }
-        int valueIndex = keyIndex * numOrigins + ordinal;
-        Object oldRawValue = values[valueIndex];
+        Object oldRawValue = writeRawValue(ordinal, keyIndex, newRawValue);
         //noinspection ConstantConditions
         if (oldRawValue == NO_VALUE) {
             sizes[ordinal]++;
@@ -434,7 +606,6 @@ public class SimpleStyleableMap<K, V> extends AbstractMap<K, V> implements Style
         if (newRawValue == NO_VALUE) {
             sizes[ordinal]--;
         }
-        values[valueIndex] = newRawValue;
         if (!Objects.equals(oldRawValue, newRawValue)) {
             if (ordinal == StyleOrigin.USER.ordinal()) {
                 // Only StyleOrigin.USER may fire a property change event.
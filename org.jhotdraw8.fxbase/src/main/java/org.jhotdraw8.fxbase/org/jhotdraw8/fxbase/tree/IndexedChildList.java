@@ -0,0 +1,51 @@
+/*
+ * @(#)IndexedChildList.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.fxbase.tree;
+
+import org.jhotdraw8.fxcollection.indexedset.AbstractIndexedTreeObservableSet;
+
+/// A child list for implementations of the [TreeNode] interface, for
+/// parents that can have very many children.
+///
+/// This list behaves like [ChildList], but it is backed by an order
+/// statistic tree. Inserting, removing, moving a child, and
+/// [#indexOf(Object)] take `O(log n)` time instead of `O(n)`,
+/// where `n` is the number of children.
+///
+/// @param <E> the node type
+public class IndexedChildList<E extends TreeNode<E>> extends AbstractIndexedTreeObservableSet<E> {
+
+    private final E parent;
+
+    public IndexedChildList(E parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    protected Boolean onContains(E e) {
+        return e.getParent() == parent;
+    }
+
+    @Override
+    protected void onAdded(E e) {
+        E oldParent = e.getParent();
+        if (oldParent != null && oldParent != parent) {
+            oldParent.getChildren().remove(e);
+        }
+        e.setParent(parent);
+    }
+
+    @Override
+    protected void onRemoved(E e) {
+        e.setParent(null);
+    }
+
+    @Override
+    protected boolean mayBeAdded(E element) {
+        return parent.isSuitableChild(element) &&
+                element.isSuitableParent(parent);
+    }
+}
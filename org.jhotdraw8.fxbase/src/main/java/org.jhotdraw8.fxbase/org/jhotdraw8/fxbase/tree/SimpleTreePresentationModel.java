@@ -11,6 +11,7 @@ import org.jspecify.annotations.Nullable;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -48,6 +49,18 @@ public class SimpleTreePresentationModel<N> extends AbstractTreePresentationMode
                     case NODE_REMOVED_FROM_PARENT:
                         onNodeRemoved(f, event.getParent(), event.getChildIndex());
                         break;
+                    case NODES_ADDED_TO_PARENT: {
+                        List<N> children = event.getChildren();
+                        for (int i = 0, n = children.size(); i < n; i++) {
+                            onNodeAdded(children.get(i), event.getParent(), event.getChildIndex() + i);
+                        }
+                        break;
+                    }
+                    case NODES_REMOVED_FROM_PARENT:
+                        for (N child : event.getChildren()) {
+                            onNodeRemoved(child, event.getParent(), event.getChildIndex());
+                        }
+                        break;
                     case NODE_ADDED_TO_TREE:
                         onNodeAddedToTree(f, event.getParent(), event.getChildIndex());
                         break;
@@ -108,6 +108,27 @@ public interface TreeModel<N> extends ObservableMixin {
         insertChildAt(child, parent, getChildCount(parent));
     }
 
+    /// Begins a bulk edit.
+    ///
+    /// A tree model that supports bulk edits delivers the events of all
+    /// changes that are made until the matching call of [#commitBulkEdit()]
+    /// when the bulk edit is committed. It may collapse the events, for example
+    /// a sequence of NODE_ADDED_TO_PARENT events into one NODES_ADDED_TO_PARENT
+    /// event.
+    ///
+    /// Bulk edits can be nested. The events are delivered when the outermost
+    /// bulk edit is committed.
+    ///
+    /// The default implementation does nothing.
+    default void beginBulkEdit() {
+    }
+
+    /// Commits a bulk edit that has been begun with [#beginBulkEdit()].
+    ///
+    /// The default implementation does nothing.
+    default void commitBulkEdit() {
+    }
+
     /// Fires the specified event.
     ///
     /// @param event the event
@@ -9,6 +9,7 @@ import org.jhotdraw8.base.event.Event;
 import org.jspecify.annotations.Nullable;
 
 import java.io.Serial;
+import java.util.List;
 
 /// TreeModelEvent.
 ///
@@ -49,6 +50,24 @@ public class TreeModelEvent<N> extends Event<TreeModel<N>> {
         NODE_REMOVED_FROM_TREE,
         /// The JavaFX Node of a single figure has been invalidated.
         NODE_CHANGED,
+        /// A range of subtrees has been added to a parent.
+        ///
+        ///   - node and parent are the parent.
+        ///   - children are the added subtrees in the range
+        ///     `[childIndex, endIndex)` of the parent.
+        ///
+        /// This event replaces a sequence of NODE_ADDED_TO_PARENT events
+        /// that a bulk edit has collapsed.
+        NODES_ADDED_TO_PARENT,
+        /// A range of subtrees has been removed from a parent.
+        ///
+        ///   - node and parent are the parent.
+        ///   - children are the removed subtrees, they were in the range
+        ///     `[childIndex, endIndex)` of the parent.
+        ///
+        /// This event replaces a sequence of NODE_REMOVED_FROM_PARENT events
+        /// that a bulk edit has collapsed.
+        NODES_REMOVED_FROM_PARENT,
 
     }
 
@@ -58,14 +77,20 @@ public class TreeModelEvent<N> extends Event<TreeModel<N>> {
     private final N root;
     private final int childIndex;
     private final TreeModelEvent.EventType eventType;
+    private final List<N> children;
 
     private TreeModelEvent(TreeModel<N> source, EventType eventType, N node, N parentOrOldRoot, N root, int childIndex) {
+        this(source, eventType, node, parentOrOldRoot, root, childIndex, List.of());
+    }
+
+    private TreeModelEvent(TreeModel<N> source, EventType eventType, N node, N parentOrOldRoot, N root, int childIndex, List<N> children) {
         super(source);
         this.node = node;
         this.parentOrOldRoot = parentOrOldRoot;
         this.root = root;
         this.childIndex = childIndex;
         this.eventType = eventType;
+        this.children = children;
     }
 
     public static <E> TreeModelEvent<E> subtreeNodesInvalidated(TreeModel<E> source, E subtreeRot) {
@@ -92,6 +117,32 @@ public class TreeModelEvent<N> extends Event<TreeModel<N>> {
         return new TreeModelEvent<>(source, EventType.NODE_CHANGED, node, null, null, -1);
     }
 
+    /// Creates an event for the children that have been added to the range
+    /// `[index, index + children.size())` of a parent.
+    ///
+    /// @param source   the tree model
+    /// @param parent   the parent
+    /// @param index    the index of the first child
+    /// @param children the added children, in the order of the parent
+    /// @param <E>      the node type
+    /// @return a new event
+    public static <E> TreeModelEvent<E> nodesAddedToParent(TreeModel<E> source, E parent, int index, List<E> children) {
+        return new TreeModelEvent<>(source, EventType.NODES_ADDED_TO_PARENT, parent, parent, null, index, List.copyOf(children));
+    }
+
+    /// Creates an event for the children that have been removed from the range
+    /// `[index, index + children.size())` of a parent.
+    ///
+    /// @param source   the tree model
+    /// @param parent   the parent
+    /// @param index    the index of the first child before the removal
+    /// @param children the removed children, in the order of the parent
+    /// @param <E>      the node type
+    /// @return a new event
+    public static <E> TreeModelEvent<E> nodesRemovedFromParent(TreeModel<E> source, E parent, int index, List<E> children) {
+        return new TreeModelEvent<>(source, EventType.NODES_REMOVED_FROM_PARENT, parent, parent, null, index, List.copyOf(children));
+    }
+
     public static <E> TreeModelEvent<E> rootChanged(TreeModel<E> source, @Nullable E oldRoot, @Nullable E newRoot) {
         return new TreeModelEvent<>(source, EventType.ROOT_CHANGED, newRoot, oldRoot, newRoot, -1);
     }
@@ -147,6 +198,22 @@ public class TreeModelEvent<N> extends Event<TreeModel<N>> {
         return childIndex;
     }
 
+    /// If a range of children was added or removed, returns the end index of
+    /// the range.
+    ///
+    /// @return the end index (exclusive). Returns -1 if no range of children
+    /// was added or removed.
+    public int getEndIndex() {
+        return children.isEmpty() ? -1 : childIndex + children.size();
+    }
+
+    /// If a range of children was added or removed, returns the children.
+    ///
+    /// @return the children in the range, or an empty list
+    public List<N> getChildren() {
+        return children;
+    }
+
     /// Returns the event type.
     ///
     /// @return the event type
@@ -159,7 +226,9 @@ public class TreeModelEvent<N> extends Event<TreeModel<N>> {
         return "TreeModelEvent{"
                 + "node=" + node
                 + ", parent=" + parentOrOldRoot
-                + ", index=" + childIndex + ", eventType="
+                + ", index=" + childIndex
+                + (children.isEmpty() ? "" : ", endIndex=" + getEndIndex())
+                + ", eventType="
                 + eventType + ", source=" + source + '}';
     }
 
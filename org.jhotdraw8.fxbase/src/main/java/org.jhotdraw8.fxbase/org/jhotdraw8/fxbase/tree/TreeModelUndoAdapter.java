@@ -17,6 +17,7 @@ import javax.swing.undo.AbstractUndoableEdit;
 import javax.swing.undo.CannotRedoException;
 import javax.swing.undo.CannotUndoException;
 import javax.swing.undo.UndoableEdit;
+import java.util.List;
 import java.util.ResourceBundle;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -42,6 +43,10 @@ public class TreeModelUndoAdapter<E> {
                     new NodeAddedEdit<>(event.getSource(), event.getParent(), event.getChildIndex(), event.getChild());
             case NODE_REMOVED_FROM_PARENT ->
                     new NodeRemovedEdit<>(event.getSource(), event.getParent(), event.getChildIndex(), event.getChild());
+            case NODES_ADDED_TO_PARENT ->
+                    new NodesAddedEdit<>(event.getSource(), event.getParent(), event.getChildIndex(), event.getChildren());
+            case NODES_REMOVED_FROM_PARENT ->
+                    new NodesRemovedEdit<>(event.getSource(), event.getParent(), event.getChildIndex(), event.getChildren());
 
         };
         if (edit != null) {
@@ -186,4 +191,98 @@ public class TreeModelUndoAdapter<E> {
             model.insertChildAt(child, parent, childIndex);
         }
     }
+
+    /// Undoes and redoes the addition of a range of children in one bulk edit.
+    @SuppressWarnings({"serial", "RedundantSuppression"})
+    class NodesAddedEdit<EE> extends AbstractUndoableEdit {
+        private final TreeModel<EE> model;
+        private final EE parent;
+        private final int childIndex;
+        private final List<EE> children;
+
+        public NodesAddedEdit(TreeModel<EE> model, EE parent, int childIndex, List<EE> children) {
+            this.model = model;
+            this.parent = parent;
+            this.childIndex = childIndex;
+            this.children = children;
+        }
+
+        @Override
+        public String getPresentationName() {
+            return getResourceBundle().getString("edit.addElement");
+        }
+
+        @Override
+        public void redo() throws CannotRedoException {
+            super.redo();
+            model.beginBulkEdit();
+            try {
+                for (int i = 0, n = children.size(); i < n; i++) {
+                    model.insertChildAt(children.get(i), parent, childIndex + i);
+                }
+            } finally {
+                model.commitBulkEdit();
+            }
+        }
+
+        @Override
+        public void undo() throws CannotUndoException {
+            super.undo();
+            model.beginBulkEdit();
+            try {
+                for (EE child : children) {
+                    model.removeFromParent(child);
+                }
+            } finally {
+                model.commitBulkEdit();
+            }
+        }
+    }
+
+    /// Undoes and redoes the removal of a range of children in one bulk edit.
+    @SuppressWarnings({"serial", "RedundantSuppression"})
+    class NodesRemovedEdit<EE> extends AbstractUndoableEdit {
+        private final TreeModel<EE> model;
+        private final EE parent;
+        private final int childIndex;
+        private final List<EE> children;
+
+        public NodesRemovedEdit(TreeModel<EE> model, EE parent, int childIndex, List<EE> children) {
+            this.model = model;
+            this.parent = parent;
+            this.childIndex = childIndex;
+            this.children = children;
+        }
+
+        @Override
+        public String getPresentationName() {
+            return getResourceBundle().getString("edit.removeElement");
+        }
+
+        @Override
+        public void redo() throws CannotRedoException {
+            super.redo();
+            model.beginBulkEdit();
+            try {
+                for (EE child : children) {
+                    model.removeFromParent(child);
+                }
+            } finally {
+                model.commitBulkEdit();
+            }
+        }
+
+        @Override
+        public void undo() throws CannotUndoException {
+            super.undo();
+            model.beginBulkEdit();
+            try {
+                for (int i = 0, n = children.size(); i < n; i++) {
+                    model.insertChildAt(children.get(i), parent, childIndex + i);
+                }
+            } finally {
+                model.commitBulkEdit();
+            }
+        }
+    }
 }
@@ -0,0 +1,32 @@
+/*
+ * @(#)CoalescingUndoableEdit.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.fxbase.undo;
+
+import javax.swing.undo.UndoableEdit;
+
+/// An undoable edit that keeps absorbing changes after it has been
+/// fired, until it is closed.
+///
+/// This allows to record a whole gesture in a single edit object, instead
+/// of firing one edit object per change.
+///
+/// [FXUndoManager] closes an open edit when it receives the next edit,
+/// and before it performs an undo or redo operation.
+public interface CoalescingUndoableEdit extends UndoableEdit {
+    /// Returns true if this edit still absorbs changes.
+    ///
+    /// @return true if open
+    boolean isOpen();
+
+    /// Closes this edit. A closed edit does not absorb changes anymore.
+    void close();
+
+    /// Returns an estimate of the number of bytes that this edit
+    /// keeps reachable.
+    ///
+    /// @return the estimated memory usage in bytes
+    long getEstimatedMemoryUsage();
+}
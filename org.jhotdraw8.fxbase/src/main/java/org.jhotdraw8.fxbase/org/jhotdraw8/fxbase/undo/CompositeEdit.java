@@ -51,18 +51,33 @@ public class CompositeEdit extends CompoundEdit {
         return super.addEdit(anEdit);
     }
 
+    /// Returns the estimated memory usage of the edits in this composite edit.
+    ///
+    /// @return the estimated memory usage in bytes
+    long estimateMemoryUsage() {
+        long usage = FXUndoManager.DEFAULT_EDIT_MEMORY_USAGE;
+        for (UndoableEdit edit : edits) {
+            usage += FXUndoManager.estimateMemoryUsage(edit);
+        }
+        return usage;
+    }
+
     @Override
     public String getPresentationName() {
-        return localizedName;
+        return localizedName != null ? localizedName : super.getPresentationName();
     }
 
     @Override
     public String getUndoPresentationName() {
-        return MessageFormat.format(FXBaseLabels.getResources().getString("undo.representationName.text"), localizedName);
+        return localizedName != null
+                ? MessageFormat.format(FXBaseLabels.getResources().getString("undo.representationName.text"), localizedName)
+                : super.getUndoPresentationName();
     }
 
     @Override
     public String getRedoPresentationName() {
-        return MessageFormat.format(FXBaseLabels.getResources().getString("redo.representationName.text"), localizedName);
+        return localizedName != null
+                ? MessageFormat.format(FXBaseLabels.getResources().getString("redo.representationName.text"), localizedName)
+                : super.getRedoPresentationName();
     }
 }
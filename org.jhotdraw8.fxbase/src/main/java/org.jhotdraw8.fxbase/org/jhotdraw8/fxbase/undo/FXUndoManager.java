@@ -6,16 +6,55 @@
 package org.jhotdraw8.fxbase.undo;
 
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.LongProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import org.jspecify.annotations.Nullable;
 
+import javax.swing.UIManager;
 import javax.swing.event.UndoableEditEvent;
 import javax.swing.event.UndoableEditListener;
-import javax.swing.undo.UndoManager;
+import javax.swing.undo.UndoableEdit;
+import java.util.ArrayList;
+import java.util.List;
 
+/// Manages a history of undoable edits.
+///
+/// The manager has the same semantics as [javax.swing.undo.UndoManager]:
+/// an incoming edit is first offered to the last edit in the history
+/// ([UndoableEdit#addEdit]), then it may replace the last edit
+/// ([UndoableEdit#replaceEdit]), and otherwise it is appended to the history.
+/// Undo and redo skip over insignificant edits.
+///
+/// The history is bounded by a memory budget instead of by the number of
+/// edits. The memory usage of an edit is estimated with
+/// [CoalescingUndoableEdit#getEstimatedMemoryUsage()]. Other edits are
+/// assumed to use [#DEFAULT_EDIT_MEMORY_USAGE] bytes. When the history
+/// exceeds the memory budget, the oldest edits are discarded.
+///
+/// An open [CoalescingUndoableEdit] is closed when the next edit is received,
+/// and before an undo or redo operation is performed.
 public class FXUndoManager implements UndoableEditListener {
-    private final UndoManager manager;
+    /// The default memory budget in bytes.
+    public static final long DEFAULT_MEMORY_BUDGET = 32L << 20;
+    /// The estimated memory usage of an edit that does not provide an
+    /// estimate.
+    public static final long DEFAULT_EDIT_MEMORY_USAGE = 256;
+
+    /// The history of edits.
+    private final List<UndoableEdit> edits = new ArrayList<>();
+    /// The estimated memory usage of the edits at the same index in [#edits].
+    private final List<Long> memoryUsages = new ArrayList<>();
+    /// The index at which the next edit will be added.
+    /// All edits before this index can be undone, all edits at and
+    /// after this index can be redone.
+    private int indexOfNextAdd;
+    private long totalMemoryUsage;
+    /// The last edit that was received, if it is still open.
+    private @Nullable CoalescingUndoableEdit openEdit;
+
     @SuppressWarnings("this-escape")
     private final BooleanProperty canUndo = new SimpleBooleanProperty(this, "canUndo", false);
     @SuppressWarnings("this-escape")
@@ -24,11 +63,18 @@ public class FXUndoManager implements UndoableEditListener {
     private final StringProperty undoName = new SimpleStringProperty(this, "undoName", "Undo");
     @SuppressWarnings("this-escape")
     private final StringProperty redoName = new SimpleStringProperty(this, "redoName", "Redo");
+    @SuppressWarnings("this-escape")
+    private final LongProperty memoryBudget = new SimpleLongProperty(this, "memoryBudget", DEFAULT_MEMORY_BUDGET) {
+        @Override
+        protected void invalidated() {
+            trimForMemoryBudget();
+            updateProperties();
+        }
+    };
 
     private boolean isBusy;
 
     public FXUndoManager() {
-        this.manager = new UndoManager();
     }
 
     public StringProperty undoPresentationNameProperty() {
@@ -39,12 +85,122 @@ public class FXUndoManager implements UndoableEditListener {
         return redoName;
     }
 
+    /// The maximal number of bytes that the history may use.
+    /// The most recent edit is always kept, even if it exceeds the budget.
+    ///
+    /// @return the memory budget in bytes
+    public LongProperty memoryBudgetProperty() {
+        return memoryBudget;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget.get();
+    }
+
+    public void setMemoryBudget(long value) {
+        memoryBudget.set(value);
+    }
+
+    /// Returns the estimated memory usage of the history.
+    ///
+    /// @return the estimated memory usage in bytes
+    public long getEstimatedMemoryUsage() {
+        closeOpenEdit();
+        return totalMemoryUsage;
+    }
+
+    /// Returns the number of edits in the history.
+    ///
+    /// @return the number of edits
+    public int getEditCount() {
+        return edits.size();
+    }
+
     @Override
     public void undoableEditHappened(UndoableEditEvent e) {
-        if (!isBusy) {
-            manager.undoableEditHappened(e);
-            updateProperties();
+        UndoableEdit edit = e.getEdit();
+        if (isBusy) {
+            // an edit that is fired while we undo or redo, must not absorb
+            // any further changes, because we do not keep it
+            if (edit instanceof CoalescingUndoableEdit c) {
+                c.close();
+            }
+            return;
+        }
+        closeOpenEdit();
+        addEdit(edit);
+        if (edit instanceof CoalescingUndoableEdit c && c.isOpen()) {
+            openEdit = c;
+        }
+        trimForMemoryBudget();
+        updateProperties();
+    }
+
+    private void addEdit(UndoableEdit anEdit) {
+        // discard all edits that could be redone
+        for (int i = edits.size() - 1; i >= indexOfNextAdd; i--) {
+            removeEdit(i).die();
         }
+
+        UndoableEdit last = edits.isEmpty() ? null : edits.getLast();
+        if (last != null && last.addEdit(anEdit)) {
+            updateMemoryUsage(edits.size() - 1);
+        } else if (last != null && anEdit.replaceEdit(last)) {
+            removeEdit(edits.size() - 1);
+            appendEdit(anEdit);
+        } else {
+            appendEdit(anEdit);
+        }
+        indexOfNextAdd = edits.size();
+    }
+
+    private void appendEdit(UndoableEdit edit) {
+        long usage = estimateMemoryUsage(edit);
+        edits.add(edit);
+        memoryUsages.add(usage);
+        totalMemoryUsage += usage;
+    }
+
+    private UndoableEdit removeEdit(int index) {
+        totalMemoryUsage -= memoryUsages.remove(index);
+        return edits.remove(index);
+    }
+
+    private void updateMemoryUsage(int index) {
+        long usage = estimateMemoryUsage(edits.get(index));
+        totalMemoryUsage += usage - memoryUsages.set(index, usage);
+    }
+
+    /// Closes the open edit, and updates the memory usage of the last edit,
+    /// which may have absorbed changes from the open edit.
+    private void closeOpenEdit() {
+        if (openEdit != null) {
+            openEdit.close();
+            openEdit = null;
+            if (!edits.isEmpty()) {
+                updateMemoryUsage(edits.size() - 1);
+            }
+        }
+    }
+
+    /// Discards the oldest edits until the history fits into the memory budget.
+    private void trimForMemoryBudget() {
+        long budget = getMemoryBudget();
+        while (totalMemoryUsage > budget && indexOfNextAdd > 1) {
+            removeEdit(0).die();
+            indexOfNextAdd--;
+        }
+        while (totalMemoryUsage > budget && edits.size() > Math.max(1, indexOfNextAdd)) {
+            removeEdit(edits.size() - 1).die();
+        }
+    }
+
+    static long estimateMemoryUsage(UndoableEdit edit) {
+        return switch (edit) {
+            case CoalescingUndoableEdit c -> c.getEstimatedMemoryUsage();
+            case CompositeEdit c -> c.estimateMemoryUsage();
+            default -> DEFAULT_EDIT_MEMORY_USAGE;
+        };
     }
 
     public BooleanProperty undoableProperty() {
@@ -55,18 +211,50 @@ public class FXUndoManager implements UndoableEditListener {
         return canRedo;
     }
 
+    /// Returns the index of the last significant edit that can be undone,
+    /// or -1.
+    private int indexOfEditToBeUndone() {
+        for (int i = indexOfNextAdd - 1; i >= 0; i--) {
+            if (edits.get(i).isSignificant()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /// Returns the index of the next significant edit that can be redone,
+    /// or -1.
+    private int indexOfEditToBeRedone() {
+        for (int i = indexOfNextAdd, n = edits.size(); i < n; i++) {
+            if (edits.get(i).isSignificant()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     private void updateProperties() {
-        canUndo.set(manager.canUndo());
-        canRedo.set(manager.canRedo());
-        undoPresentationNameProperty().set(manager.getUndoPresentationName());
-        redoPresentationNameProperty().set(manager.getRedoPresentationName());
+        int undoIndex = indexOfEditToBeUndone();
+        int redoIndex = indexOfEditToBeRedone();
+        UndoableEdit toBeUndone = undoIndex < 0 ? null : edits.get(undoIndex);
+        UndoableEdit toBeRedone = redoIndex < 0 ? null : edits.get(redoIndex);
+        canUndo.set(toBeUndone != null && toBeUndone.canUndo());
+        canRedo.set(toBeRedone != null && toBeRedone.canRedo());
+        undoPresentationNameProperty().set(toBeUndone != null && toBeUndone.canUndo()
+                ? toBeUndone.getUndoPresentationName() : UIManager.getString("AbstractUndoableEdit.undoText"));
+        redoPresentationNameProperty().set(toBeRedone != null && toBeRedone.canRedo()
+                ? toBeRedone.getRedoPresentationName() : UIManager.getString("AbstractUndoableEdit.redoText"));
     }
 
     public void redo() {
-        if (manager.canRedo()) {
+        closeOpenEdit();
+        int redoIndex = indexOfEditToBeRedone();
+        if (redoIndex >= 0 && edits.get(redoIndex).canRedo()) {
             isBusy = true;
             try {
-                manager.redo();
+                while (indexOfNextAdd <= redoIndex) {
+                    edits.get(indexOfNextAdd++).redo();
+                }
             } finally {
                 updateProperties();
                 isBusy = false;
@@ -75,10 +263,14 @@ public class FXUndoManager implements UndoableEditListener {
     }
 
     public void undo() {
-        if (manager.canUndo()) {
+        closeOpenEdit();
+        int undoIndex = indexOfEditToBeUndone();
+        if (undoIndex >= 0 && edits.get(undoIndex).canUndo()) {
             isBusy = true;
             try {
-                manager.undo();
+                while (indexOfNextAdd > undoIndex) {
+                    edits.get(--indexOfNextAdd).undo();
+                }
             } finally {
                 updateProperties();
                 isBusy = false;
@@ -95,7 +287,14 @@ public class FXUndoManager implements UndoableEditListener {
     }
 
     public void discardAllEdits() {
-        manager.discardAllEdits();
+        closeOpenEdit();
+        for (UndoableEdit edit : edits) {
+            edit.die();
+        }
+        edits.clear();
+        memoryUsages.clear();
+        indexOfNextAdd = 0;
+        totalMemoryUsage = 0;
         updateProperties();
     }
 }
@@ -11,6 +11,10 @@ import javax.swing.event.UndoableEditEvent;
 import java.util.function.Consumer;
 
 /// Helper for firing [CompositeEdit] events.
+///
+/// The start and the stop of a composite edit are both delivered to the
+/// handler as an [UndoableEditEvent] with the same [CompositeEdit], so that
+/// an undo manager collects all edits in between into one undoable edit.
 public class UndoableEditHelper {
     private @Nullable CompositeEdit edit;
     private final Consumer<UndoableEditEvent> handler;
@@ -34,7 +38,7 @@ public class UndoableEditHelper {
     }
 
     private void fire(CompositeEdit edit) {
-        new UndoableEditEvent(source, edit);
+        handler.accept(new UndoableEditEvent(source, edit));
     }
 
     /// Stops composing edits.
@@ -0,0 +1,152 @@
+/*
+ * @(#)FXUndoManagerTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.fxbase.undo;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.UndoableEditEvent;
+import javax.swing.undo.AbstractUndoableEdit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FXUndoManagerTest {
+    private final FXUndoManager undoManager = new FXUndoManager();
+    private final int[] values = new int[4];
+    private final List<SetEdit> fired = new ArrayList<>();
+
+    /// Sets an element of [#values], and reports a fixed memory usage.
+    private class SetEdit extends AbstractUndoableEdit implements CoalescingUndoableEdit {
+        private final int index;
+        private final int oldValue;
+        private final int newValue;
+        private final long memoryUsage;
+
+        SetEdit(int index, int newValue, long memoryUsage) {
+            this.index = index;
+            this.oldValue = values[index];
+            this.newValue = newValue;
+            this.memoryUsage = memoryUsage;
+        }
+
+        @Override
+        public void undo() {
+            super.undo();
+            values[index] = oldValue;
+        }
+
+        @Override
+        public void redo() {
+            super.redo();
+            values[index] = newValue;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public long getEstimatedMemoryUsage() {
+            return memoryUsage;
+        }
+    }
+
+    private void set(int index, int newValue, long memoryUsage) {
+        SetEdit edit = new SetEdit(index, newValue, memoryUsage);
+        values[index] = newValue;
+        fired.add(edit);
+        undoManager.undoableEditHappened(new UndoableEditEvent(this, edit));
+    }
+
+    @Test
+    public void shouldDiscardOldestEditsWhenMemoryBudgetIsExceeded() {
+        undoManager.setMemoryBudget(250);
+        set(0, 1, 100);
+        set(1, 2, 100);
+        assertEquals(2, undoManager.getEditCount());
+        assertEquals(200, undoManager.getEstimatedMemoryUsage());
+
+        set(2, 3, 100);
+        assertEquals(2, undoManager.getEditCount());
+        assertEquals(200, undoManager.getEstimatedMemoryUsage());
+        assertFalse(fired.getFirst().canUndo(), "the discarded edit must be dead");
+
+        undoManager.setMemoryBudget(100);
+        assertEquals(1, undoManager.getEditCount());
+        assertEquals(100, undoManager.getEstimatedMemoryUsage());
+    }
+
+    @Test
+    public void shouldKeepTheMostRecentEditEvenIfItExceedsTheMemoryBudget() {
+        undoManager.setMemoryBudget(50);
+        set(0, 1, 100);
+        set(1, 2, 100);
+        assertEquals(1, undoManager.getEditCount());
+        assertTrue(undoManager.canUndo());
+
+        undoManager.undo();
+        assertEquals(0, values[1]);
+        assertEquals(1, values[0]);
+        assertFalse(undoManager.canUndo());
+    }
+
+    @Test
+    public void shouldUndoAndRedoAfterDiscardingEdits() {
+        undoManager.setMemoryBudget(250);
+        set(0, 1, 100);
+        set(1, 2, 100);
+        set(2, 3, 100);
+
+        undoManager.undo();
+        undoManager.undo();
+        assertFalse(undoManager.canUndo());
+        assertTrue(undoManager.canRedo());
+        // the discarded edit of values[0] can not be undone
+        assertEquals(1, values[0]);
+        assertEquals(0, values[1]);
+        assertEquals(0, values[2]);
+
+        undoManager.redo();
+        undoManager.redo();
+        assertFalse(undoManager.canRedo());
+        assertEquals(2, values[1]);
+        assertEquals(3, values[2]);
+
+        undoManager.undo();
+        set(3, 4, 100);
+        assertEquals(2, undoManager.getEditCount(), "the redoable edit must be discarded");
+        assertFalse(undoManager.canRedo());
+        undoManager.undo();
+        undoManager.undo();
+        assertEquals(0, values[1]);
+        assertEquals(0, values[2]);
+        assertEquals(0, values[3]);
+    }
+
+    @Test
+    public void shouldDiscardRedoableEditsWhenTheMemoryBudgetShrinks() {
+        set(0, 1, 100);
+        set(1, 2, 100);
+        set(2, 3, 100);
+        undoManager.undo();
+        undoManager.undo();
+        assertEquals(3, undoManager.getEditCount());
+
+        undoManager.setMemoryBudget(150);
+        assertEquals(1, undoManager.getEditCount());
+        assertTrue(undoManager.canUndo());
+        assertFalse(undoManager.canRedo());
+        undoManager.undo();
+        assertEquals(0, values[0]);
+    }
+}
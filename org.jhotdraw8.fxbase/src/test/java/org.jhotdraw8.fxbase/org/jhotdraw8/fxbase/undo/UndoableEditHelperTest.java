@@ -0,0 +1,46 @@
+/*
+ * @(#)UndoableEditHelperTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.fxbase.undo;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.UndoableEditEvent;
+import javax.swing.undo.AbstractUndoableEdit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UndoableEditHelperTest {
+    @Test
+    public void shouldDeliverStartAndStopOfACompositeEdit() {
+        List<UndoableEditEvent> events = new ArrayList<>();
+        UndoableEditHelper helper = new UndoableEditHelper(this, events::add);
+        helper.startCompositeEdit("name");
+        helper.startCompositeEdit("ignored");
+        helper.stopCompositeEdit();
+        helper.stopCompositeEdit();
+
+        assertEquals(2, events.size());
+        assertSame(this, events.getFirst().getSource());
+        assertTrue(events.getFirst().getEdit() instanceof CompositeEdit);
+        assertSame(events.getFirst().getEdit(), events.getLast().getEdit());
+    }
+
+    @Test
+    public void shouldCollectEditsInOneUndoableEdit() {
+        FXUndoManager undoManager = new FXUndoManager();
+        UndoableEditHelper helper = new UndoableEditHelper(this, undoManager::undoableEditHappened);
+        helper.startCompositeEdit("name");
+        undoManager.undoableEditHappened(new UndoableEditEvent(this, new AbstractUndoableEdit()));
+        undoManager.undoableEditHappened(new UndoableEditEvent(this, new AbstractUndoableEdit()));
+        helper.stopCompositeEdit();
+        undoManager.undoableEditHappened(new UndoableEditEvent(this, new AbstractUndoableEdit()));
+
+        assertEquals(2, undoManager.getEditCount());
+    }
+}
@@ -0,0 +1,643 @@
+/*
+ * @(#)AbstractIndexedTreeObservableSet.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.fxcollection.indexedset;
+
+import javafx.collections.ObservableListBase;
+import org.jhotdraw8.collection.spliterator.ReverseListSpliterator;
+import org.jhotdraw8.icollection.facade.ReadableSequencedSetFacade;
+import org.jhotdraw8.icollection.readable.ReadableSequencedSet;
+import org.jhotdraw8.icollection.readable.ReadableSet;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/// Abstract base class for [Set]s that provide precise control where each
+/// element is inserted.
+///
+/// The set is backed by an order statistic tree (a treap, in which each
+/// node knows the size of its subtree and its parent), and by a hash map
+/// from the elements to the nodes of the tree. Insertion, removal,
+/// [#indexOf] and [#get] are in `O(log n)`, contains check is `O(1)`,
+/// where `n` is the number of elements.
+///
+/// This class has the same change semantics as
+/// [AbstractIndexedArrayObservableSet]. Use it instead, if the set can
+/// become large, and elements are inserted or removed in the middle of the set.
+///
+/// The elements must have a stable [Object#hashCode()].
+///
+/// @param <E> the element type
+public abstract class AbstractIndexedTreeObservableSet<E> extends ObservableListBase<E>
+        implements Set<E>, ReadableSequencedSet<E>, ReadableSet<E> {
+
+    private static final class Node<E> {
+        private E value;
+        private final int priority;
+        private int size = 1;
+        private @Nullable Node<E> left;
+        private @Nullable Node<E> right;
+        private @Nullable Node<E> parent;
+
+        private Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private @Nullable Node<E> root;
+    private final Map<E, Node<E>> nodes = new HashMap<>();
+    /// State of the xorshift generator for the priorities of the nodes.
+    private int seed = 0x2545f491;
+    /// Results of [#split].
+    private @Nullable Node<E> splitLeft, splitRight;
+
+    /// Creates a new instance.
+    public AbstractIndexedTreeObservableSet() {
+    }
+
+    /// Creates a new instance and adds all elements of the specified collection
+    /// to it.
+    ///
+    /// @param col A collection.
+    public AbstractIndexedTreeObservableSet(Collection<? extends E> col) {
+        setAll(col);
+    }
+
+    @Override
+    public boolean setAll(Collection<? extends E> col) {
+        beginChange();
+        try {
+            clear();
+            addAll(col);
+        } finally {
+            endChange();
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends E> c) {
+        boolean changed = false;
+        beginChange();
+        try {
+            for (Object o : c.toArray()) {
+                changed |= add((E) o);
+            }
+        } finally {
+            endChange();
+        }
+        return changed;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(int index, Collection<? extends E> c) {
+        boolean changed = false;
+        beginChange();
+        try {
+            for (Object o : c.toArray()) {
+                if (!contains(o)) {
+                    changed = true;
+                    add(index++, (E) o);
+                }
+            }
+        } finally {
+            endChange();
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        beginChange();
+        try {
+            return super.removeAll(c);
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        beginChange();
+        try {
+            return super.retainAll(c);
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        doAdd(index, element);
+    }
+
+    /// Swaps the element at `oldIndex` with the element at `newIndex`.
+    ///
+    /// So that `indexOf(element) == newIndex`;
+    ///
+    /// @param oldIndex the current index of the element
+    /// @param newIndex the desired new index of the element
+    public void move(int oldIndex, int newIndex) {
+        if (oldIndex == newIndex) {
+            return;
+        }
+        beginChange();
+        doSet(newIndex, doSet(oldIndex, doGet(newIndex)));
+        int from = min(oldIndex, newIndex);
+        int to = max(oldIndex, newIndex) + 1;
+        int[] perm = new int[to - from];
+        for (int i = 1; i < perm.length - 1; i++) {
+            perm[i] = from + i;
+        }
+        perm[oldIndex - from] = newIndex;
+        perm[newIndex - from] = oldIndex;
+        nextPermutation(from, to, perm);
+        endChange();
+    }
+
+    private E doSet(int index, E newValue) {
+        Node<E> node = nodeAt(index);
+        E oldValue = node.value;
+        if (nodes.get(oldValue) == node) {
+            nodes.remove(oldValue);
+        }
+        node.value = newValue;
+        nodes.put(newValue, node);
+        return oldValue;
+    }
+
+    protected boolean doAdd(int index, E element) {
+        if (!mayBeAdded(element)) {
+            return false;
+        }
+        int oldIndex = indexOf(element);
+        int clampedIndex = min(index, size() - 1);
+        if (oldIndex < 0) {
+            // the element is not yet in the list => insert it
+            treeDoAdd(index, element);
+            beginChange();
+            nextAdd(index, index + 1);
+            onAdded(element);
+            ++modCount;
+            endChange();
+            return true;
+        } else if (oldIndex == clampedIndex || index - oldIndex == 1) {
+            // the element is already at the desired index in the list
+            return false;
+        } else {
+            // => move the element from the old index to the desired index
+            beginChange();
+            treeDoRemove(oldIndex);
+            nextRemove(oldIndex, element);
+            int addIndex = oldIndex < index ? index - 1 : index;
+            treeDoAdd(addIndex, element);
+            nextAdd(addIndex, addIndex + 1);
+            ++modCount;
+            endChange();
+            return false;
+        }
+    }
+
+    @Override
+    public E set(int index, E element) {
+        int oldIndex = indexOf(element);
+        if (oldIndex < 0) {
+            beginChange();
+            E old = doSet(index, element);
+            onRemoved(old);
+            nextSet(index, old);
+            onAdded(element);
+            endChange();
+            return old;
+        } else if (oldIndex == index) {
+            // the element is replaced by itself
+            return element;
+        } else {
+            // the element at the index is removed
+            beginChange();
+            E old = treeDoRemove(index);
+            nextRemove(index, old);
+            onRemoved(old);
+            // the old element is permuted
+            if (oldIndex > index) {
+                oldIndex--;
+            }
+            move(oldIndex, oldIndex < index ? index - 1 : index);
+            endChange();
+            return old;
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        @SuppressWarnings("unchecked")
+        Boolean isContained = onContains((E) o);
+        return (isContained != null) ? isContained : nodes.containsKey(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int i = indexOf(o);
+        if (i != -1) {
+            remove(i);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public E remove(int index) {
+        E old = treeDoRemove(index);
+        beginChange();
+        nextRemove(index, old);
+        ++modCount;
+        onRemoved(old);
+        endChange();
+        return old;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex) {
+        List<E> removed = treeDoRemoveRange(fromIndex, toIndex);
+        if (removed.isEmpty()) {
+            return;
+        }
+        beginChange();
+        nextRemove(fromIndex, removed);
+        ++modCount;
+        for (E old : removed) {
+            onRemoved(old);
+        }
+        endChange();
+    }
+
+    @Override
+    public E get(int index) {
+        return doGet(index);
+    }
+
+    private E doGet(int index) {
+        return nodeAt(index).value;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public boolean add(E e) {
+        return doAdd(size(), e);
+    }
+
+    @Override
+    public int indexOf(@Nullable Object o) {
+        @SuppressWarnings("unchecked") final E element = (E) o;
+        if (Boolean.FALSE.equals(onContains(element))) {
+            return -1;
+        }
+        Node<E> node = nodes.get(o);
+        return node == null ? -1 : rank(node);
+    }
+
+    @Override
+    public int lastIndexOf(@Nullable Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public final E getFirst() {
+        return doGet(0);
+    }
+
+    @Override
+    public E getLast() {
+        return doGet(size() - 1);
+    }
+
+    /// This method is invoked after an element has been removed.
+    ///
+    /// @param e the removed element
+    protected abstract void onRemoved(E e);
+
+    /// This method is invoked after an element has been added.
+    ///
+    /// @param e the added element
+    protected abstract void onAdded(E e);
+
+    /// This method is called, when a [#contains(Object)] check
+    /// is needed.
+    ///
+    /// Subclasses can implement this method to reject elements without
+    /// looking them up in the hash map.
+    ///
+    /// @param e an object
+    /// @return true if the object is a member of this set,
+    /// false if the object is not a member of this set,
+    /// null if it is not known whether the object is a member
+    /// of the set or not
+    protected abstract @Nullable Boolean onContains(E e);
+
+    /// Returns true if the specified element can be added to this
+    /// set.
+    ///
+    /// @param e an object
+    /// @return true if the object may be added to this set
+    protected abstract boolean mayBeAdded(E e);
+
+    public void fireItemUpdated(int index) {
+        beginChange();
+        nextUpdate(index);
+        endChange();
+    }
+
+    public boolean hasChangeListeners() {
+        return super.hasListeners();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new TreeIterator();
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.ORDERED);
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return super.stream();
+    }
+
+    public boolean equals(Object o) {
+        // Overrides equals in AbstractList, because we must compute equals
+        // as specified in the Set interface.
+        if (o == this) {
+            return true;
+        }
+
+        if (!(o instanceof Set)) {
+            return false;
+        }
+        Collection<?> c = (Collection<?>) o;
+        if (c.size() != size()) {
+            return false;
+        }
+        try {
+            return containsAll(c);
+        } catch (ClassCastException | NullPointerException unused) {
+            return false;
+        }
+    }
+
+    public int hashCode() {
+        // Overrides hashCode in AbstractList, because we must compute the hashCode
+        // as specified in the Set interface.
+        int h = 0;
+        for (E obj : this) {
+            if (obj != null) {
+                h += obj.hashCode();
+            }
+        }
+        return h;
+    }
+
+    @Override
+    public ReadableSequencedSet<E> readableReversed() {
+        return new ReadableSequencedSetFacade<>(
+                () -> new ReverseListSpliterator<>(this, 0, size()),
+                this::iterator,
+                this::size,
+                this::contains,
+                this::getLast,
+                this::getFirst,
+                Spliterator.DISTINCT | Spliterator.SIZED
+        );
+    }
+
+    // ---
+    // order statistic tree
+    // ---
+
+    private static int size(@Nullable Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static <E> Node<E> update(Node<E> n) {
+        n.size = 1 + size(n.left) + size(n.right);
+        if (n.left != null) {
+            n.left.parent = n;
+        }
+        if (n.right != null) {
+            n.right.parent = n;
+        }
+        return n;
+    }
+
+    private int nextPriority() {
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        return seed = x;
+    }
+
+    private Node<E> nodeAt(int index) {
+        Objects.checkIndex(index, size());
+        Node<E> n = root;
+        while (true) {
+            assert n != null;
+            int leftSize = size(n.left);
+            if (index < leftSize) {
+                n = n.left;
+            } else if (index == leftSize) {
+                return n;
+            } else {
+                index -= leftSize + 1;
+                n = n.right;
+            }
+        }
+    }
+
+    /// Returns the index of the specified node.
+    private static <E> int rank(Node<E> n) {
+        int index = size(n.left);
+        for (Node<E> p = n.parent; p != null; n = p, p = p.parent) {
+            if (p.right == n) {
+                index += size(p.left) + 1;
+            }
+        }
+        return index;
+    }
+
+    private static <E> @Nullable Node<E> successor(Node<E> n) {
+        if (n.right != null) {
+            n = n.right;
+            while (n.left != null) {
+                n = n.left;
+            }
+            return n;
+        }
+        while (n.parent != null && n.parent.right == n) {
+            n = n.parent;
+        }
+        return n.parent;
+    }
+
+    private @Nullable Node<E> merge(@Nullable Node<E> a, @Nullable Node<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        } else {
+            b.left = merge(a, b.left);
+            return update(b);
+        }
+    }
+
+    /// Splits the subtree `n` into [#splitLeft] with the first `k` nodes,
+    /// and into [#splitRight] with the remaining nodes.
+    private void split(@Nullable Node<E> n, int k) {
+        if (n == null) {
+            splitLeft = splitRight = null;
+        } else if (k <= size(n.left)) {
+            split(n.left, k);
+            n.left = splitRight;
+            splitRight = update(n);
+        } else {
+            split(n.right, k - size(n.left) - 1);
+            n.right = splitLeft;
+            splitLeft = update(n);
+        }
+    }
+
+    private void setRoot(@Nullable Node<E> n) {
+        root = n;
+        if (n != null) {
+            n.parent = null;
+        }
+    }
+
+    private void treeDoAdd(int index, E element) {
+        Objects.checkIndex(index, size() + 1);
+        Node<E> node = new Node<>(element, nextPriority());
+        nodes.put(element, node);
+        split(root, index);
+        Node<E> left = splitLeft, right = splitRight;
+        splitLeft = splitRight = null;
+        setRoot(merge(merge(left, node), right));
+    }
+
+    private E treeDoRemove(int index) {
+        Objects.checkIndex(index, size());
+        split(root, index);
+        Node<E> left = splitLeft;
+        split(splitRight, 1);
+        Node<E> removed = Objects.requireNonNull(splitLeft), right = splitRight;
+        splitLeft = splitRight = null;
+        setRoot(merge(left, right));
+        nodes.remove(removed.value);
+        removed.parent = null;
+        return removed.value;
+    }
+
+    private List<E> treeDoRemoveRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size());
+        int removedCount = toIndex - fromIndex;
+        ArrayList<E> removed = new ArrayList<>(removedCount);
+        if (removedCount > 0) {
+            split(root, fromIndex);
+            Node<E> left = splitLeft;
+            split(splitRight, removedCount);
+            Node<E> middle = Objects.requireNonNull(splitLeft), right = splitRight;
+            splitLeft = splitRight = null;
+            middle.parent = null;
+            Node<E> n = middle;
+            while (n.left != null) {
+                n = n.left;
+            }
+            for (; n != null; n = successor(n)) {
+                removed.add(n.value);
+            }
+            for (E e : removed) {
+                nodes.remove(e);
+            }
+            setRoot(merge(left, right));
+        }
+        return removed;
+    }
+
+    /// Iterates over the nodes in order. Each step takes amortized `O(1)` time.
+    private class TreeIterator implements Iterator<E> {
+        private @Nullable Node<E> next;
+        private @Nullable Node<E> lastReturned;
+        private int expectedModCount = modCount;
+
+        TreeIterator() {
+            Node<E> n = root;
+            if (n != null) {
+                while (n.left != null) {
+                    n = n.left;
+                }
+            }
+            next = n;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            Node<E> n = next;
+            if (n == null) {
+                throw new NoSuchElementException();
+            }
+            next = successor(n);
+            lastReturned = n;
+            return n.value;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            AbstractIndexedTreeObservableSet.this.remove(rank(lastReturned));
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+    }
+}
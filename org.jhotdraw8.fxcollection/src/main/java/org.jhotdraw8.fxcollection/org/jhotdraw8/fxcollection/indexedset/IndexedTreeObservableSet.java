@@ -0,0 +1,44 @@
+/*
+ * @(#)IndexedTreeObservableSet.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.fxcollection.indexedset;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+
+/// A set that provides precise control where each element is inserted;
+/// this set is backed by an order statistic tree.
+///
+/// @param <E> the element type
+public class IndexedTreeObservableSet<E> extends AbstractIndexedTreeObservableSet<E> {
+    public IndexedTreeObservableSet() {
+    }
+
+    public IndexedTreeObservableSet(Collection<? extends E> col) {
+        super(col);
+    }
+
+    @Override
+    protected void onRemoved(E e) {
+        // empty
+    }
+
+    @Override
+    protected void onAdded(E e) {
+        // empty
+    }
+
+    @Override
+    protected @Nullable Boolean onContains(E e) {
+        // the hash map of the tree answers the contains check
+        return null;
+    }
+
+    @Override
+    protected boolean mayBeAdded(E e) {
+        return true;
+    }
+}
@@ -8,6 +8,7 @@ import org.jspecify.annotations.Nullable;
 
 import java.lang.reflect.Type;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /// A _name_ which provides typesafe access to a map entry.
 ///
@@ -25,7 +26,11 @@ import java.util.Objects;
 ///
 /// @param <T> the value type
 public abstract class AbstractKey<T> implements Key<T> {
+    /// Holds the ordinal of the next key.
+    private static final AtomicInteger nextOrdinal = new AtomicInteger();
 
+    /// Holds the ordinal of this key.
+    private final int ordinal = nextOrdinal.getAndIncrement();
 
     /// Holds a String representation of the name.
     private final String name;
@@ -116,6 +121,11 @@ public abstract class AbstractKey<T> implements Key<T> {
         return isNullable;
     }
 
+    @Override
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     @Override
     public boolean isTransient() {
         return isTransient;
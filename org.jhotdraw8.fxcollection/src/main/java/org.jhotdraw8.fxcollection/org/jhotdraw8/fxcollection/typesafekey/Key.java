@@ -177,6 +177,17 @@ public interface Key<T> extends MapAccessor<T> {
     /// @return true if nullable
     boolean isNullable();
 
+    /// Returns a number that uniquely identifies this key among all keys
+    /// that have been created.
+    ///
+    /// Ordinals are assigned in creation order, starting from 0, so that
+    /// they can be used as indices into arrays.
+    ///
+    /// @return the ordinal, or -1 if this key does not have an ordinal
+    default int getOrdinal() {
+        return -1;
+    }
+
     /// Returns true if the specified value is assignable with this key.
     ///
     /// @param value The object to be verified for assignability.
@@ -0,0 +1,127 @@
+/*
+ * @(#)IndexedTreeObservableSetTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.fxcollection.indexedset;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IndexedTreeObservableSetTest extends AbstractSetTestOld {
+    @Override
+    protected <T> Set<T> create(int expectedMaxSize, float maxLoadFactor) {
+        return new IndexedTreeObservableSet<>();
+    }
+
+    /// Applies the same random operations to an [IndexedTreeObservableSet]
+    /// and to an [IndexedArrayObservableSet], and checks that both have the
+    /// same elements, and fire the same changes.
+    @Test
+    public void shouldBehaveLikeTheArrayBackedSet() {
+        Random rng = new Random(5);
+        IndexedTreeObservableSet<Integer> actual = new IndexedTreeObservableSet<>();
+        IndexedArrayObservableSet<Integer> expected = new IndexedArrayObservableSet<>();
+        StringBuilder actualChanges = new StringBuilder();
+        StringBuilder expectedChanges = new StringBuilder();
+        actual.addListener(recorder(actualChanges));
+        expected.addListener(recorder(expectedChanges));
+        for (int step = 0; step < 5000; step++) {
+            int size = expected.size();
+            Integer e = rng.nextInt(64);
+            switch (rng.nextInt(6)) {
+                case 0 -> assertEquals(expected.add(e), actual.add(e));
+                case 1 -> {
+                    int index = rng.nextInt(size + 1);
+                    expected.add(index, e);
+                    actual.add(index, e);
+                }
+                case 2 -> {
+                    if (size > 0) {
+                        int index = rng.nextInt(size);
+                        assertEquals(expected.remove(index), actual.remove(index));
+                    }
+                }
+                case 3 -> assertEquals(expected.remove(e), actual.remove(e));
+                case 4 -> {
+                    if (size > 0) {
+                        int index = rng.nextInt(size);
+                        assertEquals(expected.set(index, e), actual.set(index, e));
+                    }
+                }
+                default -> {
+                    if (size > 0) {
+                        int from = rng.nextInt(size), to = rng.nextInt(size);
+                        expected.move(from, to);
+                        actual.move(from, to);
+                    }
+                }
+            }
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(actual));
+            assertEquals(expected.indexOf(e), actual.indexOf(e));
+            assertEquals(expected.contains(e), actual.contains(e));
+            assertEquals(expectedChanges.toString(), actualChanges.toString());
+        }
+    }
+
+    @Test
+    public void shouldRemoveRangesAndIteratorElements() {
+        List<Integer> expected = new ArrayList<>();
+        IndexedTreeObservableSet<Integer> actual = new IndexedTreeObservableSet<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+        }
+        actual.addAll(expected);
+
+        StringBuilder changes = new StringBuilder();
+        actual.addListener(recorder(changes));
+        actual.subList(100, 300).clear();
+        expected.subList(100, 300).clear();
+        assertEquals(expected, new ArrayList<>(actual));
+        assertEquals("rem(100,200)", changes.toString());
+        assertEquals(100, actual.indexOf(300));
+        assertEquals(-1, actual.indexOf(200));
+
+        for (Iterator<Integer> it = actual.iterator(); it.hasNext(); ) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        expected.removeIf(i -> i % 2 == 0);
+        assertEquals(expected, new ArrayList<>(actual));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i, actual.indexOf(expected.get(i)));
+        }
+    }
+
+    private static <E> ListChangeListener<E> recorder(StringBuilder buf) {
+        return c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) {
+                    buf.append("perm(");
+                    for (int i = c.getFrom(); i < c.getTo(); i++) {
+                        buf.append(c.getPermutation(i)).append(',');
+                    }
+                    buf.append(')');
+                } else if (c.wasUpdated()) {
+                    buf.append("upd(").append(c.getFrom()).append(')');
+                } else {
+                    if (c.wasAdded()) {
+                        buf.append("add(").append(c.getFrom()).append(',').append(c.getAddedSubList()).append(')');
+                    }
+                    if (c.wasRemoved()) {
+                        buf.append("rem(").append(c.getFrom()).append(',').append(c.getRemovedSize()).append(')');
+                    }
+                }
+            }
+        };
+    }
+}
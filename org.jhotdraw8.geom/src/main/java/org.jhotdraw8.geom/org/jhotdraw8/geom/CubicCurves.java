@@ -11,7 +11,7 @@ import org.jspecify.annotations.Nullable;
 
 import java.awt.geom.CubicCurve2D;
 import java.awt.geom.Point2D;
-import java.util.function.ToDoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 
 import static org.jhotdraw8.geom.Lines.lerp;
 
@@ -360,7 +360,7 @@ public class CubicCurves {
     /// @param v      a cubic bezier curve
     /// @param offset offset into array v
     /// @return the arc length integrand of a cubic Bézier curve
-    public static ToDoubleFunction<Double> getArcLengthIntegrand(double[] v, int offset) {
+    public static DoubleUnaryOperator getArcLengthIntegrand(double[] v, int offset) {
         // Instead of the code below, we could evaluate the magnitude of the derivative
         /*
         return (t)-> {
@@ -417,7 +417,7 @@ public class CubicCurves {
     /// @param epsilon the error tolerance
     /// @return the arc length
     public static double arcLength(double[] p, int offset, double t, double epsilon) {
-        ToDoubleFunction<Double> f = getArcLengthIntegrand(p, offset);
+        DoubleUnaryOperator f = getArcLengthIntegrand(p, offset);
         return Integrals.rombergQuadrature(f, 0, t, epsilon);
     }
 
@@ -442,7 +442,7 @@ public class CubicCurves {
     /// @param epsilon
     /// @return t at s
     public static double invArcLength(double[] p, int offset, double s, double totalArcLength, double epsilon) {
-        ToDoubleFunction<Double> f = getArcLengthIntegrand(p, offset);
+        DoubleUnaryOperator f = getArcLengthIntegrand(p, offset);
         return Solvers.hybridNewtonBisectionMethod(Integrals::rombergQuadrature, f, s, 0, 1, s / totalArcLength, epsilon);
     }
 }
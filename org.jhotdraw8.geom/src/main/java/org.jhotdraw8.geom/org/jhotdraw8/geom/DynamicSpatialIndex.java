@@ -0,0 +1,457 @@
+/*
+ * @(#)DynamicSpatialIndex.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/// A spatial index that supports insertion, removal and update of elements
+/// with axis-aligned bounding boxes.
+///
+/// The index is a bounding volume hierarchy (BVH) in the form of a
+/// binary AABB tree. Leaves are inserted with a surface area heuristic,
+/// and the tree is kept balanced with rotations.
+///
+/// Each leaf stores a "fat" bounding box, that is enlarged by a margin.
+/// If the bounds of an element change only slightly, so that they still
+/// fit into the fat bounding box, then the tree does not need to be changed.
+///
+/// Elements are compared by identity.
+///
+/// Performance characteristics:
+/// - insertion, removal, update: `O(log n)` amortized
+/// - query: `O(log n + k)`, where `k` is the number of elements found.
+///
+/// References:
+/// <dl>
+///     <dt>Box2D. b2DynamicTree. Copyright (c) 2009 Erin Catto.
+///     <a href="https://github.com/erincatto/box2d/blob/28adacf82377d4113f2ed00586141463244b9d10/LICENSE">MIT License.</a></dt>
+///     <dd><a href="https://github.com/erincatto/box2d">github.com</a></dd>
+/// </dl>
+///
+/// @param <E> the element type
+public class DynamicSpatialIndex<E> {
+    private static final int NULL = -1;
+    /// Margin by which the bounding boxes of leaf nodes are enlarged.
+    private final double margin;
+    /// Maps elements to leaf nodes.
+    private final Map<E, Integer> elementToLeaf = new IdentityHashMap<>();
+    /// Fat bounding boxes of all nodes. Contains 4 entries
+    /// for each node: minX,minY,maxX,maxY.
+    private double[] fatBoxes;
+    /// Exact bounding boxes of leaf nodes. Contains 4 entries
+    /// for each node: minX,minY,maxX,maxY.
+    private double[] boxes;
+    /// Parent of each node, or the next free node if the node is free.
+    private int[] parent;
+    private int[] child1;
+    private int[] child2;
+    /// Height of each node. Leaves have height 0, free nodes have height -1.
+    private int[] height;
+    private @Nullable Object[] elements;
+    private int root = NULL;
+    private int freeList = NULL;
+
+    /// Creates a new instance with a margin of 0.
+    public DynamicSpatialIndex() {
+        this(0.0);
+    }
+
+    /// Creates a new instance with the specified margin.
+    ///
+    /// @param margin the margin by which the bounding boxes of the elements
+    ///               are enlarged inside the index
+    public DynamicSpatialIndex(double margin) {
+        if (!(margin >= 0)) {
+            throw new IllegalArgumentException("margin (" + margin + ") must be greater or equal 0");
+        }
+        this.margin = margin;
+        int capacity = 16;
+        fatBoxes = new double[capacity * 4];
+        boxes = new double[capacity * 4];
+        parent = new int[capacity];
+        child1 = new int[capacity];
+        child2 = new int[capacity];
+        height = new int[capacity];
+        elements = new Object[capacity];
+        initFreeList(0, capacity);
+    }
+
+    /// Returns the number of elements in this index.
+    ///
+    /// @return the number of elements
+    public int size() {
+        return elementToLeaf.size();
+    }
+
+    /// Returns true if this index contains no elements.
+    ///
+    /// @return true if empty
+    public boolean isEmpty() {
+        return elementToLeaf.isEmpty();
+    }
+
+    /// Returns true if this index contains the specified element.
+    ///
+    /// @param element an element
+    /// @return true if the element is in this index
+    public boolean contains(E element) {
+        return elementToLeaf.containsKey(element);
+    }
+
+    /// Removes all elements from this index.
+    public void clear() {
+        elementToLeaf.clear();
+        Arrays.fill(elements, null);
+        root = NULL;
+        freeList = NULL;
+        initFreeList(0, parent.length);
+    }
+
+    /// Adds the element to the index, or updates the bounds of the
+    /// element if it is already in the index.
+    ///
+    /// If the bounds are empty or contain NaN values, the element is
+    /// removed from the index.
+    ///
+    /// @param element the element
+    /// @param minX    the minimal x coordinate of the bounds of the element
+    /// @param minY    the minimal y coordinate of the bounds of the element
+    /// @param maxX    the maximal x coordinate of the bounds of the element
+    /// @param maxY    the maximal y coordinate of the bounds of the element
+    /// @return true if the tree structure was changed
+    public boolean put(E element, double minX, double minY, double maxX, double maxY) {
+        if (!(minX <= maxX && minY <= maxY)) {
+            return remove(element);
+        }
+        Integer leafOrNull = elementToLeaf.get(element);
+        int leaf;
+        if (leafOrNull != null) {
+            leaf = leafOrNull;
+            int k = leaf * 4;
+            boxes[k] = minX;
+            boxes[k + 1] = minY;
+            boxes[k + 2] = maxX;
+            boxes[k + 3] = maxY;
+            if (fatBoxes[k] <= minX && fatBoxes[k + 1] <= minY
+                    && maxX <= fatBoxes[k + 2] && maxY <= fatBoxes[k + 3]) {
+                return false;
+            }
+            removeLeaf(leaf);
+        } else {
+            leaf = allocateNode();
+            elements[leaf] = element;
+            elementToLeaf.put(element, leaf);
+            int k = leaf * 4;
+            boxes[k] = minX;
+            boxes[k + 1] = minY;
+            boxes[k + 2] = maxX;
+            boxes[k + 3] = maxY;
+        }
+        int k = leaf * 4;
+        fatBoxes[k] = minX - margin;
+        fatBoxes[k + 1] = minY - margin;
+        fatBoxes[k + 2] = maxX + margin;
+        fatBoxes[k + 3] = maxY + margin;
+        insertLeaf(leaf);
+        return true;
+    }
+
+    /// Removes the element from the index.
+    ///
+    /// @param element the element
+    /// @return true if the element was in the index
+    public boolean remove(E element) {
+        Integer leaf = elementToLeaf.remove(element);
+        if (leaf == null) {
+            return false;
+        }
+        removeLeaf(leaf);
+        freeNode(leaf);
+        return true;
+    }
+
+    /// Invokes the consumer for each element whose bounds intersect with
+    /// the specified rectangle.
+    ///
+    /// The consumer must not modify this index.
+    ///
+    /// @param minX     the minimal x coordinate of the rectangle
+    /// @param minY     the minimal y coordinate of the rectangle
+    /// @param maxX     the maximal x coordinate of the rectangle
+    /// @param maxY     the maximal y coordinate of the rectangle
+    /// @param consumer the consumer
+    @SuppressWarnings("unchecked")
+    public void forEachIntersecting(double minX, double minY, double maxX, double maxY, Consumer<? super E> consumer) {
+        if (root == NULL) {
+            return;
+        }
+        // each iteration pops one node and pushes at most two children,
+        // so the stack never holds more than height + 1 nodes
+        int[] stack = new int[height[root] + 1];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            int k = node * 4;
+            if (fatBoxes[k] > maxX || fatBoxes[k + 2] < minX
+                    || fatBoxes[k + 1] > maxY || fatBoxes[k + 3] < minY) {
+                continue;
+            }
+            if (child1[node] == NULL) {
+                if (!(boxes[k] > maxX || boxes[k + 2] < minX
+                        || boxes[k + 1] > maxY || boxes[k + 3] < minY)) {
+                    consumer.accept((E) elements[node]);
+                }
+            } else {
+                stack[top++] = child1[node];
+                stack[top++] = child2[node];
+            }
+        }
+    }
+
+    /// Returns the height of the tree. This is 0 if the tree is empty,
+    /// or if it only contains a single element.
+    ///
+    /// @return the height of the tree
+    public int getHeight() {
+        return root == NULL ? 0 : height[root];
+    }
+
+    private void initFreeList(int from, int to) {
+        for (int i = from; i < to - 1; i++) {
+            parent[i] = i + 1;
+            height[i] = -1;
+        }
+        parent[to - 1] = freeList;
+        height[to - 1] = -1;
+        freeList = from;
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL) {
+            int oldCapacity = parent.length;
+            int newCapacity = oldCapacity * 2;
+            fatBoxes = Arrays.copyOf(fatBoxes, newCapacity * 4);
+            boxes = Arrays.copyOf(boxes, newCapacity * 4);
+            parent = Arrays.copyOf(parent, newCapacity);
+            child1 = Arrays.copyOf(child1, newCapacity);
+            child2 = Arrays.copyOf(child2, newCapacity);
+            height = Arrays.copyOf(height, newCapacity);
+            elements = Arrays.copyOf(elements, newCapacity);
+            initFreeList(oldCapacity, newCapacity);
+        }
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL;
+        child1[node] = NULL;
+        child2[node] = NULL;
+        height[node] = 0;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        elements[node] = null;
+        parent[node] = freeList;
+        height[node] = -1;
+        freeList = node;
+    }
+
+    private double perimeterOfUnion(int a, int b) {
+        int i = a * 4, j = b * 4;
+        double w = Math.max(fatBoxes[i + 2], fatBoxes[j + 2]) - Math.min(fatBoxes[i], fatBoxes[j]);
+        double h = Math.max(fatBoxes[i + 3], fatBoxes[j + 3]) - Math.min(fatBoxes[i + 1], fatBoxes[j + 1]);
+        return w + h;
+    }
+
+    private double perimeter(int a) {
+        int i = a * 4;
+        return fatBoxes[i + 2] - fatBoxes[i] + fatBoxes[i + 3] - fatBoxes[i + 1];
+    }
+
+    private void setUnion(int target, int a, int b) {
+        int t = target * 4, i = a * 4, j = b * 4;
+        fatBoxes[t] = Math.min(fatBoxes[i], fatBoxes[j]);
+        fatBoxes[t + 1] = Math.min(fatBoxes[i + 1], fatBoxes[j + 1]);
+        fatBoxes[t + 2] = Math.max(fatBoxes[i + 2], fatBoxes[j + 2]);
+        fatBoxes[t + 3] = Math.max(fatBoxes[i + 3], fatBoxes[j + 3]);
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL) {
+            root = leaf;
+            parent[leaf] = NULL;
+            return;
+        }
+
+        // Find the best sibling for the leaf with the surface area heuristic
+        int index = root;
+        while (child1[index] != NULL) {
+            int c1 = child1[index];
+            int c2 = child2[index];
+            double area = perimeter(index);
+            double combinedArea = perimeterOfUnion(index, leaf);
+            // cost of creating a new parent for this node and the new leaf
+            double cost = 2 * combinedArea;
+            // minimum cost of pushing the leaf further down the tree
+            double inheritanceCost = 2 * (combinedArea - area);
+            double cost1 = child1[c1] == NULL
+                    ? perimeterOfUnion(c1, leaf) + inheritanceCost
+                    : perimeterOfUnion(c1, leaf) - perimeter(c1) + inheritanceCost;
+            double cost2 = child1[c2] == NULL
+                    ? perimeterOfUnion(c2, leaf) + inheritanceCost
+                    : perimeterOfUnion(c2, leaf) - perimeter(c2) + inheritanceCost;
+            if (cost < cost1 && cost < cost2) {
+                break;
+            }
+            index = cost1 < cost2 ? c1 : c2;
+        }
+        int sibling = index;
+
+        // Create a new parent
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        setUnion(newParent, leaf, sibling);
+        height[newParent] = height[sibling] + 1;
+        if (oldParent != NULL) {
+            if (child1[oldParent] == sibling) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refit(parent[leaf]);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL;
+            return;
+        }
+        int p = parent[leaf];
+        int grandParent = parent[p];
+        int sibling = child1[p] == leaf ? child2[p] : child1[p];
+        if (grandParent != NULL) {
+            if (child1[grandParent] == p) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+            parent[sibling] = grandParent;
+            freeNode(p);
+            refit(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL;
+            freeNode(p);
+        }
+        parent[leaf] = NULL;
+    }
+
+    /// Walks up the tree from the specified node, and fixes the heights
+    /// and bounding boxes, and balances the tree.
+    private void refit(int index) {
+        while (index != NULL) {
+            index = balance(index);
+            int c1 = child1[index];
+            int c2 = child2[index];
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            setUnion(index, c1, c2);
+            index = parent[index];
+        }
+    }
+
+    /// Performs a left or right rotation if node `a` is imbalanced.
+    ///
+    /// @param a a node
+    /// @return the new root of the subtree
+    private int balance(int a) {
+        if (child1[a] == NULL || height[a] < 2) {
+            return a;
+        }
+        int b = child1[a];
+        int c = child2[a];
+        int balance = height[c] - height[b];
+
+        if (balance > 1) {
+            // Rotate c up
+            int f = child1[c];
+            int g = child2[c];
+            child1[c] = a;
+            parent[c] = parent[a];
+            parent[a] = c;
+            replaceChild(parent[c], a, c);
+            if (height[f] > height[g]) {
+                child2[c] = f;
+                child2[a] = g;
+                parent[g] = a;
+                setUnion(a, b, g);
+                setUnion(c, a, f);
+                height[a] = 1 + Math.max(height[b], height[g]);
+                height[c] = 1 + Math.max(height[a], height[f]);
+            } else {
+                child2[c] = g;
+                child2[a] = f;
+                parent[f] = a;
+                setUnion(a, b, f);
+                setUnion(c, a, g);
+                height[a] = 1 + Math.max(height[b], height[f]);
+                height[c] = 1 + Math.max(height[a], height[g]);
+            }
+            return c;
+        }
+
+        if (balance < -1) {
+            // Rotate b up
+            int d = child1[b];
+            int e = child2[b];
+            child1[b] = a;
+            parent[b] = parent[a];
+            parent[a] = b;
+            replaceChild(parent[b], a, b);
+            if (height[d] > height[e]) {
+                child2[b] = d;
+                child1[a] = e;
+                parent[e] = a;
+                setUnion(a, c, e);
+                setUnion(b, a, d);
+                height[a] = 1 + Math.max(height[c], height[e]);
+                height[b] = 1 + Math.max(height[a], height[d]);
+            } else {
+                child2[b] = e;
+                child1[a] = d;
+                parent[d] = a;
+                setUnion(a, c, d);
+                setUnion(b, a, e);
+                height[a] = 1 + Math.max(height[c], height[d]);
+                height[b] = 1 + Math.max(height[a], height[e]);
+            }
+            return b;
+        }
+        return a;
+    }
+
+    private void replaceChild(int p, int oldChild, int newChild) {
+        if (p == NULL) {
+            root = newChild;
+        } else if (child1[p] == oldChild) {
+            child1[p] = newChild;
+        } else {
+            child2[p] = newChild;
+        }
+    }
+}
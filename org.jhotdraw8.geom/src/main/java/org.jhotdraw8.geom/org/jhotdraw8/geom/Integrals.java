@@ -6,7 +6,7 @@
 package org.jhotdraw8.geom;
 
 
-import java.util.function.ToDoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 
 import static java.lang.Math.abs;
 
@@ -16,6 +16,21 @@ public class Integrals {
     private Integrals() {
     }
 
+    /// A quadrature function estimates the integral of a function `f`
+    /// in the interval `[a,b]`.
+    ///
+    /// For example, `Integrals::rombergQuadrature` or `Integrals::gaussLegendre7`.
+    @FunctionalInterface
+    public interface Quadrature {
+        /// Estimates the integral of `f` in the interval `[a,b]`.
+        ///
+        /// @param f the function
+        /// @param a the lower bound of the interval
+        /// @param b the upper bound of the interval
+        /// @return the estimated integral
+        double integrate(DoubleUnaryOperator f, double a, double b);
+    }
+
     /// Romberg Quadrature.
     ///
     /// References:
@@ -30,7 +45,7 @@ public class Integrals {
     /// @param t0 the lower bound of the integral
     /// @param t1 the upper bound of the integral
     /// @return the estimated integral
-    public static double rombergQuadrature(ToDoubleFunction<Double> f, double t0, double t1) {
+    public static double rombergQuadrature(DoubleUnaryOperator f, double t0, double t1) {
         return rombergQuadrature(f, t0, t1, 0.1);
     }
 
@@ -49,7 +64,7 @@ public class Integrals {
     /// @param t1      the upper bound of the integral
     /// @param epsilon the desired precision
     /// @return the estimated integral
-    public static double rombergQuadrature(ToDoubleFunction<Double> f, double t0, double t1, double epsilon) {
+    public static double rombergQuadrature(DoubleUnaryOperator f, double t0, double t1, double epsilon) {
         int maxSteps = 5;
         double h = t1 - t0;
 
@@ -90,7 +105,7 @@ public class Integrals {
     /// @param min  the lower bound of the interval
     /// @param max  the upper bound of the interval
     /// @return the area under the curve
-    public static double simpson(ToDoubleFunction<Double> func, double min, double max, double eps) {
+    public static double simpson(DoubleUnaryOperator func, double min, double max, double eps) {
         int maxSteps = 20;
 
         double range = max - min;
@@ -142,7 +157,7 @@ public class Integrals {
     /// @param a    the lower bound of the interval
     /// @param b    the upper bound of the interval
     /// @return the area under the curve
-    public static double gaussLegendre3(ToDoubleFunction<Double> func, double a, double b) {
+    public static double gaussLegendre3(DoubleUnaryOperator func, double a, double b) {
         double c = (b - a) * 0.5;
         double d = (a + b) * 0.5;
         double Qd1 = func.applyAsDouble(-0.774596669 * c + d);
@@ -163,7 +178,7 @@ public class Integrals {
     /// @param a    the lower bound of the interval
     /// @param b    the upper bound of the interval
     /// @return the area under the curve
-    public static double gaussLegendre5(ToDoubleFunction<Double> func, double a, double b) {
+    public static double gaussLegendre5(DoubleUnaryOperator func, double a, double b) {
         double c = (b - a) * 0.5;
         double d = (a + b) * 0.5;
         double Qd1 = func.applyAsDouble(-0.90618 * c + d);
@@ -186,7 +201,7 @@ public class Integrals {
     /// @param a    the lower bound of the interval
     /// @param b    the upper bound of the interval
     /// @return the area under the curve
-    public static double gaussLegendre7(ToDoubleFunction<Double> func, double a, double b) {
+    public static double gaussLegendre7(DoubleUnaryOperator func, double a, double b) {
         double c = (b - a) * 0.5;
         double d = (a + b) * 0.5;
         double Qd1 = func.applyAsDouble(-0.949108 * c + d);
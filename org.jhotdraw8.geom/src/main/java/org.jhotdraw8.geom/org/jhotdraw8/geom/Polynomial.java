@@ -8,7 +8,8 @@ package org.jhotdraw8.geom;
 import org.jhotdraw8.collection.primitive.DoubleArrayList;
 import org.jspecify.annotations.Nullable;
 
-import java.util.function.ToDoubleFunction;
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
 
 import static java.lang.Math.abs;
 import static java.lang.Math.cbrt;
@@ -28,7 +29,7 @@ import static java.lang.Math.sqrt;
 ///     <dd>polynomial.js, Copyright (c) 2002 Kevin Lindsey, BSD 3-clause license.
 ///     <a href="http://www.kevlindev.com/gui/math/polynomial/Polynomial.js">kevlindev.com</a></dd>
 /// </dl>
-public class Polynomial implements ToDoubleFunction<Double> {
+public class Polynomial implements DoubleUnaryOperator {
 
     private static final double ACCURACY = 6;
 
@@ -125,7 +126,7 @@ public class Polynomial implements ToDoubleFunction<Double> {
     }
 
     @Override
-    public double applyAsDouble(Double x) {
+    public double applyAsDouble(double x) {
         return eval(x);
     }
 
@@ -134,11 +135,11 @@ public class Polynomial implements ToDoubleFunction<Double> {
     /// @param func the function
     /// @param min  the lower bound of the interval
     /// @param max  the upper bound of the interval
-    /// @return the root, null if no root could be found
-    public static @Nullable Double bisection(final ToDoubleFunction<Double> func, double min, double max) {
+    /// @return the root, [Double#NaN] if no root could be found
+    public static double bisection(final DoubleUnaryOperator func, double min, double max) {
         double minValue = func.applyAsDouble(min);
         double maxValue = func.applyAsDouble(max);
-        Double result = null;
+        double result = Double.NaN;
 
         if (abs(minValue) <= EPSILON) {
             result = min;
@@ -194,26 +195,29 @@ public class Polynomial implements ToDoubleFunction<Double> {
         return result;
     }
 
-    /// Returns the roots of a cubic polynomial (degree equals three).
+    /// Computes the roots of a cubic polynomial (degree equals three).
     ///
-    /// @return the roots
-    private double[] getCubicRoots() {
-        final double[] results = new double[4];
-        int numResults = 0;
-
-        final double c3, c2, c1, c0;
-        c3 = this.coefs[3];
-        c2 = this.coefs[2] / c3;
-        c1 = this.coefs[1] / c3;
-        c0 = this.coefs[0] / c3;
+    /// @param c3     the coefficient of x^3
+    /// @param c2     the coefficient of x^2
+    /// @param c1     the coefficient of x
+    /// @param c0     the constant coefficient
+    /// @param roots  the array into which the roots are written,
+    ///               must have space for 3 roots
+    /// @param offset the index of the first root in `roots`
+    /// @return the number of roots
+    private static int getCubicRoots(double c3, double c2, double c1, double c0, double[] roots, int offset) {
         if (c3 == 0) {
-            throw new IllegalArgumentException("Not a cubic root! simplifiedDegree=" + simplifiedDegree());
+            throw new IllegalArgumentException("Not a cubic polynomial! c3=" + c3);
         }
+        int numResults = 0;
+        c2 /= c3;
+        c1 /= c3;
+        c0 /= c3;
 
-        final double a, b, offset, halfB;
+        final double a, b, shift, halfB;
         a = (3 * c1 - c2 * c2) / 3;
         b = (2 * c2 * c2 * c2 - 9 * c1 * c2 + 27 * c0) / 27;
-        offset = c2 / 3;
+        shift = c2 / 3;
         halfB = b / 2;
         double discrim = b * b / 4 + a * a * a / 27;
 
@@ -240,7 +244,7 @@ public class Polynomial implements ToDoubleFunction<Double> {
             } else {
                 root -= cbrt(-tmp);
             }
-            results[numResults++] = root - offset;
+            roots[offset + numResults++] = root - shift;
         } else if (discrim < 0) {
             double distance = sqrt(-a / 3);
             double angle = Angles.atan2(sqrt(-discrim), -halfB) / 3;
@@ -248,9 +252,9 @@ public class Polynomial implements ToDoubleFunction<Double> {
             double sin = sin(angle);
             final double sqrt3 = sqrt(3);
 
-            results[numResults++] = 2 * distance * cos - offset;
-            results[numResults++] = -distance * (cos + sqrt3 * sin) - offset;
-            results[numResults++] = -distance * (cos - sqrt3 * sin) - offset;
+            roots[offset + numResults++] = 2 * distance * cos - shift;
+            roots[offset + numResults++] = -distance * (cos + sqrt3 * sin) - shift;
+            roots[offset + numResults++] = -distance * (cos - sqrt3 * sin) - shift;
         } else {
             double tmp;
 
@@ -260,12 +264,12 @@ public class Polynomial implements ToDoubleFunction<Double> {
                 tmp = cbrt(-halfB);
             }
 
-            results[numResults++] = 2 * tmp - offset;
+            roots[offset + numResults++] = 2 * tmp - shift;
             // really should return next root twice, but we return only one
-            results[numResults++] = -tmp - offset;
+            roots[offset + numResults++] = -tmp - shift;
         }
 
-        return trim(numResults, results);
+        return numResults;
     }
 
     /// Returns the degree of this polynomial.
@@ -288,28 +292,45 @@ public class Polynomial implements ToDoubleFunction<Double> {
         return new Polynomial(false, derivative);
     }
 
-    /// Returns the root of a linear polynomial (degree equals one).
+    /// Computes the root of a linear polynomial (degree equals one).
     ///
-    /// @return the roots
-    private double[] getLinearRoot() {
-        double[] result = new double[0];
-        double a = this.coefs[1];
-
-        if (a != 0) {
-            result = new double[]{-this.coefs[0] / a};
+    /// @param c1     the coefficient of x
+    /// @param c0     the constant coefficient
+    /// @param roots  the array into which the root is written
+    /// @param offset the index of the root in `roots`
+    /// @return the number of roots
+    private static int getLinearRoot(double c1, double c0, double[] roots, int offset) {
+        if (c1 == 0) {
+            return 0;
         }
-
-        return result;
+        roots[offset] = -c0 / c1;
+        return 1;
     }
 
-    /// Returns the roots of a quadratic polynomial (degree equals two).
+    /// Computes the roots of a quadratic polynomial (degree equals two).
     ///
-    /// @return the roots
-    private double[] getQuadraticRoots() {
-        double a = this.coefs[2];
-        double b = this.coefs[1] / a;
-        double c = this.coefs[0] / a;
-        return getQuadraticRoots(a, b, c);
+    /// @param c2     the coefficient of x^2
+    /// @param c1     the coefficient of x
+    /// @param c0     the constant coefficient
+    /// @param roots  the array into which the roots are written,
+    ///               must have space for 2 roots
+    /// @param offset the index of the first root in `roots`
+    /// @return the number of roots
+    private static int getQuadraticRoots(double c2, double c1, double c0, double[] roots, int offset) {
+        double b = c1 / c2;
+        double c = c0 / c2;
+        double d = b * b - 4 * c;
+        if (d > 0) {
+            double e = sqrt(d);
+            roots[offset] = 0.5 * (-b + e);
+            roots[offset + 1] = 0.5 * (-b - e);
+            return 2;
+        } else if (d == 0) {
+            // really two roots with same value, but we only return one
+            roots[offset] = 0.5 * -b;
+            return 1;
+        }
+        return 0;
     }
 
     /// Returns the roots of a quadratic polynomial (degree equals two).
@@ -337,25 +358,27 @@ public class Polynomial implements ToDoubleFunction<Double> {
         return new double[0];
     }
 
-    /// Returns the roots of a quartic polynomial (degree equals four).
+    /// Computes the roots of a quartic polynomial (degree equals four).
     ///
-    /// @return the roots
-    private double[] getQuarticRoots() {
-
-        double[] results = new double[4];
+    /// @param c4     the coefficient of x^4
+    /// @param c3     the coefficient of x^3
+    /// @param c2     the coefficient of x^2
+    /// @param c1     the coefficient of x
+    /// @param c0     the constant coefficient
+    /// @param roots  the array into which the roots are written,
+    ///               must have space for 4 roots
+    /// @param offset the index of the first root in `roots`
+    /// @return the number of roots
+    private static int getQuarticRoots(double c4, double c3, double c2, double c1, double c0, double[] roots, int offset) {
         int numResults = 0;
-
-        final double c4, c3, c2, c1, c0;
-        c4 = this.coefs[4];
-        c3 = this.coefs[3] / c4;
-        c2 = this.coefs[2] / c4;
-        c1 = this.coefs[1] / c4;
-        c0 = this.coefs[0] / c4;
-
-        double[] resolveRoots = new Polynomial(
-                1, -c2, c3 * c1 - 4 * c0, -c3 * c3 * c0 + 4 * c2 * c0 - c1 * c1
-        ).getCubicRoots();
-        double y = resolveRoots[0];
+        c3 /= c4;
+        c2 /= c4;
+        c1 /= c4;
+        c0 /= c4;
+
+        // the roots of the resolvent cubic are overwritten by the results
+        getCubicRoots(1, -c2, c3 * c1 - 4 * c0, -c3 * c3 * c0 + 4 * c2 * c0 - c1 * c1, roots, offset);
+        double y = roots[offset];
         double discrim = c3 * c3 / 4 - c2 + y;
 
         // Note: setting epsilon too high results in roots not being found!
@@ -380,13 +403,13 @@ public class Polynomial implements ToDoubleFunction<Double> {
 
             if (plus >= 0) {
                 double f = sqrt(plus);
-                results[numResults++] = c3 / -4 + (e + f) / 2;
-                results[numResults++] = c3 / -4 + (e - f) / 2;
+                roots[offset + numResults++] = c3 / -4 + (e + f) / 2;
+                roots[offset + numResults++] = c3 / -4 + (e - f) / 2;
             }
             if (minus >= 0) {
                 double f = sqrt(minus);
-                results[numResults++] = c3 / -4 + (f - e) / 2;
-                results[numResults++] = c3 / -4 - (f + e) / 2;
+                roots[offset + numResults++] = c3 / -4 + (f - e) / 2;
+                roots[offset + numResults++] = c3 / -4 - (f + e) / 2;
             }
         } else if (discrim < 0) {
             // no roots
@@ -403,19 +426,19 @@ public class Polynomial implements ToDoubleFunction<Double> {
                 if (t1 + t2 >= EPSILON) {
                     double d = sqrt(t1 + t2);
 
-                    results[numResults++] = -c3 / 4 + d / 2;
-                    results[numResults++] = -c3 / 4 - d / 2;
+                    roots[offset + numResults++] = -c3 / 4 + d / 2;
+                    roots[offset + numResults++] = -c3 / 4 - d / 2;
                 }
                 if (t1 - t2 >= EPSILON) {
                     double d = sqrt(t1 - t2);
 
-                    results[numResults++] = -c3 / 4 + d / 2;
-                    results[numResults++] = -c3 / 4 - d / 2;
+                    roots[offset + numResults++] = -c3 / 4 + d / 2;
+                    roots[offset + numResults++] = -c3 / 4 - d / 2;
                 }
             }
         }
 
-        return trim(numResults, results);
+        return numResults;
     }
 
     /// Attempts to find the roots of the current polynomial. This method will
@@ -430,20 +453,56 @@ public class Polynomial implements ToDoubleFunction<Double> {
     ///
     /// @return the roots of the polynomial
     public double[] getRoots() {
-        double[] result;
-        final int simplifiedDegree = simplifiedDegree();
-
-        result = switch (simplifiedDegree) {
-            case 0 -> new double[0];
-            case 1 -> getLinearRoot();
-            case 2 -> getQuadraticRoots();
-            case 3 -> getCubicRoots();
-            case 4 -> getQuarticRoots();
+        double[] roots = new double[max(0, getDegree())];
+        return trim(getRoots(roots), roots);
+    }
+
+    /// Attempts to find the roots of the current polynomial, and writes
+    /// them into the provided array.
+    ///
+    /// This method does not allocate memory. See [#getRoots()].
+    ///
+    /// @param roots the array into which the roots are written,
+    ///              must have a length of at least [#getDegree()]
+    /// @return the number of roots
+    public int getRoots(double[] roots) {
+        return getRoots(simplifiedDegree(), roots, 0);
+    }
+
+    private int getRoots(int simplifiedDegree, double[] roots, int offset) {
+        return switch (simplifiedDegree) {
+            case 0 -> 0;
+            case 1 -> getLinearRoot(coefs[1], coefs[0], roots, offset);
+            case 2 -> getQuadraticRoots(coefs[2], coefs[1], coefs[0], roots, offset);
+            case 3 -> getCubicRoots(coefs[3], coefs[2], coefs[1], coefs[0], roots, offset);
+            case 4 -> getQuarticRoots(coefs[4], coefs[3], coefs[2], coefs[1], coefs[0], roots, offset);
             default ->
                     throw new UnsupportedOperationException("Degree is too high. simplifiedDegree=" + simplifiedDegree);
         };
+    }
 
-        return result;
+    /// Computes the roots of the polynomial `c3*x^3 + c2*x^2 + c1*x + c0`,
+    /// and writes them into the provided array.
+    ///
+    /// This method does not allocate memory. Coefficients of the highest
+    /// degrees are dropped if they are close to zero, like in [#getRoots()].
+    ///
+    /// @param c3    the coefficient of x^3
+    /// @param c2    the coefficient of x^2
+    /// @param c1    the coefficient of x
+    /// @param c0    the constant coefficient
+    /// @param roots the array into which the roots are written,
+    ///              must have a length of at least 3
+    /// @return the number of roots
+    public static int getRoots(double c3, double c2, double c1, double c0, double[] roots) {
+        if (abs(c3) > EPSILON) {
+            return getCubicRoots(c3, c2, c1, c0, roots, 0);
+        } else if (abs(c2) > EPSILON) {
+            return getQuadraticRoots(c2, c1, c0, roots, 0);
+        } else if (abs(c1) > EPSILON) {
+            return getLinearRoot(c1, c0, roots, 0);
+        }
+        return 0;
     }
 
     /// Gets roots in the given interval. Uses the bisection method for root
@@ -453,37 +512,57 @@ public class Polynomial implements ToDoubleFunction<Double> {
     /// @param max the upper bound of the interval (inclusive)
     /// @return a list of roots
     public DoubleArrayList getRootsInInterval(double min, double max) {
-        DoubleArrayList roots = new DoubleArrayList(getDegree());
-        int numRoots = 0;
+        DoubleArrayList roots = new DoubleArrayList(max(0, getDegree()));
+        getRootsInInterval(min, max, roots);
+        return roots;
+    }
 
-        switch (this.simplifiedDegree()) {
+    /// Gets roots in the given interval, and adds them in ascending order
+    /// to the provided list. Uses the bisection method for root
+    /// finding. Can work with a polynomial of any degree.
+    ///
+    /// This method does not allocate memory if the polynomial can be
+    /// simplified to 4th degree or less, and the list has sufficient capacity.
+    ///
+    /// @param min   the lower bound of the interval (inclusive)
+    /// @param max   the upper bound of the interval (inclusive)
+    /// @param roots the list to which the roots are added
+    /// @return the number of roots that have been added
+    public int getRootsInInterval(double min, double max, DoubleArrayList roots) {
+        int start = roots.size();
+        int simplifiedDegree = this.simplifiedDegree();
+        switch (simplifiedDegree) {
             case 0:
                 break;
             case 1:
             case 2:
             case 3:
             case 4: {
-                double[] allroots = getRoots();
-                for (double root : allroots) {
+                roots.setSize(start + simplifiedDegree);
+                double[] a = roots.getArray();
+                int end = start + getRoots(simplifiedDegree, a, start);
+                int size = start;
+                for (int i = start; i < end; i++) {
+                    double root = a[i];
                     if (min <= root && root <= max) {
-                        roots.add(root);
+                        a[size++] = root;
                     }
                 }
+                roots.setSize(size);
                 break;
             }
             default: {
                 // get roots of derivative
-                Polynomial deriv = this.getDerivative();
-                DoubleArrayList droots = deriv.getRootsInInterval(min, max);
+                DoubleArrayList droots = new DoubleArrayList(simplifiedDegree - 1);
+                this.getDerivative().getRootsInInterval(min, max, droots);
 
-                roots = getRootsInInterval(this, droots, min, max);
-                numRoots = roots.size();
+                getRootsInInterval(this, droots, min, max, roots);
                 break;
             }
         }
 
-        roots.sort();
-        return roots;
+        Arrays.sort(roots.getArray(), start, roots.size());
+        return roots.size() - start;
     }
 
     /// Gets roots in the given interval. Uses the bisection method for root
@@ -494,39 +573,50 @@ public class Polynomial implements ToDoubleFunction<Double> {
     /// @param min    the lower bound of the interval (inclusive)
     /// @param max    the upper bound of the interval (inclusive)
     /// @return a list of roots. The list if empty, if no roots have been found
-    public static DoubleArrayList getRootsInInterval(ToDoubleFunction<Double> func, DoubleArrayList droots, double min, double max) {
-        final DoubleArrayList roots = new DoubleArrayList(droots.size());
-        int numRoots = 0;
+    public static DoubleArrayList getRootsInInterval(DoubleUnaryOperator func, DoubleArrayList droots, double min, double max) {
+        final DoubleArrayList roots = new DoubleArrayList(droots.size() + 1);
+        getRootsInInterval(func, droots, min, max, roots);
+        return roots;
+    }
+
+    /// Gets roots in the given interval, and adds them to the provided list.
+    /// Uses the bisection method for root finding. Can work with a
+    /// polynomial of any degree.
+    ///
+    /// This method does not allocate memory if the list has sufficient capacity.
+    ///
+    /// @param func   the function
+    /// @param droots the roots of the derivative of the function in the interval [min,max].
+    /// @param min    the lower bound of the interval (inclusive)
+    /// @param max    the upper bound of the interval (inclusive)
+    /// @param roots  the list to which the roots are added
+    /// @return the number of roots that have been added
+    public static int getRootsInInterval(DoubleUnaryOperator func, DoubleArrayList droots, double min, double max, DoubleArrayList roots) {
+        int start = roots.size();
 
         if (!droots.isEmpty()) {
             // find root on [min, droots[0]]
-            Double root = bisection(func, min, droots.getFirst());
-            if (root != null) {
-                roots.add(root);
-            }
+            addRoot(bisection(func, min, droots.getFirstAsDouble()), roots);
 
             // find root on [droots[i],droots[i+1]] for 0 <= i <= count-2
             for (int i = 0; i <= droots.size() - 2; i++) {
-                root = bisection(func, droots.get(i), droots.get(i + 1));
-                if (root != null) {
-                    roots.add(root);
-                }
+                addRoot(bisection(func, droots.getAsDouble(i), droots.getAsDouble(i + 1)), roots);
             }
 
             // find root on [droots[count-1],xmax]
-            root = bisection(func, droots.getLast(), max);
-            if (root != null) {
-                roots.add(root);
-            }
+            addRoot(bisection(func, droots.getLastAsDouble(), max), roots);
         } else {
             // polynomial is monotone on [min,max], has at most one root
-            Double root = bisection(func, min, max);
-            if (root != null) {
-                roots.add(root);
-            }
+            addRoot(bisection(func, min, max), roots);
         }
 
-        return roots;
+        return roots.size() - start;
+    }
+
+    private static void addRoot(double root, DoubleArrayList roots) {
+        if (!Double.isNaN(root)) {
+            roots.addAsDouble(root);
+        }
     }
 
     /// Multiplies the coefficients of this polynomial with the coefficients of
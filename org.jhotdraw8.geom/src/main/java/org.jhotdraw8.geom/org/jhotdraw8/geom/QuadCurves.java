@@ -10,7 +10,7 @@ import org.jhotdraw8.geom.intersect.IntersectionResultEx;
 import org.jspecify.annotations.Nullable;
 
 import java.awt.geom.Point2D;
-import java.util.function.ToDoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 
 import static java.lang.Math.sqrt;
 import static org.jhotdraw8.geom.Lines.lerp;
@@ -60,7 +60,7 @@ public class QuadCurves {
     /// @param epsilon the error tolerance
     /// @return the arc length
     public static double arcLength(double[] p, int offset, double t, double epsilon) {
-        ToDoubleFunction<Double> f = getArcLengthIntegrand(p, offset);
+        DoubleUnaryOperator f = getArcLengthIntegrand(p, offset);
         return Integrals.rombergQuadrature(f, 0, t, epsilon);
     }
 
@@ -134,7 +134,7 @@ public class QuadCurves {
     ///
     /// @param p      the coordinates of the control points of the bézier curve
     /// @param offset the offset of the first control point in `p`
-    public static ToDoubleFunction<Double> getArcLengthIntegrand(double[] p, int offset) {
+    public static DoubleUnaryOperator getArcLengthIntegrand(double[] p, int offset) {
         // Instead of the code below, we could evaluate the magnitude of the derivative
         /*
         return (t)-> {
@@ -176,8 +176,8 @@ public class QuadCurves {
     }
 
     public static double invArcLength(double[] p, int offset, double s, double totalArcLength, double epsilon) {
-        ToDoubleFunction<Double> f = t -> arcLength(p, offset, t, epsilon);
-        ToDoubleFunction<Double> fd = getArcLengthIntegrand(p, offset);
+        DoubleUnaryOperator f = t -> arcLength(p, offset, t, epsilon);
+        DoubleUnaryOperator fd = getArcLengthIntegrand(p, offset);
         return Solvers.hybridNewtonBisectionMethod(f, fd, s, 0, 1, s / totalArcLength, epsilon);
     }
 
@@ -5,11 +5,10 @@
 
 package org.jhotdraw8.geom;
 
-import org.jhotdraw8.base.function.Function3;
 import org.jhotdraw8.collection.pair.OrderedPair;
 import org.jhotdraw8.collection.pair.SimpleOrderedPair;
 
-import java.util.function.ToDoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 
 /// Provides algorithms for computing the inverse of a function.
 public class Solvers {
@@ -31,12 +30,12 @@ public class Solvers {
     ///     <dt>Canvas. Copyright (c) 2015 Taco de Wolff, MIT License.</dt>
     ///     <dd><a href="https://github.com/tdewolff/canvas/blob/master/util.go#L609">github.com</a></dd>
     /// </dl>
-    public static OrderedPair<ToDoubleFunction<Double>, Double> polynomialApprox3(Function3<ToDoubleFunction<Double>, Double, Double, Double> quadratureFunction,
-                                                                                  ToDoubleFunction<Double> fp,
-                                                                                           double xmin, double xmax) {
-        double y1 = quadratureFunction.apply(fp, xmin, xmin + (xmax - xmin) / 3.0);
-        double y2 = quadratureFunction.apply(fp, xmin, xmin + (xmax - xmin) / 1.5);
-        double y3 = quadratureFunction.apply(fp, xmin, xmax);
+    public static OrderedPair<DoubleUnaryOperator, Double> polynomialApprox3(Integrals.Quadrature quadratureFunction,
+                                                                             DoubleUnaryOperator fp,
+                                                                             double xmin, double xmax) {
+        double y1 = quadratureFunction.integrate(fp, xmin, xmin + (xmax - xmin) / 3.0);
+        double y2 = quadratureFunction.integrate(fp, xmin, xmin + (xmax - xmin) / 1.5);
+        double y3 = quadratureFunction.integrate(fp, xmin, xmax);
 
         // We have four points on the y(x) curve at x0=0, x1=1/3, x2=2/3 and x3=1
         // now obtain a polynomial that goes through these four points by solving the system of linear equations
@@ -70,11 +69,11 @@ public class Solvers {
     ///     <dt>Canvas. Copyright (c) 2015 Taco de Wolff, MIT License.</dt>
     ///     <dd><a href="https://github.com/tdewolff/canvas/blob/master/util.go#L609">github.com</a></dd>
     /// </dl>
-    public static OrderedPair<ToDoubleFunction<Double>, Double> invPolynomialApprox3(
-            Function3<ToDoubleFunction<Double>, Double, Double, Double> quadratureFunction,
-            ToDoubleFunction<Double> fp,
+    public static OrderedPair<DoubleUnaryOperator, Double> invPolynomialApprox3(
+            Integrals.Quadrature quadratureFunction,
+            DoubleUnaryOperator fp,
             double xmin, double xmax) {
-        ToDoubleFunction<Double> f = (t) -> Math.abs(quadratureFunction.apply(fp, xmin, xmin + (xmax - xmin) * t));
+        DoubleUnaryOperator f = (t) -> Math.abs(quadratureFunction.integrate(fp, xmin, xmin + (xmax - xmin) * t));
         double f3 = f.applyAsDouble(1.0);
         double t1 = bisectionMethod(f, (1.0 / 3.0) * f3, 0.0, 1.0, 1e-7);
         double t2 = bisectionMethod(f, (2.0 / 3.0) * f3, 0.0, 1.0, 1e-7);
@@ -118,7 +117,7 @@ public class Solvers {
     /// @param xmax      the end of the interval
     /// @param tolerance
     /// @return x the estimated x value
-    public static double bisectionMethod(ToDoubleFunction<Double> f, double y, double xmin, double xmax, double tolerance) {
+    public static double bisectionMethod(DoubleUnaryOperator f, double y, double xmin, double xmax, double tolerance) {
         final int maxIterations = 100;
 
         int n = 0;
@@ -169,10 +168,10 @@ public class Solvers {
     /// @param epsilon            the tolerance
     /// @return x the estimated x value
     public static double hybridNewtonBisectionMethod(
-            Function3<ToDoubleFunction<Double>, Double, Double, Double> quadratureFunction,
-            ToDoubleFunction<Double> f, double y, double xmin, double xmax, double x0, double epsilon) {
+            Integrals.Quadrature quadratureFunction,
+            DoubleUnaryOperator f, double y, double xmin, double xmax, double x0, double epsilon) {
 
-        return hybridNewtonBisectionMethod(x -> quadratureFunction.apply(f, 0.0, x), f, y, xmin, xmax, x0, epsilon);
+        return hybridNewtonBisectionMethod(x -> quadratureFunction.integrate(f, 0.0, x), f, y, xmin, xmax, x0, epsilon);
     }
 
 
@@ -201,8 +200,8 @@ public class Solvers {
     /// @param epsilon the tolerance
     /// @return x the estimated x value
     public static double hybridNewtonBisectionMethod(
-            ToDoubleFunction<Double> f,
-            ToDoubleFunction<Double> df, double y, double xmin, double xmax, double x0, double epsilon) {
+            DoubleUnaryOperator f,
+            DoubleUnaryOperator df, double y, double xmin, double xmax, double x0, double epsilon) {
         final int maxIterations = 100;
 
         double x = x0;
@@ -252,17 +251,17 @@ public class Solvers {
     /// @param tmin
     /// @param tmax
     /// @return
-    public static SimpleOrderedPair<ToDoubleFunction<Double>, Double> invPolynomialChebyshevApprox(
+    public static SimpleOrderedPair<DoubleUnaryOperator, Double> invPolynomialChebyshevApprox(
             int N,
-            Function3<ToDoubleFunction<Double>, Double, Double, Double> quadratureFunction,
-            ToDoubleFunction<Double> fp,
+            Integrals.Quadrature quadratureFunction,
+            DoubleUnaryOperator fp,
             double tmin, double tmax) {
         // TODO: find better way to determine N. For Arc 10 seems fine, for some Quads 10 is too low,
         //  for Cube depending on inflection points is maybe not the best indicator
         // TODO: track efficiency, how many times is fp called? Does a look-up table make more sense?
-        ToDoubleFunction<Double> fLength = (t) -> Math.abs(quadratureFunction.apply(fp, tmin, t));
+        DoubleUnaryOperator fLength = (t) -> Math.abs(quadratureFunction.integrate(fp, tmin, t));
         double totalLength = fLength.applyAsDouble(tmax);
-        ToDoubleFunction<Double> t = (L) -> bisectionMethod(fLength, L, tmin, tmax, 1e-7);
+        DoubleUnaryOperator t = (L) -> bisectionMethod(fLength, L, tmin, tmax, 1e-7);
         return new SimpleOrderedPair<>(polynomialChebyshevApprox(N, t, 0.0, totalLength, tmin, tmax), totalLength);
     }
 
@@ -273,9 +272,9 @@ public class Solvers {
     ///     <dt>Canvas. Copyright (c) 2015 Taco de Wolff, MIT License.</dt>
     ///     <dd><a href="https://github.com/tdewolff/canvas/blob/master/util.go#L609">github.com</a></dd>
     /// </dl>
-    public static ToDoubleFunction<Double> polynomialChebyshevApprox(
+    public static DoubleUnaryOperator polynomialChebyshevApprox(
             int N,
-            ToDoubleFunction<Double> f,
+            DoubleUnaryOperator f,
             double xmin, double xmax, double ymin, double ymax) {
         double[] fs = new double[N];
         for (int k = 0; k < N; k++) {
@@ -465,6 +465,154 @@ public class SvgPaths {
         return buf.toString();
     }
 
+    /// Appends a Java Path iterator as a SVG path with double precision to the
+    /// provided buffer.
+    ///
+    /// Unlike [#awtPathIteratorToDoubleSvgString(PathIterator)], this method
+    /// neither creates intermediate strings, nor uses a shared number format.
+    /// Callers can reuse the same buffer for many paths, and can call this
+    /// method from any thread.
+    ///
+    /// @param buf  the buffer
+    /// @param iter AWT Path Iterator
+    /// @return the buffer
+    public static StringBuilder appendDoubleSvgString(StringBuilder buf, PathIterator iter) {
+        double[] coords = new double[6];
+        char next = 'Z'; // next instruction
+        int start = buf.length();
+        for (; !iter.isDone(); iter.next()) {
+            if (buf.length() != start) {
+                buf.append(' ');
+            }
+            switch (iter.currentSegment(coords)) {
+                case PathIterator.SEG_MOVETO:
+                    buf.append('M');
+                    next = 'L'; // move implies line
+                    appendCoords(buf, coords, 2);
+                    break;
+                case PathIterator.SEG_LINETO:
+                    if (next != 'L') {
+                        buf.append(next = 'L');
+                    }
+                    appendCoords(buf, coords, 2);
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    if (next != 'Q') {
+                        buf.append(next = 'Q');
+                    }
+                    appendCoords(buf, coords, 4);
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    if (next != 'C') {
+                        buf.append(next = 'C');
+                    }
+                    appendCoords(buf, coords, 6);
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    if (next != 'Z') {
+                        buf.append(next = 'Z');
+                    }
+                    break;
+            }
+        }
+        return buf;
+    }
+
+    /// Appends a Java Path iterator as a SVG path with relative coordinates
+    /// and double precision to the provided buffer.
+    ///
+    /// See [#appendDoubleSvgString(StringBuilder, PathIterator)].
+    ///
+    /// @param buf  the buffer
+    /// @param iter AWT Path Iterator
+    /// @return the buffer
+    public static StringBuilder appendDoubleRelativeSvgString(StringBuilder buf, PathIterator iter) {
+        double[] coords = new double[6];
+        double x = 0, y = 0;// current point
+        double ix = 0, iy = 0;// initial point of a subpath
+        char next = 'z'; // next instruction
+        int start = buf.length();
+        for (; !iter.isDone(); iter.next()) {
+            if (buf.length() != start) {
+                buf.append(' ');
+            }
+            int type = iter.currentSegment(coords);
+            int n = switch (type) {
+                case PathIterator.SEG_MOVETO, PathIterator.SEG_LINETO -> 2;
+                case PathIterator.SEG_QUADTO -> 4;
+                case PathIterator.SEG_CUBICTO -> 6;
+                default -> 0;
+            };
+            for (int i = 0; i < n; i += 2) {
+                coords[i] -= x;
+                coords[i + 1] -= y;
+            }
+            switch (type) {
+                case PathIterator.SEG_MOVETO:
+                    buf.append('m');
+                    next = 'l'; // move implies line
+                    ix = x += coords[0];
+                    iy = y += coords[1];
+                    break;
+                case PathIterator.SEG_LINETO:
+                    if (next != 'l') {
+                        buf.append(next = 'l');
+                    }
+                    x += coords[0];
+                    y += coords[1];
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    if (next != 'q') {
+                        buf.append(next = 'q');
+                    }
+                    x += coords[2];
+                    y += coords[3];
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    if (next != 'c') {
+                        buf.append(next = 'c');
+                    }
+                    x += coords[4];
+                    y += coords[5];
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    if (next != 'z') {
+                        buf.append(next = 'z');
+                    }
+                    x = ix;
+                    y = iy;
+                    break;
+            }
+            appendCoords(buf, coords, n);
+        }
+        return buf;
+    }
+
+    private static void appendCoords(StringBuilder buf, double[] coords, int n) {
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            appendNumber(buf, coords[i]);
+        }
+    }
+
+    /// Appends a number without creating an intermediate string.
+    ///
+    /// Integral values with a magnitude below 10^7 are appended without a
+    /// fraction, all other values are appended in the format of
+    /// [StringBuilder#append(double)]. Unlike [DoubleConverter], this may
+    /// produce scientific notation for small values, for example `1.0E-4`,
+    /// which is valid SVG number syntax and parses back to the same value.
+    private static void appendNumber(StringBuilder buf, double v) {
+        long l = (long) v;
+        if (l == v && Math.abs(v) < 1e7) {
+            buf.append(l);
+        } else {
+            buf.append(v);
+        }
+    }
+
     private final static FloatConverter nbf = new FloatConverter();
 
     /// Converts a Java Path iterator to a SVG path with double precision.
@@ -329,24 +329,29 @@ public class IntersectCubicCurveCubicCurve {
         );
         double tMin = -epsilon;
         double tMax = 1 + epsilon;
-        final DoubleArrayList roots = poly.getRootsInInterval(tMin, tMax);
+        final DoubleArrayList roots = new DoubleArrayList(poly.getDegree());
+        poly.getRootsInInterval(tMin, tMax, roots);
 
-        for (double s : roots) {
-            double[] xRoots = new Polynomial(
+        final double[] xRoots = new double[3], yRoots = new double[3];
+        for (int i = 0, n = roots.size(); i < n; i++) {
+            double s = roots.getAsDouble(i);
+            int xCount = Polynomial.getRoots(
                     c13x, c12x, c11x,
-                    c10x - c20x - s * c21x - s * s * c22x - s * s * s * c23x
-            ).getRoots();
-            double[] yRoots = new Polynomial(
+                    c10x - c20x - s * c21x - s * s * c22x - s * s * s * c23x,
+                    xRoots);
+            int yCount = Polynomial.getRoots(
                     c13y, c12y, c11y,
-                    c10y - c20y - s * c21y - s * s * c22y - s * s * s * c23y
-            ).getRoots();
+                    c10y - c20y - s * c21y - s * s * c22y - s * s * s * c23y,
+                    yRoots);
 
-            if (xRoots.length > 0 && yRoots.length > 0) {
+            if (xCount > 0 && yCount > 0) {
 
                 checkRoots:
-                for (double xRoot : xRoots) {
+                for (int xi = 0; xi < xCount; xi++) {
+                    double xRoot = xRoots[xi];
                     if (tMin < xRoot && xRoot <= tMax) {
-                        for (double yRoot : yRoots) {
+                        for (int yi = 0; yi < yCount; yi++) {
+                            double yRoot = yRoots[yi];
                             if (Scalars.almostEqual(xRoot, yRoot, ROOT_X_Y_TOLERANCE)) {
                                 result.add(new IntersectionPoint(
                                         Points2D.sum(
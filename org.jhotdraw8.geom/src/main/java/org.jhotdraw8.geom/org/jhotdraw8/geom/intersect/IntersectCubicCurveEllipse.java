@@ -137,8 +137,8 @@ public class IntersectCubicCurveEllipse {
         );
         DoubleArrayList roots = poly.getRootsInInterval(-epsilon, 1 + epsilon);
 
-        for (Double root : roots) {
-            double t = Math.clamp(root, 0, 1);
+        for (int i = 0, n = roots.size(); i < n; i++) {
+            double t = Math.clamp(roots.getAsDouble(i), 0, 1);
 
             result.add(new IntersectionPoint(
                     Points2D.sum(Points2D.multiply(c3, t * t * t), Points2D.multiply(c2, t * t), Points2D.multiply(c1, t), c0), t));
@@ -83,7 +83,7 @@ public class IntersectCubicCurveRay {
         // Convert line to normal form: ax + by + c = 0
         // Find normal to line: negative inverse of original line's slope
         final Point2D.Double n;                // normal for normal form of line
-        n = new Point2D.Double(ad.getY(), -ad.getX());
+        n = new Point2D.Double(aoy - a1y, a1x - aox);
 
         // Determine new c coefficient
         final double cl;               // c coefficient for normal form of line
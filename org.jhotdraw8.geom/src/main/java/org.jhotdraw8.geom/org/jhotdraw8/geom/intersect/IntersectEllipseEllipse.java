@@ -77,15 +77,17 @@ public class IntersectEllipseEllipse {
         double norm1 = (b[0] * b[0] + 2 * b[1] * b[1] + b[2] * b[2]) * Intersections.EPSILON;
         List<IntersectionPoint> result = new ArrayList<>();
 
+        final double[] xRoots = new double[3];
         for (double yRoot : yRoots) {
-            Polynomial xPoly = new Polynomial(
+            int xCount = Polynomial.getRoots(
+                    0,
                     a[0],
                     a[3] + yRoot * a[1],
-                    a[5] + yRoot * (a[4] + yRoot * a[2])
-            );
-            double[] xRoots = xPoly.getRoots();
+                    a[5] + yRoot * (a[4] + yRoot * a[2]),
+                    xRoots);
 
-            for (double xRoot : xRoots) {
+            for (int xi = 0; xi < xCount; xi++) {
+                double xRoot = xRoots[xi];
                 double test = (a[0] * xRoot + a[1] * yRoot + a[3]) * xRoot
                         + (a[2] * yRoot + a[4]) * yRoot + a[5];
                 if (Math.abs(test) < norm0) {
@@ -5,6 +5,11 @@
 package org.jhotdraw8.geom.intersect;
 
 
+import org.jhotdraw8.collection.primitive.IntArrayDeque;
+import org.jhotdraw8.collection.primitive.IntArrayList;
+import org.jhotdraw8.geom.AABB;
+import org.jhotdraw8.geom.contour.StaticSpatialIndex;
+
 import java.awt.Shape;
 import java.awt.geom.PathIterator;
 import java.util.ArrayList;
@@ -42,85 +47,75 @@ public class IntersectPathIteratorShape {
     /// @param shape the shape
     /// @return the intersection result
     public static IntersectionResultEx intersectPathIteratorShapeEx(PathIterator pit, Shape shape) {
-        List<IntersectionPointEx> intersections = new ArrayList<>();
-        List<IntersectionPointEx> insideIntersections = new ArrayList<>();
-
-        double firstX = 0, firstY = 0;
-        double lastX = 0, lastY = 0;
-        int segment = 0;
-        IntersectionStatus state = IntersectionStatus.NO_INTERSECTION;
+        return intersectPathIteratorPathIteratorEx(pit, shape.getPathIterator(null));
+    }
 
-        double[] coords = new double[6];
-        for (; !pit.isDone(); pit.next()) {
-            IntersectionResultEx segmentResult;
-            int type = pit.currentSegment(coords);
-            switch (type) {
-                case PathIterator.SEG_CLOSE -> {
-                    segmentResult = IntersectLinePathIterator.intersectLinePathIteratorEx(lastX, lastY, firstX, firstY, shape.getPathIterator(null));
-                }
-                case PathIterator.SEG_CUBICTO -> {
-                    segmentResult = IntersectCubicCurvePathIterator.intersectCubicCurvePathIteratorEx(lastX, lastY, coords[0], coords[1], coords[2], coords[3], coords[4], coords[5], shape.getPathIterator(null));
-                    lastX = coords[2];
-                    lastY = coords[3];
-                }
-                case PathIterator.SEG_LINETO -> {
-                    segmentResult = IntersectLinePathIterator.intersectLinePathIteratorEx(lastX, lastY, coords[0], coords[1], shape.getPathIterator(null));
-                    lastX = coords[2];
-                    lastY = coords[3];
-                }
-                case PathIterator.SEG_MOVETO -> {
-                    lastX = firstX = coords[0];
-                    lastY = firstY = coords[1];
-                    segmentResult = null;
-                }
-                case PathIterator.SEG_QUADTO -> {
-                    segmentResult = IntersectQuadCurvePathIterator.intersectQuadCurvePathIteratorEx(lastX, lastY, coords[0], coords[1], coords[2], coords[3], shape.getPathIterator(null));
-                    lastX = coords[2];
-                    lastY = coords[3];
-                }
-                default -> {
-                    segmentResult = null;
-                }
-            }
+    /// Intersects path iterator 'a' with path iterator 'b'.
+    ///
+    /// Both paths are read only once. Then only the pairs of segments
+    /// with overlapping bounding boxes are intersected. The pairs are
+    /// found with a [StaticSpatialIndex] over the segments of path 'b'.
+    ///
+    /// The segment indices of the intersection points are the indices of
+    /// the path iterator elements that produced the segments.
+    ///
+    /// This method can produce the same [IntersectionStatus] codes as
+    /// [#intersectPathIteratorShapeEx]. If the paths do not intersect,
+    /// then the status is determined from the start points of the sub-paths
+    /// of path 'a'.
+    ///
+    /// @param a path iterator 'a'
+    /// @param b path iterator 'b'
+    /// @return the intersection result
+    public static IntersectionResultEx intersectPathIteratorPathIteratorEx(PathIterator a, PathIterator b) {
+        PathSegments sa = new PathSegments(a);
+        PathSegments sb = new PathSegments(b);
+        if (sa.size == 0 || sb.size == 0) {
+            return new IntersectionResultEx(IntersectionStatus.NO_INTERSECTION);
+        }
 
-            if (segmentResult != null) {
-                switch (segmentResult.getStatus()) {
-                    case INTERSECTION -> {
-                        for (var isect : segmentResult.intersections()) {
-                            intersections.add(isect.withSegmentA(segment));
-                        }
-                        state = IntersectionStatus.INTERSECTION;
-                    }
-                    case NO_INTERSECTION_INSIDE -> {
-                        switch (state) {
-                            case NO_INTERSECTION -> state = IntersectionStatus.NO_INTERSECTION_INSIDE;
-                            case NO_INTERSECTION_OUTSIDE ->
-                                    state = IntersectionStatus.NO_INTERSECTION_INSIDE_AND_OUTSIDE;
-                            default -> {
-                            }
-                        }
-                    }
-                    case NO_INTERSECTION_OUTSIDE -> {
-                        switch (state) {
-                            case NO_INTERSECTION -> state = IntersectionStatus.NO_INTERSECTION_OUTSIDE;
-                            case NO_INTERSECTION_INSIDE ->
-                                    state = IntersectionStatus.NO_INTERSECTION_INSIDE_AND_OUTSIDE;
-                            default -> {
-                            }
-                        }
-                    }
-                    case NO_INTERSECTION_INSIDE_AND_OUTSIDE -> {
-                        switch (state) {
-                            case NO_INTERSECTION, NO_INTERSECTION_INSIDE, NO_INTERSECTION_OUTSIDE ->
-                                    state = IntersectionStatus.NO_INTERSECTION_INSIDE_AND_OUTSIDE;
-                            default -> {
-                            }
+        StaticSpatialIndex index = sb.createSpatialIndex();
+        IntArrayList candidates = new IntArrayList();
+        IntArrayDeque stack = new IntArrayDeque(16);
+        List<IntersectionPointEx> intersections = new ArrayList<>();
+        AABB boundsA = sa.getBounds(), boundsB = sb.getBounds();
+        if (boundsA.minX() <= boundsB.maxX() && boundsB.minX() <= boundsA.maxX()
+                && boundsA.minY() <= boundsB.maxY() && boundsB.minY() <= boundsA.maxY()) {
+            for (int i = 0; i < sa.size; i++) {
+                sb.queryOverlapping(index, sa, i, candidates, stack);
+                for (int k = 0, n = candidates.size(); k < n; k++) {
+                    int j = candidates.getAsInt(k);
+                    IntersectionResultEx segmentResult = PathSegments.intersect(sa, i, sb, j);
+                    if (segmentResult.getStatus() == IntersectionStatus.INTERSECTION) {
+                        for (IntersectionPointEx isect : segmentResult.intersections()) {
+                            intersections.add(new IntersectionPointEx(isect,
+                                    isect.argumentA(), isect.getDerivativeA(), sa.elements[i],
+                                    isect.getArgumentB(), isect.getDerivativeB(), sb.elements[j]));
                         }
                     }
                 }
             }
         }
+        if (!intersections.isEmpty()) {
+            return new IntersectionResultEx(intersections);
+        }
 
-        return new IntersectionResultEx(state, intersections);
+        // Each sub-path of 'a' lies either entirely inside or entirely outside of 'b'.
+        IntersectionStatus state = IntersectionStatus.NO_INTERSECTION;
+        for (int i = 0; i < sa.size; i++) {
+            if (sa.first[i]) {
+                boolean inside = sb.contains(sa.coords[i * 8], sa.coords[i * 8 + 1], index, candidates, stack);
+                state = switch (state) {
+                    case NO_INTERSECTION -> inside ? IntersectionStatus.NO_INTERSECTION_INSIDE
+                            : IntersectionStatus.NO_INTERSECTION_OUTSIDE;
+                    case NO_INTERSECTION_INSIDE -> inside ? state
+                            : IntersectionStatus.NO_INTERSECTION_INSIDE_AND_OUTSIDE;
+                    case NO_INTERSECTION_OUTSIDE -> inside ? IntersectionStatus.NO_INTERSECTION_INSIDE_AND_OUTSIDE
+                            : state;
+                    default -> state;
+                };
+            }
+        }
+        return new IntersectionResultEx(state);
     }
 }
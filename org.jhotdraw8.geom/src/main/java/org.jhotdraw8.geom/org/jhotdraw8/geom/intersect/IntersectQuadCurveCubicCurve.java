@@ -142,25 +142,30 @@ public class IntersectQuadCurveCubicCurve {
                         - c20x * c11y2 * c12x - c11x2 * c20y * c12y + c10x2 * c12y2 + c10y2 * c12x2
                         + c20x2 * c12y2 + c12x2 * c20y2
         );
-        final DoubleArrayList roots = poly.getRootsInInterval(0, 1);
+        final DoubleArrayList roots = new DoubleArrayList(poly.getDegree());
+        poly.getRootsInInterval(0, 1, roots);
 
         List<IntersectionPoint> result = new ArrayList<>();
-        for (double s : roots) {
-            double[] xRoots = new Polynomial(
-                    c12x, c11x,
-                    c10x - c20x - s * c21x - s * s * c22x - s * s * s * c23x
-            ).getRoots();
-            double[] yRoots = new Polynomial(
-                    c12y, c11y,
-                    c10y - c20y - s * c21y - s * s * c22y - s * s * s * c23y
-            ).getRoots();
-
-            if (xRoots.length > 0 && yRoots.length > 0) {
+        final double[] xRoots = new double[3], yRoots = new double[3];
+        for (int i = 0, n = roots.size(); i < n; i++) {
+            double s = roots.getAsDouble(i);
+            int xCount = Polynomial.getRoots(
+                    0, c12x, c11x,
+                    c10x - c20x - s * c21x - s * s * c22x - s * s * s * c23x,
+                    xRoots);
+            int yCount = Polynomial.getRoots(
+                    0, c12y, c11y,
+                    c10y - c20y - s * c21y - s * s * c22y - s * s * s * c23y,
+                    yRoots);
+
+            if (xCount > 0 && yCount > 0) {
 
                 checkRoots:
-                for (double xRoot : xRoots) {
+                for (int xi = 0; xi < xCount; xi++) {
+                    double xRoot = xRoots[xi];
                     if (0 <= xRoot && xRoot <= 1) {
-                        for (double yRoot : yRoots) {
+                        for (int yi = 0; yi < yCount; yi++) {
+                            double yRoot = yRoots[yi];
                             if (Math.abs(xRoot - yRoot) < ROOT_X_Y_TOLERANCE) {
                                 result.add(
                                         new IntersectionPoint(
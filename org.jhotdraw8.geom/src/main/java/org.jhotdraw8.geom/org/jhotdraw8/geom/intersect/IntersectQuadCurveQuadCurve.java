@@ -147,22 +147,25 @@ public class IntersectQuadCurveQuadCurve {
         double[] roots = poly.getRoots();
 
         List<IntersectionPoint> result = new ArrayList<>();
+        final double[] xRoots = new double[3], yRoots = new double[3];
         for (double s : roots) {
             if (-epsilon <= s && s <= 1 + epsilon) {
-                double[] xRoots = new Polynomial(
-                        c12x, c11x,
-                        c10x - c20x - s * c21x - s * s * c22x
-                ).getRoots();
-                double[] yRoots = new Polynomial(
-                        c12y, c11y,
-                        c10y - c20y - s * c21y - s * s * c22y
-                ).getRoots();
-
-                if (xRoots.length > 0 && yRoots.length > 0) {
+                int xCount = Polynomial.getRoots(
+                        0, c12x, c11x,
+                        c10x - c20x - s * c21x - s * s * c22x,
+                        xRoots);
+                int yCount = Polynomial.getRoots(
+                        0, c12y, c11y,
+                        c10y - c20y - s * c21y - s * s * c22y,
+                        yRoots);
+
+                if (xCount > 0 && yCount > 0) {
                     checkRoots:
-                    for (double xRoot : xRoots) {
+                    for (int xi = 0; xi < xCount; xi++) {
+                        double xRoot = xRoots[xi];
                         if (0 <= xRoot && xRoot <= 1) {
-                            for (double yRoot : yRoots) {
+                            for (int yi = 0; yi < yCount; yi++) {
+                                double yRoot = yRoots[yi];
                                 if (Math.abs(xRoot - yRoot) < ROOT_X_Y_TOLERANCE) {
                                     result.add(new IntersectionPoint(
                                             Points2D.add(Points2D.multiply(c22, s * s), Points2D.add(Points2D.multiply(c21, s), c20)),
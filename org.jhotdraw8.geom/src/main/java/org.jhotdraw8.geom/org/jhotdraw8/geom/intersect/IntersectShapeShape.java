@@ -37,8 +37,6 @@ public class IntersectShapeShape {
     ///     </dd>
     /// </dl>
     ///
-    /// FIXME this implementation does not work yet
-    ///
     /// @param a shape 'a'
     /// @param b shape 'b'
     /// @return the intersection result
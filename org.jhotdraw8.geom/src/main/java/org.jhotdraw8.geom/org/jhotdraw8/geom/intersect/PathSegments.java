@@ -0,0 +1,278 @@
+/*
+ * @(#)PathSegments.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.collection.primitive.IntArrayDeque;
+import org.jhotdraw8.collection.primitive.IntArrayList;
+import org.jhotdraw8.geom.AABB;
+import org.jhotdraw8.geom.Scalars;
+import org.jhotdraw8.geom.contour.StaticSpatialIndex;
+
+import java.awt.geom.PathIterator;
+import java.util.Arrays;
+
+/// The segments of a path, read once from a [PathIterator] into arrays.
+///
+/// Each segment is stored as a line, a quadratic curve or a cubic curve,
+/// together with its start point and the axis-aligned bounding box of its
+/// control points. A [PathIterator#SEG_CLOSE] element is stored as a line
+/// from the current point to the start point of the sub-path.
+///
+/// The bounding boxes are slightly enlarged, so that intersections that
+/// the intersection algorithms find within their tolerance are not pruned.
+final class PathSegments {
+    /// Number of coordinates per segment: x0, y0, x1, y1, x2, y2, x3, y3.
+    private static final int COORDS = 8;
+
+    /// The winding rule of the path.
+    final int windingRule;
+    /// The number of segments.
+    int size;
+    /// The degree of each segment: 1 = line, 2 = quadratic curve, 3 = cubic curve.
+    byte[] degrees;
+    /// The coordinates of the control points of each segment, starting with
+    /// the start point. Unused coordinates are zero.
+    double[] coords;
+    /// The bounding box of each segment: minX, minY, maxX, maxY.
+    double[] boxes;
+    /// The index of the path iterator element that produced each segment.
+    int[] elements;
+    /// Whether each segment belongs to a closed sub-path.
+    boolean[] closed;
+    /// Whether each segment is the first segment of a sub-path.
+    boolean[] first;
+    private double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY,
+            maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+    PathSegments(PathIterator pit) {
+        windingRule = pit.getWindingRule();
+        degrees = new byte[16];
+        coords = new double[16 * COORDS];
+        boxes = new double[16 * 4];
+        elements = new int[16];
+        closed = new boolean[16];
+        first = new boolean[16];
+
+        double[] seg = new double[6];
+        double firstX = 0, firstY = 0, lastX = 0, lastY = 0;
+        int subpathStart = 0;
+        for (int element = 0; !pit.isDone(); pit.next(), element++) {
+            switch (pit.currentSegment(seg)) {
+                case PathIterator.SEG_MOVETO -> {
+                    lastX = firstX = seg[0];
+                    lastY = firstY = seg[1];
+                    subpathStart = size;
+                }
+                case PathIterator.SEG_LINETO -> {
+                    add(1, element, subpathStart, lastX, lastY, seg[0], seg[1], 0, 0, 0, 0);
+                    lastX = seg[0];
+                    lastY = seg[1];
+                }
+                case PathIterator.SEG_QUADTO -> {
+                    add(2, element, subpathStart, lastX, lastY, seg[0], seg[1], seg[2], seg[3], 0, 0);
+                    lastX = seg[2];
+                    lastY = seg[3];
+                }
+                case PathIterator.SEG_CUBICTO -> {
+                    add(3, element, subpathStart, lastX, lastY, seg[0], seg[1], seg[2], seg[3], seg[4], seg[5]);
+                    lastX = seg[4];
+                    lastY = seg[5];
+                }
+                case PathIterator.SEG_CLOSE -> {
+                    add(1, element, subpathStart, lastX, lastY, firstX, firstY, 0, 0, 0, 0);
+                    Arrays.fill(closed, subpathStart, size, true);
+                    lastX = firstX;
+                    lastY = firstY;
+                    subpathStart = size;
+                }
+                default -> throw new UnsupportedOperationException("Unsupported segment type.");
+            }
+        }
+    }
+
+    private void add(int degree, int element, int subpathStart,
+                     double x0, double y0, double x1, double y1, double x2, double y2, double x3, double y3) {
+        if (size == degrees.length) {
+            int capacity = size * 2;
+            degrees = Arrays.copyOf(degrees, capacity);
+            coords = Arrays.copyOf(coords, capacity * COORDS);
+            boxes = Arrays.copyOf(boxes, capacity * 4);
+            elements = Arrays.copyOf(elements, capacity);
+            closed = Arrays.copyOf(closed, capacity);
+            first = Arrays.copyOf(first, capacity);
+        }
+        degrees[size] = (byte) degree;
+        elements[size] = element;
+        first[size] = size == subpathStart;
+
+        int c = size * COORDS;
+        coords[c] = x0;
+        coords[c + 1] = y0;
+        coords[c + 2] = x1;
+        coords[c + 3] = y1;
+        coords[c + 4] = x2;
+        coords[c + 5] = y2;
+        coords[c + 6] = x3;
+        coords[c + 7] = y3;
+
+        double bMinX = Math.min(x0, x1), bMinY = Math.min(y0, y1),
+                bMaxX = Math.max(x0, x1), bMaxY = Math.max(y0, y1);
+        if (degree >= 2) {
+            bMinX = Math.min(bMinX, x2);
+            bMinY = Math.min(bMinY, y2);
+            bMaxX = Math.max(bMaxX, x2);
+            bMaxY = Math.max(bMaxY, y2);
+        }
+        if (degree == 3) {
+            bMinX = Math.min(bMinX, x3);
+            bMinY = Math.min(bMinY, y3);
+            bMaxX = Math.max(bMaxX, x3);
+            bMaxY = Math.max(bMaxY, y3);
+        }
+        double margin = Scalars.REAL_THRESHOLD * (1 + (bMaxX - bMinX) + (bMaxY - bMinY));
+        int b = size * 4;
+        boxes[b] = bMinX - margin;
+        boxes[b + 1] = bMinY - margin;
+        boxes[b + 2] = bMaxX + margin;
+        boxes[b + 3] = bMaxY + margin;
+        minX = Math.min(minX, boxes[b]);
+        minY = Math.min(minY, boxes[b + 1]);
+        maxX = Math.max(maxX, boxes[b + 2]);
+        maxY = Math.max(maxY, boxes[b + 3]);
+
+        size++;
+    }
+
+    /// Returns the bounding box of all segments.
+    ///
+    /// @return the bounding box
+    AABB getBounds() {
+        return new AABB(minX, minY, maxX, maxY);
+    }
+
+    /// Creates a spatial index over the bounding boxes of the segments.
+    /// The index of a segment in the spatial index is its index in this
+    /// object.
+    ///
+    /// @return a new spatial index, requires `size > 0`
+    StaticSpatialIndex createSpatialIndex() {
+        StaticSpatialIndex index = new StaticSpatialIndex(size);
+        for (int i = 0, b = 0; i < size; i++, b += 4) {
+            index.add(boxes[b], boxes[b + 1], boxes[b + 2], boxes[b + 3]);
+        }
+        index.finish();
+        return index;
+    }
+
+    /// Adds the indices of all segments whose bounding box overlaps with
+    /// the bounding box of the specified segment of another path.
+    ///
+    /// @param index      the spatial index of this path
+    /// @param that       another path
+    /// @param i          the index of a segment in `that`
+    /// @param candidates the result, the indices are sorted in ascending order
+    /// @param stack      a stack for the spatial index query
+    void queryOverlapping(StaticSpatialIndex index, PathSegments that, int i,
+                          IntArrayList candidates, IntArrayDeque stack) {
+        int b = i * 4;
+        candidates.clear();
+        index.query(that.boxes[b], that.boxes[b + 1], that.boxes[b + 2], that.boxes[b + 3], candidates, stack);
+        candidates.sort();
+    }
+
+    /// Intersects segment `i` of path `a` with segment `j` of path `b`.
+    ///
+    /// @param a a path
+    /// @param i the index of a segment of `a`
+    /// @param b another path
+    /// @param j the index of a segment of `b`
+    /// @return the intersection result
+    static IntersectionResultEx intersect(PathSegments a, int i, PathSegments b, int j) {
+        double[] p = a.coords, q = b.coords;
+        int s = i * COORDS, t = j * COORDS;
+        return switch (a.degrees[i] * 4 + b.degrees[j]) {
+            case 1 * 4 + 1 -> IntersectLineLine.intersectLineLineEx(
+                    p[s], p[s + 1], p[s + 2], p[s + 3],
+                    q[t], q[t + 1], q[t + 2], q[t + 3]);
+            case 1 * 4 + 2 -> IntersectLineQuadCurve.intersectLineQuadCurveEx(
+                    p[s], p[s + 1], p[s + 2], p[s + 3],
+                    q[t], q[t + 1], q[t + 2], q[t + 3], q[t + 4], q[t + 5]);
+            case 1 * 4 + 3 -> IntersectLineCubicCurve.intersectLineCubicCurveEx(
+                    p[s], p[s + 1], p[s + 2], p[s + 3],
+                    q[t], q[t + 1], q[t + 2], q[t + 3], q[t + 4], q[t + 5], q[t + 6], q[t + 7]);
+            case 2 * 4 + 1 -> IntersectQuadCurveLine.intersectQuadCurveLineEx(
+                    p[s], p[s + 1], p[s + 2], p[s + 3], p[s + 4], p[s + 5],
+                    q[t], q[t + 1], q[t + 2], q[t + 3]);
+            case 2 * 4 + 2 -> IntersectQuadCurveQuadCurve.intersectQuadCurveQuadCurveEx(
+                    p[s], p[s + 1], p[s + 2], p[s + 3], p[s + 4], p[s + 5],
+                    q[t], q[t + 1], q[t + 2], q[t + 3], q[t + 4], q[t + 5]);
+            case 2 * 4 + 3 -> IntersectQuadCurveCubicCurve.intersectQuadCurveCubicCurveEx(
+                    p[s], p[s + 1], p[s + 2], p[s + 3], p[s + 4], p[s + 5],
+                    q[t], q[t + 1], q[t + 2], q[t + 3], q[t + 4], q[t + 5], q[t + 6], q[t + 7]);
+            case 3 * 4 + 1 -> IntersectCubicCurveLine.intersectCubicCurveLineEx(
+                    p[s], p[s + 1], p[s + 2], p[s + 3], p[s + 4], p[s + 5], p[s + 6], p[s + 7],
+                    q[t], q[t + 1], q[t + 2], q[t + 3]);
+            case 3 * 4 + 2 -> IntersectCubicCurveQuadCurve.intersectCubicCurveQuadCurveEx(
+                    p[s], p[s + 1], p[s + 2], p[s + 3], p[s + 4], p[s + 5], p[s + 6], p[s + 7],
+                    q[t], q[t + 1], q[t + 2], q[t + 3], q[t + 4], q[t + 5]);
+            case 3 * 4 + 3 -> IntersectCubicCurveCubicCurve.intersectCubicCurveCubicCurveEx(
+                    p[s], p[s + 1], p[s + 2], p[s + 3], p[s + 4], p[s + 5], p[s + 6], p[s + 7],
+                    q[t], q[t + 1], q[t + 2], q[t + 3], q[t + 4], q[t + 5], q[t + 6], q[t + 7]);
+            default -> throw new AssertionError("illegal degree");
+        };
+    }
+
+    /// Returns true if the specified point lies inside the closed sub-paths
+    /// of this path.
+    ///
+    /// Counts the crossings of a ray from the point to positive infinity
+    /// along the x-axis, and applies the winding rule of the path.
+    /// Only the segments that overlap with the ray are tested.
+    ///
+    /// @param px         the x-coordinate of the point
+    /// @param py         the y-coordinate of the point
+    /// @param index      the spatial index of this path
+    /// @param candidates a list for the spatial index query
+    /// @param stack      a stack for the spatial index query
+    /// @return true if the point is inside
+    boolean contains(double px, double py, StaticSpatialIndex index,
+                     IntArrayList candidates, IntArrayDeque stack) {
+        candidates.clear();
+        index.query(px, py, Math.max(px, maxX), py, candidates, stack);
+        int clockwiseCrossings = 0;
+        int counterClockwiseCrossings = 0;
+        for (int k = 0, n = candidates.size(); k < n; k++) {
+            int j = candidates.getAsInt(k);
+            if (!closed[j]) {
+                continue;
+            }
+            int t = j * COORDS;
+            double[] q = coords;
+            IntersectionResultEx rayCheck = switch (degrees[j]) {
+                case 1 -> IntersectRayLine.intersectRayLineEx(px, py, 1, 0, Double.MAX_VALUE,
+                        q[t], q[t + 1], q[t + 2], q[t + 3], Scalars.REAL_THRESHOLD);
+                case 2 -> IntersectRayQuadCurve.intersectRayQuadCurveEx(px, py, 1, 0, Double.MAX_VALUE,
+                        q[t], q[t + 1], q[t + 2], q[t + 3], q[t + 4], q[t + 5], Scalars.REAL_THRESHOLD);
+                default -> IntersectRayCubicCurve.intersectRayCubicCurveEx(px, py, 1, 0, Double.MAX_VALUE,
+                        q[t], q[t + 1], q[t + 2], q[t + 3], q[t + 4], q[t + 5], q[t + 6], q[t + 7], Scalars.REAL_THRESHOLD);
+            };
+            if (rayCheck.getStatus() == IntersectionStatus.INTERSECTION) {
+                for (IntersectionPointEx ip : rayCheck.intersections()) {
+                    double ty = ip.getDerivativeB().getY();
+                    if (Scalars.almostZero(ty)) {
+                        // intersection point is tangential to ray - no crossing
+                    } else if (ty > 0) {
+                        clockwiseCrossings++;
+                    } else {
+                        counterClockwiseCrossings++;
+                    }
+                }
+            }
+        }
+        return windingRule == PathIterator.WIND_EVEN_ODD
+                ? (clockwiseCrossings + counterClockwiseCrossings) % 2 == 1
+                : clockwiseCrossings != counterClockwiseCrossings;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * @(#)DynamicSpatialIndexTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DynamicSpatialIndexTest {
+    private static AABB randomBox(Random rng) {
+        double x = rng.nextDouble() * 1000;
+        double y = rng.nextDouble() * 1000;
+        return new AABB(x, y, x + rng.nextDouble() * 50, y + rng.nextDouble() * 50);
+    }
+
+    private static void assertQueryEquals(Map<Object, AABB> expected, DynamicSpatialIndex<Object> index, AABB q) {
+        Set<Object> actual = Collections.newSetFromMap(new IdentityHashMap<>());
+        index.forEachIntersecting(q.minX(), q.minY(), q.maxX(), q.maxY(), actual::add);
+        Set<Object> brute = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<Object, AABB> e : expected.entrySet()) {
+            AABB b = e.getValue();
+            if (!(b.minX() > q.maxX() || b.maxX() < q.minX() || b.minY() > q.maxY() || b.maxY() < q.minY())) {
+                brute.add(e.getKey());
+            }
+        }
+        assertEquals(brute, actual, "query " + q);
+    }
+
+    @Test
+    public void shouldFindSameElementsAsBruteForceAfterRandomEdits() {
+        Random rng = new Random(0);
+        DynamicSpatialIndex<Object> index = new DynamicSpatialIndex<>(2.0);
+        Map<Object, AABB> expected = new IdentityHashMap<>();
+        List<Object> elements = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Object e = new Object();
+            AABB b = randomBox(rng);
+            elements.add(e);
+            expected.put(e, b);
+            index.put(e, b.minX(), b.minY(), b.maxX(), b.maxY());
+        }
+        for (int i = 0; i < 2000; i++) {
+            Object e = elements.get(rng.nextInt(elements.size()));
+            switch (rng.nextInt(3)) {
+                case 0 -> {
+                    // small move: usually stays within the fat bounds
+                    AABB b = expected.get(e);
+                    if (b != null) {
+                        double dx = rng.nextDouble() - 0.5, dy = rng.nextDouble() - 0.5;
+                        b = new AABB(b.minX() + dx, b.minY() + dy, b.maxX() + dx, b.maxY() + dy);
+                        expected.put(e, b);
+                        index.put(e, b.minX(), b.minY(), b.maxX(), b.maxY());
+                    }
+                }
+                case 1 -> {
+                    AABB b = randomBox(rng);
+                    expected.put(e, b);
+                    index.put(e, b.minX(), b.minY(), b.maxX(), b.maxY());
+                }
+                default -> {
+                    assertEquals(expected.remove(e) != null, index.remove(e));
+                }
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        for (int i = 0; i < 200; i++) {
+            assertQueryEquals(expected, index, randomBox(rng));
+            double x = rng.nextDouble() * 1000, y = rng.nextDouble() * 1000;
+            assertQueryEquals(expected, index, new AABB(x, y, x, y));
+        }
+        assertTrue(index.getHeight() < 40, "tree should be balanced, height=" + index.getHeight());
+    }
+
+    @Test
+    public void shouldNotIndexEmptyBounds() {
+        DynamicSpatialIndex<Object> index = new DynamicSpatialIndex<>();
+        Object e = new Object();
+        index.put(e, 0, 0, 10, 10);
+        assertTrue(index.contains(e));
+        index.put(e, Double.NaN, 0, 10, 10);
+        assertFalse(index.contains(e));
+        index.put(e, 10, 10, 0, 0);
+        assertFalse(index.contains(e));
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    public void shouldBeEmptyAfterClear() {
+        DynamicSpatialIndex<Object> index = new DynamicSpatialIndex<>();
+        for (int i = 0; i < 100; i++) {
+            index.put(new Object(), i, i, i + 1, i + 1);
+        }
+        index.clear();
+        assertTrue(index.isEmpty());
+        List<Object> found = new ArrayList<>();
+        index.forEachIntersecting(-1e9, -1e9, 1e9, 1e9, found::add);
+        assertTrue(found.isEmpty());
+        Object e = new Object();
+        index.put(e, 0, 0, 1, 1);
+        index.forEachIntersecting(0.5, 0.5, 0.5, 0.5, found::add);
+        assertEquals(List.of(e), found);
+    }
+}
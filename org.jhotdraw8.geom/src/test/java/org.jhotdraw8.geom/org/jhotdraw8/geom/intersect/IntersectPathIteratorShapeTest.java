@@ -0,0 +1,139 @@
+/*
+ * @(#)IntersectPathIteratorShapeTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.geom.intersect;
+
+import org.jhotdraw8.geom.SvgPaths;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+public class IntersectPathIteratorShapeTest {
+    @TestFactory
+    public List<DynamicTest> dynamicTestsIntersectPathIteratorShape() {
+        return Arrays.asList(
+                dynamicTest("overlapping rectangles", () -> testIntersectPathIteratorShape(
+                        "M0,0 L10,0 L10,10 L0,10 Z", "M5,5 L15,5 L15,15 L5,15 Z",
+                        IntersectionStatus.INTERSECTION, 2)),
+                dynamicTest("rectangle inside rectangle", () -> testIntersectPathIteratorShape(
+                        "M2,2 L8,2 L8,8 L2,8 Z", "M0,0 L10,0 L10,10 L0,10 Z",
+                        IntersectionStatus.NO_INTERSECTION_INSIDE, 0)),
+                dynamicTest("rectangle outside rectangle", () -> testIntersectPathIteratorShape(
+                        "M20,20 L30,20 L30,30 L20,30 Z", "M0,0 L10,0 L10,10 L0,10 Z",
+                        IntersectionStatus.NO_INTERSECTION_OUTSIDE, 0)),
+                dynamicTest("rectangle in hole", () -> testIntersectPathIteratorShape(
+                        "M4,4 L6,4 L6,6 L4,6 Z", "M0,0 L10,0 L10,10 L0,10 Z M3,3 L3,7 L7,7 L7,3 Z",
+                        IntersectionStatus.NO_INTERSECTION_OUTSIDE, 0)),
+                dynamicTest("rectangles inside and outside", () -> testIntersectPathIteratorShape(
+                        "M2,2 L8,2 L8,8 L2,8 Z M20,20 L30,20 L30,30 L20,30 Z", "M0,0 L10,0 L10,10 L0,10 Z",
+                        IntersectionStatus.NO_INTERSECTION_INSIDE_AND_OUTSIDE, 0)),
+                dynamicTest("quad curve crosses cubic curve", () -> testIntersectPathIteratorShape(
+                        "M0,5 Q5,-5 10,5", "M5,-10 C0,0 10,0 5,10",
+                        IntersectionStatus.INTERSECTION, 1))
+        );
+    }
+
+    private void testIntersectPathIteratorShape(String a, String b, IntersectionStatus expectedStatus, int expectedCount) throws ParseException {
+        IntersectionResultEx actual = IntersectPathIteratorShape.intersectPathIteratorShapeEx(
+                SvgPaths.svgStringToAwtShape(a).getPathIterator(null),
+                SvgPaths.svgStringToAwtShape(b));
+        assertEquals(expectedStatus, actual.getStatus());
+        assertEquals(expectedCount, actual.intersections().size());
+    }
+
+    @Test
+    public void shouldReportPathElementIndicesOfIntersectingSegments() throws ParseException {
+        // Segment 3 of 'a' (L0,10 Z) is the closing line, which crosses segment 1 of 'b'.
+        IntersectionResultEx actual = IntersectPathIteratorShape.intersectPathIteratorShapeEx(
+                SvgPaths.svgStringToAwtShape("M10,0 L10,10 L0,10 Z").getPathIterator(null),
+                SvgPaths.svgStringToAwtShape("M0,2 L12,2"));
+        assertEquals(IntersectionStatus.INTERSECTION, actual.getStatus());
+        assertEquals(2, actual.intersections().size());
+        IntersectionPointEx first = actual.intersections().getFirst();
+        IntersectionPointEx last = actual.intersections().getLast();
+        assertEquals(1, first.segmentA());
+        assertEquals(3, last.segmentA());
+        assertEquals(1, first.getSegmentB());
+        assertEquals(1, last.getSegmentB());
+    }
+
+    @Test
+    public void shouldIntersectEllipses() {
+        Shape a = new Ellipse2D.Double(0, 0, 100, 50);
+        Shape b = new Ellipse2D.Double(50, 0, 100, 50);
+        IntersectionResultEx actual = IntersectShapeShape.intersectShapeShapeEx(a, b);
+        assertEquals(IntersectionStatus.INTERSECTION, actual.getStatus());
+        assertEquals(2, actual.intersections().size());
+        // The ellipses are approximated by cubic curves.
+        for (IntersectionPointEx p : actual.intersections()) {
+            assertEquals(75, p.getX(), 1e-3);
+        }
+        assertEquals(IntersectionStatus.NO_INTERSECTION_INSIDE,
+                IntersectShapeShape.intersectShapeShapeEx(new Ellipse2D.Double(10, 10, 20, 20), a).getStatus());
+        assertEquals(IntersectionStatus.NO_INTERSECTION_OUTSIDE,
+                IntersectShapeShape.intersectShapeShapeEx(new Rectangle2D.Double(200, 0, 20, 20), a).getStatus());
+    }
+
+    @Test
+    public void shouldFindSameIntersectionsAsBruteForceOnLargePolylines() {
+        Random rnd = new Random(0);
+        Path2D.Double a = randomPolyline(rnd, 500);
+        Path2D.Double b = randomPolyline(rnd, 500);
+
+        int expected = 0;
+        double[] ca = toArray(a), cb = toArray(b);
+        for (int i = 0; i + 3 < ca.length; i += 2) {
+            for (int j = 0; j + 3 < cb.length; j += 2) {
+                IntersectionResultEx r = IntersectLineLine.intersectLineLineEx(ca[i], ca[i + 1], ca[i + 2], ca[i + 3],
+                        cb[j], cb[j + 1], cb[j + 2], cb[j + 3]);
+                if (r.getStatus() == IntersectionStatus.INTERSECTION) {
+                    expected += r.intersections().size();
+                }
+            }
+        }
+
+        IntersectionResultEx actual = IntersectPathIteratorShape.intersectPathIteratorShapeEx(a.getPathIterator(null), b);
+        assertEquals(expected, actual.intersections().size());
+    }
+
+    private static Path2D.Double randomPolyline(Random rnd, int n) {
+        Path2D.Double p = new Path2D.Double();
+        double x = rnd.nextDouble() * 1000, y = rnd.nextDouble() * 1000;
+        p.moveTo(x, y);
+        for (int i = 0; i < n; i++) {
+            x = Math.clamp(x + rnd.nextDouble() * 100 - 50, 0, 1000);
+            y = Math.clamp(y + rnd.nextDouble() * 100 - 50, 0, 1000);
+            p.lineTo(x, y);
+        }
+        return p;
+    }
+
+    private static double[] toArray(Path2D.Double p) {
+        double[] coords = new double[6];
+        double[] result = new double[0];
+        int n = 0;
+        for (var it = p.getPathIterator(null); !it.isDone(); it.next()) {
+            it.currentSegment(coords);
+            if (n + 2 > result.length) {
+                result = Arrays.copyOf(result, Math.max(8, result.length * 2));
+            }
+            result[n++] = coords[0];
+            result[n++] = coords[1];
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static java.lang.Math.sqrt;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
@@ -57,6 +58,12 @@ public class PolynomialTest {
         for (int i = 0; i < expected.length; i++) {
             assertEquals(actual[i], expected[i], 1e-6, "root #" + i);
         }
+
+        double[] buffer = new double[instance.getDegree()];
+        int count = instance.getRoots(buffer);
+        assertEquals(actual.length, count);
+        Arrays.sort(buffer, 0, count);
+        assertArrayEquals(actual, Arrays.copyOf(buffer, count));
     }
 
     public static void testGetRootsInInterval(Polynomial instance, double from, double to, double[] expected) {
@@ -66,6 +73,30 @@ public class PolynomialTest {
         for (int i = 0; i < expected.length; i++) {
             assertEquals(actual.get(i), expected[i], 1e-6, "root #" + i);
         }
+
+        DoubleArrayList appended = DoubleArrayList.of(-42.0);
+        assertEquals(actual.size(), instance.getRootsInInterval(from, to, appended));
+        assertEquals(-42.0, appended.getFirstAsDouble());
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals(actual.getAsDouble(i), appended.getAsDouble(i + 1), "root #" + i);
+        }
+    }
+
+    @TestFactory
+    public List<DynamicTest> dynamicTestsGetRootsOfCoefficients() {
+        return Arrays.asList(
+                dynamicTest("cubic", () -> testGetRootsOfCoefficients(1, -1.61900826446281, 0.882231404958678, -0.163453828290417)),
+                dynamicTest("quadratic", () -> testGetRootsOfCoefficients(0, 2, -3, 1)),
+                dynamicTest("linear", () -> testGetRootsOfCoefficients(0, 0, 2, 1)),
+                dynamicTest("constant", () -> testGetRootsOfCoefficients(0, 0, 0, 5))
+        );
+    }
+
+    public static void testGetRootsOfCoefficients(double c3, double c2, double c1, double c0) {
+        double[] expected = new Polynomial(c3, c2, c1, c0).getRoots();
+        double[] buffer = new double[3];
+        int count = Polynomial.getRoots(c3, c2, c1, c0, buffer);
+        assertArrayEquals(expected, Arrays.copyOf(buffer, count));
     }
 
 
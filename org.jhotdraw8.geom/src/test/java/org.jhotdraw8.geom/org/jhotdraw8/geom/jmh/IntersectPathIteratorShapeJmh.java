@@ -0,0 +1,101 @@
+package org.jhotdraw8.geom.jmh;
+
+import org.jhotdraw8.geom.intersect.IntersectLineLine;
+import org.jhotdraw8.geom.intersect.IntersectPathIteratorShape;
+import org.jhotdraw8.geom.intersect.IntersectionResultEx;
+import org.jhotdraw8.geom.intersect.IntersectionStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.geom.Path2D;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Intersects two random polylines with `size` segments each.
+///
+/// The `pairwise` benchmark intersects every segment of one polyline
+/// with every segment of the other polyline.
+/// <pre>
+/// # JMH version: 1.37
+/// # VM version: JDK 21.0.1, OpenJDK 64-Bit Server VM, 21.0.1+12-LTS
+/// Benchmark                                   (size)  Mode  Cnt         Score   Error  Units
+/// IntersectPathIteratorShapeJmh.pairwise         100  avgt    2    388383.229          ns/op
+/// IntersectPathIteratorShapeJmh.pairwise        1000  avgt    2  66771132.313          ns/op
+/// IntersectPathIteratorShapeJmh.pathIterator     100  avgt    2     33266.666          ns/op
+/// IntersectPathIteratorShapeJmh.pathIterator    1000  avgt    2   1416948.128          ns/op
+/// </pre>
+@State(Scope.Benchmark)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx15g",})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class IntersectPathIteratorShapeJmh {
+    @Param({"100", "1000"})
+    private int size;
+    private Path2D.Double a;
+    private Path2D.Double b;
+    private double[] ca;
+    private double[] cb;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(0);
+        ca = randomPolyline(rnd, size);
+        cb = randomPolyline(rnd, size);
+        a = toPath(ca);
+        b = toPath(cb);
+    }
+
+    @Benchmark
+    public IntersectionResultEx pathIterator() {
+        return IntersectPathIteratorShape.intersectPathIteratorShapeEx(a.getPathIterator(null), b);
+    }
+
+    @Benchmark
+    public int pairwise() {
+        int count = 0;
+        for (int i = 0; i + 3 < ca.length; i += 2) {
+            for (int j = 0; j + 3 < cb.length; j += 2) {
+                IntersectionResultEx r = IntersectLineLine.intersectLineLineEx(ca[i], ca[i + 1], ca[i + 2], ca[i + 3],
+                        cb[j], cb[j + 1], cb[j + 2], cb[j + 3]);
+                if (r.getStatus() == IntersectionStatus.INTERSECTION) {
+                    count += r.intersections().size();
+                }
+            }
+        }
+        return count;
+    }
+
+    private static double[] randomPolyline(Random rnd, int n) {
+        double[] coords = new double[(n + 1) * 2];
+        double x = rnd.nextDouble() * 1000, y = rnd.nextDouble() * 1000;
+        coords[0] = x;
+        coords[1] = y;
+        for (int i = 1; i <= n; i++) {
+            x = Math.clamp(x + rnd.nextDouble() * 100 - 50, 0, 1000);
+            y = Math.clamp(y + rnd.nextDouble() * 100 - 50, 0, 1000);
+            coords[i * 2] = x;
+            coords[i * 2 + 1] = y;
+        }
+        return coords;
+    }
+
+    private static Path2D.Double toPath(double[] coords) {
+        Path2D.Double p = new Path2D.Double();
+        p.moveTo(coords[0], coords[1]);
+        for (int i = 2; i < coords.length; i += 2) {
+            p.lineTo(coords[i], coords[i + 1]);
+        }
+        return p;
+    }
+}
@@ -0,0 +1,119 @@
+package org.jhotdraw8.geom.jmh;
+
+import org.jhotdraw8.collection.primitive.DoubleArrayList;
+import org.jhotdraw8.geom.CubicCurves;
+import org.jhotdraw8.geom.Polynomial;
+import org.jhotdraw8.geom.Solvers;
+import org.jhotdraw8.geom.intersect.IntersectCubicCurveCubicCurve;
+import org.jhotdraw8.geom.intersect.IntersectionResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ToDoubleFunction;
+
+/// Compares the primitive solvers with solvers that take boxed functions.
+///
+/// The `boxed` benchmarks use a copy of the solver that takes a
+/// `ToDoubleFunction<Double>`, so that every function evaluation boxes
+/// its argument.
+/// The `rootsInInterval` benchmarks compute the roots of the polynomial of
+/// degree 9 that is used for intersecting two cubic curves.
+/// <pre>
+/// # JMH version: 1.37
+/// # VM version: JDK 21.0.1, OpenJDK 64-Bit Server VM, 21.0.1+12-LTS
+/// Benchmark                                 Mode  Cnt      Score       Error  Units
+/// SolversJmh.bisectionBoxed                 avgt    3    110.484 ±    22.218  ns/op
+/// SolversJmh.bisectionPrimitive             avgt    3    108.592 ±   159.553  ns/op
+/// SolversJmh.intersectCubicCurveCubicCurve  avgt    3  24603.965 ± 30464.648  ns/op
+/// SolversJmh.invArcLength                   avgt    3    544.531 ±   346.238  ns/op
+/// SolversJmh.rootsInIntervalNewList         avgt    3   1266.505 ±  1157.033  ns/op
+/// SolversJmh.rootsInIntervalReusedList      avgt    3   1135.338 ±  1994.994  ns/op
+/// </pre>
+@State(Scope.Benchmark)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx15g",})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class SolversJmh {
+    private final double[] curve = {190, 200, 310, 100, 250, 280, 240, 100};
+    private final double[] otherCurve = {100, 100, 400, 300, 150, 350, 300, 120};
+    private DoubleUnaryOperator integrand;
+    private ToDoubleFunction<Double> boxedIntegrand;
+    private Polynomial polynomial;
+    private final DoubleArrayList roots = new DoubleArrayList(9);
+
+    @Setup
+    public void setup() {
+        integrand = CubicCurves.getArcLengthIntegrand(curve, 0);
+        boxedIntegrand = integrand::applyAsDouble;
+        polynomial = new Polynomial(false, -288000.0, 2330400.0, -7454400.0, 1.25376E7, -1.1616E7, 4646400.0,
+                -1.0E6, 1.0E5, -5.0E3, 1.0E2);
+    }
+
+    @Benchmark
+    public double bisectionPrimitive() {
+        return Solvers.bisectionMethod(integrand, 150, 0, 1, 1e-7);
+    }
+
+    @Benchmark
+    public double bisectionBoxed() {
+        return boxedBisectionMethod(boxedIntegrand, 150, 0, 1, 1e-7);
+    }
+
+    @Benchmark
+    public double invArcLength() {
+        return CubicCurves.invArcLength(curve, 0, 70, 0.125);
+    }
+
+    @Benchmark
+    public DoubleArrayList rootsInIntervalNewList() {
+        return polynomial.getRootsInInterval(0, 1);
+    }
+
+    @Benchmark
+    public int rootsInIntervalReusedList() {
+        roots.clear();
+        return polynomial.getRootsInInterval(0, 1, roots);
+    }
+
+    @Benchmark
+    public IntersectionResult intersectCubicCurveCubicCurve() {
+        return IntersectCubicCurveCubicCurve.intersectCubicCurveCubicCurve(
+                curve[0], curve[1], curve[2], curve[3], curve[4], curve[5], curve[6], curve[7],
+                otherCurve[0], otherCurve[1], otherCurve[2], otherCurve[3], otherCurve[4], otherCurve[5], otherCurve[6], otherCurve[7]);
+    }
+
+    /// Same as [Solvers#bisectionMethod], but with a boxed function.
+    private static double boxedBisectionMethod(ToDoubleFunction<Double> f, double y, double xmin, double xmax, double tolerance) {
+        final int maxIterations = 100;
+        int n = 0;
+        double toleranceX = Math.abs(xmax - xmin) * tolerance;
+        double x;
+        while (true) {
+            x = (xmin + xmax) * 0.5;
+            if (n >= maxIterations) {
+                return x;
+            }
+            double dy = f.applyAsDouble(x) - y;
+            if (Math.abs(dy) < tolerance || Math.abs(xmax - xmin) * 0.5 < toleranceX) {
+                return x;
+            } else if (dy > 0.0) {
+                xmax = x;
+            } else {
+                xmin = x;
+            }
+            n++;
+        }
+    }
+}
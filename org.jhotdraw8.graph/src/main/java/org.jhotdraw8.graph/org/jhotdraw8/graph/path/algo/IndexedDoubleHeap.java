@@ -0,0 +1,127 @@
+/*
+ * @(#)IndexedDoubleHeap.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.path.algo;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/// An array-based binary min-heap of vertex indices with `double` keys,
+/// that supports the decrease-key operation.
+///
+/// Unlike [org.jhotdraw8.collection.primitive.LongArrayHeap], this heap
+/// contains each vertex at most once. Lowering the key of a vertex moves
+/// it up in the heap, instead of adding a second entry. This bounds the size
+/// of the heap by the number of vertices.
+///
+/// This class is package private.
+class IndexedDoubleHeap {
+    /// The vertices in heap order, starting at index 1.
+    private int[] vertices;
+    /// The keys in heap order, starting at index 1.
+    private double[] keys;
+    /// Maps a vertex to its index in the heap, 0 means that the vertex is
+    /// not in the heap.
+    private int[] positions;
+    private int size;
+
+    IndexedDoubleHeap(int vertexCount) {
+        vertices = new int[Math.max(16, vertexCount + 1)];
+        keys = new double[vertices.length];
+        positions = new int[vertexCount];
+    }
+
+    /// Ensures that the heap can hold vertices in the range
+    /// `0 ≤ v < vertexCount`.
+    void ensureVertexCount(int vertexCount) {
+        if (positions.length < vertexCount) {
+            positions = Arrays.copyOf(positions, Math.max(vertexCount, positions.length * 2));
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        for (int i = 1; i <= size; i++) {
+            positions[vertices[i]] = 0;
+        }
+        size = 0;
+    }
+
+    /// Adds the vertex with the given key, or lowers its key if the vertex
+    /// is already in the heap with a higher key.
+    ///
+    /// @param v   a vertex
+    /// @param key the key
+    void addOrDecrease(int v, double key) {
+        int hole = positions[v];
+        if (hole == 0) {
+            if (++size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertices.length * 2);
+                keys = Arrays.copyOf(keys, vertices.length);
+            }
+            hole = size;
+        } else if (keys[hole] <= key) {
+            return;
+        }
+        while (hole > 1) {
+            int pred = hole >>> 1;
+            double predKey = keys[pred];
+            if (predKey <= key) {
+                break;
+            }
+            int predVertex = vertices[pred];
+            vertices[hole] = predVertex;
+            keys[hole] = predKey;
+            positions[predVertex] = hole;
+            hole = pred;
+        }
+        vertices[hole] = v;
+        keys[hole] = key;
+        positions[v] = hole;
+    }
+
+    /// Removes the vertex with the smallest key.
+    ///
+    /// @return the vertex
+    /// @throws NoSuchElementException if the heap is empty
+    int removeMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int result = vertices[1];
+        positions[result] = 0;
+        int lastVertex = vertices[size];
+        double lastKey = keys[size];
+        int sz = --size;
+        if (sz == 0) {
+            return result;
+        }
+
+        // sift the last element down from the root
+        int hole = 1;
+        int succ = 2;
+        while (succ <= sz) {
+            if (succ < sz && keys[succ + 1] < keys[succ]) {
+                succ++;
+            }
+            if (keys[succ] >= lastKey) {
+                break;
+            }
+            int succVertex = vertices[succ];
+            vertices[hole] = succVertex;
+            keys[hole] = keys[succ];
+            positions[succVertex] = hole;
+            hole = succ;
+            succ <<= 1;
+        }
+        vertices[hole] = lastVertex;
+        keys[hole] = lastKey;
+        positions[lastVertex] = hole;
+        return result;
+    }
+}
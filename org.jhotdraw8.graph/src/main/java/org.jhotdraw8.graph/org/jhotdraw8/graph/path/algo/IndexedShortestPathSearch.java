@@ -0,0 +1,202 @@
+/*
+ * @(#)IndexedShortestPathSearch.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.path.algo;
+
+import org.jhotdraw8.collection.primitive.IntArrayList;
+import org.jhotdraw8.graph.IndexedDirectedGraph;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+
+/// Searches for a shortest path in an [IndexedDirectedGraph] with
+/// Dijkstra's algorithm, or with the A* algorithm if a heuristic is
+/// provided.
+///
+/// Unlike [AnyShortestVertexPathSearchAlgo], this class does not box vertices
+/// or costs, and does not allocate a back link for each relaxed arrow. It
+/// keeps the costs and the predecessors of the vertices in arrays, and uses
+/// an indexed binary heap with `double` keys as its priority queue.
+///
+/// The arrays are retained between searches. They are reset in constant
+/// time at the start of a search, so that repeated searches on the same
+/// graph only pay for the vertices that they actually visit.
+///
+/// **Note that this implementation is not synchronized.** Use one instance
+/// per thread.
+///
+/// References:
+///
+///   - Esger W. Dijkstra (1959), A note on two problems in connexion with graphs,
+///     Problem 2.
+///     <a href="https://www-m3.ma.tum.de/twiki/pub/MN0506/WebHome/dijkstra.pdf">tum.de</a>
+///   - Peter E. Hart, Nils J. Nilsson, Bertram Raphael (1968), A Formal Basis
+///     for the Heuristic Determination of Minimum Cost Paths.
+///     IEEE Transactions on Systems Science and Cybernetics 4 (2): 100–107.
+public class IndexedShortestPathSearch {
+    /// Computes the cost of an arrow.
+    @FunctionalInterface
+    public interface ArrowCostFunction {
+        /// Returns the cost of the arrow from `v` to `u`.
+        ///
+        /// @param v         the start vertex of the arrow
+        /// @param u         the end vertex of the arrow
+        /// @param arrowData the arrow data as returned by
+        ///                  [IndexedDirectedGraph#getNextArrowAsInt(int, int)]
+        /// @return the cost, must be {@literal >= 0}
+        double applyAsDouble(int v, int u, int arrowData);
+    }
+
+    private final IndexedDirectedGraph graph;
+    private final ArrowCostFunction costFunction;
+    private final IndexedDoubleHeap queue;
+    /// Best known cost from the start vertices to a vertex. Only valid if
+    /// `stamps[v] == generation`.
+    private double[] costs;
+    /// Predecessor of a vertex on the best known path, -1 for a start vertex.
+    /// Only valid if `stamps[v] == generation`.
+    private int[] preds;
+    /// The generation in which the entries of a vertex were written.
+    private int[] stamps;
+    private int generation;
+
+    /// Creates a new instance.
+    ///
+    /// @param graph        the graph
+    /// @param costFunction the cost function
+    public IndexedShortestPathSearch(IndexedDirectedGraph graph, ArrowCostFunction costFunction) {
+        this.graph = graph;
+        this.costFunction = costFunction;
+        int n = graph.getVertexCount();
+        this.costs = new double[n];
+        this.preds = new int[n];
+        this.stamps = new int[n];
+        this.queue = new IndexedDoubleHeap(n);
+    }
+
+    /// Searches for a shortest path from `start` to `goal` with Dijkstra's
+    /// algorithm.
+    ///
+    /// @param start the start vertex
+    /// @param goal  the goal vertex
+    /// @return the vertices of the path from start to goal, or null if
+    /// there is no path
+    public @Nullable IntArrayList findShortestPath(int start, int goal) {
+        return search(new int[]{start}, v -> v == goal, null, Double.POSITIVE_INFINITY);
+    }
+
+    /// Searches for a shortest path from any of the start vertices to
+    /// a vertex that satisfies the goal predicate.
+    ///
+    /// If a heuristic is provided, then the search uses the A* algorithm.
+    /// The heuristic must not overestimate the cost from a vertex to the
+    /// nearest goal, otherwise the returned path may not be a shortest path.
+    ///
+    /// @param startVertices the start vertices
+    /// @param goalPredicate the goal predicate
+    /// @param heuristic     an estimate of the cost from a vertex to the
+    ///                      nearest goal, or null
+    /// @param costLimit     the maximal cost (inclusive) of a path.
+    ///                      Must be {@literal >= 0}.
+    /// @return the vertices of the path from a start vertex to a goal
+    /// vertex, or null if there is no path
+    public @Nullable IntArrayList search(int[] startVertices,
+                                         IntPredicate goalPredicate,
+                                         @Nullable IntToDoubleFunction heuristic,
+                                         double costLimit) {
+        if (!(costLimit >= 0)) {
+            throw new IllegalArgumentException("costLimit must be >= 0. costLimit=" + costLimit);
+        }
+        reset();
+
+        try {
+            for (int s : startVertices) {
+                if (!isReached(s)) {
+                    update(s, 0, -1);
+                    queue.addOrDecrease(s, heuristic == null ? 0 : heuristic.applyAsDouble(s));
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                int v = queue.removeMin();
+                if (goalPredicate.test(v)) {
+                    return createPath(v);
+                }
+
+                double costV = costs[v];
+                for (int i = 0, n = graph.getNextCount(v); i < n; i++) {
+                    int u = graph.getNextAsInt(v, i);
+                    double arrowCost = costFunction.applyAsDouble(v, u, graph.getNextArrowAsInt(v, i));
+                    if (!(arrowCost >= 0)) {
+                        throw new IllegalStateException("cost must be >= 0. v=" + v + ", u=" + u + ", cost=" + arrowCost);
+                    }
+                    double cost = costV + arrowCost;
+
+                    // If there is a cheaper path to u through v.
+                    if ((!isReached(u) || cost < costs[u]) && cost <= costLimit) {
+                        update(u, cost, v);
+                        queue.addOrDecrease(u, heuristic == null ? cost : cost + heuristic.applyAsDouble(u));
+                    }
+                }
+            }
+            return null;
+        } finally {
+            // The queue is retained between searches, it must be empty
+            // even if the search was aborted by an exception.
+            queue.clear();
+        }
+    }
+
+    /// Returns the cost of the best known path to the specified vertex
+    /// that was found by the last search.
+    ///
+    /// @param v a vertex
+    /// @return the cost, or {@link Double#POSITIVE_INFINITY} if the last
+    /// search did not reach the vertex
+    public double getCost(int v) {
+        return isReached(v) ? costs[v] : Double.POSITIVE_INFINITY;
+    }
+
+    private boolean isReached(int v) {
+        return stamps[v] == generation;
+    }
+
+    private void update(int v, double cost, int pred) {
+        costs[v] = cost;
+        preds[v] = pred;
+        stamps[v] = generation;
+    }
+
+    /// Invalidates all entries from the previous search, and grows
+    /// the arrays if vertices have been added to the graph.
+    private void reset() {
+        int n = graph.getVertexCount();
+        if (stamps.length < n) {
+            int capacity = Math.max(n, stamps.length * 2);
+            costs = Arrays.copyOf(costs, capacity);
+            preds = Arrays.copyOf(preds, capacity);
+            stamps = Arrays.copyOf(stamps, capacity);
+            queue.ensureVertexCount(capacity);
+        }
+        if (++generation == 0) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    private IntArrayList createPath(int goal) {
+        int length = 0;
+        for (int v = goal; v != -1; v = preds[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = goal; v != -1; v = preds[v]) {
+            path[--length] = v;
+        }
+        return IntArrayList.of(path);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * @(#)IndexedShortestPathSearchTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.graph.path.algo;
+
+import org.jhotdraw8.collection.primitive.IntArrayList;
+import org.jhotdraw8.graph.MutableIntAttributed16BitIndexedBidiGraph;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/// Tests [IndexedShortestPathSearch].
+public class IndexedShortestPathSearchTest {
+
+    /// Creates the graph of [ArbitraryShortestArcPathSearchAlgoTest] with
+    /// vertex indices starting at 0. The arrow data is the cost.
+    private MutableIntAttributed16BitIndexedBidiGraph createGraph() {
+        MutableIntAttributed16BitIndexedBidiGraph g = new MutableIntAttributed16BitIndexedBidiGraph(6, 6);
+        for (int i = 0; i < 6; i++) {
+            g.addVertexAsInt();
+        }
+        addBidiArrow(g, 1, 2, 7);
+        g.addArrowAsInt(0, 2, 9);
+        addBidiArrow(g, 1, 6, 14);
+        g.addArrowAsInt(1, 2, 10);
+        g.addArrowAsInt(1, 3, 15);
+        g.addArrowAsInt(2, 3, 11);
+        g.addArrowAsInt(2, 5, 2);
+        g.addArrowAsInt(3, 4, 6);
+        addBidiArrow(g, 5, 6, 9);
+        return g;
+    }
+
+    private static void addBidiArrow(MutableIntAttributed16BitIndexedBidiGraph g, int v, int u, int cost) {
+        g.addArrowAsInt(v - 1, u - 1, cost);
+        g.addArrowAsInt(u - 1, v - 1, cost);
+    }
+
+    @TestFactory
+    public List<DynamicTest> dynamicTestsFindShortestPath() {
+        return Arrays.asList(
+                dynamicTest("0", () -> doFindShortestPath(0, 0, IntArrayList.of(0), 0.0)),
+                dynamicTest("1", () -> doFindShortestPath(0, 4, IntArrayList.of(0, 2, 5, 4), 20.0)),
+                dynamicTest("2", () -> doFindShortestPath(0, 3, IntArrayList.of(0, 2, 3), 20.0)),
+                dynamicTest("3", () -> doFindShortestPath(1, 5, IntArrayList.of(1, 2, 5), 12.0)),
+                dynamicTest("4", () -> doFindShortestPath(3, 1, IntArrayList.of(3, 4, 5, 0, 1), 36.0))
+        );
+    }
+
+    private void doFindShortestPath(int start, int goal, IntArrayList expPath, double expCost) {
+        IndexedShortestPathSearch instance = new IndexedShortestPathSearch(createGraph(), (v, u, cost) -> cost);
+        assertEquals(expPath, instance.findShortestPath(start, goal));
+        assertEquals(expCost, instance.getCost(goal));
+    }
+
+    @Test
+    public void shouldRespectCostLimit() {
+        IndexedShortestPathSearch instance = new IndexedShortestPathSearch(createGraph(), (v, u, cost) -> cost);
+        assertNull(instance.search(new int[]{0}, v -> v == 4, null, 19.0));
+        assertNotNull(instance.search(new int[]{0}, v -> v == 4, null, 20.0));
+    }
+
+    @Test
+    public void shouldSearchAgainAfterAFailedSearch() {
+        double[] invalidCost = {Double.NaN};
+        IndexedShortestPathSearch instance = new IndexedShortestPathSearch(createGraph(),
+                (v, u, cost) -> v == 5 && u == 4 ? invalidCost[0] : cost);
+        assertThrows(IllegalStateException.class, () -> instance.findShortestPath(0, 3));
+        invalidCost[0] = -1;
+        assertThrows(IllegalStateException.class, () -> instance.findShortestPath(0, 3));
+
+        // vertex 3 is not reachable from vertex 4 within the cost limit
+        assertNull(instance.search(new int[]{4}, v -> v == 3, null, 0));
+        assertEquals(Double.POSITIVE_INFINITY, instance.getCost(3));
+
+        invalidCost[0] = 9;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(IntArrayList.of(0, 2, 3), instance.findShortestPath(0, 3));
+            assertEquals(20.0, instance.getCost(3));
+            assertEquals(IntArrayList.of(3, 4, 5, 0, 1), instance.findShortestPath(3, 1));
+            assertEquals(36.0, instance.getCost(1));
+        }
+    }
+
+    @Test
+    public void shouldFindSameCostsWithAStarOnGrid() {
+        int size = 40;
+        Random rnd = new Random(0);
+        MutableIntAttributed16BitIndexedBidiGraph g = new MutableIntAttributed16BitIndexedBidiGraph(size * size, 4);
+        for (int i = 0; i < size * size; i++) {
+            g.addVertexAsInt();
+        }
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int v = y * size + x;
+                if (x + 1 < size) {
+                    int cost = 1 + rnd.nextInt(9);
+                    g.addArrowAsInt(v, v + 1, cost);
+                    g.addArrowAsInt(v + 1, v, cost);
+                }
+                if (y + 1 < size) {
+                    int cost = 1 + rnd.nextInt(9);
+                    g.addArrowAsInt(v, v + size, cost);
+                    g.addArrowAsInt(v + size, v, cost);
+                }
+            }
+        }
+
+        IndexedShortestPathSearch dijkstra = new IndexedShortestPathSearch(g, (v, u, cost) -> cost);
+        IndexedShortestPathSearch aStar = new IndexedShortestPathSearch(g, (v, u, cost) -> cost);
+        for (int i = 0; i < 50; i++) {
+            int start = rnd.nextInt(size * size);
+            int goal = rnd.nextInt(size * size);
+            // Every arrow costs at least 1, so the Manhattan distance is admissible.
+            IntArrayList expected = dijkstra.findShortestPath(start, goal);
+            IntArrayList actual = aStar.search(new int[]{start}, v -> v == goal,
+                    v -> Math.abs(v % size - goal % size) + Math.abs(v / size - goal / size),
+                    Double.POSITIVE_INFINITY);
+            assertNotNull(expected);
+            assertNotNull(actual);
+            assertEquals(dijkstra.getCost(goal), aStar.getCost(goal));
+            assertEquals(start, actual.getFirstAsInt());
+            assertEquals(goal, actual.getLastAsInt());
+            double cost = 0;
+            for (int j = 1; j < actual.size(); j++) {
+                int v = actual.getAsInt(j - 1);
+                cost += g.getNextArrowAsInt(v, g.findIndexOfNextAsInt(v, actual.getAsInt(j)));
+            }
+            assertEquals(aStar.getCost(goal), cost);
+        }
+    }
+}
@@ -373,6 +373,7 @@ public class GrapherActivity extends AbstractFileBasedActivity implements FileBa
 
         editor = new SimpleDrawingEditor();
         editor.setUndoManager(undoManager);
+        editor.setUndoAdapter(undoAdapter);
         new DrawingEditorPreferencesHandler(editor,
                 getApplication().getPreferences());
         editor.addDrawingView(drawingView);
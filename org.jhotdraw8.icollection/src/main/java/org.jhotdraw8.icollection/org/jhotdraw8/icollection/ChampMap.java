@@ -5,11 +5,12 @@
 package org.jhotdraw8.icollection;
 
 import org.jhotdraw8.icollection.facade.ReadableSetFacade;
+import org.jhotdraw8.icollection.impl.champ.BulkChangeEvent;
 import org.jhotdraw8.icollection.impl.champmap.BitmapIndexedNode;
 import org.jhotdraw8.icollection.impl.champmap.ChangeEvent;
 import org.jhotdraw8.icollection.impl.champmap.EntryIterator;
+import org.jhotdraw8.icollection.impl.champmap.EntrySpliterator;
 import org.jhotdraw8.icollection.impl.champmap.Node;
-import org.jhotdraw8.icollection.impl.iteration.IteratorSpliterator;
 import org.jhotdraw8.icollection.impl.iteration.MappedIterator;
 import org.jhotdraw8.icollection.persistent.PersistentMap;
 import org.jhotdraw8.icollection.readable.ReadableMap;
@@ -255,6 +256,17 @@ public class ChampMap<K, V>
     @SuppressWarnings("unchecked")
     @Override
     public ChampMap<K, V> putAll(Iterable<? extends Map.Entry<? extends K, ? extends V>> c) {
+        if (c == this) {
+            return this;
+        }
+        if (c instanceof ChampMap<?, ?> that) {
+            if (isEmpty()) {
+                return that.isEmpty() ? this : newInstance((BitmapIndexedNode<K, V>) that.root, that.size);
+            }
+            var bulkChange = new BulkChangeEvent();
+            var newRootNode = root.putAll((BitmapIndexedNode<K, V>) that.root, 0, bulkChange, ChampMap::keyHash);
+            return newRootNode == root ? this : newInstance(newRootNode, size + bulkChange.added);
+        }
         var m = toMutable();
         return m.putAll(c) ? m.toPersistent() : this;
     }
@@ -299,7 +311,7 @@ public class ChampMap<K, V>
     }
 
     public Spliterator<Map.Entry<K, V>> spliterator() {
-        return new IteratorSpliterator<>(iterator(), size(), characteristics(), null);
+        return new EntrySpliterator<>(root, size(), characteristics());
     }
 
     /// Creates a mutable copy of this map.
@@ -44,6 +44,8 @@ import java.util.Spliterator;
 ///   - add: O(log₃₂ N)
 ///   - remove: O(log₃₂ N
 ///   - contains: O(log₃₂ N)
+///   - addAll, removeAll, retainAll with a ChampSet: O(M log₃₂ N), where M is the number
+///     of elements in subtrees that are not shared by both sets
 ///   - toMutable: O(1) + O(log₃₂ N) distributed across subsequent updates in the mutable copy
 ///   - clone: O(1)
 ///   - iterator.next(): O(1)
@@ -56,6 +58,10 @@ import java.util.Spliterator;
 ///
 /// The CHAMP trie contains nodes that may be shared with other sets.
 ///
+/// Bulk operations with another ChampSet merge the two tries node by node.
+/// Subtrees that are shared by both tries are kept or dropped by reference,
+/// without visiting their elements.
+///
 /// If a write operation is performed on a node, then this set creates a
 /// copy of the node and of all parent nodes up to the root (copy-path-on-write).
 ///
@@ -186,6 +192,9 @@ public class ChampSet<E> implements PersistentSet<E>, Serializable {
     @Override
     @SuppressWarnings("unchecked")
     public ChampSet<E> addAll(Iterable<? extends E> c) {
+        if (c == this) {
+            return this;
+        }
         if (isEmpty() && c instanceof ChampSet<? extends E> s) {
             return (ChampSet<E>) s;
         }
@@ -248,6 +257,9 @@ public class ChampSet<E> implements PersistentSet<E>, Serializable {
     @SuppressWarnings("unchecked")
     @Override
     public ChampSet<E> removeAll(Iterable<?> c) {
+        if (c == this) {
+            return of();
+        }
         var m = toMutable();
         return m.removeAll(c) ? m.toPersistent() : this;
     }
@@ -256,6 +268,9 @@ public class ChampSet<E> implements PersistentSet<E>, Serializable {
     @SuppressWarnings("unchecked")
     @Override
     public ChampSet<E> retainAll(Iterable<?> c) {
+        if (c == this) {
+            return this;
+        }
         var m = toMutable();
         return m.retainAll(c) ? m.toPersistent() : this;
     }
@@ -6,6 +6,7 @@
 package org.jhotdraw8.icollection;
 
 import org.jhotdraw8.icollection.facade.SetFacade;
+import org.jhotdraw8.icollection.impl.champ.BulkChangeEvent;
 import org.jhotdraw8.icollection.impl.champmap.AbstractMutableChampMap;
 import org.jhotdraw8.icollection.impl.champmap.BitmapIndexedNode;
 import org.jhotdraw8.icollection.impl.champmap.ChangeEvent;
@@ -189,36 +190,38 @@ public class MutableChampMap<K, V> extends AbstractMutableChampMap<K, V> {
         return putEntry(key, value).getOldValue();
     }
 
-    /*
+    /// {@inheritDoc}
+    ///
+    /// If the specified iterable is a [ChampMap] or a [MutableChampMap],
+    /// then this method merges the two tries node by node.
     @Override
     @SuppressWarnings("unchecked")
     public boolean putAll(Iterable<? extends Entry<? extends K, ? extends V>> c) {
-        if (c instanceof MutableChampMap<?, ?> m) {
+        if (c instanceof MutableChampMap<?, ?> m && c != this) {
             c = (Iterable<? extends Entry<? extends K, ? extends V>>) m.toPersistent();
         }
-        if (isEmpty() && c instanceof SimplePersistentMap<?, ?> that) {
+        if (c instanceof ChampMap<?, ?> that) {
             if (that.isEmpty()) {
                 return false;
             }
-            root = (BitmapIndexedNode<K, V>) (BitmapIndexedNode<?>) that.root;
-            size = that.size;
-            modCount++;
-            return true;
-        }
-        if (c instanceof SimplePersistentMap<?, ?> that) {
+            if (isEmpty()) {
+                root = (BitmapIndexedNode<K, V>) that.root;
+                size = that.size;
+                modCount++;
+                return true;
+            }
             var bulkChange = new BulkChangeEvent();
-            var newRootNode = root.putAll(getOrCreateOwner(), (Node<SimpleImmutableEntry<K, V>>) (Node<?>) that.root, 0, bulkChange, SimplePersistentMap::updateEntry, SimplePersistentMap::entryKeyEquals,
-                    SimplePersistentMap::entryKeyHash, new ChangeEvent<>());
-            if (bulkChange.inBoth == that.size() && !bulkChange.replaced) {
+            var newRootNode = root.putAll((BitmapIndexedNode<K, V>) that.root, 0, bulkChange, ChampMap::keyHash);
+            if (newRootNode == root) {
                 return false;
             }
             root = newRootNode;
-            size += that.size - bulkChange.inBoth;
+            size += bulkChange.added;
             modCount++;
             return true;
         }
         return super.putAll(c);
-    }*/
+    }
 
     ChangeEvent<V> putEntry(@Nullable K key, @Nullable V val) {
         int keyHash = ChampMap.keyHash(key);
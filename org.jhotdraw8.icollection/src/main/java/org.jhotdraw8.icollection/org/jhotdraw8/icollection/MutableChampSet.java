@@ -127,11 +127,13 @@ public class MutableChampSet<E> extends AbstractMutableChampSet<E, E> {
         if (c instanceof ChampSet<?> that) {
             var bulkChange = new BulkChangeEvent();
             var newRootNode = root.putAll(makeOwner(), (Node<E>) that.root, 0, bulkChange, ChampSet::updateElement, Objects::equals, ChampSet::keyHash, new ChangeEvent<>());
-            if (bulkChange.inBoth == that.size()) {
+            // We can not compare the root nodes, because nodes that we own
+            // are updated in place.
+            if (bulkChange.added == 0 && !bulkChange.replaced) {
                 return false;
             }
             root = newRootNode;
-            size += that.size - bulkChange.inBoth;
+            size += bulkChange.added;
             modCount++;
             return true;
         }
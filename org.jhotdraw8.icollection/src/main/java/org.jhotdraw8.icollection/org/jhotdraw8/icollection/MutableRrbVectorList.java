@@ -0,0 +1,283 @@
+/*
+ * @(#)MutableRrbVectorList.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.icollection;
+
+import org.jhotdraw8.icollection.facade.ReadableListFacade;
+import org.jhotdraw8.icollection.impl.vector.RrbTree;
+import org.jhotdraw8.icollection.readable.ReadableList;
+import org.jhotdraw8.icollection.readable.ReadableSequencedCollection;
+import org.jhotdraw8.icollection.sequenced.ReversedListView;
+import org.jhotdraw8.icollection.serialization.ListSerializationProxy;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+/// Implements the [List] interface using a relaxed radix balanced
+/// tree (RRB tree).
+///
+/// Features:
+///
+///   - supports up to 2<sup>31</sup> - 1 elements
+///   - allows null elements
+///   - is mutable
+///   - is not thread-safe
+///   - iterates in the order of the list
+///
+///
+/// Performance characteristics:
+///
+///   - addLast, addFirst: O(log N)
+///   - add(index, element): O(log N)
+///   - set: O(log N)
+///   - remove(index): O(log N)
+///   - removeRange: O(log N)
+///   - contains: O(N)
+///   - toPersistent: O(1)
+///   - clone: O(1)
+///   - iterator.next(): O(1)
+///
+///
+/// @param <E> the element type
+public class MutableRrbVectorList<E> extends AbstractList<E> implements Serializable, ReadableList<E>, List<E>, Cloneable {
+    @Serial
+    private static final long serialVersionUID = 0L;
+
+    private transient RrbTree<E> root;
+
+    /// Constructs a new empty list.
+    public MutableRrbVectorList() {
+        root = RrbTree.empty();
+    }
+
+    /// Constructs a list containing the elements in the specified iterable.
+    ///
+    /// @param c an iterable
+    @SuppressWarnings("unchecked")
+    public MutableRrbVectorList(Iterable<? extends E> c) {
+        if (c instanceof MutableRrbVectorList<?> m) {
+            this.root = (RrbTree<E>) m.root;
+        } else if (c instanceof RrbVectorList<?> that) {
+            this.root = (RrbTree<E>) that.tree;
+        } else {
+            this.root = RrbTree.ofAll(c);
+        }
+    }
+
+    public RrbVectorList<E> toPersistent() {
+        return root.length == 0 ? RrbVectorList.of() : new RrbVectorList<>(root);
+    }
+
+    @Override
+    public void addFirst(E e) {
+        root = root.prepend(e);
+        modCount++;
+    }
+
+    @Override
+    public void addLast(E e) {
+        root = root.append(e);
+        modCount++;
+    }
+
+    @Override
+    public boolean add(E e) {
+        root = root.append(e);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        Objects.checkIndex(index, root.length + 1);
+        root = root.insert(index, element);
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        return addAll(index, (Iterable<? extends E>) c);
+    }
+
+    /// Adds all elements in the specified collection at the specified position.
+    ///
+    /// If `c` is a [RrbVectorList] or a [MutableRrbVectorList], then this
+    /// method takes O(log N) time.
+    ///
+    /// @param index the insertion position
+    /// @param c     the collection to be added to ths list
+    /// @return `true` if this list changed as a result of the call
+    public boolean addAll(int index, Iterable<? extends E> c) {
+        Objects.checkIndex(index, root.length + 1);
+        int oldSize = root.length;
+        RrbVectorList<E> persistent = toPersistent().addAll(index, c);
+        if (oldSize != persistent.size()) {
+            root = persistent.tree;
+            modCount++;
+            return true;
+        }
+        return false;
+    }
+
+    /// Adds all elements in the specified collection at the end of this list.
+    ///
+    /// @param c the collection to be added to ths list
+    /// @return `true` if this list changed as a result of the call
+    public boolean addAll(Iterable<? extends E> c) {
+        return addAll(size(), c);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        int oldSize = root.length;
+        RrbVectorList<E> persistent = toPersistent().removeAll(c);
+        if (oldSize != persistent.size()) {
+            root = persistent.tree;
+            modCount++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        int oldSize = root.length;
+        RrbVectorList<E> persistent = toPersistent().retainAll(c);
+        if (oldSize != persistent.size()) {
+            root = persistent.tree;
+            modCount++;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        Objects.checkIndex(index, root.length);
+        E oldValue = root.get(index);
+        root = root.update(index, element);
+
+        // According to Guava Tests, this method must not affect modCount!
+        // modCount++;
+
+        return oldValue;
+    }
+
+    @Override
+    public E remove(int index) {
+        Objects.checkIndex(index, root.length);
+        E removed = root.get(index);
+        root = root.removeAt(index);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, root.length);
+        root = root.removeRange(fromIndex, toIndex);
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        if (root.length != 0) {
+            root = RrbTree.empty();
+            modCount++;
+        }
+    }
+
+    @Override
+    public ReadableSequencedCollection<E> readableReversed() {
+        return new ReadableListFacade<>(
+                this::size,
+                index -> get(root.length - 1 - index),
+                () -> this
+        );
+    }
+
+    @Override
+    public List<E> reversed() {
+        return new ReversedListView<>(this, this::modCount);
+    }
+
+    private int modCount() {
+        return modCount;
+    }
+
+    @Override
+    public int size() {
+        return root.length;
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, root.length);
+        return root.get(index);
+    }
+
+    @Override
+    public E getFirst() {
+        return ReadableList.super.getFirst();
+    }
+
+    @Override
+    public E getLast() {
+        return ReadableList.super.getLast();
+    }
+
+    @Override
+    public ReadableList<E> readableSubList(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, root.length);
+        return toPersistent().readableSubList(fromIndex, toIndex);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return root.spliterator(0, size(), Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED);
+    }
+
+    @Override
+    public Stream<E> stream() {
+        return super.stream();
+    }
+
+    @Override
+    public MutableRrbVectorList<E> clone() {
+        try {
+            @SuppressWarnings("unchecked")
+            MutableRrbVectorList<E> clone = (MutableRrbVectorList<E>) super.clone();
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError();
+        }
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new MutableRrbVectorList.SerializationProxy<>(this);
+    }
+
+    private static class SerializationProxy<E> extends ListSerializationProxy<E> {
+        @Serial
+        private static final long serialVersionUID = 0L;
+
+        protected SerializationProxy(List<E> target) {
+            super(target);
+        }
+
+        @Serial
+        @Override
+        protected Object readResolve() {
+            return new MutableRrbVectorList<>(deserializedElements);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * @(#)RrbVectorList.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.icollection;
+
+import org.jhotdraw8.icollection.facade.ReadableListFacade;
+import org.jhotdraw8.icollection.impl.vector.RrbTree;
+import org.jhotdraw8.icollection.persistent.PersistentList;
+import org.jhotdraw8.icollection.readable.ReadableCollection;
+import org.jhotdraw8.icollection.readable.ReadableList;
+import org.jhotdraw8.icollection.readable.ReadableSequencedCollection;
+import org.jhotdraw8.icollection.serialization.ListSerializationProxy;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+/// Implements the [PersistentList] interface using a relaxed radix balanced
+/// tree (RRB tree).
+///
+/// Unlike [VectorList], this list supports concatenation, splitting and
+/// insertion at an arbitrary index in logarithmic time.
+///
+/// Features:
+///
+///   - supports up to 2<sup>31</sup> - 1 elements
+///   - allows null elements
+///   - is persistent
+///   - is thread-safe
+///   - iterates in the order of the list
+///
+///
+/// Performance characteristics:
+///
+///   - addLast: O(log₃₂ N)
+///   - addFirst: O(log₃₂ N)
+///   - add(index, element): O(log₃₂ N)
+///   - addAll(index, RrbVectorList): O(log₃₂ N)
+///   - set: O(log₃₂ N)
+///   - removeAt: O(log₃₂ N)
+///   - removeRange: O(log₃₂ N)
+///   - readableSubList: O(log₃₂ N)
+///   - contains: O(N)
+///   - toMutable: O(1)
+///   - clone: O(1)
+///   - iterator creation: O(1)
+///   - iterator.next: O(1)
+///   - getFirst, getLast: O(log₃₂ N)
+///   - reversed: O(N)
+///
+///
+/// References:
+///
+/// [Phil Bagwell, Tiark Rompf (2011). RRB-Trees: Efficient Immutable Vectors. EPFL-REPORT-169879](https://infoscience.epfl.ch/record/169879/files/RMTrees.pdf)
+///
+/// @param <E> the element type
+public class RrbVectorList<E> implements PersistentList<E>, Serializable {
+    @Serial
+    private static final long serialVersionUID = 0L;
+    private static final RrbVectorList<?> EMPTY = new RrbVectorList<>();
+    final transient RrbTree<E> tree;
+
+    /// Constructs a new empty list.
+    protected RrbVectorList() {
+        this.tree = RrbTree.empty();
+    }
+
+    /// Constructs a new list that contains all the elements of
+    /// the specified iterable.
+    ///
+    /// @param iterable an iterable
+    @SuppressWarnings("unchecked")
+    protected RrbVectorList(final @Nullable Iterable<? extends E> iterable) {
+        if (iterable == null) {
+            this.tree = RrbTree.empty();
+        } else if (iterable instanceof RrbVectorList<? extends E> that) {
+            this.tree = (RrbTree<E>) that.tree;
+        } else if (iterable instanceof MutableRrbVectorList<? extends E> mc) {
+            this.tree = (RrbTree<E>) mc.toPersistent().tree;
+        } else {
+            this.tree = RrbTree.ofAll(iterable);
+        }
+    }
+
+    RrbVectorList(RrbTree<E> tree) {
+        this.tree = tree;
+    }
+
+    /// Creates a new instance with the provided privateData data object.
+    ///
+    /// This constructor is intended to be called from a constructor
+    /// of the subclass, that is called from method [#newInstance(PrivateData)].
+    ///
+    /// @param privateData an privateData data object
+    protected RrbVectorList(PrivateData privateData) {
+        this.tree = privateData.get();
+    }
+
+    /// Creates a new instance with the provided privateData object as its internal data structure.
+    ///
+    /// Subclasses must override this method, and return a new instance of their subclass!
+    ///
+    /// @param privateData the internal data structure needed by this class for creating the instance.
+    /// @return a new instance of the subclass
+    protected RrbVectorList<E> newInstance(PrivateData privateData) {
+        return new RrbVectorList<>(privateData);
+    }
+
+    private RrbVectorList<E> newInstance(RrbTree<E> tree) {
+        return tree == this.tree ? this : newInstance(new PrivateData(tree));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> RrbVectorList<T> of() {
+        return (RrbVectorList<T>) EMPTY;
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> RrbVectorList<T> of(T... t) {
+        return t.length == 0 ? of() : new RrbVectorList<>(RrbTree.ofAll(t));
+    }
+
+    public static <T> RrbVectorList<T> ofIterator(Iterator<T> iterator) {
+        return RrbVectorList.<T>of().addAll(() -> iterator);
+    }
+
+    public static <T> RrbVectorList<T> ofStream(Stream<T> stream) {
+        return RrbVectorList.<T>of().addAll(stream::iterator);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> RrbVectorList<T> copyOf(Iterable<? extends T> iterable) {
+        Objects.requireNonNull(iterable, "iterable is null");
+        if (iterable instanceof RrbVectorList) {
+            return (RrbVectorList<T>) iterable;
+        }
+        if (iterable instanceof MutableRrbVectorList<?> mc) {
+            return (RrbVectorList<T>) mc.toPersistent();
+        }
+        RrbTree<T> tree = RrbTree.ofAll(iterable);
+        return tree.length == 0 ? of() : new RrbVectorList<>(tree);
+    }
+
+    @Override
+    public <T> RrbVectorList<T> empty() {
+        return of();
+    }
+
+    @Override
+    public RrbVectorList<E> add(E element) {
+        return newInstance(tree.append(element));
+    }
+
+    @Override
+    public RrbVectorList<E> add(int index, E element) {
+        Objects.checkIndex(index, size() + 1);
+        return newInstance(tree.insert(index, element));
+    }
+
+    @Override
+    public RrbVectorList<E> addAll(Iterable<? extends E> c) {
+        return addAll(size(), c);
+    }
+
+    @Override
+    public RrbVectorList<E> addFirst(@Nullable E element) {
+        return newInstance(tree.prepend(element));
+    }
+
+    @Override
+    public RrbVectorList<E> addLast(@Nullable E element) {
+        return newInstance(tree.append(element));
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// If `c` is a [RrbVectorList], then this method takes O(log N) time.
+    @SuppressWarnings("unchecked")
+    @Override
+    public RrbVectorList<E> addAll(int index, Iterable<? extends E> c) {
+        Objects.requireNonNull(c, "c is null");
+        Objects.checkIndex(index, size() + 1);
+        if (isEmpty()) {
+            return copyOf(c);
+        }
+        RrbTree<E> that;
+        if (c instanceof RrbVectorList<? extends E> l) {
+            that = (RrbTree<E>) l.tree;
+        } else if (c instanceof MutableRrbVectorList<? extends E> l) {
+            that = (RrbTree<E>) l.toPersistent().tree;
+        } else {
+            that = RrbTree.ofAll(c);
+        }
+        if (that.length == 0) {
+            return this;
+        }
+        return newInstance(index == size()
+                ? tree.concat(that)
+                : tree.take(index).concat(that).concat(tree.drop(index)));
+    }
+
+    @Override
+    public ReadableSequencedCollection<E> readableReversed() {
+        return new ReadableListFacade<>(
+                this::size,
+                index -> get(size() - 1 - index),
+                () -> this);
+    }
+
+    public RrbVectorList<E> reverse() {
+        return size() < 2 ? this : RrbVectorList.copyOf(readableReversed());
+    }
+
+    @Override
+    public RrbVectorList<E> remove(E element) {
+        int index = indexOf(element);
+        return index < 0 ? this : removeAt(index);
+    }
+
+    @Override
+    public RrbVectorList<E> removeAt(int index) {
+        Objects.checkIndex(index, size());
+        return newInstance(tree.removeAt(index));
+    }
+
+    @Override
+    public RrbVectorList<E> removeFirst() {
+        return (RrbVectorList<E>) PersistentList.super.removeFirst();
+    }
+
+    @Override
+    public RrbVectorList<E> removeLast() {
+        return (RrbVectorList<E>) PersistentList.super.removeLast();
+    }
+
+    @Override
+    public RrbVectorList<E> retainAll(Iterable<?> c) {
+        if (isEmpty()) {
+            return this;
+        }
+        Collection<?> set = toCollection(c);
+        return set.isEmpty() ? of() : filter(set, true);
+    }
+
+    @Override
+    public RrbVectorList<E> removeAll(Iterable<?> c) {
+        if (isEmpty()) {
+            return this;
+        }
+        Collection<?> set = toCollection(c);
+        return set.isEmpty() ? this : filter(set, false);
+    }
+
+    private static Collection<?> toCollection(Iterable<?> c) {
+        if (c instanceof Collection<?> cc) {
+            return cc;
+        } else if (c instanceof ReadableCollection<?> rc) {
+            return rc.asCollection();
+        }
+        HashSet<Object> set = new HashSet<>();
+        c.forEach(set::add);
+        return set;
+    }
+
+    /// Returns a list that contains the elements of this list
+    /// for which `set.contains(e) == retain`.
+    private RrbVectorList<E> filter(Collection<?> set, boolean retain) {
+        Object[] result = new Object[size()];
+        int n = 0;
+        for (E e : this) {
+            if (set.contains(e) == retain) {
+                result[n++] = e;
+            }
+        }
+        if (n == size()) {
+            return this;
+        }
+        return n == 0 ? of() : newInstance(RrbTree.ofAll(Arrays.copyOf(result, n)));
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// This method takes O(log N) time.
+    @Override
+    public RrbVectorList<E> removeRange(int fromIndex, int toIndex) {
+        Objects.checkIndex(fromIndex, toIndex + 1);
+        Objects.checkIndex(toIndex, size() + 1);
+        return newInstance(tree.removeRange(fromIndex, toIndex));
+    }
+
+    @Override
+    public RrbVectorList<E> set(int index, E element) {
+        Objects.checkIndex(index, size());
+        return newInstance(tree.update(index, element));
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size());
+        return tree.get(index);
+    }
+
+    /// {@inheritDoc}
+    ///
+    /// This method takes O(log N) time.
+    @Override
+    public RrbVectorList<E> readableSubList(int fromIndex, int toIndex) {
+        Objects.checkIndex(fromIndex, toIndex + 1);
+        Objects.checkIndex(toIndex, size() + 1);
+        return newInstance(tree.take(toIndex).drop(fromIndex));
+    }
+
+    @Override
+    public int size() {
+        return tree.length;
+    }
+
+    public int indexOf(Object o, int fromIndex) {
+        if (fromIndex < size()) {
+            for (Iterator<E> i = tree.iterator(fromIndex, size()); i.hasNext(); fromIndex++) {
+                E e = i.next();
+                if (Objects.equals(o, e)) {
+                    return fromIndex;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o, 0) >= 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return ReadableList.iteratorToHashCode(iterator());
+    }
+
+    @Override
+    public MutableRrbVectorList<E> toMutable() {
+        return new MutableRrbVectorList<>(this);
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new RrbVectorList.SerializationProxy<>(this.toMutable());
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return tree.iterator(0, size());
+    }
+
+    @Override
+    public int maxSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return tree.spliterator(0, size(), Spliterator.SIZED | Spliterator.ORDERED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return ReadableList.listEquals(this, obj);
+    }
+
+    /// Returns a string representation of this list.
+    ///
+    /// The string representation is consistent with the one produced
+    /// by [AbstractList#toString()].
+    ///
+    /// @return a string representation
+    @Override
+    public String toString() {
+        return ReadableCollection.iterableToString(this);
+    }
+
+    private static class SerializationProxy<E> extends ListSerializationProxy<E> {
+        @Serial
+        private static final long serialVersionUID = 0L;
+
+        protected SerializationProxy(List<E> target) {
+            super(target);
+        }
+
+        @Serial
+        @Override
+        protected Object readResolve() {
+            return RrbVectorList.of().addAll(deserializedElements);
+        }
+    }
+}
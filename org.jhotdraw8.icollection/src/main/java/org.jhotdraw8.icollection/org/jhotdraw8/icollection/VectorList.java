@@ -54,6 +54,9 @@ import java.util.stream.Stream;
 ///   - getFirst, getLast: O(log₃₂ N)
 ///   - reversed: O(N)
 ///
+/// Use [RrbVectorList] if the list is often concatenated, split, or
+/// modified in the middle.
+///
 ///
 /// References:
 ///
@@ -7,6 +7,7 @@ package org.jhotdraw8.icollection.facade;
 import org.jhotdraw8.icollection.readable.AbstractReadableList;
 import org.jhotdraw8.icollection.readable.ReadableList;
 import org.jhotdraw8.icollection.readable.ReadableSequencedCollection;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 import java.util.Objects;
@@ -20,24 +21,20 @@ import java.util.function.Supplier;
 public class ReadableListFacade<E> extends AbstractReadableList<E> {
     private final IntSupplier sizeFunction;
     private final IntFunction<E> getFunction;
-    private final Supplier<ReadableSequencedCollection<E>> readableReversedFunction;
+    /// Creates the reversed list, or null if [#readableReversed()] creates
+    /// a reversed facade of this list.
+    private final @Nullable Supplier<ReadableSequencedCollection<E>> readableReversedFunction;
 
     public ReadableListFacade(List<E> backingList) {
         this.sizeFunction = backingList::size;
         this.getFunction = backingList::get;
-        this.readableReversedFunction = () -> new ReadableListFacade<>(
-                sizeFunction,
-                index -> getFunction.apply(sizeFunction.getAsInt() - index),
-                () -> this);
+        this.readableReversedFunction = null;
     }
 
     public ReadableListFacade(IntSupplier sizeFunction, IntFunction<E> getFunction) {
         this.sizeFunction = sizeFunction;
         this.getFunction = getFunction;
-        this.readableReversedFunction = () -> new ReadableListFacade<>(
-                sizeFunction,
-                index -> getFunction.apply(sizeFunction.getAsInt() - index),
-                () -> this);
+        this.readableReversedFunction = null;
     }
 
     public ReadableListFacade(IntSupplier sizeFunction, IntFunction<E> getFunction, Supplier<ReadableSequencedCollection<E>> readableReversedFunction) {
@@ -53,7 +50,11 @@ public class ReadableListFacade<E> extends AbstractReadableList<E> {
 
     @Override
     public ReadableSequencedCollection<E> readableReversed() {
-        return readableReversedFunction.get();
+        return readableReversedFunction != null ? readableReversedFunction.get()
+                : new ReadableListFacade<>(
+                sizeFunction,
+                index -> getFunction.apply(sizeFunction.getAsInt() - index),
+                () -> this);
     }
 
     @Override
@@ -63,7 +64,7 @@ public class ReadableListFacade<E> extends AbstractReadableList<E> {
         return new ReadableListFacade<>(
                 () -> toIndex - fromIndex,
                 i -> getFunction.apply(i - fromIndex),
-                readableReversedFunction);
+                this::readableReversed);
     }
 
     @Override
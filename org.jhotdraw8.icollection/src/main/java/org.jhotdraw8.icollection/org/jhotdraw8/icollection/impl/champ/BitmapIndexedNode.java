@@ -365,7 +365,7 @@ public class BitmapIndexedNode<D> extends Node<D> {
                                        ChangeEvent<D> details) {
         var that = (BitmapIndexedNode<D>) other;
         if (this == that) {
-            bulkChange.inBoth += this.calculateSize();
+            // Shared subtree: all data elements are already in this trie.
             return this;
         }
 
@@ -386,8 +386,11 @@ public class BitmapIndexedNode<D> extends Node<D> {
                 // add 'mixed' (data or node) from that trie
                 if (thatIsData) {
                     buffer[dataMixedIndex(index(newDataMap, bitpos), buffer)] = that.getData(that.dataIndex(bitpos));
+                    bulkChange.added++;
                 } else {
-                    buffer[nodeMixedIndex(index(newNodeMap, bitpos), buffer)] = that.getNode(that.nodeIndex(bitpos));
+                    Node<D> thatNode = that.getNode(that.nodeIndex(bitpos));
+                    buffer[nodeMixedIndex(index(newNodeMap, bitpos), buffer)] = thatNode;
+                    bulkChange.added += thatNode.calculateSize();
                 }
             } else if (!(thatIsNode || thatIsData)) {
                 // add 'mixed' (data or node) from this trie
@@ -410,11 +413,15 @@ public class BitmapIndexedNode<D> extends Node<D> {
                 buffer[nodeMixedIndex(index(newNodeMap, bitpos), buffer)] = thatNode.put(null, thisData, hashFunction.applyAsInt(thisData), shift + BIT_PARTITION_SIZE, details,
                         (a, b) -> updateFunction.apply(b, a),
                         equalsFunction, hashFunction);
+                // All data elements of that node are added, except the one that is equal to this data
+                int thatSize = thatNode.calculateSize();
                 if (details.isUnchanged()) {
-                    bulkChange.inBoth++;
+                    bulkChange.added += thatSize - 1;
                 } else if (details.isReplaced()) {
                     bulkChange.replaced = true;
-                    bulkChange.inBoth++;
+                    bulkChange.added += thatSize - 1;
+                } else {
+                    bulkChange.added += thatSize;
                 }
                 newDataMap ^= bitpos;
             } else if (thisIsNode) {
@@ -423,8 +430,10 @@ public class BitmapIndexedNode<D> extends Node<D> {
                 Node<D> thisNode = this.getNode(this.nodeIndex(bitpos));
                 details.reset();
                 buffer[nodeMixedIndex(index(newNodeMap, bitpos), buffer)] = thisNode.put(owner, thatData, hashFunction.applyAsInt(thatData), shift + BIT_PARTITION_SIZE, details, updateFunction, equalsFunction, hashFunction);
-                if (!details.isModified()) {
-                    bulkChange.inBoth++;
+                if (details.isReplaced()) {
+                    bulkChange.replaced = true;
+                } else if (details.isModified()) {
+                    bulkChange.added++;
                 }
                 newDataMap ^= bitpos;
             } else {
@@ -432,7 +441,6 @@ public class BitmapIndexedNode<D> extends Node<D> {
                 D thisData = this.getData(this.dataIndex(bitpos));
                 D thatData = that.getData(that.dataIndex(bitpos));
                 if (equalsFunction.test(thisData, thatData)) {
-                    bulkChange.inBoth++;
                     D updated = updateFunction.apply(thisData, thatData);
                     buffer[dataMixedIndex(index(newDataMap, bitpos), buffer)] = updated;
                     bulkChange.replaced |= updated != thisData;
@@ -440,20 +448,41 @@ public class BitmapIndexedNode<D> extends Node<D> {
                     newDataMap ^= bitpos;
                     newNodeMap ^= bitpos;
                     buffer[nodeMixedIndex(index(newNodeMap, bitpos), buffer)] = mergeTwoDataEntriesIntoNode(owner, thisData, hashFunction.applyAsInt(thisData), thatData, hashFunction.applyAsInt(thatData), shift + BIT_PARTITION_SIZE);
+                    bulkChange.added++;
                 }
             }
         }
+        if (newNodeMap == nodeMap && newDataMap == dataMap && isSameMixed(buffer)) {
+            // Reuse this node, so that unchanged subtrees stay shared.
+            return this;
+        }
         return new BitmapIndexedNode<>(newNodeMap, newDataMap, buffer);
     }
 
+    /// Returns true if the specified array contains the same objects as
+    /// the [#mixed] array of this node.
+    private boolean isSameMixed(Object[] buffer) {
+        if (buffer.length != mixed.length) {
+            return false;
+        }
+        for (int i = 0; i < buffer.length; i++) {
+            if (buffer[i] != mixed[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public BitmapIndexedNode<D> removeAll(@Nullable IdentityObject owner, Node<D> other, int shift, BulkChangeEvent bulkChange, BiFunction<D, D, D> updateFunction, BiPredicate<D, D> equalsFunction, ToIntFunction<D> hashFunction, ChangeEvent<D> details) {
         var that = (BitmapIndexedNode<D>) other;
         if (this == that) {
-            bulkChange.inBoth += this.calculateSize();
-            return this;
+            // Shared subtree: all data elements are removed.
+            bulkChange.removed += this.calculateSize();
+            return emptyNode();
         }
 
+        int removedBefore = bulkChange.removed;
         var newBitMap = nodeMap | dataMap;
         var buffer = new Object[Integer.bitCount(newBitMap)];
         int newDataMap = this.dataMap;
@@ -532,6 +561,10 @@ public class BitmapIndexedNode<D> extends Node<D> {
                 }
             }
         }
+        if (bulkChange.removed == removedBefore) {
+            // Reuse this node, so that unchanged subtrees stay shared.
+            return this;
+        }
         return newCroppedBitmapIndexedNode(buffer, newDataMap, newNodeMap);
     }
 
@@ -557,10 +590,11 @@ public class BitmapIndexedNode<D> extends Node<D> {
     public BitmapIndexedNode<D> retainAll(IdentityObject owner, Node<D> other, int shift, BulkChangeEvent bulkChange, BiFunction<D, D, D> updateFunction, BiPredicate<D, D> equalsFunction, ToIntFunction<D> hashFunction, ChangeEvent<D> details) {
         var that = (BitmapIndexedNode<D>) other;
         if (this == that) {
-            bulkChange.inBoth += this.calculateSize();
+            // Shared subtree: all data elements are retained.
             return this;
         }
 
+        int removedBefore = bulkChange.removed;
         var newBitMap = nodeMap | dataMap;
         var buffer = new Object[Integer.bitCount(newBitMap)];
         int newDataMap = this.dataMap;
@@ -637,6 +671,10 @@ public class BitmapIndexedNode<D> extends Node<D> {
                 }
             }
         }
+        if (bulkChange.removed == removedBefore) {
+            // Reuse this node, so that unchanged subtrees stay shared.
+            return this;
+        }
         return newCroppedBitmapIndexedNode(buffer, newDataMap, newNodeMap);
     }
 
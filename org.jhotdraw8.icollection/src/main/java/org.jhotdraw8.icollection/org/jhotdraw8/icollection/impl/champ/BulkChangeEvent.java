@@ -1,7 +1,17 @@
 package org.jhotdraw8.icollection.impl.champ;
 
+/// Reports the changes that a bulk operation on a CHAMP trie has performed.
+///
+/// The counters only count data elements in subtrees that have actually been
+/// visited. Subtrees that are shared by reference between the two tries are
+/// not visited, so that the cost of a bulk operation is proportional to the
+/// number of changed data elements.
 public class BulkChangeEvent {
-    public int inBoth;
+    /// The number of data elements that have been added by a put-all operation.
+    public int added;
+    /// Whether a put-all operation has replaced a data element.
     public boolean replaced;
+    /// The number of data elements that have been removed by a remove-all,
+    /// retain-all or filter-all operation.
     public int removed;
 }
@@ -7,12 +7,19 @@ package org.jhotdraw8.icollection.impl.champ;
 
 import org.jspecify.annotations.Nullable;
 
-import java.util.Spliterators;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 /// Data iterator over a CHAMP trie.
 ///
+/// The spliterator splits by handing off half of the unvisited sub-nodes
+/// of the shallowest node that has more than one unvisited sub-node.
+/// Since the nodes do not store the sizes of their subtrees, the
+/// spliterators returned by [#trySplit()] and the spliterator that has
+/// been split are neither [Spliterator#SIZED] nor [Spliterator#SUBSIZED].
+/// Their estimated size is halved on each split.
+///
 /// References:
 ///
 /// This class has been derived from 'The Capsule Hash Trie Collections Library'.
@@ -25,8 +32,10 @@ import java.util.function.Function;
 ///
 /// @param <K> the data type of the trie node
 /// @param <E> the element type of the iterator
-public class ChampSpliterator<K, E> extends Spliterators.AbstractSpliterator<E> {
+public class ChampSpliterator<K, E> implements Spliterator<E> {
     private final Function<K, E> mappingFunction;
+    private long est;
+    private int characteristics;
     private static final int MAX_DEPTH = 7;
 
     protected int currentValueCursor;
@@ -45,8 +54,9 @@ public class ChampSpliterator<K, E> extends Spliterators.AbstractSpliterator<E>
 
     @SuppressWarnings("unchecked")
     public ChampSpliterator(Node<K> rootNode, @Nullable Function<K, E> mappingFunction, long size, int characteristics) {
-        super(size, characteristics);
         this.mappingFunction = mappingFunction == null ? k -> (E) k : mappingFunction;
+        this.est = size;
+        this.characteristics = characteristics;
         if (rootNode.hasNodes()) {
             currentStackLevel = 0;
 
@@ -62,6 +72,18 @@ public class ChampSpliterator<K, E> extends Spliterators.AbstractSpliterator<E>
         }
     }
 
+    /// Creates a spliterator over the sub-nodes in the range `[fromIndex, toIndex)`
+    /// of the specified node.
+    private ChampSpliterator(Node<K> node, int fromIndex, int toIndex, Function<K, E> mappingFunction, long est, int characteristics) {
+        this.mappingFunction = mappingFunction;
+        this.est = est;
+        this.characteristics = characteristics;
+        currentStackLevel = 0;
+        nodes[0] = node;
+        indexAndArity[0] = fromIndex;
+        indexAndArity[1] = toIndex;
+    }
+
     private boolean searchNextValueNode() {
         // For inlining, it is essential that this method has a very small amount of byte code!
         while (currentStackLevel >= 0) {
@@ -99,4 +121,39 @@ public class ChampSpliterator<K, E> extends Spliterators.AbstractSpliterator<E>
         }
         return false;
     }
+
+    @Override
+    public @Nullable Spliterator<E> trySplit() {
+        Spliterator<E> split = splitAtShallowestNode();
+        if (split == null && currentValueCursor >= currentValueLength && searchNextValueNode()) {
+            // Descend into the next sub-node, so that its sub-nodes can be handed off.
+            split = splitAtShallowestNode();
+        }
+        return split;
+    }
+
+    private @Nullable Spliterator<E> splitAtShallowestNode() {
+        for (int level = 0; level <= currentStackLevel; level++) {
+            int index = level << 1;
+            int from = indexAndArity[index], to = indexAndArity[index + 1];
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                indexAndArity[index + 1] = mid;
+                characteristics &= ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+                est >>>= 1;
+                return new ChampSpliterator<>(nodes[level], mid, to, mappingFunction, est, characteristics);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return est;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
 }
@@ -212,7 +212,6 @@ class HashCollisionNode<D> extends Node<D> {
     @Override
     protected Node<D> putAll(@Nullable IdentityObject owner, Node<D> otherNode, int shift, BulkChangeEvent bulkChange, BiFunction<D, D, D> updateFunction, BiPredicate<D, D> equalsFunction, ToIntFunction<D> hashFunction, ChangeEvent<D> details) {
         if (otherNode == this) {
-            bulkChange.inBoth += dataArity();
             return this;
         }
         HashCollisionNode<D> that = (HashCollisionNode<D>) otherNode;
@@ -243,12 +242,13 @@ class HashCollisionNode<D> extends Node<D> {
                     updated |= updatedData != thisData;
                     buffer[unprocessedSize] = updatedData;
                     buffer[j] = swap;
-                    bulkChange.inBoth++;
                     continue outer;
                 }
             }
             buffer[resultSize++] = thatData;
+            bulkChange.added++;
         }
+        bulkChange.replaced |= updated;
         return newCroppedHashCollisionNode(updated | resultSize != thisSize, buffer, resultSize);
     }
 
@@ -300,8 +300,7 @@ class HashCollisionNode<D> extends Node<D> {
     @Override
     protected Node<D> retainAll(IdentityObject owner, Node<D> otherNode, int shift, BulkChangeEvent bulkChange, BiFunction<D, D, D> updateFunction, BiPredicate<D, D> equalsFunction, ToIntFunction<D> hashFunction, ChangeEvent<D> details) {
         if (otherNode == this) {
-            bulkChange.removed += dataArity();
-            return (Node<D>) EMPTY;
+            return this;
         }
         HashCollisionNode<D> that = (HashCollisionNode<D>) otherNode;
 
@@ -326,8 +325,8 @@ class HashCollisionNode<D> extends Node<D> {
                     continue outer;
                 }
             }
-            bulkChange.removed++;
         }
+        bulkChange.removed += thisSize - resultSize;
         return newCroppedHashCollisionNode(thisSize != resultSize, buffer, resultSize);
     }
 
@@ -288,7 +288,7 @@ public abstract class Node<D> {
     /// @param owner
     /// @param otherNode      a node with the same shift as this node from the other trie
     /// @param shift          the shift of this node and the other node
-    /// @param bulkChange     updates the field [BulkChangeEvent#inBoth]
+    /// @param bulkChange     updates the fields [BulkChangeEvent#added] and [BulkChangeEvent#replaced]
     /// @param updateFunction the update function for data elements
     /// @param equalsFunction the equals function for data elements
     /// @param hashFunction   the hash function for data elements
@@ -8,39 +8,91 @@ package org.jhotdraw8.icollection.impl.champ;
 import org.jhotdraw8.icollection.impl.vector.BitMappedTrie;
 import org.jspecify.annotations.Nullable;
 
-import java.util.Spliterators;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 /// A spliterator for a `SimplePersistentSequencedMap` or `SimplePersistentSequencedSet` that skips
 /// tombstones.
 ///
+/// The spliterator splits the range of the vector in halves. Since the
+/// number of tombstones in a half is not known, the spliterators returned by
+/// [#trySplit()] and the spliterator that has been split are neither
+/// [Spliterator#SIZED] nor [Spliterator#SUBSIZED]. Their estimated size is
+/// proportional to the length of their range.
+///
 /// @param <K> the key type
-public class TombSkippingVectorSpliterator<K> extends Spliterators.AbstractSpliterator<K> implements Consumer<Object> {
+public class TombSkippingVectorSpliterator<K> implements Spliterator<K>, Consumer<Object> {
     private final BitMappedTrie.BitMappedTrieSpliterator<Object> vector;
     private final Function<Object, K> mapper;
     private @Nullable Object current;
+    private long est;
+    private int characteristics;
+    /// Whether the skip count of the next tombstone can be trusted.
+    ///
+    /// Only the first and the last tombstone of a sequence of tombstones
+    /// store the length of the sequence. This is false, if this spliterator
+    /// has been split, and may start in the middle of a sequence.
+    private boolean trustSkip;
 
     public TombSkippingVectorSpliterator(BitMappedTrie<Object> vector, Function<Object, K> mapper, int fromIndex,
                                          int size, int sizeWithTombstones,
                                          int additionalCharacteristics) {
-        super(size, additionalCharacteristics);
-        this.vector = new BitMappedTrie.BitMappedTrieSpliterator<>(vector, fromIndex, sizeWithTombstones, 0);
+        this(new BitMappedTrie.BitMappedTrieSpliterator<>(vector, fromIndex, sizeWithTombstones, 0),
+                mapper, size, additionalCharacteristics, true);
+    }
+
+    private TombSkippingVectorSpliterator(BitMappedTrie.BitMappedTrieSpliterator<Object> vector, Function<Object, K> mapper,
+                                          long est, int characteristics, boolean trustSkip) {
+        this.vector = vector;
         this.mapper = mapper;
+        this.est = est;
+        this.characteristics = characteristics;
+        this.trustSkip = trustSkip;
     }
 
     @Override
     public boolean tryAdvance(Consumer<? super K> action) {
-        boolean success = vector.tryAdvance(this);
-        if (!success) {
-            return false;
-        }
-        if (current instanceof Tombstone t) {
-            vector.skip(t.skip());
-            vector.tryAdvance(this);
+        do {
+            if (!vector.tryAdvance(this)) {
+                return false;
+            }
+            if (current instanceof Tombstone t) {
+                if (trustSkip) {
+                    vector.skip(t.skip());
+                }
+            } else {
+                trustSkip = true;
+                action.accept(mapper.apply(current));
+                return true;
+            }
+        } while (true);
+    }
+
+    @Override
+    public @Nullable Spliterator<K> trySplit() {
+        long before = vector.estimateSize();
+        Spliterator<Object> prefix = vector.trySplit();
+        if (prefix == null) {
+            return null;
         }
-        action.accept(mapper.apply(current));
-        return true;
+        long prefixEst = est * prefix.estimateSize() / before;
+        est -= prefixEst;
+        characteristics &= ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        var split = new TombSkippingVectorSpliterator<>((BitMappedTrie.BitMappedTrieSpliterator<Object>) prefix,
+                mapper, prefixEst, characteristics, trustSkip);
+        trustSkip = false;
+        return split;
+    }
+
+    @Override
+    public long estimateSize() {
+        return est;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
     }
 
     @Override
@@ -7,6 +7,7 @@ package org.jhotdraw8.icollection.impl.champmap;
 
 import org.jhotdraw8.icollection.impl.ArrayHelper;
 import org.jhotdraw8.icollection.impl.IdentityObject;
+import org.jhotdraw8.icollection.impl.champ.BulkChangeEvent;
 import org.jspecify.annotations.Nullable;
 
 import java.util.Objects;
@@ -351,4 +352,140 @@ public class BitmapIndexedNode<K, V> extends Node<K, V> {
             return copyAndInsertValue(mutator, bitpos, key, val);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public BitmapIndexedNode<K, V> putAll(Node<K, V> otherNode, int shift,
+                                   BulkChangeEvent bulkChange, ToIntFunction<K> hashFunction) {
+        if (this == otherNode) {
+            // Shared subtree: all entries are already in this trie.
+            return this;
+        }
+        BitmapIndexedNode<K, V> that = (BitmapIndexedNode<K, V>) otherNode;
+
+        int newBitMap = nodeMap | dataMap | that.nodeMap | that.dataMap;
+        int bitCount = Integer.bitCount(newBitMap);
+        Object[] dataBuffer = new Object[bitCount * ENTRY_LENGTH];
+        Object[] nodeBuffer = new Object[bitCount];
+        int newDataMap = 0, newNodeMap = 0, dataCount = 0, nodeCount = 0;
+        boolean changed = false;
+        int subShift = shift + BIT_PARTITION_SIZE;
+        for (int mapToDo = newBitMap; mapToDo != 0; mapToDo ^= Integer.lowestOneBit(mapToDo)) {
+            int bitpos = Integer.lowestOneBit(mapToDo);
+            boolean thisIsData = (this.dataMap & bitpos) != 0;
+            boolean thatIsData = (that.dataMap & bitpos) != 0;
+            boolean thisIsNode = (this.nodeMap & bitpos) != 0;
+            boolean thatIsNode = (that.nodeMap & bitpos) != 0;
+
+            if (!(thatIsData || thatIsNode)) {
+                // keep 'mixed' (data or node) from this trie
+                if (thisIsData) {
+                    System.arraycopy(mixed, ENTRY_LENGTH * dataIndex(bitpos), dataBuffer, ENTRY_LENGTH * dataCount++, ENTRY_LENGTH);
+                    newDataMap |= bitpos;
+                } else {
+                    nodeBuffer[nodeCount++] = nodeAt(bitpos);
+                    newNodeMap |= bitpos;
+                }
+            } else if (!(thisIsData || thisIsNode)) {
+                // add 'mixed' (data or node) from that trie
+                if (thatIsData) {
+                    System.arraycopy(that.mixed, ENTRY_LENGTH * that.dataIndex(bitpos), dataBuffer, ENTRY_LENGTH * dataCount++, ENTRY_LENGTH);
+                    newDataMap |= bitpos;
+                    bulkChange.added++;
+                } else {
+                    Node<K, V> thatNode = that.nodeAt(bitpos);
+                    nodeBuffer[nodeCount++] = thatNode;
+                    newNodeMap |= bitpos;
+                    bulkChange.added += thatNode.calculateSize();
+                }
+                changed = true;
+            } else if (thisIsNode && thatIsNode) {
+                // merge this node and that node
+                Node<K, V> thisNode = this.nodeAt(bitpos);
+                Node<K, V> result = thisNode.putAll(that.nodeAt(bitpos), subShift, bulkChange, hashFunction);
+                nodeBuffer[nodeCount++] = result;
+                newNodeMap |= bitpos;
+                changed |= result != thisNode;
+            } else if (thisIsData && thatIsNode) {
+                // add this entry to that node, unless that node has an entry with the same key
+                int dataIndex = dataIndex(bitpos);
+                K thisKey = getKey(dataIndex);
+                V thisValue = getValue(dataIndex);
+                Node<K, V> thatNode = that.nodeAt(bitpos);
+                int thisKeyHash = hashFunction.applyAsInt(thisKey);
+                Object thatValue = thatNode.findByKey(thisKey, thisKeyHash, subShift);
+                int thatSize = thatNode.calculateSize();
+                if (thatValue == NO_DATA) {
+                    nodeBuffer[nodeCount++] = thatNode.put(null, thisKey, thisValue, thisKeyHash, subShift, new ChangeEvent<>(), hashFunction);
+                    bulkChange.added += thatSize;
+                } else {
+                    nodeBuffer[nodeCount++] = thatNode;
+                    bulkChange.added += thatSize - 1;
+                    bulkChange.replaced |= !Objects.equals(thisValue, thatValue);
+                }
+                newNodeMap |= bitpos;
+                changed = true;
+            } else if (thisIsNode) {
+                // add that entry to this node
+                int dataIndex = that.dataIndex(bitpos);
+                K thatKey = that.getKey(dataIndex);
+                Node<K, V> thisNode = this.nodeAt(bitpos);
+                ChangeEvent<V> details = new ChangeEvent<>();
+                Node<K, V> result = thisNode.put(null, thatKey, that.getValue(dataIndex), hashFunction.applyAsInt(thatKey), subShift, details, hashFunction);
+                if (details.isReplaced()) {
+                    bulkChange.replaced = true;
+                } else if (details.isModified()) {
+                    bulkChange.added++;
+                }
+                nodeBuffer[nodeCount++] = result;
+                newNodeMap |= bitpos;
+                changed |= result != thisNode;
+            } else {
+                // merge this entry and that entry
+                int thisIndex = this.dataIndex(bitpos);
+                int thatIndex = that.dataIndex(bitpos);
+                K thisKey = this.getKey(thisIndex);
+                K thatKey = that.getKey(thatIndex);
+                if (Objects.equals(thisKey, thatKey)) {
+                    if (Objects.equals(this.getValue(thisIndex), that.getValue(thatIndex))) {
+                        System.arraycopy(this.mixed, ENTRY_LENGTH * thisIndex, dataBuffer, ENTRY_LENGTH * dataCount++, ENTRY_LENGTH);
+                    } else {
+                        System.arraycopy(that.mixed, ENTRY_LENGTH * thatIndex, dataBuffer, ENTRY_LENGTH * dataCount++, ENTRY_LENGTH);
+                        bulkChange.replaced = true;
+                        changed = true;
+                    }
+                    newDataMap |= bitpos;
+                } else {
+                    nodeBuffer[nodeCount++] = mergeTwoDataEntriesIntoNode(null,
+                            thisKey, this.getValue(thisIndex), hashFunction.applyAsInt(thisKey),
+                            thatKey, that.getValue(thatIndex), hashFunction.applyAsInt(thatKey),
+                            subShift);
+                    newNodeMap |= bitpos;
+                    bulkChange.added++;
+                    changed = true;
+                }
+            }
+        }
+        if (!changed) {
+            // Reuse this node, so that unchanged subtrees stay shared.
+            return this;
+        }
+
+        // Data entries are stored in ascending order at the start, nodes in descending order at the end.
+        Object[] newMixed = new Object[dataCount * ENTRY_LENGTH + nodeCount];
+        System.arraycopy(dataBuffer, 0, newMixed, 0, dataCount * ENTRY_LENGTH);
+        for (int i = 0; i < nodeCount; i++) {
+            newMixed[newMixed.length - 1 - i] = nodeBuffer[i];
+        }
+        return ChampTrie.newBitmapIndexedNode(null, newNodeMap, newDataMap, newMixed);
+    }
+
+    @Override
+    int calculateSize() {
+        int size = dataArity();
+        for (int i = 0, n = nodeArity(); i < n; i++) {
+            size += getNode(i).calculateSize();
+        }
+        return size;
+    }
+}
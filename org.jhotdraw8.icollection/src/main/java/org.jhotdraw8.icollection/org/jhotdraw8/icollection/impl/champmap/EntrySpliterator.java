@@ -0,0 +1,144 @@
+/*
+ * @(#)EntrySpliterator.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.icollection.impl.champmap;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/// Entry spliterator over a CHAMP trie.
+///
+/// The entries are immutable.
+///
+/// The spliterator splits by handing off half of the unvisited sub-nodes
+/// of the shallowest node that has more than one unvisited sub-node.
+/// Since the nodes do not store the sizes of their subtrees, the
+/// spliterators returned by [#trySplit()] and the spliterator that has
+/// been split are neither [Spliterator#SIZED] nor [Spliterator#SUBSIZED].
+///
+/// @param <K> the key type
+/// @param <V> the value type
+public class EntrySpliterator<K, V> implements Spliterator<Map.Entry<K, V>> {
+    private final int[] nodeCursorsAndLengths = new int[Node.MAX_DEPTH * 2];
+    private int nextValueCursor;
+    private int nextValueLength;
+    private int nextStackLevel = -1;
+    private @Nullable Node<K, V> nextValueNode;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Node<K, V>[] nodes = new Node[Node.MAX_DEPTH];
+    private long est;
+    private int characteristics;
+
+    /// Creates a new instance.
+    ///
+    /// @param rootNode        the root node of the trie
+    /// @param size            the number of entries in the trie
+    /// @param characteristics the characteristics of the spliterator
+    public EntrySpliterator(Node<K, V> rootNode, long size, int characteristics) {
+        this.est = size;
+        this.characteristics = characteristics;
+        if (rootNode.hasNodes()) {
+            nextStackLevel = 0;
+            nodes[0] = rootNode;
+            nodeCursorsAndLengths[0] = 0;
+            nodeCursorsAndLengths[1] = rootNode.nodeArity();
+        }
+        if (rootNode.hasData()) {
+            nextValueNode = rootNode;
+            nextValueCursor = 0;
+            nextValueLength = rootNode.dataArity();
+        }
+    }
+
+    /// Creates a spliterator over the sub-nodes in the range `[fromIndex, toIndex)`
+    /// of the specified node.
+    private EntrySpliterator(Node<K, V> node, int fromIndex, int toIndex, long est, int characteristics) {
+        this.est = est;
+        this.characteristics = characteristics;
+        nextStackLevel = 0;
+        nodes[0] = node;
+        nodeCursorsAndLengths[0] = fromIndex;
+        nodeCursorsAndLengths[1] = toIndex;
+    }
+
+    /*
+     * Searches for the next node that contains values.
+     */
+    private boolean searchNextValueNode() {
+        while (nextStackLevel >= 0) {
+            int index = nextStackLevel << 1;
+            if (nodeCursorsAndLengths[index] < nodeCursorsAndLengths[index + 1]) {
+                Node<K, V> nextNode = nodes[nextStackLevel].getNode(nodeCursorsAndLengths[index]);
+                nodeCursorsAndLengths[index]++;
+                if (nextNode.hasNodes()) {
+                    ++nextStackLevel;
+                    index += 2;
+                    nodes[nextStackLevel] = nextNode;
+                    nodeCursorsAndLengths[index] = 0;
+                    nodeCursorsAndLengths[index + 1] = nextNode.nodeArity();
+                }
+                if (nextNode.hasData()) {
+                    nextValueNode = nextNode;
+                    nextValueCursor = 0;
+                    nextValueLength = nextNode.dataArity();
+                    return true;
+                }
+            } else {
+                nextStackLevel--;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Override
+    public boolean tryAdvance(Consumer<? super Map.Entry<K, V>> action) {
+        if (nextValueCursor < nextValueLength || searchNextValueNode()) {
+            int i = nextValueCursor++;
+            action.accept(new AbstractMap.SimpleImmutableEntry<>(nextValueNode.getKey(i), nextValueNode.getValue(i)));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public @Nullable Spliterator<Map.Entry<K, V>> trySplit() {
+        Spliterator<Map.Entry<K, V>> split = splitAtShallowestNode();
+        if (split == null && nextValueCursor >= nextValueLength && searchNextValueNode()) {
+            // Descend into the next sub-node, so that its sub-nodes can be handed off.
+            split = splitAtShallowestNode();
+        }
+        return split;
+    }
+
+    private @Nullable Spliterator<Map.Entry<K, V>> splitAtShallowestNode() {
+        for (int level = 0; level <= nextStackLevel; level++) {
+            int index = level << 1;
+            int from = nodeCursorsAndLengths[index], to = nodeCursorsAndLengths[index + 1];
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                nodeCursorsAndLengths[index + 1] = mid;
+                characteristics &= ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+                est >>>= 1;
+                return new EntrySpliterator<>(nodes[level], mid, to, est, characteristics);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return est;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
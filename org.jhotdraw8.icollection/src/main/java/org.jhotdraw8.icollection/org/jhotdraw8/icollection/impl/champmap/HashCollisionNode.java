@@ -7,8 +7,10 @@ package org.jhotdraw8.icollection.impl.champmap;
 
 import org.jhotdraw8.icollection.impl.ArrayHelper;
 import org.jhotdraw8.icollection.impl.IdentityObject;
+import org.jhotdraw8.icollection.impl.champ.BulkChangeEvent;
 import org.jspecify.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.ToIntFunction;
 
@@ -205,4 +207,51 @@ class HashCollisionNode<K, V> extends Node<K, V> {
             return ChampTrie.newHashCollisionNode(mutator, keyHash, entriesNew, ENTRY_LENGTH);
         }
     }
+
+    @Override
+    Node<K, V> putAll(Node<K, V> otherNode, int shift, BulkChangeEvent bulkChange, ToIntFunction<K> hashFunction) {
+        if (this == otherNode) {
+            return this;
+        }
+        HashCollisionNode<K, V> that = (HashCollisionNode<K, V>) otherNode;
+        Object[] thatEntries = that.entries;
+
+        // The buffer is only created when we find an entry that changes this node.
+        // Buffer content:
+        // 0..entries.length-1 = entries from this node, with values replaced from that node
+        // entries.length..length-1 = entries from that node that are not in this node
+        Object[] buffer = null;
+        int length = entries.length;
+        outer:
+        for (int i = 0; i < thatEntries.length; i += ENTRY_LENGTH) {
+            Object key = thatEntries[i];
+            Object value = thatEntries[i + 1];
+            for (int j = 0; j < entries.length; j += ENTRY_LENGTH) {
+                if (Objects.equals(entries[j], key)) {
+                    if (!Objects.equals(entries[j + 1], value)) {
+                        if (buffer == null) {
+                            buffer = Arrays.copyOf(entries, entries.length + thatEntries.length);
+                        }
+                        buffer[j + 1] = value;
+                        bulkChange.replaced = true;
+                    }
+                    continue outer;
+                }
+            }
+            if (buffer == null) {
+                buffer = Arrays.copyOf(entries, entries.length + thatEntries.length);
+            }
+            buffer[length] = key;
+            buffer[length + 1] = value;
+            length += ENTRY_LENGTH;
+            bulkChange.added++;
+        }
+        return buffer == null ? this
+                : ChampTrie.newHashCollisionNode(null, hash, Arrays.copyOf(buffer, length), ENTRY_LENGTH);
+    }
+
+    @Override
+    int calculateSize() {
+        return dataArity();
+    }
 }
@@ -6,6 +6,7 @@
 package org.jhotdraw8.icollection.impl.champmap;
 
 import org.jhotdraw8.icollection.impl.IdentityObject;
+import org.jhotdraw8.icollection.impl.champ.BulkChangeEvent;
 import org.jspecify.annotations.Nullable;
 
 import java.util.Objects;
@@ -174,5 +175,27 @@ public abstract class Node<K, V> {
     abstract Node<K, V> put(final @Nullable IdentityObject mutator, final K key, final V val,
                             final int keyHash, final int shift, final ChangeEvent<V> details, ToIntFunction<K> hashFunction);
 
+    /// Inserts or replaces the entries of the specified other trie in this trie.
+    ///
+    /// If both tries contain an entry with the same key, then the value from
+    /// the other trie is used.
+    ///
+    /// This method returns persistent nodes. Subtrees that are shared by both
+    /// tries, or that are only in one of the tries, are reused by reference.
+    ///
+    /// @param otherNode    a node with the same shift as this node from the other trie
+    /// @param shift        the shift of this node and the other node
+    /// @param bulkChange   updates the fields [BulkChangeEvent#added] and
+    ///                     [BulkChangeEvent#replaced]
+    /// @param hashFunction the hash function for keys
+    /// @return the updated trie
+    abstract Node<K, V> putAll(Node<K, V> otherNode, int shift,
+                               BulkChangeEvent bulkChange, ToIntFunction<K> hashFunction);
+
+    /// Calculates the number of entries in this trie.
+    ///
+    /// @return the number of entries
+    abstract int calculateSize();
+
 
 }
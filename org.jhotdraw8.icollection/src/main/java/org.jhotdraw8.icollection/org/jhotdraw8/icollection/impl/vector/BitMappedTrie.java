@@ -16,7 +16,6 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.SequencedCollection;
 import java.util.Spliterator;
-import java.util.Spliterators;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -404,23 +403,28 @@ public class BitMappedTrie<T> {
         return new BitMappedTrieIterator<>(this, 0, length);
     }
 
-    public static class BitMappedTrieSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+    /// A spliterator over a range of a [BitMappedTrie].
+    ///
+    /// The spliterator splits its range in halves, at a leaf boundary if
+    /// possible. The split spliterators are exactly [Spliterator#SIZED]
+    /// and [Spliterator#SUBSIZED].
+    ///
+    /// @param <T> the element type
+    public static class BitMappedTrieSpliterator<T> implements Spliterator<T> {
         private final int globalLength;
         private int globalIndex;
 
         private int index;
-        private Object leaf;
+        private @Nullable Object leaf;
         private int length;
         private final BitMappedTrie<T> root;
+        private final int characteristics;
 
         public BitMappedTrieSpliterator(BitMappedTrie<T> root, int fromIndex, int toIndex, int characteristics) {
-            super(root.length - fromIndex, characteristics);
             this.root = root;
+            this.characteristics = characteristics;
             globalLength = toIndex;
-            globalIndex = fromIndex;
-            index = lastDigit(root.offset + globalIndex);
-            leaf = root.getLeaf(globalIndex);
-            length = root.type.lengthOf(leaf);
+            seek(fromIndex);
         }
 
         @Override
@@ -438,11 +442,59 @@ public class BitMappedTrie<T> {
             return true;
         }
 
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (globalIndex < globalLength) {
+                if (index == length) {
+                    setCurrentArray();
+                }
+                int n = Math.min(length - index, globalLength - globalIndex);
+                for (int end = index + n; index < end; index++) {
+                    action.accept(root.type.getAt(leaf, index));
+                }
+                globalIndex += n;
+            }
+        }
+
+        @Override
+        public @Nullable Spliterator<T> trySplit() {
+            int remaining = globalLength - globalIndex;
+            if (remaining <= BRANCHING_FACTOR) {
+                return null;
+            }
+            int mid = globalIndex + (remaining >>> 1);
+            int alignedMid = ((root.offset + mid) & ~BRANCHING_MASK) - root.offset;
+            if (alignedMid > globalIndex) {
+                mid = alignedMid;
+            }
+            BitMappedTrieSpliterator<T> prefix = new BitMappedTrieSpliterator<>(root, globalIndex, mid, characteristics);
+            seek(mid);
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return globalLength - globalIndex;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+
         public void skip(int count) {
-            globalIndex += count;
-            index = lastDigit(root.offset + globalIndex);
-            leaf = root.getLeaf(globalIndex);
-            length = root.type.lengthOf(leaf);
+            seek(globalIndex + count);
+        }
+
+        private void seek(int newGlobalIndex) {
+            globalIndex = newGlobalIndex;
+            if (globalIndex < globalLength) {
+                index = lastDigit(root.offset + globalIndex);
+                leaf = root.getLeaf(globalIndex);
+                length = root.type.lengthOf(leaf);
+            } else {
+                index = length = 0;
+            }
         }
 
         private void setCurrentArray() {
@@ -0,0 +1,642 @@
+/*
+ * @(#)RrbTree.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.icollection.impl.vector;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/// A `relaxed radix balanced tree` (RRB tree) is a bit-mapped trie, in which
+/// the nodes do not need to be full.
+///
+/// All leaves are at the same depth. A leaf holds up to `32` elements, an inner
+/// node holds up to `32` children and a table with the cumulated sizes of its
+/// children.
+///
+/// Access to a given position is done by using the index shifted by the depth
+/// as a first guess for the child, and then by scanning the size table for the
+/// actual child. Since no child can hold more elements than a full child,
+/// the guess is never past the actual child.
+///
+/// Modifying the tree is done by copying the path from the root to the
+/// modified leaf.
+///
+/// `Concat` joins the right edge of the left tree with the left edge of the right
+/// tree. Adjacent nodes on the seam are merged if they fit into one node.
+///
+/// `Take` and `drop` cut the tree along the path to the given index. Adjacent
+/// nodes on the cut edge are merged if they fit into one node.
+///
+/// Concat, take, drop and insertion at an arbitrary index copy at most
+/// two nodes per level. They take O(log N) time.
+///
+/// References:
+///
+/// [Phil Bagwell, Tiark Rompf (2011). RRB-Trees: Efficient Immutable Vectors. EPFL-REPORT-169879](https://infoscience.epfl.ch/record/169879/files/RMTrees.pdf)
+///
+/// [Nicolas Stucki, Tiark Rompf, Vlad Ureche, Phil Bagwell (2015). RRB Vector: A Practical General Purpose Immutable Sequence. ICFP 2015](https://dl.acm.org/doi/10.1145/2784731.2784739)
+///
+/// @param <E> the element type
+public class RrbTree<E> {
+    static final int BRANCHING_BASE = 5;
+    static final int BRANCHING_FACTOR = 1 << BRANCHING_BASE;
+
+    private static final Object[] EMPTY_LEAF = new Object[0];
+    private static final RrbTree<?> EMPTY = new RrbTree<>(EMPTY_LEAF, 0, 0);
+
+    /// An inner node.
+    ///
+    /// @param children the children, either all leaves or all inner nodes
+    /// @param sizes    the cumulated sizes of the children
+    private record Branch(Object[] children, int[] sizes) {
+        int size() {
+            return sizes[sizes.length - 1];
+        }
+    }
+
+    /// The root node. This is an `Object[]` if the height is 0,
+    /// and a [Branch] otherwise.
+    private final Object root;
+    /// The number of elements in the tree.
+    public final int length;
+    /// The number of inner node levels. The height of a leaf is 0.
+    private final int height;
+
+    private RrbTree(Object root, int length, int height) {
+        this.root = root;
+        this.length = length;
+        this.height = height;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> RrbTree<E> empty() {
+        return (RrbTree<E>) EMPTY;
+    }
+
+    /// Creates a tree that contains the elements of the specified array.
+    ///
+    /// @param array an array, the array is copied
+    /// @param <E>   the element type
+    /// @return a new tree
+    public static <E> RrbTree<E> ofAll(Object[] array) {
+        int n = array.length;
+        if (n == 0) {
+            return empty();
+        }
+        Object[] nodes = new Object[(n + BRANCHING_FACTOR - 1) >>> BRANCHING_BASE];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = Arrays.copyOfRange(array, i << BRANCHING_BASE, Math.min(n, (i + 1) << BRANCHING_BASE), Object[].class);
+        }
+        int height = 0;
+        while (nodes.length > 1) {
+            Object[] parents = new Object[(nodes.length + BRANCHING_FACTOR - 1) >>> BRANCHING_BASE];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = branch(Arrays.copyOfRange(nodes, i << BRANCHING_BASE, Math.min(nodes.length, (i + 1) << BRANCHING_BASE)), height);
+            }
+            nodes = parents;
+            height++;
+        }
+        return new RrbTree<>(nodes[0], n, height);
+    }
+
+    /// Creates a tree that contains the elements of the specified iterable.
+    ///
+    /// @param iterable an iterable
+    /// @param <E>      the element type
+    /// @return a new tree
+    public static <E> RrbTree<E> ofAll(Iterable<? extends E> iterable) {
+        if (iterable instanceof Collection<?> c) {
+            return ofAll(c.toArray());
+        }
+        ArrayList<E> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return ofAll(list.toArray());
+    }
+
+    private static Branch branch(Object[] children, int childHeight) {
+        int[] sizes = new int[children.length];
+        int size = 0;
+        for (int i = 0; i < children.length; i++) {
+            size += sizeOf(children[i], childHeight);
+            sizes[i] = size;
+        }
+        return new Branch(children, sizes);
+    }
+
+    private static int sizeOf(Object node, int height) {
+        return height == 0 ? ((Object[]) node).length : ((Branch) node).size();
+    }
+
+    private static int widthOf(Object node, int height) {
+        return height == 0 ? ((Object[]) node).length : ((Branch) node).children.length;
+    }
+
+    /// Returns a lower bound for the index of the child that contains the
+    /// element with the specified index.
+    ///
+    /// @param index  an index in the inner node
+    /// @param height the height of the inner node
+    /// @return a lower bound for the child index
+    private static int guessChild(int index, int height) {
+        int shift = height * BRANCHING_BASE;
+        return shift < Integer.SIZE ? index >>> shift : 0;
+    }
+
+    /// Returns the index of the child that contains the element with
+    /// the specified index.
+    private static int childIndex(Branch b, int height, int index) {
+        int[] sizes = b.sizes;
+        int i = guessChild(index, height);
+        while (sizes[i] <= index) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int sizeBefore(Branch b, int i) {
+        return i == 0 ? 0 : b.sizes[i - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Object node = root;
+        for (int h = height; h > 0; h--) {
+            Branch b = (Branch) node;
+            int i = childIndex(b, h, index);
+            index -= sizeBefore(b, i);
+            node = b.children[i];
+        }
+        return (E) ((Object[]) node)[index];
+    }
+
+    public RrbTree<E> update(int index, @Nullable E element) {
+        return new RrbTree<>(update(root, height, index, element), length, height);
+    }
+
+    private static Object update(Object node, int height, int index, @Nullable Object element) {
+        if (height == 0) {
+            Object[] copy = ((Object[]) node).clone();
+            copy[index] = element;
+            return copy;
+        }
+        Branch b = (Branch) node;
+        int i = childIndex(b, height, index);
+        Object[] children = b.children.clone();
+        children[i] = update(children[i], height - 1, index - sizeBefore(b, i), element);
+        return new Branch(children, b.sizes);
+    }
+
+    public RrbTree<E> append(@Nullable E element) {
+        if (length == 0) {
+            return new RrbTree<>(new Object[]{element}, 1, 0);
+        }
+        Object newRoot = insert(root, height, length, element);
+        return newRoot != null
+                ? new RrbTree<>(newRoot, length + 1, height)
+                : concat(new RrbTree<>(new Object[]{element}, 1, 0));
+    }
+
+    public RrbTree<E> prepend(@Nullable E element) {
+        if (length == 0) {
+            return append(element);
+        }
+        Object newRoot = insert(root, height, 0, element);
+        return newRoot != null
+                ? new RrbTree<>(newRoot, length + 1, height)
+                : new RrbTree<E>(new Object[]{element}, 1, 0).concat(this);
+    }
+
+    /// Inserts an element at the specified index.
+    ///
+    /// @param index   the index, must be in `[0, length]`
+    /// @param element the element
+    /// @return the new tree
+    public RrbTree<E> insert(int index, @Nullable E element) {
+        if (index == length) {
+            return append(element);
+        }
+        if (index == 0) {
+            return prepend(element);
+        }
+        Object newRoot = insert(root, height, index, element);
+        return newRoot != null
+                ? new RrbTree<>(newRoot, length + 1, height)
+                : take(index).append(element).concat(drop(index));
+    }
+
+    /// Inserts an element into the leaf that contains the specified index,
+    /// by copying the path to the leaf.
+    ///
+    /// @return the new node, or `null` if the leaf is full
+    private static @Nullable Object insert(Object node, int height, int index, @Nullable Object element) {
+        if (height == 0) {
+            Object[] leaf = (Object[]) node;
+            if (leaf.length == BRANCHING_FACTOR) {
+                return null;
+            }
+            Object[] copy = new Object[leaf.length + 1];
+            System.arraycopy(leaf, 0, copy, 0, index);
+            copy[index] = element;
+            System.arraycopy(leaf, index, copy, index + 1, leaf.length - index);
+            return copy;
+        }
+        // An index on the border between two children is inserted at the end of the left child.
+        Branch b = (Branch) node;
+        int[] sizes = b.sizes;
+        int i = guessChild(Math.max(0, index - 1), height);
+        while (sizes[i] < index) {
+            i++;
+        }
+        Object child = insert(b.children[i], height - 1, index - sizeBefore(b, i), element);
+        if (child == null) {
+            return null;
+        }
+        Object[] children = b.children.clone();
+        children[i] = child;
+        int[] newSizes = sizes.clone();
+        for (int j = i; j < newSizes.length; j++) {
+            newSizes[j]++;
+        }
+        return new Branch(children, newSizes);
+    }
+
+    /// Removes the element at the specified index.
+    ///
+    /// @param index the index, must be in `[0, length)`
+    /// @return the new tree
+    public RrbTree<E> removeAt(int index) {
+        if (length == 1) {
+            return empty();
+        }
+        Object newRoot = removeAt(root, height, index);
+        return newRoot != null
+                ? new RrbTree<>(newRoot, length - 1, height)
+                : removeRange(index, index + 1);
+    }
+
+    /// Removes an element from the leaf that contains the specified index,
+    /// by copying the path to the leaf.
+    ///
+    /// @return the new node, or `null` if the leaf would become less than
+    /// half full, so that it should be merged with its neighbours
+    private static @Nullable Object removeAt(Object node, int height, int index) {
+        if (height == 0) {
+            Object[] leaf = (Object[]) node;
+            if (leaf.length <= BRANCHING_FACTOR / 2) {
+                return null;
+            }
+            Object[] copy = new Object[leaf.length - 1];
+            System.arraycopy(leaf, 0, copy, 0, index);
+            System.arraycopy(leaf, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+        Branch b = (Branch) node;
+        int i = childIndex(b, height, index);
+        Object child = removeAt(b.children[i], height - 1, index - sizeBefore(b, i));
+        if (child == null) {
+            return null;
+        }
+        Object[] children = b.children.clone();
+        children[i] = child;
+        int[] newSizes = b.sizes.clone();
+        for (int j = i; j < newSizes.length; j++) {
+            newSizes[j]--;
+        }
+        return new Branch(children, newSizes);
+    }
+
+    /// Removes the elements in the specified range.
+    ///
+    /// @param fromIndex the start index of the range, inclusive
+    /// @param toIndex   the end index of the range, exclusive
+    /// @return the new tree
+    public RrbTree<E> removeRange(int fromIndex, int toIndex) {
+        return fromIndex == toIndex ? this : take(fromIndex).concat(drop(toIndex));
+    }
+
+    /// Returns a tree with the first `n` elements of this tree.
+    ///
+    /// @param n the number of elements to take
+    /// @return the new tree
+    public RrbTree<E> take(int n) {
+        if (n >= length) {
+            return this;
+        } else if (n <= 0) {
+            return empty();
+        }
+        return collapsed(take(root, height, n), n, height);
+    }
+
+    private static Object take(Object node, int height, int n) {
+        if (height == 0) {
+            Object[] leaf = (Object[]) node;
+            return n == leaf.length ? leaf : Arrays.copyOf(leaf, n);
+        }
+        Branch b = (Branch) node;
+        if (n == b.size()) {
+            return b;
+        }
+        int i = childIndex(b, height, n - 1);
+        int childHeight = height - 1;
+        Object child = take(b.children[i], childHeight, n - sizeBefore(b, i));
+        if (i > 0 && widthOf(b.children[i - 1], childHeight) + widthOf(child, childHeight) <= BRANCHING_FACTOR) {
+            Object[] children = Arrays.copyOf(b.children, i);
+            children[i - 1] = merge(children[i - 1], child, childHeight);
+            int[] sizes = Arrays.copyOf(b.sizes, i);
+            sizes[i - 1] = n;
+            return new Branch(children, sizes);
+        }
+        Object[] children = Arrays.copyOf(b.children, i + 1);
+        children[i] = child;
+        int[] sizes = Arrays.copyOf(b.sizes, i + 1);
+        sizes[i] = n;
+        return new Branch(children, sizes);
+    }
+
+    /// Returns a tree without the first `n` elements of this tree.
+    ///
+    /// @param n the number of elements to drop
+    /// @return the new tree
+    public RrbTree<E> drop(int n) {
+        if (n <= 0) {
+            return this;
+        } else if (n >= length) {
+            return empty();
+        }
+        return collapsed(drop(root, height, n), length - n, height);
+    }
+
+    private static Object drop(Object node, int height, int n) {
+        if (n == 0) {
+            return node;
+        }
+        if (height == 0) {
+            Object[] leaf = (Object[]) node;
+            return Arrays.copyOfRange(leaf, n, leaf.length);
+        }
+        Branch b = (Branch) node;
+        int i = childIndex(b, height, n);
+        int childHeight = height - 1;
+        Object child = drop(b.children[i], childHeight, n - sizeBefore(b, i));
+        int last = b.children.length - 1;
+        Object[] children;
+        if (i < last && widthOf(child, childHeight) + widthOf(b.children[i + 1], childHeight) <= BRANCHING_FACTOR) {
+            children = Arrays.copyOfRange(b.children, i + 1, b.children.length);
+            children[0] = merge(child, children[0], childHeight);
+        } else {
+            children = Arrays.copyOfRange(b.children, i, b.children.length);
+            children[0] = child;
+        }
+        int[] sizes = new int[children.length];
+        for (int j = 0, offset = last + 1 - children.length; j < sizes.length; j++) {
+            sizes[j] = b.sizes[j + offset] - n;
+        }
+        return new Branch(children, sizes);
+    }
+
+    /// Drops root nodes while they have a single child.
+    private static <E> RrbTree<E> collapsed(Object root, int length, int height) {
+        while (height > 0 && ((Branch) root).children.length == 1) {
+            root = ((Branch) root).children[0];
+            height--;
+        }
+        return new RrbTree<>(root, length, height);
+    }
+
+    /// Merges two adjacent nodes of the same height into one node.
+    private static Object merge(Object left, Object right, int height) {
+        if (height == 0) {
+            return concatArrays((Object[]) left, (Object[]) right);
+        }
+        Branch l = (Branch) left, r = (Branch) right;
+        int[] sizes = Arrays.copyOf(l.sizes, l.sizes.length + r.sizes.length);
+        int offset = l.size();
+        for (int i = 0; i < r.sizes.length; i++) {
+            sizes[l.sizes.length + i] = r.sizes[i] + offset;
+        }
+        return new Branch(concatArrays(l.children, r.children), sizes);
+    }
+
+    private static Object[] concatArrays(Object[] a, Object[] b) {
+        Object[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /// Returns a tree that contains the elements of this tree followed
+    /// by the elements of the specified tree.
+    ///
+    /// @param that another tree
+    /// @return the new tree
+    public RrbTree<E> concat(RrbTree<E> that) {
+        if (that.length == 0) {
+            return this;
+        }
+        if (this.length == 0) {
+            return that;
+        }
+        if ((long) this.length + that.length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Tree is too large: " + ((long) this.length + that.length));
+        }
+        Object[] nodes = join(this.root, this.height, that.root, that.height);
+        int newHeight = Math.max(this.height, that.height);
+        int newLength = this.length + that.length;
+        return nodes.length == 1
+                ? new RrbTree<>(nodes[0], newLength, newHeight)
+                : new RrbTree<>(branch(nodes, newHeight), newLength, newHeight + 1);
+    }
+
+    /// Joins the right edge of the left node with the left edge of the
+    /// right node.
+    ///
+    /// @return one or two nodes with the height `max(leftHeight, rightHeight)`
+    private static Object[] join(Object left, int leftHeight, Object right, int rightHeight) {
+        if (leftHeight > rightHeight) {
+            Object[] lc = ((Branch) left).children;
+            int last = lc.length - 1;
+            Object[] seam = join(lc[last], leftHeight - 1, right, rightHeight);
+            Object[] children = Arrays.copyOf(lc, last + seam.length);
+            System.arraycopy(seam, 0, children, last, seam.length);
+            return fit(children, leftHeight - 1);
+        } else if (leftHeight < rightHeight) {
+            Object[] rc = ((Branch) right).children;
+            Object[] seam = join(left, leftHeight, rc[0], rightHeight - 1);
+            Object[] children = new Object[seam.length + rc.length - 1];
+            System.arraycopy(seam, 0, children, 0, seam.length);
+            System.arraycopy(rc, 1, children, seam.length, rc.length - 1);
+            return fit(children, rightHeight - 1);
+        } else if (leftHeight == 0) {
+            return ((Object[]) left).length + ((Object[]) right).length <= BRANCHING_FACTOR
+                    ? new Object[]{merge(left, right, 0)}
+                    : new Object[]{left, right};
+        } else {
+            Object[] lc = ((Branch) left).children;
+            Object[] rc = ((Branch) right).children;
+            int last = lc.length - 1;
+            Object[] seam = join(lc[last], leftHeight - 1, rc[0], rightHeight - 1);
+            Object[] children = new Object[last + seam.length + rc.length - 1];
+            System.arraycopy(lc, 0, children, 0, last);
+            System.arraycopy(seam, 0, children, last, seam.length);
+            System.arraycopy(rc, 1, children, last + seam.length, rc.length - 1);
+            return fit(children, leftHeight - 1);
+        }
+    }
+
+    /// Puts the specified children into one inner node, or into two inner
+    /// nodes if they do not fit into one.
+    private static Object[] fit(Object[] children, int childHeight) {
+        if (children.length <= BRANCHING_FACTOR) {
+            return new Object[]{branch(children, childHeight)};
+        }
+        int half = children.length >>> 1;
+        return new Object[]{
+                branch(Arrays.copyOf(children, half), childHeight),
+                branch(Arrays.copyOfRange(children, half, children.length), childHeight)};
+    }
+
+    public RrbTree<E> appendAll(Iterable<? extends E> iterable) {
+        return concat(ofAll(iterable));
+    }
+
+    /// Returns the height of the tree.
+    ///
+    /// This method is intended for testing.
+    ///
+    /// @return the height of the tree, 0 if the root is a leaf
+    public int height() {
+        return height;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public Iterator<E> iterator() {
+        return iterator(0, length);
+    }
+
+    public Iterator<E> iterator(int fromIndex, int toIndex) {
+        return new RrbTreeIterator<>(this, fromIndex, toIndex);
+    }
+
+    public Spliterator<E> spliterator(int fromIndex, int toIndex, int characteristics) {
+        return new RrbTreeSpliterator<>(this, fromIndex, toIndex, characteristics);
+    }
+
+    /// Iterates over a range of a tree, leaf by leaf.
+    private static class RrbTreeIterator<E> implements Iterator<E> {
+        final RrbTree<E> tree;
+        int index;
+        int toIndex;
+        Object[] leaf = EMPTY_LEAF;
+        /// The index of the first element of the current leaf.
+        int leafStart;
+        /// The index after the last element of the current leaf.
+        int leafEnd;
+
+        RrbTreeIterator(RrbTree<E> tree, int fromIndex, int toIndex) {
+            this.tree = tree;
+            this.index = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < toIndex;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+            if (index >= toIndex) {
+                throw new NoSuchElementException("next() on empty iterator");
+            }
+            if (index >= leafEnd) {
+                nextLeaf();
+            }
+            return (E) leaf[index++ - leafStart];
+        }
+
+        /// Descends the tree to the leaf that contains the current index.
+        void nextLeaf() {
+            Object node = tree.root;
+            int start = 0;
+            for (int h = tree.height; h > 0; h--) {
+                Branch b = (Branch) node;
+                int i = childIndex(b, h, index - start);
+                start += sizeBefore(b, i);
+                node = b.children[i];
+            }
+            leaf = (Object[]) node;
+            leafStart = start;
+            leafEnd = start + leaf.length;
+        }
+    }
+
+    /// Splits a range of a tree into halves, and iterates over it leaf by leaf.
+    private static class RrbTreeSpliterator<E> extends RrbTreeIterator<E> implements Spliterator<E> {
+        private final int characteristics;
+
+        RrbTreeSpliterator(RrbTree<E> tree, int fromIndex, int toIndex, int characteristics) {
+            super(tree, fromIndex, toIndex);
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            if (index >= toIndex) {
+                return false;
+            }
+            action.accept(next());
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action, "action");
+            while (index < toIndex) {
+                if (index >= leafEnd) {
+                    nextLeaf();
+                }
+                int end = Math.min(toIndex, leafEnd);
+                for (int i = index - leafStart, n = end - leafStart; i < n; i++) {
+                    action.accept((E) leaf[i]);
+                }
+                index = end;
+            }
+        }
+
+        @Override
+        public @Nullable Spliterator<E> trySplit() {
+            int mid = (index + toIndex) >>> 1;
+            if (mid - index < BRANCHING_FACTOR) {
+                return null;
+            }
+            RrbTreeSpliterator<E> prefix = new RrbTreeSpliterator<>(tree, index, mid, characteristics);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return toIndex - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+}
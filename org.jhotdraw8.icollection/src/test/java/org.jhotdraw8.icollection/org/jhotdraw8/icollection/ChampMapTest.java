@@ -7,8 +7,18 @@ package org.jhotdraw8.icollection;
 
 import org.jhotdraw8.icollection.persistent.PersistentMap;
 import org.jhotdraw8.icollection.readable.ReadableMap;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ChampMapTest extends AbstractPersistentMapTest {
     @Override
@@ -37,9 +47,60 @@ public class ChampMapTest extends AbstractPersistentMapTest {
         return ChampMap.<K, V>of().putAll(entries);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0xff, 0})
+    public void testPutAllWithSharedSubtreesShouldYieldExpectedResult(int hashBitMask) {
+        ChampMap<Key, Value> a = ChampMap.of();
+        for (int i = 0; i < 10_000; i++) {
+            a = a.put(new Key(i, hashBitMask), new Value(i, hashBitMask));
+        }
+        // b shares most subtrees with a
+        ChampMap<Key, Value> b = a.remove(new Key(1, hashBitMask))
+                .put(new Key(2, hashBitMask), new Value(-2, hashBitMask))
+                .put(new Key(-3, hashBitMask), new Value(-3, hashBitMask));
+
+        Map<Key, Value> expected = new LinkedHashMap<>(a.asMap());
+        expected.putAll(b.asMap());
+        assertEqualMap(expected, a.putAll(b));
+
+        expected = new LinkedHashMap<>(b.asMap());
+        expected.putAll(a.asMap());
+        assertEqualMap(expected, b.putAll(a));
+
+        MutableChampMap<Key, Value> m = a.toMutable();
+        assertTrue(m.putAll(b));
+        assertEqualMap(a.putAll(b), m.toPersistent());
+
+        assertSame(a, a.putAll(a));
+        assertSame(a, a.putAll(ChampMap.<Key, Value>of().put(new Key(0, hashBitMask), new Value(0, hashBitMask))));
+    }
+
     @Override
     protected boolean supportsNullKeys() {
         return true;
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0xff, 0})
+    public void spliteratorShouldSplitIntoDisjointParts(int hashBitMask) {
+        ChampMap<Key, Value> a = ChampMap.of();
+        for (int i = 0; i < 10_000; i++) {
+            a = a.put(new Key(i, hashBitMask), new Value(i, hashBitMask));
+        }
+        List<List<Map.Entry<Key, Value>>> parts = SplitSpliterators.splitAll(a.spliterator());
+        Map<Key, Value> actual = new HashMap<>();
+        int count = 0;
+        for (List<Map.Entry<Key, Value>> part : parts) {
+            for (Map.Entry<Key, Value> e : part) {
+                actual.put(e.getKey(), e.getValue());
+                count++;
+            }
+        }
+        assertEquals(a.size(), count);
+        assertEquals(a.asMap(), actual);
+        if (hashBitMask == -1) {
+            assertTrue(parts.size() >= 32, "parts.size=" + parts.size());
+        }
+        assertEquals(a.size(), StreamSupport.stream(a.spliterator(), true).count());
+    }
 }
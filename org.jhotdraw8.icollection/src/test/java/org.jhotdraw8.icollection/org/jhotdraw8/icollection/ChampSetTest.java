@@ -8,10 +8,20 @@ package org.jhotdraw8.icollection;
 import org.jhotdraw8.icollection.persistent.PersistentSet;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ChampSetTest extends AbstractImmutableSetTest {
@@ -63,9 +73,84 @@ public class ChampSetTest extends AbstractImmutableSetTest {
         assertEqualSet(data.a, instance);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0xff, 0})
+    public void testBulkOperationsWithSharedSubtreesShouldYieldExpectedResult(int hashBitMask) {
+        ChampSet<Key> a = ChampSet.of();
+        for (int i = 0; i < 10_000; i++) {
+            a = a.add(new Key(i, hashBitMask));
+        }
+        // b shares most subtrees with a
+        ChampSet<Key> b = a.removeAll(List.of(new Key(1, hashBitMask), new Key(2, hashBitMask)))
+                .addAll(List.of(new Key(-1, hashBitMask), new Key(-2, hashBitMask), new Key(-3, hashBitMask)));
+        Set<Key> aSet = new LinkedHashSet<>(a.asSet());
+        Set<Key> bSet = new LinkedHashSet<>(b.asSet());
+
+        Set<Key> expected = new LinkedHashSet<>(aSet);
+        expected.addAll(bSet);
+        assertEqualSet(expected, a.addAll(b));
+
+        expected = new LinkedHashSet<>(aSet);
+        expected.removeAll(bSet);
+        ChampSet<Key> actual = a.removeAll(b);
+        assertEqualSet(expected, actual);
+        assertEquals(2, actual.size());
+
+        expected = new LinkedHashSet<>(aSet);
+        expected.retainAll(bSet);
+        assertEqualSet(expected, a.retainAll(b));
+
+        assertSame(a, a.addAll(a.retainAll(b)));
+        assertSame(a, a.retainAll(a.addAll(b)));
+        assertSame(a, a.removeAll(ChampSet.of(new Key(-1, hashBitMask))));
+        assertTrue(a.removeAll(a).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0xff, 0})
+    public void mutableAddAllOnPopulatedSetShouldUpdateSize(int hashBitMask) {
+        // the mutable set owns its nodes, so that putAll updates them in place
+        MutableChampSet<Key> a = new MutableChampSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            a.add(new Key(i, hashBitMask));
+        }
+        Iterator<Key> it = a.iterator();
+        assertTrue(a.addAll(ChampSet.of(new Key(100_000, hashBitMask))));
+        assertEquals(5_001, a.size());
+        assertTrue(a.contains(new Key(100_000, hashBitMask)));
+        assertEquals(5_001, a.stream().count());
+        assertThrows(ConcurrentModificationException.class, it::next);
+
+        Iterator<Key> it2 = a.iterator();
+        assertFalse(a.addAll(ChampSet.of(new Key(1, hashBitMask), new Key(100_000, hashBitMask))));
+        assertEquals(5_001, a.size());
+        it2.next();
+
+        assertTrue(a.addAll(ChampSet.of(new Key(2, hashBitMask), new Key(100_001, hashBitMask), new Key(100_002, hashBitMask))));
+        assertEquals(5_003, a.size());
+        assertEquals(5_003, a.stream().count());
+    }
+
     @Override
     protected boolean supportsNullKeys() {
         return true;
     }
 
-}
\ No newline at end of file
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0xff, 0})
+    public void spliteratorShouldSplitIntoDisjointParts(int hashBitMask) {
+        ChampSet<Key> a = ChampSet.of();
+        for (int i = 0; i < 10_000; i++) {
+            a = a.add(new Key(i, hashBitMask));
+        }
+        List<List<Key>> parts = SplitSpliterators.splitAll(a.spliterator());
+        List<Key> actual = new ArrayList<>();
+        parts.forEach(actual::addAll);
+        assertEquals(a.size(), actual.size());
+        assertEquals(a.asSet(), new HashSet<>(actual));
+        if (hashBitMask == -1) {
+            assertTrue(parts.size() >= 32, "parts.size=" + parts.size());
+        }
+        assertEquals(a.stream().mapToInt(Key::getValue).sum(), a.stream().parallel().mapToInt(Key::getValue).sum());
+    }
+}
@@ -6,10 +6,16 @@
 package org.jhotdraw8.icollection;
 
 import org.jhotdraw8.icollection.persistent.PersistentSet;
+import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.SequencedSet;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class ChampVectorSetTest extends AbstractImmutableSequencedSetTest {
 
 
@@ -44,4 +50,25 @@ public class ChampVectorSetTest extends AbstractImmutableSequencedSetTest {
         return true;
     }
 
-}
\ No newline at end of file
+    @Test
+    public void spliteratorShouldSplitIntoPartsThatSkipTombstones() {
+        ChampVectorSet<Key> a = ChampVectorSet.of();
+        for (int i = 0; i < 10_000; i++) {
+            a = a.add(new Key(i));
+        }
+        // Remove single elements and runs of elements, so that the vector contains
+        // tombstones and sequences of tombstones
+        for (int i = 1; i < 9_999; i++) {
+            if (i % 3 == 0 || i % 100 < 40) {
+                a = a.remove(new Key(i));
+            }
+        }
+        List<Key> expected = new ArrayList<>(a.asSet());
+        List<List<Key>> parts = SplitSpliterators.splitAll(a.spliterator());
+        List<Key> actual = new ArrayList<>();
+        parts.forEach(actual::addAll);
+        assertEquals(expected, actual);
+        assertTrue(parts.size() > 1, "parts.size=" + parts.size());
+        assertEquals(expected.size(), a.stream().parallel().count());
+    }
+}
@@ -0,0 +1,16 @@
+package org.jhotdraw8.icollection;
+
+import java.util.List;
+import java.util.SequencedCollection;
+
+public class MutableRrbVectorListTest extends AbstractListTest {
+    @Override
+    protected SequencedCollection<Key> newInstance() {
+        return new MutableRrbVectorList<Key>();
+    }
+
+    @Override
+    protected List<Key> newListInstance() {
+        return new MutableRrbVectorList<Key>();
+    }
+}
@@ -0,0 +1,102 @@
+package org.jhotdraw8.icollection;
+
+import org.jhotdraw8.icollection.facade.MutableListFacade;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SequencedCollection;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RrbVectorListTest extends AbstractListTest {
+    @Override
+    protected SequencedCollection<Key> newInstance() {
+        return new MutableListFacade<Key>(RrbVectorList.<Key>of());
+    }
+
+    @Override
+    protected List<Key> newListInstance() {
+        return new MutableListFacade<Key>(RrbVectorList.<Key>of());
+    }
+
+    @Test
+    public void randomInsertSplitAndConcatShouldMatchArrayList() {
+        Random rnd = new Random(0);
+        List<Integer> expected = new ArrayList<>();
+        RrbVectorList<Integer> actual = RrbVectorList.of();
+        for (int i = 0; i < 20_000; i++) {
+            int index = rnd.nextInt(expected.size() + 1);
+            switch (rnd.nextInt(6)) {
+                case 0, 1, 2 -> {
+                    expected.add(index, i);
+                    actual = actual.add(index, i);
+                }
+                case 3 -> {
+                    if (!expected.isEmpty()) {
+                        index = rnd.nextInt(expected.size());
+                        expected.remove(index);
+                        actual = actual.removeAt(index);
+                    }
+                }
+                case 4 -> {
+                    int to = index + rnd.nextInt(Math.min(100, expected.size() - index) + 1);
+                    expected.subList(index, to).clear();
+                    actual = actual.removeRange(index, to);
+                }
+                default -> {
+                    // Insert a copy of a slice of the list into itself
+                    int from = rnd.nextInt(expected.size() + 1);
+                    int to = from + rnd.nextInt(Math.min(500, expected.size() - from) + 1);
+                    expected.addAll(index, new ArrayList<>(expected.subList(from, to)));
+                    actual = actual.addAll(index, actual.readableSubList(from, to));
+                }
+            }
+            assertEquals(expected.size(), actual.size());
+        }
+        assertEquals(expected, actual.asList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void concatOfManyListsShouldStayShallow() {
+        RrbVectorList<Integer> actual = RrbVectorList.of();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int n = i % 37;
+            RrbVectorList<Integer> part = RrbVectorList.copyOf(IntStream.range(0, n).boxed().toList());
+            actual = i % 2 == 0 ? actual.addAll(part) : actual.addAll(0, part);
+            if (i % 2 == 0) {
+                expected.addAll(part.asList());
+            } else {
+                expected.addAll(0, part.asList());
+            }
+        }
+        assertEquals(expected, actual.asList());
+        // 180'000 elements fit into a tree of height 4 if the leaves are at least 1/16 full.
+        assertTrue(actual.tree.height() <= 4, "height=" + actual.tree.height());
+    }
+
+    @Test
+    public void spliteratorShouldSplitIntoExactlySizedHalves() {
+        RrbVectorList<Integer> list = RrbVectorList.copyOf(IntStream.range(0, 100_000).boxed().toList());
+        assertEquals(IntStream.range(0, 100_000).asLongStream().sum(),
+                list.stream().parallel().mapToLong(Integer::longValue).sum());
+        var s = list.spliterator();
+        var prefix = s.trySplit();
+        assertEquals(50_000, prefix.estimateSize());
+        assertEquals(50_000, s.estimateSize());
+    }
+
+    @Test
+    public void subListOfWholeListShouldReturnSameInstance() {
+        RrbVectorList<Integer> list = RrbVectorList.of(1, 2, 3);
+        assertSame(list, list.readableSubList(0, 3));
+    }
+}
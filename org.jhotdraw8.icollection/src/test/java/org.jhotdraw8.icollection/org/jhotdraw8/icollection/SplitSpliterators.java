@@ -0,0 +1,41 @@
+package org.jhotdraw8.icollection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+/// Splits spliterators for tests.
+final class SplitSpliterators {
+    private SplitSpliterators() {
+    }
+
+    /// Recursively splits the specified spliterator until it can not
+    /// be split anymore, and collects the elements of each part.
+    ///
+    /// @param s   a spliterator
+    /// @param <E> the element type
+    /// @return the elements of each part in encounter order
+    static <E> List<List<E>> splitAll(Spliterator<E> s) {
+        List<List<E>> parts = new ArrayList<>();
+        splitAll(s, parts);
+        return parts;
+    }
+
+    private static <E> void splitAll(Spliterator<E> s, List<List<E>> parts) {
+        Spliterator<E> prefix = s.trySplit();
+        if (prefix != null) {
+            splitAll(prefix, parts);
+            splitAll(s, parts);
+        } else {
+            long est = s.estimateSize();
+            List<E> part = new ArrayList<>();
+            s.forEachRemaining(part::add);
+            if (s.hasCharacteristics(Spliterator.SIZED)) {
+                if (est != part.size()) {
+                    throw new AssertionError("SIZED spliterator estimated " + est + " but had " + part.size() + " elements");
+                }
+            }
+            parts.add(part);
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package org.jhotdraw8.icollection;
 
 import org.jhotdraw8.icollection.facade.MutableListFacade;
+import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.SequencedCollection;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class VectorListTest extends AbstractListTest {
     @Override
@@ -15,4 +22,21 @@ public class VectorListTest extends AbstractListTest {
     protected List<Key> newListInstance() {
         return new MutableListFacade<Key>(VectorList.<Key>of());
     }
+
+    @Test
+    public void spliteratorShouldSplitIntoExactlySizedParts() {
+        List<Integer> expected = IntStream.range(0, 100_000).boxed().toList();
+        // Drop some elements, so that the trie has an offset
+        VectorList<Integer> list = VectorList.<Integer>of().addAll(IntStream.range(-77, 0).boxed().toList())
+                .addAll(expected).readableSubList(77, 100_077);
+        Spliterator<Integer> s = list.spliterator();
+        assertTrue(s.hasCharacteristics(Spliterator.SUBSIZED));
+        List<List<Integer>> parts = SplitSpliterators.splitAll(s);
+        List<Integer> actual = new ArrayList<>();
+        parts.forEach(actual::addAll);
+        assertEquals(expected, actual);
+        assertTrue(parts.size() >= 1024, "parts.size=" + parts.size());
+        assertEquals(expected.stream().mapToLong(Integer::longValue).sum(),
+                list.stream().parallel().mapToLong(Integer::longValue).sum());
+    }
 }
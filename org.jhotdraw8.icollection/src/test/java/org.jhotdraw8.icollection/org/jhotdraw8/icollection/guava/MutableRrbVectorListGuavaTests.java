@@ -0,0 +1,85 @@
+/*
+ * @(#)MutableRrbVectorListGuavaTests.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package org.jhotdraw8.icollection.guava;
+
+import com.google.common.collect.testing.ListTestSuiteBuilder;
+import com.google.common.collect.testing.MinimalCollection;
+import com.google.common.collect.testing.TestStringListGenerator;
+import com.google.common.collect.testing.features.CollectionFeature;
+import com.google.common.collect.testing.features.CollectionSize;
+import com.google.common.collect.testing.features.ListFeature;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.jhotdraw8.icollection.MutableRrbVectorList;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/// Tests [MutableRrbVectorList] with the Guava test suite.
+public class MutableRrbVectorListGuavaTests {
+
+    public static Test suite() {
+        return new MutableRrbVectorListGuavaTests().allTests();
+    }
+
+    public Test allTests() {
+        TestSuite suite = new TestSuite(MutableRrbVectorList.class.getSimpleName());
+        suite.addTest(testsForList());
+        suite.addTest(testsForReversedList());
+        return suite;
+    }
+
+    public Test testsForList() {
+        return ListTestSuiteBuilder.using(
+                        new TestStringListGenerator() {
+                            @Override
+                            public List<String> create(String[] elements) {
+                                return new MutableRrbVectorList<>(MinimalCollection.of(elements));
+                            }
+                        })
+                .named(MutableRrbVectorList.class.getSimpleName())
+                .withFeatures(
+                        ListFeature.GENERAL_PURPOSE,
+                        CollectionFeature.ALLOWS_NULL_VALUES,
+                        CollectionFeature.ALLOWS_NULL_QUERIES,
+                        CollectionFeature.SUPPORTS_ITERATOR_REMOVE,
+                        CollectionFeature.SERIALIZABLE,
+                        CollectionFeature.FAILS_FAST_ON_CONCURRENT_MODIFICATION,
+                        CollectionSize.ANY)
+                .suppressing(suppressForTrieSet())
+                .createTestSuite();
+    }
+
+    public Test testsForReversedList() {
+        return ListTestSuiteBuilder.using(
+                        new TestStringListGenerator() {
+                            @Override
+                            public List<String> create(String[] elements) {
+                                List<String> list = new MutableRrbVectorList<String>().reversed();
+                                list.addAll(Arrays.asList(elements));
+                                return list;
+                            }
+                        })
+                .named(MutableRrbVectorList.class.getSimpleName() + ".reversed")
+                .withFeatures(
+                        ListFeature.GENERAL_PURPOSE,
+                        CollectionFeature.ALLOWS_NULL_VALUES,
+                        CollectionFeature.ALLOWS_NULL_QUERIES,
+                        //  CollectionFeature.SERIALIZABLE,
+                        CollectionFeature.FAILS_FAST_ON_CONCURRENT_MODIFICATION,
+                        CollectionSize.ANY)
+                .suppressing(suppressForTrieSet())
+                .createTestSuite();
+    }
+
+    protected Collection<Method> suppressForTrieSet() {
+        return Collections.emptySet();
+    }
+
+}
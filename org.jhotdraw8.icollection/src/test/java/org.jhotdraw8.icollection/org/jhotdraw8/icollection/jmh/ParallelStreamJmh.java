@@ -0,0 +1,121 @@
+package org.jhotdraw8.icollection.jmh;
+
+import org.jhotdraw8.icollection.ChampMap;
+import org.jhotdraw8.icollection.ChampSet;
+import org.jhotdraw8.icollection.ChampVectorSet;
+import org.jhotdraw8.icollection.RrbVectorList;
+import org.jhotdraw8.icollection.VectorList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+/// Measures sequential and parallel streams over the persistent collections.
+///
+/// Each benchmark performs a small computation on each element,
+/// similar to the work that is done when a stylesheet is applied to
+/// a figure.
+///
+/// The parallel benchmarks only scale on a machine with multiple cores.
+@State(Scope.Benchmark)
+@Measurement(iterations = 2)
+@Warmup(iterations = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx15g"})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class ParallelStreamJmh {
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"-65"})
+    private int mask;
+
+    private ChampSet<Key> champSet;
+    private ChampMap<Key, Key> champMap;
+    private ChampVectorSet<Key> champVectorSet;
+    private VectorList<Key> vectorList;
+    private RrbVectorList<Key> rrbVectorList;
+
+    @Setup
+    public void setup() {
+        BenchmarkData data = new BenchmarkData(size, mask);
+        champSet = ChampSet.copyOf(data.setA);
+        champVectorSet = ChampVectorSet.copyOf(data.setA);
+        vectorList = VectorList.copyOf(data.listA);
+        rrbVectorList = RrbVectorList.copyOf(data.listA);
+        var m = ChampMap.<Key, Key>of().toMutable();
+        for (Key k : data.setA) {
+            m.put(k, k);
+        }
+        champMap = m.toPersistent();
+    }
+
+    private static long work(Key k) {
+        long h = k.value * 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < 16; i++) {
+            h ^= h >>> 29;
+            h *= 0xBF58476D1CE4E5B9L;
+        }
+        return h;
+    }
+
+    @Benchmark
+    public long mChampSetStream() {
+        return champSet.stream().mapToLong(ParallelStreamJmh::work).sum();
+    }
+
+    @Benchmark
+    public long mChampSetParallelStream() {
+        return champSet.stream().parallel().mapToLong(ParallelStreamJmh::work).sum();
+    }
+
+    @Benchmark
+    public long mChampMapStream() {
+        return StreamSupport.stream(champMap.spliterator(), false).mapToLong(e -> work(e.getKey())).sum();
+    }
+
+    @Benchmark
+    public long mChampMapParallelStream() {
+        return StreamSupport.stream(champMap.spliterator(), true).mapToLong(e -> work(e.getKey())).sum();
+    }
+
+    @Benchmark
+    public long mChampVectorSetStream() {
+        return champVectorSet.stream().mapToLong(ParallelStreamJmh::work).sum();
+    }
+
+    @Benchmark
+    public long mChampVectorSetParallelStream() {
+        return champVectorSet.stream().parallel().mapToLong(ParallelStreamJmh::work).sum();
+    }
+
+    @Benchmark
+    public long mVectorListStream() {
+        return vectorList.stream().mapToLong(ParallelStreamJmh::work).sum();
+    }
+
+    @Benchmark
+    public long mVectorListParallelStream() {
+        return vectorList.stream().parallel().mapToLong(ParallelStreamJmh::work).sum();
+    }
+
+    @Benchmark
+    public long mRrbVectorListStream() {
+        return rrbVectorList.stream().mapToLong(ParallelStreamJmh::work).sum();
+    }
+
+    @Benchmark
+    public long mRrbVectorListParallelStream() {
+        return rrbVectorList.stream().parallel().mapToLong(ParallelStreamJmh::work).sum();
+    }
+}
@@ -160,4 +160,20 @@ public class ScalaVectorJmh {
         return (Vector<Key>) updated.invoke(listA, index, key);
     }
 
+    @Benchmark
+    public Vector<Key> mInsertAtIndex() {
+        Key key = data.nextKeyInB();
+        Vector<Key> begin = (Vector<Key>) listA.take(index).$colon$plus(key);
+        return begin.appendedAll(listA.drop(index));
+    }
+
+    @Benchmark
+    public Vector<Key> mConcat() {
+        return listA.appendedAll(listA);
+    }
+
+    @Benchmark
+    public Vector<Key> mSplit() {
+        return listA.drop(index);
+    }
 }
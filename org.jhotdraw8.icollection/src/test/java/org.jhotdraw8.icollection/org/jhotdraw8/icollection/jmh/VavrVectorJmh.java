@@ -200,4 +200,19 @@ public class VavrVectorJmh {
         return listA.update(index, key);
     }
 
+    @Benchmark
+    public Vector<Key> mInsertAtIndex() {
+        Key key = data.nextKeyInB();
+        return listA.insert(index, key);
+    }
+
+    @Benchmark
+    public Vector<Key> mConcat() {
+        return listA.appendAll(listA);
+    }
+
+    @Benchmark
+    public Vector<Key> mSplit() {
+        return listA.drop(index);
+    }
 }
@@ -1,5 +1,6 @@
 package org.jhotdraw8.icollection.jmh;
 
+import org.jhotdraw8.icollection.RrbVectorList;
 import org.jhotdraw8.icollection.VectorList;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -70,6 +71,32 @@ import java.util.concurrent.TimeUnit;
 /// mTail              1000000  avgt               6.358          ns/op
 ///
 /// Process finished with exit code 0
+///
+/// The `mRrb` benchmarks measure [RrbVectorList].
+/// Compare `mInsertAtIndex`, `mConcat` and `mSplit` with the
+/// corresponding benchmarks in [ScalaVectorJmh] and [VavrVectorJmh].
+/// <pre>
+/// # JMH version: 1.37
+/// # VM version: JDK 21.0.1, OpenJDK 64-Bit Server VM, 21.0.1+12-LTS
+///
+/// Benchmark                         (size)  Mode  Cnt         Score   Error  Units
+/// ScalaVectorJmh.mConcat           1000000  avgt         140360.376          ns/op
+/// ScalaVectorJmh.mInsertAtIndex    1000000  avgt         652350.046          ns/op
+/// ScalaVectorJmh.mSplit            1000000  avgt            137.979          ns/op
+/// VavrVectorJmh.mConcat            1000000  avgt        8854698.965          ns/op
+/// VavrVectorJmh.mInsertAtIndex     1000000  avgt        3318150.977          ns/op
+/// VavrVectorJmh.mSplit             1000000  avgt            113.131          ns/op
+/// VectorListJmh.mConcat            1000000  avgt        9586374.924          ns/op
+/// VectorListJmh.mGet               1000000  avgt            132.834          ns/op
+/// VectorListJmh.mInsertAtIndex     1000000  avgt        3750649.090          ns/op
+/// VectorListJmh.mIterate           1000000  avgt       39407873.038          ns/op
+/// VectorListJmh.mSplit             1000000  avgt            110.766          ns/op
+/// VectorListJmh.mRrbConcat         1000000  avgt            980.875          ns/op
+/// VectorListJmh.mRrbGet            1000000  avgt            259.634          ns/op
+/// VectorListJmh.mRrbInsertAtIndex  1000000  avgt           1503.021          ns/op
+/// VectorListJmh.mRrbIterate        1000000  avgt       24289743.786          ns/op
+/// VectorListJmh.mRrbSplit          1000000  avgt            189.045          ns/op
+/// </pre>
 @State(Scope.Benchmark)
 @Measurement(iterations = 1)
 @Warmup(iterations = 1)
@@ -84,6 +111,7 @@ public class VectorListJmh {
 
     private BenchmarkData data;
     private VectorList<Key> listA;
+    private RrbVectorList<Key> listR;
 
     private int index;
 
@@ -94,6 +122,7 @@ public class VectorListJmh {
         for (Key key : data.setA) {
             listA = listA.add(key);
         }
+        listR = RrbVectorList.copyOf(listA);
         index = Math.min(listA.size() - 1, BigInteger.valueOf(listA.size() / 2).nextProbablePrime().intValue());
     }
 
@@ -211,5 +240,55 @@ public class VectorListJmh {
         return listA.set(index, key);
     }
 
+    @Benchmark
+    public VectorList<Key> mInsertAtIndex() {
+        Key key = data.nextKeyInB();
+        return listA.add(index, key);
+    }
+
+    @Benchmark
+    public VectorList<Key> mConcat() {
+        return listA.addAll(listA);
+    }
+
+    @Benchmark
+    public VectorList<Key> mSplit() {
+        return listA.readableSubList(index, listA.size());
+    }
 
+    @Benchmark
+    public RrbVectorList<Key> mRrbInsertAtIndex() {
+        Key key = data.nextKeyInB();
+        return listR.add(index, key);
+    }
+
+    @Benchmark
+    public RrbVectorList<Key> mRrbConcat() {
+        return listR.addAll(listR);
+    }
+
+    @Benchmark
+    public RrbVectorList<Key> mRrbSplit() {
+        return listR.readableSubList(index, listR.size());
+    }
+
+    @Benchmark
+    public RrbVectorList<Key> mRrbRemoveAtIndex() {
+        return listR.removeAt(index);
+    }
+
+    @Benchmark
+    public Key mRrbGet() {
+        int index = data.nextIndexInA();
+        return listR.get(index);
+    }
+
+    @Benchmark
+    public int mRrbIterate() {
+        int sum = 0;
+        for (Iterator<Key> i = listR.iterator(); i.hasNext(); ) {
+            sum += i.next().value;
+        }
+        return sum;
+    }
 }
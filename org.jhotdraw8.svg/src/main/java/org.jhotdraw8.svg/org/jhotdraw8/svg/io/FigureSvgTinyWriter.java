@@ -0,0 +1,386 @@
+/*
+ * @(#)FigureSvgTinyWriter.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+package org.jhotdraw8.svg.io;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Paint;
+import javafx.scene.paint.RadialGradient;
+import javafx.scene.paint.Stop;
+import javafx.scene.shape.StrokeLineCap;
+import javafx.scene.shape.StrokeLineJoin;
+import javafx.scene.transform.Transform;
+import org.jhotdraw8.base.converter.Converter;
+import org.jhotdraw8.css.converter.ListCssConverter;
+import org.jhotdraw8.css.value.CssColor;
+import org.jhotdraw8.css.value.CssSize;
+import org.jhotdraw8.css.value.Paintable;
+import org.jhotdraw8.draw.figure.CompositableFigure;
+import org.jhotdraw8.draw.figure.Drawing;
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.draw.figure.FillableFigure;
+import org.jhotdraw8.draw.figure.HideableFigure;
+import org.jhotdraw8.draw.figure.Page;
+import org.jhotdraw8.draw.figure.PathIterableFigure;
+import org.jhotdraw8.draw.figure.Slice;
+import org.jhotdraw8.draw.figure.StrokableFigure;
+import org.jhotdraw8.draw.figure.StyleableFigure;
+import org.jhotdraw8.draw.figure.ViewBoxableDrawing;
+import org.jhotdraw8.draw.render.RenderContext;
+import org.jhotdraw8.draw.render.RenderingIntent;
+import org.jhotdraw8.draw.render.SimpleRenderContext;
+import org.jhotdraw8.fxbase.concurrent.WorkState;
+import org.jhotdraw8.geom.FXTransforms;
+import org.jhotdraw8.geom.SvgPaths;
+import org.jhotdraw8.icollection.VectorList;
+import org.jhotdraw8.icollection.persistent.PersistentList;
+import org.jhotdraw8.svg.text.SvgPaintCssConverter;
+import org.jhotdraw8.svg.text.SvgTransformConverter;
+import org.jhotdraw8.xml.IndentingXMLStreamWriter;
+import org.jhotdraw8.xml.converter.DoubleXmlConverter;
+import org.jspecify.annotations.Nullable;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/// Exports a drawing to SVG Tiny 1.2 directly from the properties of its
+/// figures.
+///
+/// Unlike [FXSvgTinyWriter], this writer does not render the drawing into a
+/// JavaFX scene graph, and does not build a DOM. It walks the figure tree,
+/// and streams one element per figure to an [XMLStreamWriter]. The path data
+/// of all figures is appended to the same buffer. Thus, the memory needed
+/// for writing does not grow with the size of the drawing.
+///
+/// Figures with children are written as `g` elements. Figures that
+/// implement [PathIterableFigure] are written as `path` elements. All other
+/// figures are skipped. Pages and slices are never written.
+///
+/// The writer does not need the JavaFX toolkit, and can run on a worker
+/// thread, as long as the figures can compute their path without it.
+/// (Text figures, for example, need the font loader of the toolkit.)
+///
+/// References:
+/// <dl>
+///     <dt>SVG Tiny 1.2</dt>
+///     <dd><a href="https://www.w3.org/TR/SVGTiny12/">w3.org</a></dd>
+/// </dl>
+public class FigureSvgTinyWriter {
+    private static final String SVG_NS = AbstractFXSvgWriter.SVG_NS;
+    private static final String SVG_VERSION = "1.2";
+    private static final String SVG_BASE_PROFILE = "tiny";
+    private final DoubleXmlConverter nb = new DoubleXmlConverter();
+    private final Converter<Paint> paintConverter = new SvgPaintCssConverter(true);
+    private final Converter<PersistentList<Transform>> tx = new ListCssConverter<>(new SvgTransformConverter(false));
+    /// The buffer for path data. Is reused for all path elements.
+    private final StringBuilder pathBuffer = new StringBuilder();
+    /// The buffer for attribute values that are composed of several parts.
+    /// Is reused for all elements.
+    private final StringBuilder attributeBuffer = new StringBuilder();
+    /// Maps gradients to their ids. The gradients are written in a `defs`
+    /// element at the end of the document.
+    private final Map<Paint, String> gradients = new LinkedHashMap<>();
+    private final SimpleRenderContext ctx = new SimpleRenderContext();
+    private boolean relativizePaths;
+
+    public FigureSvgTinyWriter() {
+        ctx.set(RenderContext.RENDERING_INTENT, RenderingIntent.EXPORT);
+    }
+
+    public boolean isRelativizePaths() {
+        return relativizePaths;
+    }
+
+    public void setRelativizePaths(boolean relativizePaths) {
+        this.relativizePaths = relativizePaths;
+    }
+
+    public void write(OutputStream out, Drawing drawing, Collection<Figure> selection, WorkState<Void> workState) throws IOException {
+        write(new IndentingXMLStreamWriter(out), drawing, selection, workState);
+    }
+
+    public void write(Writer out, Drawing drawing, Collection<Figure> selection, WorkState<Void> workState) throws IOException {
+        write(new IndentingXMLStreamWriter(out), drawing, selection, workState);
+    }
+
+    /// Writes the selected figures of the drawing.
+    ///
+    /// @param w         the writer
+    /// @param drawing   the drawing
+    /// @param selection the selected figures, if the selection contains the
+    ///                  drawing, then all figures are written
+    /// @param workState the work state, is checked for cancellation after each figure
+    /// @throws IOException           on write failure
+    /// @throws CancellationException if the work state has been cancelled
+    public void write(XMLStreamWriter w, Drawing drawing, Collection<Figure> selection, WorkState<Void> workState) throws IOException {
+        gradients.clear();
+        try {
+            workState.updateProgress(0.0);
+            w.writeStartDocument();
+            w.setDefaultNamespace(SVG_NS);
+            w.writeStartElement("svg");
+            w.writeDefaultNamespace(SVG_NS);
+            writeDocumentElementAttributes(w, drawing);
+            writeBackground(w, drawing);
+
+            boolean all = selection.isEmpty() || selection.contains(drawing);
+            int count = 0, n = drawing.getChildren().size();
+            for (Figure child : drawing.getChildren()) {
+                writeFigureRecursively(w, child, all ? null : selection, workState);
+                workState.updateProgress(++count / (double) n);
+            }
+
+            writeGradientDefs(w);
+            w.writeEndElement();
+            w.writeEndDocument();
+            w.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Error writing SVG.", e);
+        }
+    }
+
+    private void writeDocumentElementAttributes(XMLStreamWriter w, Drawing drawing) throws XMLStreamException {
+        CssSize width = drawing.getNonNull(Drawing.WIDTH);
+        CssSize height = drawing.getNonNull(Drawing.HEIGHT);
+        w.writeAttribute("version", SVG_VERSION);
+        w.writeAttribute("baseProfile", SVG_BASE_PROFILE);
+        w.writeAttribute("width", nb.toString(width.getValue()) + width.getUnits());
+        w.writeAttribute("height", nb.toString(height.getValue()) + height.getUnits());
+        w.writeAttribute("viewBox", nb.toString(drawing.getNonNull(ViewBoxableDrawing.VIEW_BOX_X).getConvertedValue())
+                + " " + nb.toString(drawing.getNonNull(ViewBoxableDrawing.VIEW_BOX_Y).getConvertedValue())
+                + " " + nb.toString(width.getConvertedValue())
+                + " " + nb.toString(height.getConvertedValue()));
+    }
+
+    private void writeBackground(XMLStreamWriter w, Drawing drawing) throws XMLStreamException {
+        CssColor background = drawing.getStyled(Drawing.BACKGROUND);
+        if (background == null || background.getColor().getOpacity() == 0) {
+            return;
+        }
+        w.writeStartElement("rect");
+        w.writeAttribute("x", nb.toString(drawing.getNonNull(ViewBoxableDrawing.VIEW_BOX_X).getConvertedValue()));
+        w.writeAttribute("y", nb.toString(drawing.getNonNull(ViewBoxableDrawing.VIEW_BOX_Y).getConvertedValue()));
+        w.writeAttribute("width", nb.toString(drawing.getNonNull(Drawing.WIDTH).getConvertedValue()));
+        w.writeAttribute("height", nb.toString(drawing.getNonNull(Drawing.HEIGHT).getConvertedValue()));
+        writePaintAttributes(w, "fill", background.getColor(), 1.0);
+        w.writeEndElement();
+    }
+
+    /// Writes a figure and its descendants.
+    ///
+    /// @param selection if non-null, only figures in the selection and
+    ///                  their descendants are written
+    private void writeFigureRecursively(XMLStreamWriter w, Figure figure, @Nullable Collection<Figure> selection,
+                                        WorkState<Void> workState) throws XMLStreamException {
+        if (workState.isCancelled()) {
+            throw new CancellationException();
+        }
+        if (figure instanceof Page || figure instanceof Slice
+                || figure instanceof HideableFigure && !figure.getStyledNonNull(HideableFigure.VISIBLE)) {
+            return;
+        }
+        if (selection != null && !selection.contains(figure)) {
+            for (Figure child : figure.getChildren()) {
+                writeFigureRecursively(w, child, selection, workState);
+            }
+            return;
+        }
+
+        if (!figure.getChildren().isEmpty()) {
+            w.writeStartElement("g");
+            writeFigureAttributes(w, figure);
+            for (Figure child : figure.getChildren()) {
+                writeFigureRecursively(w, child, null, workState);
+            }
+            w.writeEndElement();
+        } else if (figure instanceof PathIterableFigure pif) {
+            pathBuffer.setLength(0);
+            if (relativizePaths) {
+                SvgPaths.appendDoubleRelativeSvgString(pathBuffer, pif.getPathIterator(ctx, null));
+            } else {
+                SvgPaths.appendDoubleSvgString(pathBuffer, pif.getPathIterator(ctx, null));
+            }
+            if (pathBuffer.isEmpty()) {
+                return;
+            }
+            w.writeStartElement("path");
+            writeFigureAttributes(w, figure);
+            w.writeAttribute("d", pathBuffer.toString());
+            writeFillAttributes(w, figure);
+            writeStrokeAttributes(w, figure);
+            w.writeEndElement();
+        }
+    }
+
+    private void writeFigureAttributes(XMLStreamWriter w, Figure figure) throws XMLStreamException {
+        if (figure instanceof StyleableFigure sf) {
+            String id = sf.getId();
+            if (id != null && !id.isEmpty()) {
+                w.writeAttribute("id", id);
+            }
+            StringBuilder buf = attributeBuffer;
+            buf.setLength(0);
+            buf.append(figure.getTypeSelector());
+            for (String styleClass : sf.getStyleClasses()) {
+                buf.append(' ').append(styleClass);
+            }
+            w.writeAttribute("class", buf.toString());
+        }
+        Transform t = figure.getLocalToParent();
+        if (!FXTransforms.isIdentityOrNull(t)) {
+            String value = tx.toString(VectorList.of(t));
+            if (!value.isEmpty()) {
+                w.writeAttribute("transform", value);
+            }
+        }
+        if (figure instanceof CompositableFigure) {
+            double opacity = figure.getStyledNonNull(CompositableFigure.OPACITY);
+            if (opacity != 1.0) {
+                w.writeAttribute("opacity", nb.toString(opacity));
+            }
+        }
+    }
+
+    private void writeFillAttributes(XMLStreamWriter w, Figure figure) throws XMLStreamException {
+        Paint fill = figure instanceof FillableFigure ? Paintable.getPaint(figure.getStyled(FillableFigure.FILL), ctx) : null;
+        writePaintAttributes(w, "fill", fill, 1.0);
+    }
+
+    private void writeStrokeAttributes(XMLStreamWriter w, Figure figure) throws XMLStreamException {
+        if (!(figure instanceof StrokableFigure)) {
+            return;
+        }
+        Paint stroke = Paintable.getPaint(figure.getStyled(StrokableFigure.STROKE), ctx);
+        if (stroke == null) {
+            return;
+        }
+        writePaintAttributes(w, "stroke", stroke, 1.0);
+        double width = figure.getStyledNonNull(StrokableFigure.STROKE_WIDTH).getConvertedValue();
+        if (width != 1) {
+            w.writeAttribute("stroke-width", nb.toString(width));
+        }
+        StrokeLineCap cap = figure.getStyledNonNull(StrokableFigure.STROKE_LINE_CAP);
+        if (cap != StrokeLineCap.BUTT) {
+            w.writeAttribute("stroke-linecap", cap.toString().toLowerCase(Locale.ROOT));
+        }
+        StrokeLineJoin join = figure.getStyledNonNull(StrokableFigure.STROKE_LINE_JOIN);
+        if (join != StrokeLineJoin.MITER) {
+            w.writeAttribute("stroke-linejoin", join.toString().toLowerCase(Locale.ROOT));
+        }
+        double miterLimit = figure.getStyledNonNull(StrokableFigure.STROKE_MITER_LIMIT).getConvertedValue();
+        if (miterLimit != 4) {
+            w.writeAttribute("stroke-miterlimit", nb.toString(miterLimit));
+        }
+        PersistentList<CssSize> dashArray = figure.getStyledNonNull(StrokableFigure.STROKE_DASH_ARRAY);
+        if (!dashArray.isEmpty()) {
+            StringBuilder buf = attributeBuffer;
+            buf.setLength(0);
+            for (CssSize dash : dashArray) {
+                if (!buf.isEmpty()) {
+                    buf.append(',');
+                }
+                buf.append(nb.toString(dash.getConvertedValue()));
+            }
+            w.writeAttribute("stroke-dasharray", buf.toString());
+            double dashOffset = figure.getStyledNonNull(StrokableFigure.STROKE_DASH_OFFSET).getConvertedValue();
+            if (dashOffset != 0) {
+                w.writeAttribute("stroke-dashoffset", nb.toString(dashOffset));
+            }
+        }
+    }
+
+    /// Writes a paint attribute and its opacity attribute.
+    ///
+    /// Gradients are referenced by id, and are written at the end of the
+    /// document.
+    private void writePaintAttributes(XMLStreamWriter w, String name, @Nullable Paint paint, double opacity) throws XMLStreamException {
+        if (paint == null) {
+            w.writeAttribute(name, "none");
+            return;
+        }
+        if (paint instanceof LinearGradient || paint instanceof RadialGradient) {
+            String id = gradients.computeIfAbsent(paint, p -> "gradient" + (gradients.size() + 1));
+            w.writeAttribute(name, "url(#" + id + ")");
+        } else {
+            w.writeAttribute(name, paintConverter.toString(paint));
+            if (paint instanceof Color c && !c.isOpaque()) {
+                opacity *= c.getOpacity();
+            }
+        }
+        if (opacity != 1) {
+            w.writeAttribute(name + "-opacity", nb.toString(opacity));
+        }
+    }
+
+    private void writeGradientDefs(XMLStreamWriter w) throws XMLStreamException {
+        if (gradients.isEmpty()) {
+            return;
+        }
+        w.writeStartElement("defs");
+        for (Map.Entry<Paint, String> e : gradients.entrySet()) {
+            switch (e.getKey()) {
+                case LinearGradient g -> {
+                    w.writeStartElement("linearGradient");
+                    w.writeAttribute("id", e.getValue());
+                    String unit = g.isProportional() ? "%" : "";
+                    double scale = g.isProportional() ? 100 : 1;
+                    w.writeAttribute("x1", nb.toString(g.getStartX() * scale) + unit);
+                    w.writeAttribute("y1", nb.toString(g.getStartY() * scale) + unit);
+                    w.writeAttribute("x2", nb.toString(g.getEndX() * scale) + unit);
+                    w.writeAttribute("y2", nb.toString(g.getEndY() * scale) + unit);
+                    writeGradientAttributesAndStops(w, g.isProportional(), g.getCycleMethod(), g.getStops());
+                }
+                case RadialGradient g -> {
+                    w.writeStartElement("radialGradient");
+                    w.writeAttribute("id", e.getValue());
+                    String unit = g.isProportional() ? "%" : "";
+                    double scale = g.isProportional() ? 100 : 1;
+                    double focus = g.getFocusDistance() * g.getRadius();
+                    double angle = Math.toRadians(g.getFocusAngle());
+                    w.writeAttribute("cx", nb.toString(g.getCenterX() * scale) + unit);
+                    w.writeAttribute("cy", nb.toString(g.getCenterY() * scale) + unit);
+                    w.writeAttribute("r", nb.toString(g.getRadius() * scale) + unit);
+                    w.writeAttribute("fx", nb.toString((g.getCenterX() + Math.cos(angle) * focus) * scale) + unit);
+                    w.writeAttribute("fy", nb.toString((g.getCenterY() + Math.sin(angle) * focus) * scale) + unit);
+                    writeGradientAttributesAndStops(w, g.isProportional(), g.getCycleMethod(), g.getStops());
+                }
+                default -> {
+                    continue;
+                }
+            }
+            w.writeEndElement();
+        }
+        w.writeEndElement();
+    }
+
+    private void writeGradientAttributesAndStops(XMLStreamWriter w, boolean proportional, CycleMethod cycleMethod,
+                                                 Iterable<Stop> stops) throws XMLStreamException {
+        w.writeAttribute("gradientUnits", proportional ? "objectBoundingBox" : "userSpaceOnUse");
+        w.writeAttribute("spreadMethod", switch (cycleMethod) {
+            case NO_CYCLE -> "pad";
+            case REFLECT -> "reflect";
+            case REPEAT -> "repeat";
+        });
+        for (Stop s : stops) {
+            w.writeStartElement("stop");
+            w.writeAttribute("offset", nb.toString(s.getOffset() * 100) + "%");
+            Color c = s.getColor();
+            w.writeAttribute("stop-color", paintConverter.toString(c));
+            if (!c.isOpaque()) {
+                w.writeAttribute("stop-opacity", nb.toString(c.getOpacity()));
+            }
+            w.writeEndElement();
+        }
+    }
+}
@@ -62,6 +62,10 @@ public class SvgExportOutputFormat extends AbstractExportOutputFormat
     private static final Logger LOGGER = Logger.getLogger(SvgExportOutputFormat.class.getName());
 
     public static final SimpleNonNullKey<Boolean> RELATIVIZE_PATHS = new SimpleNonNullKey<>("relativizePaths", Boolean.class, Boolean.FALSE);
+    /// If true, the drawing is written with a [FigureSvgTinyWriter], which
+    /// streams the figures directly to the file, instead of rendering them
+    /// into a JavaFX scene graph first.
+    public static final SimpleNonNullKey<Boolean> STREAMING = new SimpleNonNullKey<>("streaming", Boolean.class, Boolean.FALSE);
 
     public static final DataFormat SVG_FORMAT;
     public static final String SVG_MIME_TYPE = "image/svg+xml";
@@ -175,7 +179,11 @@ public class SvgExportOutputFormat extends AbstractExportOutputFormat
     public void write(Path file, Drawing drawing, WorkState<Void> workState) throws IOException {
         idFactory.reset();
         idFactory.setDocumentHome(null);
-        if (isExportDrawing()) {
+        if (isExportDrawing() && isStreaming()) {
+            try (OutputStream w = Files.newOutputStream(file)) {
+                createStreamingWriter().write(w, drawing, Collections.singletonList(drawing), workState);
+            }
+        } else if (isExportDrawing()) {
             Map<Key<?>, Object> hints = new HashMap<>();
             RenderContext.RENDERING_INTENT.put(hints, RenderingIntent.EXPORT);
             try (OutputStream w = Files.newOutputStream(file)) {
@@ -210,7 +218,11 @@ public class SvgExportOutputFormat extends AbstractExportOutputFormat
 
     @Override
     public void write(OutputStream out, @Nullable URI documentHome, Drawing drawing, WorkState<Void> workState) throws IOException {
-        write(documentHome, out, drawing, drawing.getChildren());
+        if (isStreaming()) {
+            createStreamingWriter().write(out, drawing, Collections.singletonList(drawing), workState);
+        } else {
+            write(documentHome, out, drawing, drawing.getChildren());
+        }
     }
 
     protected void write(@Nullable URI documentHome, OutputStream out, Drawing drawing, Collection<Figure> selection) throws IOException {
@@ -238,6 +250,16 @@ public class SvgExportOutputFormat extends AbstractExportOutputFormat
         return RELATIVIZE_PATHS.getNonNull(getOptions());
     }
 
+    private boolean isStreaming() {
+        return STREAMING.getNonNull(getOptions());
+    }
+
+    private FigureSvgTinyWriter createStreamingWriter() {
+        FigureSvgTinyWriter writer = new FigureSvgTinyWriter();
+        writer.setRelativizePaths(isRelativizePaths());
+        return writer;
+    }
+
     private void writeDrawingElementAttributes(Element docElement, Drawing drawing) {
         docElement.setAttribute("width", sc.toString(drawing.get(Drawing.WIDTH)));
         docElement.setAttribute("height", sc.toString(drawing.get(Drawing.HEIGHT)));
@@ -0,0 +1,107 @@
+/*
+ * @(#)FigureSvgTinyWriterTest.java
+ * Copyright © 2026 The authors and contributors of JHotDraw. MIT License.
+ */
+
+package io;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+import org.jhotdraw8.css.value.CssColor;
+import org.jhotdraw8.css.value.CssLinearGradient;
+import org.jhotdraw8.draw.figure.FillableFigure;
+import org.jhotdraw8.draw.figure.HideableFigure;
+import org.jhotdraw8.draw.figure.LayerFigure;
+import org.jhotdraw8.draw.figure.RectangleFigure;
+import org.jhotdraw8.draw.figure.SimpleLayeredDrawing;
+import org.jhotdraw8.draw.figure.StrokableFigure;
+import org.jhotdraw8.draw.figure.StyleableFigure;
+import org.jhotdraw8.fxbase.concurrent.BlackHoleWorkState;
+import org.jhotdraw8.svg.io.FigureSvgTinyWriter;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FigureSvgTinyWriterTest {
+    @Test
+    public void shouldWriteLargeDrawingOnWorkerThread() throws Exception {
+        SimpleLayeredDrawing drawing = new SimpleLayeredDrawing();
+        LayerFigure layer = new LayerFigure();
+        drawing.addChild(layer);
+        int count = 5_000;
+        for (int i = 0; i < count; i++) {
+            RectangleFigure f = new RectangleFigure(i, 2 * i, 10, 20);
+            f.set(StyleableFigure.ID, "r" + i);
+            layer.addChild(f);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(() -> {
+                new FigureSvgTinyWriter().write(out, drawing, List.of(drawing), new BlackHoleWorkState<>());
+                return null;
+            }).get();
+        }
+
+        Document doc = parse(out);
+        NodeList paths = doc.getElementsByTagName("path");
+        assertEquals(count, paths.getLength());
+        Element last = (Element) paths.item(count - 1);
+        assertEquals("r" + (count - 1), last.getAttribute("id"));
+        assertEquals("M4999,9998 5009,9998 5009,10018 4999,10018 4999,9998 Z", last.getAttribute("d"));
+    }
+
+    @Test
+    public void shouldWriteStyleAttributesAndGradientDefs() throws Exception {
+        SimpleLayeredDrawing drawing = new SimpleLayeredDrawing();
+        LayerFigure layer = new LayerFigure();
+        drawing.addChild(layer);
+        RectangleFigure a = new RectangleFigure(0, 0, 10, 10);
+        a.set(FillableFigure.FILL, new CssLinearGradient(new LinearGradient(0, 0, 1, 0, true, CycleMethod.NO_CYCLE,
+                new Stop(0, Color.RED), new Stop(1, Color.BLUE))));
+        a.set(StrokableFigure.STROKE, null);
+        RectangleFigure hidden = new RectangleFigure(0, 0, 10, 10);
+        hidden.set(HideableFigure.VISIBLE, false);
+        RectangleFigure b = new RectangleFigure(0, 0, 10, 10);
+        b.set(FillableFigure.FILL, new CssColor("rgba(0,0,255,0.5)", Color.rgb(0, 0, 255, 0.5)));
+        layer.addChild(a);
+        layer.addChild(hidden);
+        layer.addChild(b);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new FigureSvgTinyWriter().write(out, drawing, List.of(drawing), new BlackHoleWorkState<>());
+
+        Document doc = parse(out);
+        NodeList paths = doc.getElementsByTagName("path");
+        assertEquals(2, paths.getLength());
+        Element pa = (Element) paths.item(0);
+        assertEquals("url(#gradient1)", pa.getAttribute("fill"));
+        assertFalse(pa.hasAttribute("stroke"));
+        assertEquals(1, doc.getElementsByTagName("linearGradient").getLength());
+        assertEquals("gradient1", ((Element) doc.getElementsByTagName("linearGradient").item(0)).getAttribute("id"));
+        Element pb = (Element) paths.item(1);
+        assertEquals("0.5", pb.getAttribute("fill-opacity"));
+        assertTrue(pb.hasAttribute("stroke"));
+        assertFalse(pb.hasAttribute("stroke-opacity"));
+    }
+
+    private static Document parse(ByteArrayOutputStream out) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -0,0 +1,103 @@
+package org.jhotdraw8.svg.jmh;
+
+import org.jhotdraw8.draw.figure.Figure;
+import org.jhotdraw8.svg.io.FigureSvgTinyReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Benchmarks [FigureSvgTinyReader#read] with a synthetic SVG document.
+///
+/// The document contains groups of rectangles, circles, paths and texts
+/// with presentation attributes and a style sheet.
+///
+/// Run with `-prof gc` to see the allocation rate.
+///
+/// <pre>
+/// # JMH version: 1.37
+/// # VM version: JDK 21.0.1, OpenJDK 64-Bit Server VM, 21.0.1+12-LTS
+/// # 1 CPU, -f 1 -wi 1 -i 1 -w 1s -r 1s -prof gc
+///
+/// Benchmark                                        (elementCount)  Mode  Cnt         Score  Units
+/// FigureSvgTinyReaderJmh.mRead                               1000  avgt          96464.692  us/op
+/// FigureSvgTinyReaderJmh.mRead:gc.alloc.rate.norm            1000  avgt        4824589.818   B/op
+/// FigureSvgTinyReaderJmh.mRead                              10000  avgt         525537.616  us/op
+/// FigureSvgTinyReaderJmh.mRead:gc.alloc.rate.norm           10000  avgt       44406104.000   B/op
+/// </pre>
+@State(Scope.Benchmark)
+@Measurement(iterations = 4)
+@Warmup(iterations = 4)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx15g",})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class FigureSvgTinyReaderJmh {
+    @Param({"1000", "10000"})
+    private int elementCount;
+
+    private String svg;
+
+    @Setup
+    public void setup() {
+        svg = createSvg(elementCount, 7);
+    }
+
+    @Benchmark
+    public Figure mRead() throws IOException {
+        return new FigureSvgTinyReader().read(new StreamSource(new StringReader(svg)));
+    }
+
+    private static String createSvg(int elementCount, long seed) {
+        Random rng = new Random(seed);
+        StringBuilder buf = new StringBuilder();
+        buf.append("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <svg xmlns="http://www.w3.org/2000/svg" version="1.2" baseProfile="tiny" width="4000" height="4000">
+                <style type="text/css">
+                .a { fill: #369; }
+                .b { stroke: #933; stroke-width: 2; }
+                </style>
+                """);
+        for (int i = 0; i < elementCount; i++) {
+            if (i % 16 == 0) {
+                if (i > 0) {
+                    buf.append("</g>\n");
+                }
+                buf.append("<g transform=\"translate(").append(rng.nextInt(100)).append(',')
+                        .append(rng.nextInt(100)).append(")\">\n");
+            }
+            int x = rng.nextInt(3900), y = rng.nextInt(3900);
+            switch (i % 4) {
+                case 0 -> buf.append("<rect class=\"a\" x=\"").append(x).append("\" y=\"").append(y)
+                        .append("\" width=\"").append(10 + rng.nextInt(40)).append("\" height=\"")
+                        .append(10 + rng.nextInt(40)).append("\"/>\n");
+                case 1 -> buf.append("<circle class=\"b\" cx=\"").append(x).append("\" cy=\"").append(y)
+                        .append("\" r=\"").append(5 + rng.nextInt(20)).append("\" fill=\"none\"/>\n");
+                case 2 -> buf.append("<path d=\"M").append(x).append(',').append(y)
+                        .append(" l20,0 c10,10 10,20 0,30 q-10,5 -20,0 z\" fill=\"rgb(")
+                        .append(rng.nextInt(256)).append(',').append(rng.nextInt(256)).append(',')
+                        .append(rng.nextInt(256)).append(")\" stroke=\"black\"/>\n");
+                default -> buf.append("<text x=\"").append(x).append("\" y=\"").append(y)
+                        .append("\" font-size=\"12\">Text ").append(i).append("</text>\n");
+            }
+        }
+        if (elementCount > 0) {
+            buf.append("</g>\n");
+        }
+        buf.append("</svg>\n");
+        return buf.toString();
+    }
+}